@@ -0,0 +1,106 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.EcommerceBackendApplication;
+import com.ecommerce.domain.product.DimensionUnit;
+import com.ecommerce.domain.product.ProductStatus;
+import com.ecommerce.infrastructure.persistence.entity.CartItemJpaEntity;
+import com.ecommerce.infrastructure.persistence.entity.CartJpaEntity;
+import com.ecommerce.infrastructure.persistence.entity.ProductJpaEntity;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * In-memory entity graphs and the embedded application context shared by the benchmarks
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Start the application without a web server against an empty in-memory H2 database
+     *
+     * @param database Name of the H2 database, unique per benchmark
+     * @param extraArgs Additional command line arguments
+     */
+    static ConfigurableApplicationContext startApplication(String database, String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.profiles.active=benchmark",
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--spring.jpa.properties.hibernate.use_sql_comments=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.ecommerce=WARN",
+                "--logging.level.org.springframework.security=WARN"));
+        args.addAll(Arrays.asList(extraArgs));
+        return new SpringApplicationBuilder(EcommerceBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                // Command line arguments take precedence over application.yml
+                .run(args.toArray(new String[0]));
+    }
+
+    /**
+     * Active, in-stock product priced from a base amount at 18% tax
+     */
+    static ProductJpaEntity product(int index) {
+        ProductJpaEntity product = new ProductJpaEntity();
+        product.setName("Benchmark Product " + index);
+        product.setSku("BENCH-" + index);
+        product.setBrand("Benchmark");
+        product.setStatus(ProductStatus.ACTIVE);
+        product.setStockQuantity(1_000);
+        product.updatePriceComponents(new BigDecimal(99 + index * 7 + ".49"), new BigDecimal("18.00"));
+        return product;
+    }
+
+    /**
+     * Product priced by area: a fixed height of 1.2 m at 450.00 per square metre
+     */
+    static ProductJpaEntity variableDimensionProduct() {
+        ProductJpaEntity product = product(0);
+        product.setVariableDimension(true);
+        product.setFixedHeight(new BigDecimal("1.200"));
+        product.setMaxLength(new BigDecimal("25.000"));
+        product.setVariableDimensionRate(new BigDecimal("450.00"));
+        product.setDimensionUnit(DimensionUnit.METER);
+        return product;
+    }
+
+    /**
+     * Cart with the given number of regular lines and current precomputed totals
+     */
+    static CartJpaEntity cart(int lines) {
+        CartJpaEntity cart = new CartJpaEntity();
+        for (int i = 0; i < lines; i++) {
+            ProductJpaEntity product = product(i);
+            cart.addItem(new CartItemJpaEntity(cart, product, 1 + i % 4, product.getPrice()));
+        }
+        return cart;
+    }
+
+    /**
+     * Mark the cart's precomputed totals stale so reads take the per-line path
+     */
+    static CartJpaEntity markTotalsStale(CartJpaEntity cart) throws ReflectiveOperationException {
+        Field stale = CartJpaEntity.class.getDeclaredField("totalsStale");
+        stale.setAccessible(true);
+        stale.set(cart, Boolean.TRUE);
+        return cart;
+    }
+}
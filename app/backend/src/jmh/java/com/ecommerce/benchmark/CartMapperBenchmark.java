@@ -0,0 +1,41 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.application.dto.CartDto;
+import com.ecommerce.application.dto.CartMapper;
+import com.ecommerce.application.service.PaymentComponentService;
+import com.ecommerce.infrastructure.persistence.entity.CartJpaEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CartMapper#toDto} for carts of increasing size, including the payment components
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CartMapperBenchmark {
+
+    @Param({"5", "50"})
+    private int lines;
+
+    private CartMapper cartMapper;
+    private CartJpaEntity cart;
+
+    @Setup
+    public void setUp() {
+        cartMapper = new CartMapper(new PaymentComponentService());
+        cart = BenchmarkFixtures.cart(lines);
+    }
+
+    @Benchmark
+    public CartDto toDto() {
+        return cartMapper.toDto(cart);
+    }
+}
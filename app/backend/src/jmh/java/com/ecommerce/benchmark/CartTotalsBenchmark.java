@@ -0,0 +1,69 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.domain.common.Money;
+import com.ecommerce.infrastructure.persistence.entity.CartItemJpaEntity;
+import com.ecommerce.infrastructure.persistence.entity.CartJpaEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cart total hot path: subtotal, product tax, shipping and a percentage discount
+ * computed per line, as on a cart whose precomputed totals are stale.
+ *
+ * {@code bigDecimal} is the arithmetic the pricing code used before the paise
+ * money type; {@code paise} runs the same calculation through {@link Money} and
+ * the entities' paise accessors. Run with {@code -prof gc} and compare
+ * {@code gc.alloc.rate.norm}.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CartTotalsBenchmark {
+
+    private static final BigDecimal FREE_SHIPPING_THRESHOLD = new BigDecimal("50.00");
+    private static final BigDecimal STANDARD_SHIPPING_RATE = new BigDecimal("9.99");
+    private static final BigDecimal DISCOUNT_RATE = new BigDecimal("0.10");
+
+    @Param({"5", "50"})
+    private int lines;
+
+    private CartJpaEntity cart;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        // Force the per-line path, as for a cart whose product pricing changed
+        cart = BenchmarkFixtures.markTotalsStale(BenchmarkFixtures.cart(lines));
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        BigDecimal subtotal = BigDecimal.ZERO;
+        BigDecimal tax = BigDecimal.ZERO;
+        for (CartItemJpaEntity item : cart.getItems()) {
+            BigDecimal quantity = BigDecimal.valueOf(item.getQuantity());
+            subtotal = subtotal.add(item.getProduct().getBaseAmount().multiply(quantity));
+            tax = tax.add(item.getProduct().getTaxAmount().multiply(quantity));
+        }
+        BigDecimal shipping = subtotal.compareTo(FREE_SHIPPING_THRESHOLD) >= 0 ? BigDecimal.ZERO : STANDARD_SHIPPING_RATE;
+        BigDecimal discount = subtotal.multiply(DISCOUNT_RATE).setScale(2, RoundingMode.HALF_UP);
+        return subtotal.add(tax).add(shipping).subtract(discount);
+    }
+
+    @Benchmark
+    public long paise() {
+        long subtotal = cart.getSubtotalPaise();
+        long tax = cart.getItemsTaxPaise();
+        long shipping = subtotal >= 5000L ? 0L : 999L;
+        long discount = Money.applyBasisPoints(subtotal, 1000L);
+        return subtotal + tax + shipping - discount;
+    }
+}
@@ -0,0 +1,68 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.infrastructure.security.HmacSignatureVerifier;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link HmacSignatureVerifier#verify} for a Razorpay payment signature and for webhook
+ * bodies of different sizes
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HmacSignatureBenchmark {
+
+    private static final String SECRET = "benchmarkWebhookSecret";
+
+    @Param({"1024", "16384"})
+    private int payloadBytes;
+
+    private HmacSignatureVerifier verifier;
+    private String orderId;
+    private String paymentId;
+    private String paymentSignature;
+    private String payload;
+    private String payloadSignature;
+
+    @Setup
+    public void setUp() throws Exception {
+        verifier = new HmacSignatureVerifier(SECRET);
+        orderId = "order_NbL4xZ2ZbQq3aF";
+        paymentId = "pay_NbL55uJ4qbPRwk";
+
+        StringBuilder body = new StringBuilder("{\"event\":\"payment.captured\",\"payload\":{\"payment\":{\"entity\":{");
+        while (body.length() < payloadBytes - 3) {
+            body.append("\"notes\":\"x\",");
+        }
+        body.setLength(payloadBytes - 3);
+        payload = body.append("}}}").toString();
+
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        paymentSignature = HexFormat.of().formatHex(
+                mac.doFinal((orderId + "|" + paymentId).getBytes(StandardCharsets.UTF_8)));
+        payloadSignature = HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    public boolean verifyPaymentSignature() {
+        return verifier.verify(orderId, '|', paymentId, paymentSignature);
+    }
+
+    @Benchmark
+    public boolean verifyWebhookSignature() {
+        return verifier.verify(payload, payloadSignature);
+    }
+}
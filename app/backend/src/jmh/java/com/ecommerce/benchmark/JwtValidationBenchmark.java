@@ -0,0 +1,40 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.infrastructure.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtTokenProvider#validateToken} for a freshly issued token
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    private JwtTokenProvider jwtTokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtSecret",
+                "benchmarkSecretKey1234567890123456789012345678901234567890123456789012345");
+        ReflectionTestUtils.setField(jwtTokenProvider, "jwtExpirationInMs", 3_600_000L);
+        ReflectionTestUtils.invokeMethod(jwtTokenProvider, "initialize");
+        token = jwtTokenProvider.createToken("bench@example.com", "user-1", "Bench User", "ROLE_CUSTOMER");
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtTokenProvider.validateToken(token);
+    }
+}
@@ -0,0 +1,109 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.infrastructure.persistence.id.TimeOrderedIds;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batched inserts into an order-items-like table keyed by random UUID strings
+ * (the previous key format), time-ordered UUID strings, and time-ordered UUIDs
+ * stored as BINARY(16). The table has a secondary index on its parent key, as
+ * {@code order_items.order_id} does, and is pre-filled so that inserts land in an
+ * index that no longer fits in a few pages.
+ *
+ * Runs against an embedded H2 database by default. The effect of random keys on
+ * InnoDB's clustered index only shows on MySQL; pass the connection through
+ * {@code -jvmArgsAppend "-Dbenchmark.jdbc.url=jdbc:mysql://... -Dbenchmark.jdbc.user=...
+ * -Dbenchmark.jdbc.password=..."}.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class KeyInsertBenchmark {
+
+    private static final String TABLE = "benchmark_key_inserts";
+    private static final int BATCH_SIZE = 100;
+    private static final int PREFILL_ROWS = 200_000;
+
+    @Param({"random-varchar", "ordered-varchar", "ordered-binary"})
+    private String keyFormat;
+
+    private Connection connection;
+    private PreparedStatement insert;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("benchmark.jdbc.url", "jdbc:h2:mem:keys;MODE=MySQL;DB_CLOSE_DELAY=-1"),
+                System.getProperty("benchmark.jdbc.user", "sa"),
+                System.getProperty("benchmark.jdbc.password", ""));
+
+        String keyType = keyFormat.endsWith("binary") ? "BINARY(16)" : "VARCHAR(36)";
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+            statement.execute("CREATE TABLE " + TABLE + " (id " + keyType + " NOT NULL PRIMARY KEY, " +
+                    "order_id " + keyType + " NOT NULL, quantity INT NOT NULL, created_at TIMESTAMP NOT NULL)");
+            statement.execute("CREATE INDEX idx_" + TABLE + "_order_id ON " + TABLE + " (order_id)");
+        }
+        insert = connection.prepareStatement(
+                "INSERT INTO " + TABLE + " (id, order_id, quantity, created_at) VALUES (?, ?, ?, ?)");
+
+        connection.setAutoCommit(false);
+        for (int inserted = 0; inserted < PREFILL_ROWS; inserted += BATCH_SIZE) {
+            insertBatch();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + TABLE);
+        }
+        connection.commit();
+        connection.close();
+    }
+
+    /**
+     * A batch of rows under a new parent key, committed together
+     */
+    @Benchmark
+    public int[] insertBatch() throws SQLException {
+        Object parentKey = newKey();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, newKey());
+            insert.setObject(2, parentKey);
+            insert.setInt(3, i + 1);
+            insert.setTimestamp(4, now);
+            insert.addBatch();
+        }
+        int[] counts = insert.executeBatch();
+        connection.commit();
+        return counts;
+    }
+
+    private Object newKey() {
+        switch (keyFormat) {
+            case "random-varchar":
+                return UUID.randomUUID().toString();
+            case "ordered-varchar":
+                return TimeOrderedIds.newId();
+            default:
+                return TimeOrderedIds.toBytes(TimeOrderedIds.newId());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.application.service.CartService;
+import com.ecommerce.application.service.OrderService;
+import com.ecommerce.domain.common.AddressType;
+import com.ecommerce.domain.order.PaymentMethod;
+import com.ecommerce.infrastructure.persistence.entity.AddressJpaEntity;
+import com.ecommerce.infrastructure.persistence.entity.CartJpaEntity;
+import com.ecommerce.infrastructure.persistence.entity.CategoryJpaEntity;
+import com.ecommerce.infrastructure.persistence.entity.OrderJpaEntity;
+import com.ecommerce.infrastructure.persistence.entity.ProductJpaEntity;
+import com.ecommerce.infrastructure.persistence.entity.UserJpaEntity;
+import com.ecommerce.infrastructure.persistence.repository.AddressJpaRepository;
+import com.ecommerce.infrastructure.persistence.repository.CategoryJpaRepository;
+import com.ecommerce.infrastructure.persistence.repository.ProductJpaRepository;
+import com.ecommerce.infrastructure.persistence.repository.UserJpaRepository;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OrderService#createOrderFromCart} against an embedded H2 database.
+ *
+ * Each invocation creates the order, flushes it and rolls the transaction back, so
+ * the seeded cart and stock are reused and every invocation does the same work.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderCreationBenchmark {
+
+    @Param({"5"})
+    private int lines;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private TransactionTemplate transactionTemplate;
+    private EntityManager entityManager;
+    private String customerId;
+    private String addressId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkFixtures.startApplication("benchmark");
+        orderService = context.getBean(OrderService.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        entityManager = context.getBean(EntityManager.class);
+        seed();
+    }
+
+    private void seed() {
+        CategoryJpaEntity category = context.getBean(CategoryJpaRepository.class)
+                .save(new CategoryJpaEntity("Benchmark", "Benchmark category", "benchmark"));
+
+        UserJpaEntity customer = context.getBean(UserJpaRepository.class)
+                .save(new UserJpaEntity("Bench", "User", "bench@example.com",
+                        context.getBean(PasswordEncoder.class).encode("benchmark-password")));
+        customerId = customer.getId();
+
+        AddressJpaEntity address = new AddressJpaEntity("1 Benchmark Road", "Bengaluru", "KA", "560001",
+                "India", AddressType.SHIPPING, customer);
+        addressId = context.getBean(AddressJpaRepository.class).save(address).getId();
+
+        ProductJpaRepository productRepository = context.getBean(ProductJpaRepository.class);
+        CartService cartService = context.getBean(CartService.class);
+        CartJpaEntity cart = cartService.getOrCreateUserCart(customerId);
+        for (int i = 0; i < lines; i++) {
+            ProductJpaEntity product = BenchmarkFixtures.product(i);
+            product.setCategory(category);
+            product = productRepository.save(product);
+            cartService.addItemToCart(cart.getId(), product.getId(), 1 + i % 3);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderJpaEntity createOrderFromCart() {
+        return transactionTemplate.execute(status -> {
+            OrderJpaEntity order = orderService.createOrderFromCart(customerId, addressId, addressId,
+                    PaymentMethod.CREDIT_CARD, null);
+            entityManager.flush();
+            status.setRollbackOnly();
+            return order;
+        });
+    }
+}
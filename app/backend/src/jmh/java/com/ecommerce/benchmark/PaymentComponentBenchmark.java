@@ -0,0 +1,46 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.application.service.PaymentComponentService;
+import com.ecommerce.infrastructure.persistence.entity.CartJpaEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PaymentComponentService#calculateAllComponents} for a cart with current totals,
+ * with and without a discount code and a fee-bearing payment method
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaymentComponentBenchmark {
+
+    @Param({"5", "50"})
+    private int lines;
+
+    private PaymentComponentService paymentComponentService;
+    private CartJpaEntity cart;
+
+    @Setup
+    public void setUp() {
+        paymentComponentService = new PaymentComponentService();
+        cart = BenchmarkFixtures.cart(lines);
+    }
+
+    @Benchmark
+    public Map<String, PaymentComponentService.PaymentComponentResult> calculateAllComponents() {
+        return paymentComponentService.calculateAllComponents(cart, null, "standard", null, null);
+    }
+
+    @Benchmark
+    public Map<String, PaymentComponentService.PaymentComponentResult> calculateAllComponentsWithDiscountAndFee() {
+        return paymentComponentService.calculateAllComponents(cart, null, "express", "SAVE10", "international_card");
+    }
+}
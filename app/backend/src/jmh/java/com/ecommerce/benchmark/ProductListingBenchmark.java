@@ -0,0 +1,89 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.application.dto.ProductListingDto;
+import com.ecommerce.application.service.ProductListingService;
+import com.ecommerce.domain.product.ProductStatus;
+import com.ecommerce.infrastructure.persistence.entity.CategoryJpaEntity;
+import com.ecommerce.infrastructure.persistence.entity.ProductImageJpaEntity;
+import com.ecommerce.infrastructure.persistence.entity.ProductJpaEntity;
+import com.ecommerce.infrastructure.persistence.entity.ProductSpecificationJpaEntity;
+import com.ecommerce.infrastructure.persistence.entity.ProductTagJpaEntity;
+import com.ecommerce.infrastructure.persistence.repository.CategoryJpaRepository;
+import com.ecommerce.infrastructure.persistence.repository.ProductImageJpaRepository;
+import com.ecommerce.infrastructure.persistence.repository.ProductJpaRepository;
+import com.ecommerce.infrastructure.persistence.repository.ProductSpecificationJpaRepository;
+import com.ecommerce.infrastructure.persistence.repository.ProductTagJpaRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ProductListingService#getProducts} against an embedded H2 database. The
+ * number of statements per page is asserted by {@code ProductListingServiceTest}.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductListingBenchmark {
+
+    @Param({"20"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductListingService listingService;
+    private Pageable firstPage;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkFixtures.startApplication("listing");
+        listingService = context.getBean(ProductListingService.class);
+        // Two pages' worth of products so the first page is full and needs a count query
+        firstPage = PageRequest.of(0, pageSize, Sort.by("name"));
+        seed(pageSize * 2);
+    }
+
+    private void seed(int products) {
+        CategoryJpaEntity category = context.getBean(CategoryJpaRepository.class)
+                .save(new CategoryJpaEntity("Benchmark", "Benchmark category", "benchmark"));
+
+        ProductJpaRepository productRepository = context.getBean(ProductJpaRepository.class);
+        ProductImageJpaRepository imageRepository = context.getBean(ProductImageJpaRepository.class);
+        ProductSpecificationJpaRepository specificationRepository = context.getBean(ProductSpecificationJpaRepository.class);
+        ProductTagJpaRepository tagRepository = context.getBean(ProductTagJpaRepository.class);
+        for (int i = 0; i < products; i++) {
+            ProductJpaEntity product = BenchmarkFixtures.product(i);
+            product.setCategory(category);
+            product = productRepository.save(product);
+
+            for (int image = 0; image < 3; image++) {
+                imageRepository.save(new ProductImageJpaEntity(product,
+                        "https://cdn.example.com/bench/" + i + "/" + image + ".jpg", "Image " + image, image));
+            }
+            specificationRepository.save(new ProductSpecificationJpaEntity(product, "material", "Oak"));
+            specificationRepository.save(new ProductSpecificationJpaEntity(product, "finish", "Matte"));
+            tagRepository.save(new ProductTagJpaEntity(product, "bench"));
+            tagRepository.save(new ProductTagJpaEntity(product, "tag-" + i % 5));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<ProductListingDto> listFirstPage() {
+        return listingService.getProducts(ProductStatus.ACTIVE, false, firstPage);
+    }
+}
@@ -0,0 +1,130 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.infrastructure.persistence.pool.ConnectionPermitDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load comparison of the two request execution models: a burst of concurrent
+ * requests served by Tomcat's default 200 platform threads, and by a virtual thread
+ * per request with JDBC gated by {@link ConnectionPermitDataSource}. Both use a
+ * 20-connection Hikari pool, as configured in application.yml.
+ *
+ * Most requests are catalog reads (one query). A share of them are payments, which
+ * first wait on the gateway (simulated by a sleep, as a synchronous RazorpayClient
+ * call blocks) and then write. The time for the whole burst shows how payments
+ * waiting on the gateway hold up catalog traffic on a bounded platform pool.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RequestConcurrencyBenchmark {
+
+    private static final int REQUESTS = 2000;
+    private static final int POOL_SIZE = 20;
+    private static final int PLATFORM_THREADS = 200;
+    private static final int PRODUCTS = 1000;
+
+    @Param({"platform", "virtual"})
+    private String executionModel;
+
+    // One request in this many is a payment
+    @Param({"20"})
+    private int paymentEvery;
+
+    @Param({"200"})
+    private long gatewayMillis;
+
+    private HikariDataSource pool;
+    private DataSource dataSource;
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() throws SQLException {
+        pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:requests;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        pool.setUsername("sa");
+        pool.setPassword("");
+        pool.setMaximumPoolSize(POOL_SIZE);
+        pool.setMinimumIdle(POOL_SIZE);
+        pool.setConnectionTimeout(30_000);
+
+        try (Connection connection = pool.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS benchmark_products");
+            statement.execute("CREATE TABLE benchmark_products (id INT PRIMARY KEY, price DECIMAL(19, 2) NOT NULL, " +
+                    "reserved INT NOT NULL)");
+            statement.execute("INSERT INTO benchmark_products SELECT X, X * 10, 0 FROM SYSTEM_RANGE(1, " + PRODUCTS + ")");
+        }
+
+        if (executionModel.equals("virtual")) {
+            dataSource = new ConnectionPermitDataSource(pool, POOL_SIZE, pool.getConnectionTimeout(), "benchmark");
+            executor = Executors.newVirtualThreadPerTaskExecutor();
+        } else {
+            dataSource = pool;
+            executor = Executors.newFixedThreadPool(PLATFORM_THREADS);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+        pool.close();
+    }
+
+    /**
+     * Serve {@value #REQUESTS} requests submitted at once and wait for all of them
+     */
+    @Benchmark
+    public long burst() throws Exception {
+        List<Future<Long>> responses = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            int productId = i % PRODUCTS + 1;
+            boolean payment = i % paymentEvery == 0;
+            responses.add(executor.submit(() -> payment ? pay(productId) : readProduct(productId)));
+        }
+        long total = 0;
+        for (Future<Long> response : responses) {
+            total += response.get();
+        }
+        return total;
+    }
+
+    private long readProduct(int productId) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement("SELECT price FROM benchmark_products WHERE id = ?")) {
+            select.setInt(1, productId);
+            try (ResultSet result = select.executeQuery()) {
+                return result.next() ? result.getLong(1) : 0;
+            }
+        }
+    }
+
+    private long pay(int productId) throws Exception {
+        Thread.sleep(gatewayMillis);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE benchmark_products SET reserved = reserved + 1 WHERE id = ?")) {
+            update.setInt(1, productId);
+            return update.executeUpdate();
+        }
+    }
+}
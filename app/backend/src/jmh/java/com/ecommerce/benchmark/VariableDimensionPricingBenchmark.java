@@ -0,0 +1,46 @@
+package com.ecommerce.benchmark;
+
+import com.ecommerce.infrastructure.persistence.entity.CartItemJpaEntity;
+import com.ecommerce.infrastructure.persistence.entity.ProductJpaEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CartItemJpaEntity#updateVariableDimensionPricing} for an area-priced product,
+ * and the paise price calculation it is built on
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VariableDimensionPricingBenchmark {
+
+    private static final BigDecimal CUSTOM_LENGTH = new BigDecimal("3.475");
+
+    private ProductJpaEntity product;
+    private CartItemJpaEntity item;
+
+    @Setup
+    public void setUp() {
+        product = BenchmarkFixtures.variableDimensionProduct();
+        item = new CartItemJpaEntity(null, product, 1, product.getPrice());
+    }
+
+    @Benchmark
+    public CartItemJpaEntity updateVariableDimensionPricing() {
+        item.updateVariableDimensionPricing(CUSTOM_LENGTH);
+        return item;
+    }
+
+    @Benchmark
+    public long calculatePricePaiseForLength() {
+        return product.calculatePricePaiseForLength(3_475L);
+    }
+}
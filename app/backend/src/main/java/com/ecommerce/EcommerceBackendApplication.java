@@ -3,6 +3,7 @@ package com.ecommerce;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main Spring Boot application class for the E-Commerce Backend
@@ -12,12 +13,14 @@ import org.springframework.scheduling.annotation.EnableAsync;
  * - Interface-driven design for loose coupling
  * - Dependency injection for testability
  * - Async processing support for better performance
+ * - Scheduled background jobs (cart cleanup, stock write-behind)
  * 
  * @author E-Commerce Development Team
  * @version 1.0.0
  */
 @SpringBootApplication
 @EnableAsync
+@EnableScheduling
 public class EcommerceBackendApplication {
 
     public static void main(String[] args) {
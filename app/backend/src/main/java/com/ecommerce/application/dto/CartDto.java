@@ -31,6 +31,7 @@ public class CartDto {
     private boolean isGuestCart;
     private boolean hasDiscount;
     private String currency;
+    private Long totalsVersion;
     private List<PaymentComponent> paymentComponents;
     
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
@@ -249,6 +250,14 @@ public class CartDto {
         this.currency = currency;
     }
     
+    public Long getTotalsVersion() {
+        return totalsVersion;
+    }
+    
+    public void setTotalsVersion(Long totalsVersion) {
+        this.totalsVersion = totalsVersion;
+    }
+    
     public List<PaymentComponent> getPaymentComponents() {
         return paymentComponents;
     }
@@ -56,8 +56,9 @@ public class CartMapper {
         dto.setCreatedAt(entity.getCreatedAt());
         dto.setUpdatedAt(entity.getUpdatedAt());
         dto.setCurrency(entity.getCurrency());
+        dto.setTotalsVersion(entity.getTotalsVersion());
         
-        // Calculate payment components dynamically
+        // Payment components are derived from the cart's precomputed totals, so this does not walk the items
         List<PaymentComponent> paymentComponents = paymentComponentService.calculatePaymentComponentsList(
             entity, null, null, entity.getDiscountCode(), null);
         dto.setPaymentComponents(paymentComponents);
@@ -0,0 +1,67 @@
+package com.ecommerce.application.dto;
+
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One page of a keyset-paginated listing
+ *
+ * Unlike {@link org.springframework.data.domain.Page} there is no total count: the page
+ * is fetched with one extra row to tell whether more follow, so every page costs the same
+ * single query. Pass {@link #getNextCursor()} back to fetch the next page.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+public class CursorSlice<T> {
+
+    private final List<T> content;
+    private final String nextCursor;
+    private final int size;
+
+    public CursorSlice(List<T> content, String nextCursor, int size) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.size = size;
+    }
+
+    /**
+     * Build a page from a slice, deriving the next cursor from its last element
+     *
+     * @param slice Slice fetched in keyset order
+     * @param cursorOf Cursor positioned after an element
+     */
+    public static <T> CursorSlice<T> of(Slice<T> slice, Function<T, KeysetCursor> cursorOf) {
+        List<T> content = slice.getContent();
+        String nextCursor = slice.hasNext() && !content.isEmpty()
+                ? cursorOf.apply(content.get(content.size() - 1)).encode()
+                : null;
+        return new CursorSlice<>(content, nextCursor, slice.getSize());
+    }
+
+    /**
+     * Convert the elements, keeping the cursor
+     */
+    public <R> CursorSlice<R> map(Function<T, R> mapper) {
+        return new CursorSlice<>(content.stream().map(mapper).collect(Collectors.toList()), nextCursor, size);
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+
+    public int getSize() {
+        return size;
+    }
+}
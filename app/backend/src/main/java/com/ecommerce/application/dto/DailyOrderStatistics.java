@@ -0,0 +1,35 @@
+package com.ecommerce.application.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Number and total value of the orders placed on one day, across all statuses
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+public class DailyOrderStatistics {
+
+    private final LocalDate date;
+    private final long orderCount;
+    private final BigDecimal totalAmount;
+
+    public DailyOrderStatistics(LocalDate date, long orderCount, BigDecimal totalAmount) {
+        this.date = date;
+        this.orderCount = orderCount;
+        this.totalAmount = totalAmount;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+}
@@ -0,0 +1,99 @@
+package com.ecommerce.application.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a keyset-paginated listing: the sort key and ID of the last row returned
+ *
+ * Clients only see the opaque URL-safe form produced by {@link #encode()} and pass it
+ * back to fetch the rows after it. The ID breaks ties between rows with the same sort key.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+public final class KeysetCursor {
+
+    private static final char SEPARATOR = '\n';
+
+    private final String sortKey;
+    private final String id;
+
+    private KeysetCursor(String sortKey, String id) {
+        this.sortKey = sortKey;
+        this.id = id;
+    }
+
+    /**
+     * Cursor after a row with the given sort key and ID
+     */
+    public static KeysetCursor of(String sortKey, String id) {
+        if (sortKey == null || id == null || id.isEmpty() || id.indexOf(SEPARATOR) >= 0) {
+            throw new IllegalArgumentException("Cursor requires a sort key and a single-line ID");
+        }
+        return new KeysetCursor(sortKey, id);
+    }
+
+    /**
+     * Cursor after a row ordered by a timestamp
+     */
+    public static KeysetCursor of(LocalDateTime sortKey, String id) {
+        return of(sortKey != null ? sortKey.toString() : null, id);
+    }
+
+    /**
+     * Decode a cursor from its opaque form
+     *
+     * @param cursor Value from {@link #encode()}, or null/blank for the first page
+     * @return The cursor, or null for the first page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        // IDs never contain the separator; sort keys may
+        int separator = decoded.lastIndexOf(SEPARATOR);
+        if (separator < 0 || separator == decoded.length() - 1) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return new KeysetCursor(decoded.substring(0, separator), decoded.substring(separator + 1));
+    }
+
+    /**
+     * Opaque, URL-safe form of this cursor
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((sortKey + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getSortKey() {
+        return sortKey;
+    }
+
+    /**
+     * Sort key of a cursor over a timestamp-ordered listing
+     *
+     * @throws IllegalArgumentException if the sort key is not a timestamp
+     */
+    public LocalDateTime getSortKeyAsDateTime() {
+        try {
+            return LocalDateTime.parse(sortKey);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public String getId() {
+        return id;
+    }
+}
@@ -0,0 +1,64 @@
+package com.ecommerce.application.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a rebuild of the daily order rollups from the orders table
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+public class OrderRollupBackfillStatus {
+
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    private final String state;
+    private final LocalDate fromDate;
+    private final LocalDate toDate;
+    private final LocalDate lastCompletedDate;
+    private final long processedDays;
+    private final LocalDateTime startedAt;
+    private final LocalDateTime finishedAt;
+
+    public OrderRollupBackfillStatus(String state, LocalDate fromDate, LocalDate toDate, LocalDate lastCompletedDate,
+                                     long processedDays, LocalDateTime startedAt, LocalDateTime finishedAt) {
+        this.state = state;
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+        this.lastCompletedDate = lastCompletedDate;
+        this.processedDays = processedDays;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public LocalDate getFromDate() {
+        return fromDate;
+    }
+
+    public LocalDate getToDate() {
+        return toDate;
+    }
+
+    public LocalDate getLastCompletedDate() {
+        return lastCompletedDate;
+    }
+
+    public long getProcessedDays() {
+        return processedDays;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+}
@@ -0,0 +1,67 @@
+package com.ecommerce.application.dto;
+
+/**
+ * A Razorpay payment webhook event taken from the inbox, reduced to the fields the
+ * payment transitions need
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+public class PaymentWebhookEvent {
+
+    public static final String PAYMENT_CAPTURED = "payment.captured";
+    public static final String PAYMENT_FAILED = "payment.failed";
+    public static final String PAYMENT_AUTHORIZED = "payment.authorized";
+
+    private final long seq;
+    private final String eventType;
+    private final String razorpayOrderId;
+    private final String razorpayPaymentId;
+    private final String errorCode;
+    private final String errorDescription;
+
+    public PaymentWebhookEvent(long seq, String eventType, String razorpayOrderId, String razorpayPaymentId,
+                               String errorCode, String errorDescription) {
+        this.seq = seq;
+        this.eventType = eventType;
+        this.razorpayOrderId = razorpayOrderId;
+        this.razorpayPaymentId = razorpayPaymentId;
+        this.errorCode = errorCode;
+        this.errorDescription = errorDescription;
+    }
+
+    /**
+     * Whether this is one of the payment events that change a payment
+     */
+    public static boolean isHandled(String eventType) {
+        return PAYMENT_CAPTURED.equals(eventType) || PAYMENT_FAILED.equals(eventType)
+                || PAYMENT_AUTHORIZED.equals(eventType);
+    }
+
+    /**
+     * Position in the inbox; events are applied in this order
+     */
+    public long getSeq() {
+        return seq;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public String getRazorpayOrderId() {
+        return razorpayOrderId;
+    }
+
+    public String getRazorpayPaymentId() {
+        return razorpayPaymentId;
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    public String getErrorDescription() {
+        return errorDescription;
+    }
+}
@@ -0,0 +1,223 @@
+package com.ecommerce.application.dto;
+
+import com.ecommerce.domain.product.ProductStatus;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Transfer Object for a product in a catalog listing page
+ *
+ * The scalar fields are selected directly by the listing query (see
+ * {@code ProductJpaRepository#findListing}); images, specifications and tags are
+ * filled in afterwards from one batched query per collection for the whole page.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+public class ProductListingDto {
+
+    private final String id;
+    private final String name;
+    private final String description;
+    private final String sku;
+    private final String brand;
+    private final BigDecimal price;
+    private final BigDecimal originalPrice;
+    private final BigDecimal baseAmount;
+    private final BigDecimal taxRate;
+    private final BigDecimal taxAmount;
+    private final int availableQuantity;
+    private final ProductStatus status;
+    private final boolean featured;
+    private final BigDecimal averageRating;
+    private final Integer reviewCount;
+    private final boolean isVariableDimension;
+    private final String categoryId;
+    private final String categoryName;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private final LocalDateTime createdAt;
+
+    private String mainImageUrl;
+    private List<String> images = new ArrayList<>();
+    private Map<String, Object> specifications = new LinkedHashMap<>();
+    private List<String> tags = new ArrayList<>();
+
+    // Constructor used by the listing query
+    public ProductListingDto(String id, String name, String description, String sku, String brand,
+                             BigDecimal price, BigDecimal originalPrice, BigDecimal baseAmount,
+                             BigDecimal taxRate, BigDecimal taxAmount, Integer stockQuantity,
+                             Integer reservedQuantity, ProductStatus status, boolean featured,
+                             BigDecimal averageRating, Integer reviewCount, boolean isVariableDimension,
+                             String categoryId, String categoryName, LocalDateTime createdAt) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.sku = sku;
+        this.brand = brand;
+        this.price = price;
+        this.originalPrice = originalPrice;
+        this.baseAmount = baseAmount;
+        this.taxRate = taxRate;
+        this.taxAmount = taxAmount;
+        this.availableQuantity = Math.max(0, valueOf(stockQuantity) - valueOf(reservedQuantity));
+        this.status = status;
+        this.featured = featured;
+        this.averageRating = averageRating;
+        this.reviewCount = reviewCount;
+        this.isVariableDimension = isVariableDimension;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.createdAt = createdAt;
+    }
+
+    // Business methods (same rules as ProductJpaEntity)
+    public boolean isAvailable() {
+        return ProductStatus.ACTIVE.equals(status) && availableQuantity > 0;
+    }
+
+    public boolean isInStock() {
+        return availableQuantity > 0;
+    }
+
+    public boolean isOnSale() {
+        return originalPrice != null && price != null
+                && originalPrice.compareTo(BigDecimal.ZERO) > 0
+                && price.compareTo(originalPrice) < 0;
+    }
+
+    public BigDecimal getDiscountPercentage() {
+        if (!isOnSale()) {
+            return BigDecimal.ZERO;
+        }
+        return originalPrice.subtract(price)
+                .divide(originalPrice, 2, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(100));
+    }
+
+    public BigDecimal getFinalPrice() {
+        return baseAmount != null && taxAmount != null ? baseAmount.add(taxAmount) : price;
+    }
+
+    private static int valueOf(Integer quantity) {
+        return quantity != null ? quantity : 0;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public BigDecimal getOriginalPrice() {
+        return originalPrice;
+    }
+
+    public BigDecimal getBaseAmount() {
+        return baseAmount;
+    }
+
+    public BigDecimal getTaxRate() {
+        return taxRate;
+    }
+
+    public BigDecimal getTaxAmount() {
+        return taxAmount;
+    }
+
+    public int getAvailableQuantity() {
+        return availableQuantity;
+    }
+
+    public ProductStatus getStatus() {
+        return status;
+    }
+
+    public boolean isFeatured() {
+        return featured;
+    }
+
+    public BigDecimal getAverageRating() {
+        return averageRating;
+    }
+
+    public Integer getReviewCount() {
+        return reviewCount;
+    }
+
+    @JsonProperty("isVariableDimension")
+    public boolean isVariableDimension() {
+        return isVariableDimension;
+    }
+
+    public String getCategoryId() {
+        return categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getMainImageUrl() {
+        return mainImageUrl;
+    }
+
+    public void setMainImageUrl(String mainImageUrl) {
+        this.mainImageUrl = mainImageUrl;
+    }
+
+    public List<String> getImages() {
+        return images;
+    }
+
+    public void setImages(List<String> images) {
+        this.images = images;
+    }
+
+    public Map<String, Object> getSpecifications() {
+        return specifications;
+    }
+
+    public void setSpecifications(Map<String, Object> specifications) {
+        this.specifications = specifications;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+}
@@ -0,0 +1,197 @@
+package com.ecommerce.application.dto;
+
+import com.ecommerce.domain.product.DimensionUnit;
+import com.ecommerce.domain.product.ProductStatus;
+import com.ecommerce.infrastructure.persistence.entity.ProductJpaEntity;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, detached copy of a product as it is served to the storefront
+ *
+ * Captures the fields of {@link ProductJpaEntity} that its JSON representation exposes,
+ * including the derived stock and pricing flags and the images, specifications, tags and
+ * dimensions flattened from the child tables, so the snapshot can be shared between
+ * threads and served from the product read cache without touching the persistence context.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+public final class ProductSnapshot {
+
+    private final String id;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final Long version;
+    private final String name;
+    private final String description;
+    private final String longDescription;
+    private final String sku;
+    private final BigDecimal price;
+    private final BigDecimal originalPrice;
+    private final BigDecimal baseAmount;
+    private final BigDecimal taxRate;
+    private final BigDecimal taxAmount;
+    private final BigDecimal finalPrice;
+    private final BigDecimal discountPercentage;
+    private final boolean onSale;
+    private final String brand;
+    private final String categoryId;
+    private final String categoryName;
+    private final Integer stockQuantity;
+    private final Integer reservedQuantity;
+    private final int availableQuantity;
+    private final Integer minStockLevel;
+    private final Integer maxStockLevel;
+    private final boolean available;
+    private final boolean inStock;
+    private final boolean lowStock;
+    private final boolean overStock;
+    private final BigDecimal weight;
+    private final ProductStatus status;
+    private final boolean featured;
+    private final boolean hotStock;
+    private final BigDecimal averageRating;
+    private final Integer reviewCount;
+    private final String metaTitle;
+    private final String metaDescription;
+    private final String metaKeywords;
+    private final boolean variableDimension;
+    private final BigDecimal fixedHeight;
+    private final BigDecimal variableDimensionRate;
+    private final BigDecimal maxLength;
+    private final DimensionUnit dimensionUnit;
+    private final String formattedDimensionInfo;
+    private final String mainImageUrl;
+    private final List<String> images;
+    private final Map<String, Object> specifications;
+    private final Set<String> tags;
+    private final Map<String, Object> dimensions;
+
+    private ProductSnapshot(ProductJpaEntity product) {
+        this.id = product.getId();
+        this.createdAt = product.getCreatedAt();
+        this.updatedAt = product.getUpdatedAt();
+        this.version = product.getVersion();
+        this.name = product.getName();
+        this.description = product.getDescription();
+        this.longDescription = product.getLongDescription();
+        this.sku = product.getSku();
+        this.price = product.getPrice();
+        this.originalPrice = product.getOriginalPrice();
+        this.baseAmount = product.getBaseAmount();
+        this.taxRate = product.getTaxRate();
+        this.taxAmount = product.getTaxAmount();
+        this.finalPrice = product.getFinalPrice();
+        this.discountPercentage = product.getDiscountPercentage();
+        this.onSale = product.isOnSale();
+        this.brand = product.getBrand();
+        this.categoryId = product.getCategoryId();
+        this.categoryName = product.getCategoryName();
+        this.stockQuantity = product.getStockQuantity();
+        this.reservedQuantity = product.getReservedQuantity();
+        this.availableQuantity = product.getAvailableQuantity();
+        this.minStockLevel = product.getMinStockLevel();
+        this.maxStockLevel = product.getMaxStockLevel();
+        this.available = product.isAvailable();
+        this.inStock = product.isInStock();
+        this.lowStock = product.isLowStock();
+        this.overStock = product.isOverStock();
+        this.weight = product.getWeight();
+        this.status = product.getStatus();
+        this.featured = product.isFeatured();
+        this.hotStock = product.isHotStock();
+        this.averageRating = product.getAverageRating();
+        this.reviewCount = product.getReviewCount();
+        this.metaTitle = product.getMetaTitle();
+        this.metaDescription = product.getMetaDescription();
+        this.metaKeywords = product.getMetaKeywords();
+        this.variableDimension = product.isVariableDimension();
+        this.fixedHeight = product.getFixedHeight();
+        this.variableDimensionRate = product.getVariableDimensionRate();
+        this.maxLength = product.getMaxLength();
+        this.dimensionUnit = product.getDimensionUnit();
+        this.formattedDimensionInfo = product.getFormattedDimensionInfo();
+        this.mainImageUrl = product.getMainImageUrl();
+        this.images = Collections.unmodifiableList(product.getImages());
+        // Specification and dimension values may be null, which Map.copyOf rejects
+        this.specifications = Collections.unmodifiableMap(new LinkedHashMap<>(product.getSpecifications()));
+        this.tags = Collections.unmodifiableSet(new LinkedHashSet<>(product.getTags()));
+        this.dimensions = Collections.unmodifiableMap(new LinkedHashMap<>(product.getDimensions()));
+    }
+
+    /**
+     * Copy a product, including its lazily loaded child collections. Must be called while
+     * the product is still attached to an open persistence context.
+     */
+    public static ProductSnapshot of(ProductJpaEntity product) {
+        return new ProductSnapshot(product);
+    }
+
+    // Getters
+
+    public String getId() { return id; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public Long getVersion() { return version; }
+    public String getName() { return name; }
+    public String getDescription() { return description; }
+    public String getLongDescription() { return longDescription; }
+    public String getSku() { return sku; }
+    public BigDecimal getPrice() { return price; }
+    public BigDecimal getOriginalPrice() { return originalPrice; }
+    public BigDecimal getBaseAmount() { return baseAmount; }
+    public BigDecimal getTaxRate() { return taxRate; }
+    public BigDecimal getTaxAmount() { return taxAmount; }
+    public BigDecimal getFinalPrice() { return finalPrice; }
+    public BigDecimal getDiscountPercentage() { return discountPercentage; }
+    public boolean isOnSale() { return onSale; }
+    public String getBrand() { return brand; }
+    public String getCategoryId() { return categoryId; }
+    public String getCategoryName() { return categoryName; }
+    public Integer getStockQuantity() { return stockQuantity; }
+    public Integer getReservedQuantity() { return reservedQuantity; }
+    public int getAvailableQuantity() { return availableQuantity; }
+    public Integer getMinStockLevel() { return minStockLevel; }
+    public Integer getMaxStockLevel() { return maxStockLevel; }
+    public boolean isAvailable() { return available; }
+    public boolean isInStock() { return inStock; }
+    public boolean isLowStock() { return lowStock; }
+    public boolean isOverStock() { return overStock; }
+    public BigDecimal getWeight() { return weight; }
+    public ProductStatus getStatus() { return status; }
+    public boolean isFeatured() { return featured; }
+    public boolean isHotStock() { return hotStock; }
+    public BigDecimal getAverageRating() { return averageRating; }
+    public Integer getReviewCount() { return reviewCount; }
+    public String getMetaTitle() { return metaTitle; }
+    public String getMetaDescription() { return metaDescription; }
+    public String getMetaKeywords() { return metaKeywords; }
+
+    @JsonProperty("isVariableDimension")
+    public boolean isVariableDimension() { return variableDimension; }
+
+    public BigDecimal getFixedHeight() { return fixedHeight; }
+    public BigDecimal getVariableDimensionRate() { return variableDimensionRate; }
+    public BigDecimal getMaxLength() { return maxLength; }
+    public DimensionUnit getDimensionUnit() { return dimensionUnit; }
+    public String getFormattedDimensionInfo() { return formattedDimensionInfo; }
+    public String getMainImageUrl() { return mainImageUrl; }
+    public List<String> getImages() { return images; }
+    public Map<String, Object> getSpecifications() { return specifications; }
+    public Set<String> getTags() { return tags; }
+    public Map<String, Object> getDimensions() { return dimensions; }
+
+    @Override
+    public String toString() {
+        return "ProductSnapshot{id='" + id + "', sku='" + sku + "', version=" + version + "}";
+    }
+}
@@ -0,0 +1,90 @@
+package com.ecommerce.application.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a catalog-wide recommendation generation run
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+public class RecommendationGenerationStatus {
+
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    private final String runId;
+    private final String state;
+    private final long processedProducts;
+    private final long totalProducts;
+    private final long writtenRecommendations;
+    private final String lastProductId;
+    private final LocalDateTime startedAt;
+    private final LocalDateTime updatedAt;
+    private final LocalDateTime finishedAt;
+
+    public RecommendationGenerationStatus(String runId, String state, long processedProducts, long totalProducts,
+                                          long writtenRecommendations, String lastProductId,
+                                          LocalDateTime startedAt, LocalDateTime updatedAt, LocalDateTime finishedAt) {
+        this.runId = runId;
+        this.state = state;
+        this.processedProducts = processedProducts;
+        this.totalProducts = totalProducts;
+        this.writtenRecommendations = writtenRecommendations;
+        this.lastProductId = lastProductId;
+        this.startedAt = startedAt;
+        this.updatedAt = updatedAt;
+        this.finishedAt = finishedAt;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public long getProcessedProducts() {
+        return processedProducts;
+    }
+
+    public long getTotalProducts() {
+        return totalProducts;
+    }
+
+    public long getWrittenRecommendations() {
+        return writtenRecommendations;
+    }
+
+    /**
+     * Last source product whose recommendations are committed; a resumed run continues after it
+     */
+    public String getLastProductId() {
+        return lastProductId;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public int getPercentComplete() {
+        if (totalProducts <= 0) {
+            return COMPLETED.equals(state) ? 100 : 0;
+        }
+        return (int) Math.min(100, processedProducts * 100 / totalProducts);
+    }
+
+    public boolean isFinished() {
+        return !RUNNING.equals(state);
+    }
+}
@@ -0,0 +1,138 @@
+package com.ecommerce.application.dto;
+
+import com.ecommerce.domain.recommendation.RecommendationType;
+
+import java.math.BigDecimal;
+
+/**
+ * Compact summary of a recommended product, as cached per source product
+ *
+ * The scalar fields are selected directly by the recommendation query (see
+ * {@code ProductRecommendationJpaRepository#findTopSummaries}); the main image is
+ * filled in afterwards from one batched query for the whole list. Once cached an
+ * instance is shared between requests and must not be changed.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+public class RecommendedProductDto {
+
+    private final String id;
+    private final String name;
+    private final String description;
+    private final String sku;
+    private final String brand;
+    private final BigDecimal price;
+    private final BigDecimal originalPrice;
+    private final int stockQuantity;
+    private final int availableQuantity;
+    private final BigDecimal averageRating;
+    private final Integer reviewCount;
+    private final String categoryId;
+    private final String categoryName;
+    private final RecommendationType recommendationType;
+    private final BigDecimal score;
+
+    private String mainImageUrl;
+
+    // Constructor used by the recommendation query
+    public RecommendedProductDto(String id, String name, String description, String sku, String brand,
+                                 BigDecimal price, BigDecimal originalPrice, Integer stockQuantity,
+                                 Integer reservedQuantity, BigDecimal averageRating, Integer reviewCount,
+                                 String categoryId, String categoryName, RecommendationType recommendationType,
+                                 BigDecimal score) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.sku = sku;
+        this.brand = brand;
+        this.price = price;
+        this.originalPrice = originalPrice;
+        this.stockQuantity = valueOf(stockQuantity);
+        this.availableQuantity = Math.max(0, valueOf(stockQuantity) - valueOf(reservedQuantity));
+        this.averageRating = averageRating;
+        this.reviewCount = reviewCount;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.recommendationType = recommendationType;
+        this.score = score;
+    }
+
+    // Business methods (same rules as ProductJpaEntity)
+    public boolean isInStock() {
+        return availableQuantity > 0;
+    }
+
+    private static int valueOf(Integer quantity) {
+        return quantity != null ? quantity : 0;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getSku() {
+        return sku;
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public BigDecimal getOriginalPrice() {
+        return originalPrice;
+    }
+
+    public int getStockQuantity() {
+        return stockQuantity;
+    }
+
+    public int getAvailableQuantity() {
+        return availableQuantity;
+    }
+
+    public BigDecimal getAverageRating() {
+        return averageRating;
+    }
+
+    public Integer getReviewCount() {
+        return reviewCount;
+    }
+
+    public String getCategoryId() {
+        return categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public RecommendationType getRecommendationType() {
+        return recommendationType;
+    }
+
+    public BigDecimal getScore() {
+        return score;
+    }
+
+    public String getMainImageUrl() {
+        return mainImageUrl;
+    }
+
+    public void setMainImageUrl(String mainImageUrl) {
+        this.mainImageUrl = mainImageUrl;
+    }
+}
@@ -0,0 +1,331 @@
+package com.ecommerce.application.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Scheduled cleanup of expired, abandoned and old carts.
+ *
+ * The cleanup runs as four phases: mark expired carts, mark inactive guest carts
+ * abandoned, delete old expired and abandoned carts, and delete inactive guest carts.
+ * Each phase walks {@code carts} in primary key order in chunks and commits every
+ * chunk on its own, so no statement locks more than one chunk of rows and replicas
+ * apply the work in small transactions. A chunk re-checks the phase's condition
+ * when it updates or deletes, so a cart that became active again after it was
+ * selected is left alone. Deleting a chunk locks its carts first and removes their
+ * items in the same transaction.
+ *
+ * The last cart ID of every committed chunk is stored in {@code cart_cleanup_progress}
+ * together with the time the phase's run started, from which its cutoffs are derived.
+ * A run interrupted by a restart continues after the stored ID with the same cutoffs.
+ *
+ * Between chunks the cleanup pauses in proportion to how long the chunk took, and it
+ * halves the chunk size when a chunk takes longer than the target latency and grows it
+ * again while chunks are fast, so it backs off when the database is busy.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Service
+public class CartCleanupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CartCleanupService.class);
+
+    /**
+     * Cleanup phases, run in this order
+     */
+    enum Phase {
+        MARK_EXPIRED("status = 'ACTIVE' AND expires_at < ?", Duration.ZERO, "EXPIRED"),
+        MARK_ABANDONED("user_id IS NULL AND status = 'ACTIVE' AND last_activity_at < ?", Duration.ofHours(24), "ABANDONED"),
+        DELETE_OLD("status IN ('EXPIRED', 'ABANDONED') AND updated_at < ?", Duration.ofDays(30), null),
+        DELETE_INACTIVE_GUEST("user_id IS NULL AND status = 'ACTIVE' AND last_activity_at < ?", Duration.ofDays(7), null);
+
+        private final String condition;
+        private final Duration age;
+        private final String newStatus;
+
+        Phase(String condition, Duration age, String newStatus) {
+            this.condition = condition;
+            this.age = age;
+            this.newStatus = newStatus;
+        }
+
+        boolean deletes() {
+            return newStatus == null;
+        }
+    }
+
+    private static final byte[] START_OF_TABLE = new byte[0];
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Phase, Counter> processedRows = new EnumMap<>(Phase.class);
+    private final Timer chunkLatency;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${cart.cleanup.chunk-size:500}")
+    private int maxChunkSize;
+
+    @Value("${cart.cleanup.min-chunk-size:50}")
+    private int minChunkSize;
+
+    @Value("${cart.cleanup.target-chunk-ms:200}")
+    private long targetChunkMillis;
+
+    @Value("${cart.cleanup.pause-factor:1.0}")
+    private double pauseFactor;
+
+    @Value("${cart.cleanup.max-pause-ms:5000}")
+    private long maxPauseMillis;
+
+    @Autowired
+    public CartCleanupService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        for (Phase phase : Phase.values()) {
+            processedRows.put(phase, Counter.builder("cart.cleanup.rows")
+                    .description("Carts marked or deleted by the cleanup")
+                    .tag("phase", phase.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.chunkLatency = Timer.builder("cart.cleanup.chunk")
+                .description("Time to process and commit one cleanup chunk")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run every phase, resuming any phase a previous run did not finish
+     */
+    @Scheduled(fixedDelayString = "${cart.cleanup.interval-ms:3600000}",
+               initialDelayString = "${cart.cleanup.initial-delay-ms:60000}")
+    public void cleanupCarts() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            AdaptiveThrottle throttle = new AdaptiveThrottle(minChunkSize, maxChunkSize,
+                    TimeUnit.MILLISECONDS.toNanos(targetChunkMillis), pauseFactor, maxPauseMillis);
+            for (Phase phase : Phase.values()) {
+                if (!runPhase(phase, throttle)) {
+                    return;
+                }
+            }
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * @return false if the run was interrupted
+     */
+    private boolean runPhase(Phase phase, AdaptiveThrottle throttle) {
+        Progress progress = startOrResume(phase);
+        LocalDateTime cutoff = progress.runStartedAt.minus(phase.age);
+        byte[] afterId = progress.lastCartId;
+        long processed = 0;
+
+        while (true) {
+            int chunkSize = throttle.chunkSize();
+            long started = System.nanoTime();
+            Chunk chunk = processChunk(phase, afterId, cutoff, chunkSize);
+            long elapsed = System.nanoTime() - started;
+
+            if (chunk.scanned == 0) {
+                break;
+            }
+            chunkLatency.record(elapsed, TimeUnit.NANOSECONDS);
+            processedRows.get(phase).increment(chunk.affected);
+            processed += chunk.affected;
+            afterId = chunk.lastId;
+            if (chunk.scanned < chunkSize) {
+                break;
+            }
+
+            try {
+                Thread.sleep(throttle.pauseMillis(elapsed));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.info("Cart cleanup interrupted in phase {} after {} carts; it resumes on the next run",
+                        phase, processed);
+                return false;
+            }
+        }
+
+        jdbcTemplate.update("UPDATE cart_cleanup_progress SET run_started_at = NULL, last_cart_id = NULL, " +
+                "last_completed_at = ?, updated_at = ? WHERE phase = ?", now(), now(), phase.name());
+        if (processed > 0) {
+            logger.info("Cart cleanup phase {} processed {} carts", phase, processed);
+        }
+        return true;
+    }
+
+    /**
+     * Select the next chunk of candidates after the watermark, then update or delete
+     * those still matching and advance the watermark in one transaction
+     */
+    private Chunk processChunk(Phase phase, byte[] afterId, LocalDateTime cutoff, int chunkSize) {
+        List<byte[]> candidates = jdbcTemplate.query(
+                "SELECT id FROM carts WHERE id > ? AND " + phase.condition + " ORDER BY id LIMIT ?",
+                (rs, rowNum) -> rs.getBytes(1), afterId, Timestamp.valueOf(cutoff), chunkSize);
+        if (candidates.isEmpty()) {
+            return Chunk.EMPTY;
+        }
+        byte[] lastId = candidates.get(candidates.size() - 1);
+
+        Integer affected = transactionTemplate.execute(status -> {
+            int rows = phase.deletes()
+                    ? deleteCarts(phase, candidates, cutoff)
+                    : markCarts(phase, candidates, cutoff);
+            jdbcTemplate.update("UPDATE cart_cleanup_progress SET last_cart_id = ?, " +
+                    "processed_rows = processed_rows + ?, updated_at = ? WHERE phase = ?",
+                    lastId, rows, now(), phase.name());
+            return rows;
+        });
+        return new Chunk(candidates.size(), lastId, affected != null ? affected : 0);
+    }
+
+    private int markCarts(Phase phase, List<byte[]> ids, LocalDateTime cutoff) {
+        List<Object> args = new ArrayList<>(ids.size() + 3);
+        args.add(phase.newStatus);
+        args.add(now());
+        args.addAll(ids);
+        args.add(Timestamp.valueOf(cutoff));
+        return jdbcTemplate.update("UPDATE carts SET status = ?, updated_at = ? WHERE id IN (" +
+                placeholders(ids.size()) + ") AND " + phase.condition, args.toArray());
+    }
+
+    private int deleteCarts(Phase phase, List<byte[]> ids, LocalDateTime cutoff) {
+        List<Object> args = new ArrayList<>(ids);
+        args.add(Timestamp.valueOf(cutoff));
+        // Lock the carts that still qualify so no item can be added to them until they are gone
+        List<byte[]> locked = jdbcTemplate.query("SELECT id FROM carts WHERE id IN (" + placeholders(ids.size()) +
+                ") AND " + phase.condition + " FOR UPDATE", (rs, rowNum) -> rs.getBytes(1), args.toArray());
+        if (locked.isEmpty()) {
+            return 0;
+        }
+        String lockedIds = placeholders(locked.size());
+        jdbcTemplate.update("DELETE FROM cart_items WHERE cart_id IN (" + lockedIds + ")", locked.toArray());
+        return jdbcTemplate.update("DELETE FROM carts WHERE id IN (" + lockedIds + ")", locked.toArray());
+    }
+
+    /**
+     * Continue the phase's unfinished run, or start a new one now
+     */
+    private Progress startOrResume(Phase phase) {
+        jdbcTemplate.update("INSERT IGNORE INTO cart_cleanup_progress (phase, processed_rows, updated_at) " +
+                "VALUES (?, 0, ?)", phase.name(), now());
+        List<Progress> stored = jdbcTemplate.query(
+                "SELECT run_started_at, last_cart_id FROM cart_cleanup_progress WHERE phase = ?",
+                (rs, rowNum) -> {
+                    Timestamp runStartedAt = rs.getTimestamp(1);
+                    return runStartedAt == null ? null
+                            : new Progress(runStartedAt.toLocalDateTime(), rs.getBytes(2));
+                },
+                phase.name());
+
+        Progress resumed = stored.isEmpty() ? null : stored.get(0);
+        if (resumed != null) {
+            logger.info("Resuming cart cleanup phase {} of the run started at {}", phase, resumed.runStartedAt);
+            return resumed.lastCartId != null ? resumed : new Progress(resumed.runStartedAt, START_OF_TABLE);
+        }
+
+        LocalDateTime runStartedAt = LocalDateTime.now();
+        jdbcTemplate.update("UPDATE cart_cleanup_progress SET run_started_at = ?, last_cart_id = NULL, " +
+                "processed_rows = 0, updated_at = ? WHERE phase = ?",
+                Timestamp.valueOf(runStartedAt), now(), phase.name());
+        return new Progress(runStartedAt, START_OF_TABLE);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now());
+    }
+
+    /**
+     * Chunk size and pause between chunks, adjusted to the observed chunk latency
+     */
+    private static final class AdaptiveThrottle {
+        private final int minChunkSize;
+        private final int maxChunkSize;
+        private final long targetNanos;
+        private final double pauseFactor;
+        private final long maxPauseMillis;
+        private int chunkSize;
+
+        AdaptiveThrottle(int minChunkSize, int maxChunkSize, long targetNanos, double pauseFactor, long maxPauseMillis) {
+            this.minChunkSize = Math.max(1, Math.min(minChunkSize, maxChunkSize));
+            this.maxChunkSize = Math.max(this.minChunkSize, maxChunkSize);
+            this.targetNanos = targetNanos;
+            this.pauseFactor = pauseFactor;
+            this.maxPauseMillis = maxPauseMillis;
+            this.chunkSize = this.maxChunkSize;
+        }
+
+        int chunkSize() {
+            return chunkSize;
+        }
+
+        /**
+         * Adjust the chunk size to the last chunk's latency and return the pause before the next one
+         */
+        long pauseMillis(long elapsedNanos) {
+            if (elapsedNanos > targetNanos) {
+                chunkSize = Math.max(minChunkSize, chunkSize / 2);
+            } else if (elapsedNanos < targetNanos / 2) {
+                chunkSize = Math.min(maxChunkSize, chunkSize + Math.max(1, chunkSize / 4));
+            }
+            long pause = (long) (TimeUnit.NANOSECONDS.toMillis(elapsedNanos) * pauseFactor);
+            return Math.max(0, Math.min(pause, maxPauseMillis));
+        }
+    }
+
+    private static final class Progress {
+        private final LocalDateTime runStartedAt;
+        private final byte[] lastCartId;
+
+        Progress(LocalDateTime runStartedAt, byte[] lastCartId) {
+            this.runStartedAt = runStartedAt;
+            this.lastCartId = lastCartId;
+        }
+    }
+
+    private static final class Chunk {
+        private static final Chunk EMPTY = new Chunk(0, null, 0);
+
+        private final int scanned;
+        private final byte[] lastId;
+        private final int affected;
+
+        Chunk(int scanned, byte[] lastId, int affected) {
+            this.scanned = scanned;
+            this.lastId = lastId;
+            this.affected = affected;
+        }
+    }
+}
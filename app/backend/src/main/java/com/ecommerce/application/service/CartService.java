@@ -14,8 +14,6 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -32,7 +30,6 @@ import java.util.stream.Collectors;
  * - Cart creation and management for both authenticated and guest users
  * - Cart item operations (add, update, remove)
  * - Cart merging when guest users log in
- * - Cart cleanup and maintenance
  * - Session-based cart identification
  * 
  * @author E-Commerce Development Team
@@ -73,6 +70,7 @@ public class CartService {
         Optional<CartJpaEntity> existingCart = cartRepository.findActiveCartByUserId(userId);
         if (existingCart.isPresent()) {
             CartJpaEntity cart = existingCart.get();
+            ensureTotalsCurrent(cart);
             cart.updateLastActivity();
             return cartRepository.save(cart);
         }
@@ -98,6 +96,7 @@ public class CartService {
         Optional<CartJpaEntity> existingCart = cartRepository.findActiveGuestCart(sessionId, deviceFingerprint);
         if (existingCart.isPresent()) {
             CartJpaEntity cart = existingCart.get();
+            ensureTotalsCurrent(cart);
             cart.updateLastActivity();
             return cartRepository.save(cart);
         }
@@ -106,6 +105,7 @@ public class CartService {
         List<CartJpaEntity> guestCarts = cartRepository.findActiveGuestCartsByDeviceFingerprint(deviceFingerprint);
         if (!guestCarts.isEmpty()) {
             CartJpaEntity cart = guestCarts.get(0); // Get most recent
+            ensureTotalsCurrent(cart);
             cart.setSessionId(sessionId);
             cart.updateLastActivity();
             return cartRepository.save(cart);
@@ -127,7 +127,9 @@ public class CartService {
      * Get cart by ID with items
      */
     public Optional<CartJpaEntity> getCartWithItems(String cartId) {
-        return cartRepository.findCartWithItems(cartId);
+        Optional<CartJpaEntity> cart = cartRepository.findCartWithItems(cartId);
+        cart.ifPresent(this::ensureTotalsCurrent);
+        return cart;
     }
     
     /**
@@ -146,6 +148,7 @@ public class CartService {
         if (cart.getStatus() != CartStatus.ACTIVE) {
             throw new IllegalStateException("Cannot add items to inactive cart");
         }
+        ensureTotalsCurrent(cart);
         
         ProductJpaEntity product = productRepository.findById(productId)
                 .orElseThrow(() -> new IllegalArgumentException("Product not found: " + productId));
@@ -173,7 +176,7 @@ public class CartService {
         if (existingItem.isPresent()) {
             // Update existing item quantity
             CartItemJpaEntity item = existingItem.get();
-            item.updateQuantity(item.getQuantity() + quantity);
+            cart.updateItemQuantity(item, item.getQuantity() + quantity);
             cartItemRepository.save(item);
         } else {
             // Create new cart item
@@ -207,13 +210,14 @@ public class CartService {
         if (!item.getCart().getId().equals(cartId)) {
             throw new IllegalArgumentException("Cart item does not belong to this cart");
         }
+        ensureTotalsCurrent(cart);
         
         if (quantity <= 0) {
             // Remove item if quantity is 0 or negative
             cart.removeItem(item);
             cartItemRepository.delete(item);
         } else {
-            item.updateQuantity(quantity);
+            cart.updateItemQuantity(item, quantity);
             cartItemRepository.save(item);
         }
         
@@ -236,6 +240,7 @@ public class CartService {
         if (!item.getCart().getId().equals(cartId)) {
             throw new IllegalArgumentException("Cart item does not belong to this cart");
         }
+        ensureTotalsCurrent(cart);
         
         cart.removeItem(item);
         cartItemRepository.delete(item);
@@ -269,7 +274,7 @@ public class CartService {
         UserJpaEntity user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found: " + userId));
         
-        // Get or create user cart
+        // Get or create user cart (totals are brought up to date on load)
         CartJpaEntity userCart = getOrCreateUserCart(userId);
         
         // Find guest cart(s) to merge
@@ -320,7 +325,7 @@ public class CartService {
             if (existingItem.isPresent()) {
                 // Merge quantities
                 CartItemJpaEntity targetItem = existingItem.get();
-                targetItem.updateQuantity(targetItem.getQuantity() + sourceItem.getQuantity());
+                targetCart.updateItemQuantity(targetItem, targetItem.getQuantity() + sourceItem.getQuantity());
                 cartItemRepository.save(targetItem);
             } else {
                 // Create new item in target cart
@@ -521,33 +526,14 @@ public class CartService {
     }
     
     /**
-     * Cleanup expired and abandoned carts (scheduled task)
+     * Recompute the stored cart totals if they are missing or were invalidated by a product
+     * price or tax change. Item changes otherwise keep them current through deltas.
      */
-    @Scheduled(fixedRate = 3600000) // Run every hour
-    @Async
-    public void cleanupCarts() {
-        logger.debug("Starting cart cleanup task");
-        
-        LocalDateTime now = LocalDateTime.now();
-        
-        // Mark expired carts
-        int expiredCount = cartRepository.markExpiredCarts(now);
-        logger.info("Marked {} carts as expired", expiredCount);
-        
-        // Mark abandoned guest carts (inactive for 24 hours)
-        LocalDateTime abandonCutoff = now.minusHours(24);
-        int abandonedCount = cartRepository.markAbandonedGuestCarts(abandonCutoff, now);
-        logger.info("Marked {} guest carts as abandoned", abandonedCount);
-        
-        // Delete old expired and abandoned carts (older than 30 days)
-        LocalDateTime deleteCutoff = now.minusDays(30);
-        int deletedCount = cartRepository.deleteOldCarts(deleteCutoff);
-        logger.info("Deleted {} old carts", deletedCount);
-        
-        // Delete inactive guest carts (older than 7 days)
-        LocalDateTime guestDeleteCutoff = now.minusDays(7);
-        int deletedGuestCount = cartRepository.deleteInactiveGuestCarts(guestDeleteCutoff);
-        logger.info("Deleted {} inactive guest carts", deletedGuestCount);
+    private void ensureTotalsCurrent(CartJpaEntity cart) {
+        if (!cart.isTotalsCurrent()) {
+            logger.debug("Recalculating stale totals for cart: {}", cart.getId());
+            cart.recalculateTotals();
+        }
     }
     
     /**
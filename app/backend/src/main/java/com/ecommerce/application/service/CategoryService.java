@@ -1,5 +1,8 @@
 package com.ecommerce.application.service;
 
+import com.ecommerce.domain.product.ProductStatus;
+import com.ecommerce.infrastructure.cache.CategoryTree;
+import com.ecommerce.infrastructure.cache.CategoryTreeCache;
 import com.ecommerce.infrastructure.persistence.entity.CategoryJpaEntity;
 import com.ecommerce.infrastructure.persistence.repository.CategoryJpaRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,8 +12,14 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service class for Category operations
@@ -22,11 +31,14 @@ public class CategoryService {
 
     private final CategoryJpaRepository categoryRepository;
     private final ProductService productService;
+    private final CategoryTreeCache categoryTree;
 
     @Autowired
-    public CategoryService(CategoryJpaRepository categoryRepository, @Lazy ProductService productService) {
+    public CategoryService(CategoryJpaRepository categoryRepository, @Lazy ProductService productService,
+                           CategoryTreeCache categoryTree) {
         this.categoryRepository = categoryRepository;
         this.productService = productService;
+        this.categoryTree = categoryTree;
     }
 
     // Category CRUD operations
@@ -49,6 +61,7 @@ public class CategoryService {
             category.setParent(parent);
         }
 
+        categoryTree.rebuildAfterCommit();
         return categoryRepository.save(category);
     }
 
@@ -64,6 +77,11 @@ public class CategoryService {
             throw new IllegalArgumentException("Category with slug '" + updatedCategory.getSlug() + "' already exists");
         }
 
+        // Cached product snapshots carry the category name
+        if (!Objects.equals(existingCategory.getName(), updatedCategory.getName())) {
+            productService.evictCachedProductsAfterCommit();
+        }
+
         // Update fields
         existingCategory.setName(updatedCategory.getName());
         existingCategory.setDescription(updatedCategory.getDescription());
@@ -78,9 +96,14 @@ public class CategoryService {
         // Update parent if provided
         if (updatedCategory.getParent() != null && updatedCategory.getParent().getId() != null) {
             CategoryJpaEntity parent = getCategoryById(updatedCategory.getParent().getId());
+            if (parent.getId().equals(categoryId) || categoryTree.get().isDescendantOf(parent.getId(), categoryId)) {
+                throw new IllegalArgumentException("Cannot move category to its own descendant");
+            }
             existingCategory.setParent(parent);
         }
 
+        // Name, sort order and parent all shape the tree
+        categoryTree.rebuildAfterCommit();
         return categoryRepository.save(existingCategory);
     }
 
@@ -164,6 +187,7 @@ public class CategoryService {
         // This would require checking with ProductService or repository
         
         categoryRepository.delete(category);
+        categoryTree.rebuildAfterCommit();
     }
 
     // Hierarchical operations
@@ -189,7 +213,7 @@ public class CategoryService {
      */
     @Transactional(readOnly = true)
     public List<CategoryJpaEntity> getCategoriesByLevel(int level) {
-        return categoryRepository.findCategoriesByLevel(level);
+        return findAllInOrder(categoryTree.get().idsAtDepth(level));
     }
 
     /**
@@ -214,6 +238,7 @@ public class CategoryService {
     public CategoryJpaEntity addSubcategory(String parentCategoryId, CategoryJpaEntity subcategory) {
         CategoryJpaEntity parent = getCategoryById(parentCategoryId);
         subcategory.setParent(parent);
+        categoryTree.rebuildAfterCommit();
         return categoryRepository.save(subcategory);
     }
 
@@ -227,7 +252,7 @@ public class CategoryService {
             CategoryJpaEntity newParent = getCategoryById(newParentId);
             
             // Check for circular reference
-            if (isDescendantOf(newParent, category)) {
+            if (newParentId.equals(categoryId) || categoryTree.get().isDescendantOf(newParentId, categoryId)) {
                 throw new IllegalArgumentException("Cannot move category to its own descendant");
             }
             
@@ -236,33 +261,16 @@ public class CategoryService {
             category.setParent(null);
         }
         
+        categoryTree.rebuildAfterCommit();
         return categoryRepository.save(category);
     }
 
-    /**
-     * Check if a category is descendant of another
-     */
-    private boolean isDescendantOf(CategoryJpaEntity potentialDescendant, CategoryJpaEntity ancestor) {
-        if (potentialDescendant == null || ancestor == null) {
-            return false;
-        }
-        
-        CategoryJpaEntity current = potentialDescendant.getParent();
-        while (current != null) {
-            if (current.getId().equals(ancestor.getId())) {
-                return true;
-            }
-            current = current.getParent();
-        }
-        return false;
-    }
-
     /**
      * Get category path (from root to category)
      */
     @Transactional(readOnly = true)
     public List<CategoryJpaEntity> getCategoryPath(String categoryId) {
-        return categoryRepository.findCategoryPath(categoryId);
+        return findAllInOrder(categoryTree.get().pathIds(categoryId));
     }
 
     /**
@@ -270,7 +278,13 @@ public class CategoryService {
      */
     @Transactional(readOnly = true)
     public List<CategoryJpaEntity> getAllDescendants(String categoryId) {
-        return categoryRepository.findAllDescendants(categoryId);
+        // Nearest levels first, as siblings are ordered within a level
+        CategoryTree tree = categoryTree.get();
+        List<CategoryJpaEntity> descendants = findAllInOrder(tree.descendantIds(categoryId));
+        descendants.sort(Comparator.comparingInt((CategoryJpaEntity category) -> tree.depthOf(category.getId()))
+                .thenComparingInt(CategoryJpaEntity::getSortOrder)
+                .thenComparing(CategoryJpaEntity::getName));
+        return descendants;
     }
 
     /**
@@ -278,7 +292,7 @@ public class CategoryService {
      */
     @Transactional(readOnly = true)
     public List<CategoryJpaEntity> getAllAncestors(String categoryId) {
-        return categoryRepository.findAllAncestors(categoryId);
+        return findAllInOrder(categoryTree.get().ancestorIds(categoryId));
     }
 
     // Category status management
@@ -347,18 +361,14 @@ public class CategoryService {
      * Deactivate category and all its descendants
      */
     public int deactivateCategoryAndDescendants(String categoryId) {
-        // First get all descendants before deactivating
-        List<CategoryJpaEntity> allDescendants = getAllDescendants(categoryId);
+        List<String> subtree = getSubtreeIds(categoryId);
         
         // Deactivate the category tree
-        int deactivatedCount = categoryRepository.deactivateCategoryAndDescendants(categoryId);
-        
-        // Synchronize product status for the root category
-        productService.deactivateProductsByCategory(categoryId);
+        int deactivatedCount = categoryRepository.deactivateCategories(subtree);
         
-        // Synchronize product status for all descendants
-        for (CategoryJpaEntity descendant : allDescendants) {
-            productService.deactivateProductsByCategory(descendant.getId());
+        // Synchronize product status for the category and all its descendants
+        for (String subtreeCategoryId : subtree) {
+            productService.deactivateProductsByCategory(subtreeCategoryId);
         }
         
         return deactivatedCount;
@@ -371,6 +381,7 @@ public class CategoryService {
      */
     public void updateSortOrder(String categoryId, int sortOrder) {
         categoryRepository.updateSortOrder(categoryId, sortOrder);
+        categoryTree.rebuildAfterCommit();
     }
 
     /**
@@ -396,7 +407,7 @@ public class CategoryService {
      */
     @Transactional(readOnly = true)
     public long countProductsInCategoryTree(String categoryId) {
-        return categoryRepository.countProductsInCategoryTree(categoryId);
+        return categoryRepository.countProductsInCategories(getSubtreeIds(categoryId));
     }
 
     /**
@@ -404,7 +415,38 @@ public class CategoryService {
      */
     @Transactional(readOnly = true)
     public long countActiveProductsInCategoryTree(String categoryId) {
-        return categoryRepository.countActiveProductsInCategoryTree(categoryId);
+        return categoryRepository.countProductsInCategoriesByStatus(getSubtreeIds(categoryId), ProductStatus.ACTIVE);
+    }
+
+    // Category tree helpers
+
+    /**
+     * IDs of a category and all its descendants. A category not yet in the tree (created
+     * in a transaction that has not committed) stands for itself.
+     */
+    @Transactional(readOnly = true)
+    public List<String> getSubtreeIds(String categoryId) {
+        List<String> subtree = categoryTree.get().subtreeIds(categoryId);
+        return subtree.isEmpty() ? List.of(categoryId) : subtree;
+    }
+
+    /**
+     * Load categories with one IN query, in the order of the given IDs
+     */
+    private List<CategoryJpaEntity> findAllInOrder(List<String> categoryIds) {
+        if (categoryIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<String, CategoryJpaEntity> byId = categoryRepository.findAllById(categoryIds).stream()
+                .collect(Collectors.toMap(CategoryJpaEntity::getId, Function.identity()));
+        List<CategoryJpaEntity> categories = new ArrayList<>(categoryIds.size());
+        for (String categoryId : categoryIds) {
+            CategoryJpaEntity category = byId.get(categoryId);
+            if (category != null) {
+                categories.add(category);
+            }
+        }
+        return categories;
     }
 
     // Validation methods
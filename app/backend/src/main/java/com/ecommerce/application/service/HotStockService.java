@@ -0,0 +1,584 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.infrastructure.cache.ProductReadCache;
+import com.ecommerce.infrastructure.inventory.InventoryAggregates;
+import com.ecommerce.infrastructure.inventory.StripedStockCounter;
+import com.ecommerce.infrastructure.persistence.transaction.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hot-stock mode for flash-sale products.
+ *
+ * A product in hot-stock mode no longer takes a row lock in {@code products} for
+ * every reservation. Each application instance serves it from a
+ * {@link StripedStockCounter} that decides reservations lock-free, and each change is
+ * appended to {@code stock_journal} inside the caller's transaction. A scheduled
+ * write-behind flusher folds committed journal rows into {@code stock_quantity} and
+ * {@code reserved_quantity} in batches, deleting them in the same transaction.
+ *
+ * Quotas: a counter only holds units its instance has leased from the product row
+ * ({@code products.hot_stock_leased}, one {@code hot_stock_leases} row per lease). When
+ * it runs out, the reservation leases another chunk in the caller's transaction, so
+ * the product row stays locked until that checkout commits or rolls back; the row is
+ * locked once per chunk rather than once per reservation. Every instance can serve
+ * every hot product, and no unit is ever held by two counters. Leases are renewed on a
+ * heartbeat; an instance stops reserving once it has not renewed for half the lease
+ * timeout, and leases not renewed for the whole timeout are returned to the product.
+ *
+ * Recovery: journal rows commit or roll back together with the order that wrote
+ * them, so after a crash the database is always the source of truth. On startup
+ * all pending rows are flushed and counters start empty; the leases of the previous
+ * run expire.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Service
+public class HotStockService implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotStockService.class);
+
+    private static final String INSERT_JOURNAL_SQL =
+            "INSERT INTO stock_journal (product_id, stock_delta, reserved_delta, lease_id, lease_delta, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String APPLY_JOURNAL_SQL =
+            "UPDATE products SET stock_quantity = stock_quantity + ?, reserved_quantity = reserved_quantity + ?, " +
+            "hot_stock_leased = hot_stock_leased + ?, version = version + 1, updated_at = ? " +
+            "WHERE id = ? AND stock_quantity + ? >= 0 AND reserved_quantity + ? >= 0 AND hot_stock_leased + ? >= 0";
+
+    private static final String APPLY_LEASE_SQL = "UPDATE hot_stock_leases SET units = units + ? WHERE lease_id = ?";
+
+    private static final String UPSERT_LEASE_SQL =
+            "INSERT INTO hot_stock_leases (lease_id, product_id, units, renewed_at) VALUES (?, ?, 0, ?) " +
+            "ON DUPLICATE KEY UPDATE renewed_at = VALUES(renewed_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductReadCache productCache;
+    private final InventoryAggregates inventoryAggregates;
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+
+    @Value("${inventory.hot-stock.stripes:16}")
+    private int stripes;
+
+    @Value("${inventory.hot-stock.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    @Value("${inventory.hot-stock.lease-chunk:20}")
+    private int leaseChunk;
+
+    @Value("${inventory.hot-stock.lease-timeout-ms:10000}")
+    private long leaseTimeoutMillis;
+
+    private volatile boolean recovered = false;
+    private volatile long renewedAtNanos;
+    private final ReentrantLock recoveryLock = new ReentrantLock();
+
+    @Autowired
+    public HotStockService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                           ProductReadCache productCache, InventoryAggregates inventoryAggregates) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.productCache = productCache;
+        this.inventoryAggregates = inventoryAggregates;
+    }
+
+    // Recovery
+
+    /**
+     * Set up counters before the web server starts accepting requests
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            recover();
+        } catch (RuntimeException e) {
+            // Hot products refuse reservations until recovery succeeds on a later flush
+            logger.error("Hot stock recovery failed, will retry on next flush", e);
+        }
+    }
+
+    private void recover() {
+        recoveryLock.lock();
+        try {
+            if (recovered) {
+                return;
+            }
+            int applied = flushPending();
+            leases.clear();
+            for (String productId : jdbcTemplate.queryForList("SELECT id FROM products WHERE hot_stock = TRUE", String.class)) {
+                leases.put(productId, new Lease(productId, stripes));
+            }
+            renewedAtNanos = System.nanoTime();
+            recovered = true;
+            logger.info("Recovered {} hot stock products after applying {} pending journal rows", leases.size(), applied);
+        } finally {
+            recoveryLock.unlock();
+        }
+    }
+
+    // Reservation decisions
+
+    /**
+     * Check whether this instance serves a product from an in-memory counter
+     */
+    public boolean isHot(String productId) {
+        return leases.containsKey(productId);
+    }
+
+    /**
+     * Start serving a product that the database has in hot-stock mode before this
+     * instance's heartbeat has picked it up. The heartbeat drops the counter again if
+     * the product turns out not to be hot.
+     *
+     * @return false if hot stock has not been recovered yet, so no product can be served
+     */
+    public boolean follow(String productId) {
+        if (!recovered) {
+            return false;
+        }
+        leases.computeIfAbsent(productId, key -> new Lease(key, stripes));
+        return true;
+    }
+
+    /**
+     * Availability check for a hot product: lock-free while the counter covers the
+     * quantity, otherwise against the units not leased out yet
+     */
+    public boolean canReserve(String productId, int quantity) {
+        Lease lease = leases.get(productId);
+        if (lease == null || quantity <= 0 || !isRenewed()) {
+            return false;
+        }
+        return lease.counter.available() >= quantity || unleasedQuantity(productId) >= quantity;
+    }
+
+    /**
+     * Units this instance could reserve for a hot product, or -1 if the product is not hot
+     */
+    public long availableQuantity(String productId) {
+        Lease lease = leases.get(productId);
+        return lease != null ? lease.counter.available() + Math.max(0, unleasedQuantity(productId)) : -1;
+    }
+
+    /**
+     * Reserve stock for a hot product. Must run inside the caller's transaction: the
+     * journal row commits with it, and the units return to the counter if it rolls back.
+     * If the counter runs short, a new chunk is leased in the same transaction.
+     *
+     * @return true if the stock was reserved, false if not enough stock is available
+     */
+    public boolean tryReserve(String productId, int quantity) {
+        Lease lease = requireLease(productId);
+        requireTransaction();
+        if (!isRenewed()) {
+            logger.warn("Hot stock leases have not been renewed in time, refusing reservation of {}", productId);
+            return false;
+        }
+        if (lease.counter.tryAcquire(quantity)) {
+            onCompletion(status -> {
+                if (status == TransactionSynchronization.STATUS_ROLLED_BACK) {
+                    lease.counter.add(quantity);
+                }
+            });
+        } else {
+            int granted = leaseUnits(lease, quantity);
+            int left = granted >= quantity ? granted - quantity : granted;
+            if (left > 0) {
+                // The chunk only belongs to this instance once the transaction has committed
+                onCompletion(status -> {
+                    if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                        lease.counter.add(left);
+                    }
+                });
+            }
+            if (granted < quantity) {
+                return false;
+            }
+        }
+        appendJournal(productId, 0, quantity, lease.id, -quantity);
+        return true;
+    }
+
+    /**
+     * Release reserved stock of a hot product. The units go into this instance's lease
+     * and become available once the caller's transaction commits.
+     */
+    public void release(String productId, int quantity) {
+        Lease lease = requireLease(productId);
+        requireTransaction();
+        // The lease row must exist for the units to be counted as leased when the journal is flushed
+        jdbcTemplate.update(UPSERT_LEASE_SQL, lease.id, productId, now());
+        appendJournal(productId, 0, -quantity, lease.id, quantity);
+        onCompletion(status -> {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                lease.counter.add(quantity);
+            }
+        });
+    }
+
+    /**
+     * Fulfill reserved stock of a hot product. Stock and reservation shrink together,
+     * so the available quantity does not change.
+     */
+    public void fulfill(String productId, int quantity) {
+        requireLease(productId);
+        appendJournal(productId, -quantity, -quantity, null, 0);
+    }
+
+    /**
+     * Change the stock quantity of a hot product by {@code delta} units. The change is
+     * applied to the product row directly, so new units can be leased at once and a
+     * decrease is checked against the leased units under the row lock.
+     */
+    public void adjustStock(String productId, int delta) {
+        requireLease(productId);
+        requireTransaction();
+        if (delta == 0) {
+            return;
+        }
+        int updated = jdbcTemplate.update(
+                "UPDATE products SET stock_quantity = stock_quantity + ?, version = version + 1, updated_at = ? " +
+                "WHERE id = ? AND stock_quantity - reserved_quantity - hot_stock_leased + ? >= 0",
+                delta, now(), productId, delta);
+        if (updated == 0) {
+            throw new IllegalArgumentException("Cannot remove " + (-delta) + " units of product " + productId
+                    + ": they are reserved or leased");
+        }
+        inventoryAggregates.adjustAfterCommit(productId, delta, 0);
+    }
+
+    /**
+     * Lock the product row and return its stock, reserved and leased quantities
+     * including committed journal rows that have not been flushed yet
+     *
+     * @return {stockQuantity, reservedQuantity, leasedQuantity}
+     */
+    public int[] lockEffectiveQuantities(String productId) {
+        int[] quantities = jdbcTemplate.query(
+                "SELECT stock_quantity, reserved_quantity, hot_stock_leased FROM products WHERE id = ? FOR UPDATE",
+                rs -> rs.next() ? new int[]{rs.getInt(1), rs.getInt(2), rs.getInt(3)} : null, productId);
+        if (quantities == null) {
+            throw new IllegalArgumentException("Product not found with ID: " + productId);
+        }
+        jdbcTemplate.query(
+                "SELECT COALESCE(SUM(j.stock_delta), 0), COALESCE(SUM(j.reserved_delta), 0), " +
+                "COALESCE(SUM(CASE WHEN l.lease_id IS NOT NULL THEN j.lease_delta ELSE 0 END), 0) " +
+                "FROM stock_journal j LEFT JOIN hot_stock_leases l ON l.lease_id = j.lease_id WHERE j.product_id = ?",
+                rs -> {
+                    quantities[0] += rs.getInt(1);
+                    quantities[1] += rs.getInt(2);
+                    quantities[2] += rs.getInt(3);
+                }, productId);
+        return quantities;
+    }
+
+    // Mode switching
+
+    /**
+     * Switch a product to hot-stock mode. Reservations that were waiting on the row
+     * lock through the SQL path fail once the flag is set, so no unit is counted twice.
+     * Other instances start serving the product on their next heartbeat.
+     */
+    public void enable(String productId) {
+        Integer updated = transactionTemplate.execute(status -> jdbcTemplate.update(
+                "UPDATE products SET hot_stock = TRUE, version = version + 1, updated_at = ? WHERE id = ? AND hot_stock = FALSE",
+                now(), productId));
+        productCache.invalidate(productId);
+        if (updated != null && updated > 0) {
+            leases.putIfAbsent(productId, new Lease(productId, stripes));
+            logger.info("Enabled hot stock mode for product {}", productId);
+        }
+    }
+
+    /**
+     * Switch a product back to row-level reservations. The counter is dropped first so
+     * no new hot reservations start, then pending journal rows are flushed together with
+     * the flag change. Reservations still in flight at that moment are applied by the
+     * next scheduled flush. Units still leased stay unavailable to row-level
+     * reservations until their leases expire.
+     */
+    public void disable(String productId) {
+        Lease removed = leases.remove(productId);
+        transactionTemplate.executeWithoutResult(status -> {
+            applyJournal("SELECT id, product_id, stock_delta, reserved_delta, lease_id, lease_delta FROM stock_journal " +
+                    "WHERE product_id = ? ORDER BY id FOR UPDATE", new Object[]{productId});
+            jdbcTemplate.update(
+                    "UPDATE products SET hot_stock = FALSE, version = version + 1, updated_at = ? WHERE id = ?",
+                    now(), productId);
+        });
+        productCache.invalidate(productId);
+        if (removed != null) {
+            logger.info("Disabled hot stock mode for product {}", productId);
+        }
+    }
+
+    // Leases
+
+    /**
+     * Follow mode changes made on other instances, renew this instance's leases and
+     * return the units of leases that were not renewed in time
+     */
+    @Scheduled(fixedDelayString = "${inventory.hot-stock.heartbeat-ms:1000}")
+    public void heartbeat() {
+        if (!recovered) {
+            return;
+        }
+        try {
+            long started = System.nanoTime();
+            if (!isRenewed()) {
+                // Leases may have been returned meanwhile; start over with new, empty ones
+                logger.warn("Hot stock leases were not renewed in time, replacing them");
+                leases.replaceAll((productId, lease) -> new Lease(productId, stripes));
+            }
+            Set<String> hot = new HashSet<>(
+                    jdbcTemplate.queryForList("SELECT id FROM products WHERE hot_stock = TRUE", String.class));
+            // A dropped counter's lease is no longer renewed and expires
+            leases.keySet().removeIf(productId -> !hot.contains(productId));
+            hot.forEach(productId -> leases.computeIfAbsent(productId, key -> new Lease(key, stripes)));
+
+            List<Lease> current = new ArrayList<>(leases.values());
+            if (!current.isEmpty()) {
+                List<Object> args = new ArrayList<>(current.size() + 1);
+                args.add(now());
+                current.forEach(lease -> args.add(lease.id));
+                String placeholders = String.join(",", Collections.nCopies(current.size(), "?"));
+                jdbcTemplate.update("UPDATE hot_stock_leases SET renewed_at = ? WHERE lease_id IN (" + placeholders + ")",
+                        args.toArray());
+            }
+            renewedAtNanos = started;
+
+            returnExpiredLeases();
+        } catch (RuntimeException e) {
+            logger.warn("Hot stock heartbeat failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Lease a chunk of at least {@code quantity} unleased units, or as many as are left,
+     * in the caller's transaction
+     *
+     * @return Units leased
+     */
+    private int leaseUnits(Lease lease, int quantity) {
+        Timestamp timestamp = now();
+        // Lease row before product row, the order the flusher locks them in
+        jdbcTemplate.update(UPSERT_LEASE_SQL, lease.id, lease.productId, timestamp);
+        Integer unleased = jdbcTemplate.query(
+                "SELECT stock_quantity - reserved_quantity - hot_stock_leased FROM products WHERE id = ? AND hot_stock = TRUE FOR UPDATE",
+                rs -> rs.next() ? rs.getInt(1) : null, lease.productId);
+        int granted = unleased != null ? Math.min(Math.max(quantity, leaseChunk), unleased) : 0;
+        if (granted <= 0) {
+            return 0;
+        }
+        jdbcTemplate.update("UPDATE products SET hot_stock_leased = hot_stock_leased + ? WHERE id = ?",
+                granted, lease.productId);
+        jdbcTemplate.update(APPLY_LEASE_SQL, granted, lease.id);
+        return granted;
+    }
+
+    private void returnExpiredLeases() {
+        Timestamp expiredBefore = Timestamp.valueOf(LocalDateTime.now().minusNanos(leaseTimeoutMillis * 1_000_000L));
+        Integer returned = transactionTemplate.execute(status -> {
+            // Leases with journal rows still to flush are returned on a later heartbeat
+            List<Object[]> expired = jdbcTemplate.query(
+                    "SELECT lease_id, product_id, units FROM hot_stock_leases l WHERE renewed_at < ? AND NOT EXISTS " +
+                    "(SELECT 1 FROM stock_journal j WHERE j.lease_id = l.lease_id) ORDER BY lease_id FOR UPDATE",
+                    (rs, rowNum) -> new Object[]{rs.getString(1), rs.getString(2), rs.getInt(3)}, expiredBefore);
+            for (Object[] lease : expired) {
+                jdbcTemplate.update("DELETE FROM hot_stock_leases WHERE lease_id = ?", lease[0]);
+                jdbcTemplate.update("UPDATE products SET hot_stock_leased = hot_stock_leased - ? WHERE id = ?",
+                        lease[2], lease[1]);
+            }
+            return expired.size();
+        });
+        if (returned != null && returned > 0) {
+            logger.info("Returned {} expired hot stock leases", returned);
+        }
+    }
+
+    /**
+     * Whether this instance renewed its leases recently enough to reserve from them.
+     * Half the lease timeout leaves the other half for reservations in flight.
+     */
+    private boolean isRenewed() {
+        return System.nanoTime() - renewedAtNanos < leaseTimeoutMillis * 1_000_000L / 2;
+    }
+
+    private int unleasedQuantity(String productId) {
+        Integer unleased = jdbcTemplate.query(
+                "SELECT stock_quantity - reserved_quantity - hot_stock_leased FROM products WHERE id = ?",
+                rs -> rs.next() ? rs.getInt(1) : null, productId);
+        return unleased != null ? unleased : 0;
+    }
+
+    // Write-behind flushing
+
+    /**
+     * Periodically fold committed journal rows into the products table
+     */
+    @Scheduled(fixedDelayString = "${inventory.hot-stock.flush-interval-ms:200}")
+    public void scheduledFlush() {
+        try {
+            if (!recovered) {
+                recover();
+            } else {
+                flushPending();
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Hot stock flush failed, journal rows will be retried: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Apply all committed journal rows to the products table
+     *
+     * @return Number of journal rows applied
+     */
+    public int flushPending() {
+        int total = 0;
+        int applied;
+        do {
+            Integer batch = transactionTemplate.execute(status -> applyJournal(
+                    "SELECT id, product_id, stock_delta, reserved_delta, lease_id, lease_delta FROM stock_journal " +
+                    "ORDER BY id LIMIT ? FOR UPDATE", new Object[]{flushBatchSize}));
+            applied = batch != null ? batch : 0;
+            total += applied;
+        } while (applied >= flushBatchSize);
+        return total;
+    }
+
+    /**
+     * Apply the selected journal rows to their leases and products and delete them.
+     * A product update that would make a quantity negative means the journal and the
+     * row disagree; it fails the batch, which is retried, instead of being clamped.
+     *
+     * @return Number of journal rows applied
+     */
+    private int applyJournal(String selectSql, Object[] args) {
+        List<Long> ids = new ArrayList<>();
+        // Sorted by product ID and lease ID so that concurrent writers lock rows in the same order
+        Map<String, int[]> deltas = new TreeMap<>();
+        Map<String, int[]> leaseDeltas = new TreeMap<>();
+        Map<String, String> leaseProducts = new HashMap<>();
+        jdbcTemplate.query(selectSql, rs -> {
+            ids.add(rs.getLong(1));
+            int[] delta = deltas.computeIfAbsent(rs.getString(2), key -> new int[3]);
+            delta[0] += rs.getInt(3);
+            delta[1] += rs.getInt(4);
+            String leaseId = rs.getString(5);
+            if (leaseId != null) {
+                leaseDeltas.computeIfAbsent(leaseId, key -> new int[1])[0] += rs.getInt(6);
+                leaseProducts.put(leaseId, rs.getString(2));
+            }
+        }, args);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        // Units of a lease that was already returned went back to the product with it
+        leaseDeltas.forEach((leaseId, delta) -> {
+            if (delta[0] != 0 && jdbcTemplate.update(APPLY_LEASE_SQL, delta[0], leaseId) == 1) {
+                deltas.get(leaseProducts.get(leaseId))[2] += delta[0];
+            }
+        });
+
+        Timestamp timestamp = now();
+        deltas.forEach((productId, delta) -> {
+            int updated = jdbcTemplate.update(APPLY_JOURNAL_SQL, delta[0], delta[1], delta[2], timestamp, productId,
+                    delta[0], delta[1], delta[2]);
+            if (updated != 1) {
+                logger.error("Stock journal for product {} does not fit its row (stock {}, reserved {}, leased {}), " +
+                        "leaving it unapplied", productId, delta[0], delta[1], delta[2]);
+                throw new IllegalStateException("Stock journal cannot be applied to product " + productId);
+            }
+            inventoryAggregates.adjustAfterCommit(productId, delta[0], delta[1]);
+        });
+        AfterCommit.run(() -> deltas.keySet().forEach(productCache::invalidate));
+
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        jdbcTemplate.update("DELETE FROM stock_journal WHERE id IN (" + placeholders + ")", ids.toArray());
+        return ids.size();
+    }
+
+    // Helpers
+
+    private Lease requireLease(String productId) {
+        Lease lease = leases.get(productId);
+        if (lease == null) {
+            throw new IllegalStateException("Product is not in hot stock mode: " + productId);
+        }
+        return lease;
+    }
+
+    private void appendJournal(String productId, int stockDelta, int reservedDelta, String leaseId, int leaseDelta) {
+        jdbcTemplate.update(INSERT_JOURNAL_SQL, productId, stockDelta, reservedDelta, leaseId, leaseDelta, now());
+    }
+
+    private void onCompletion(CompletionCallback callback) {
+        requireTransaction();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                callback.completed(status);
+            }
+        });
+    }
+
+    private static void requireTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Hot stock changes require an active transaction");
+        }
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now());
+    }
+
+    @FunctionalInterface
+    private interface CompletionCallback {
+        void completed(int status);
+    }
+
+    /**
+     * This instance's counter for a hot product and the lease that backs it. A new
+     * counter always gets a new lease, so units left in a dropped counter's lease are
+     * returned when that lease expires instead of being counted twice.
+     */
+    private static final class Lease {
+        private final String id = UUID.randomUUID().toString();
+        private final String productId;
+        private final StripedStockCounter counter;
+
+        private Lease(String productId, int stripes) {
+            this.productId = productId;
+            this.counter = new StripedStockCounter(stripes, 0);
+        }
+    }
+}
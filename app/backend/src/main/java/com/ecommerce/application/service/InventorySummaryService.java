@@ -0,0 +1,373 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.domain.product.ProductStatus;
+import com.ecommerce.infrastructure.cache.CategoryTree;
+import com.ecommerce.infrastructure.cache.CategoryTreeCache;
+import com.ecommerce.infrastructure.inventory.InventoryAggregates;
+import com.ecommerce.infrastructure.inventory.InventoryAggregates.CategoryTotals;
+import com.ecommerce.infrastructure.inventory.InventoryAggregates.ProductState;
+import com.ecommerce.infrastructure.persistence.repository.ProductJpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Inventory value and per-category inventory summary, served from
+ * {@link InventoryAggregates} instead of aggregating the products table.
+ *
+ * Lifecycle of the aggregates:
+ * <ul>
+ *   <li>On startup the latest checkpoint is read from {@code inventory_category_checkpoints}
+ *       and served while every product is loaded into memory in ID-ordered pages.</li>
+ *   <li>Writers keep the aggregates current with deltas after each commit.</li>
+ *   <li>A periodic checkpoint writes the category totals back to the table.</li>
+ *   <li>A periodic verification scans the products table and compares each row with its
+ *       entry. A row can legitimately differ while a change is between its commit and
+ *       its delta, so an entry is only repaired when the same difference (same row, same
+ *       entry) is seen in two consecutive runs.</li>
+ * </ul>
+ * Until the first load has completed and if no checkpoint exists, the summaries fall
+ * back to the aggregate queries.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Service
+public class InventorySummaryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventorySummaryService.class);
+
+    private static final String SCAN_SQL =
+            "SELECT id, category_id, status, price, stock_quantity, reserved_quantity FROM products " +
+            "WHERE id > ? ORDER BY id LIMIT ?";
+
+    private static final String INSERT_CHECKPOINT_SQL =
+            "INSERT INTO inventory_category_checkpoints (category_id, product_count, stock_quantity, reserved_quantity, " +
+            "inventory_value, checkpointed_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final InventoryAggregates aggregates;
+    private final ProductJpaRepository productRepository;
+    private final CategoryTreeCache categoryTree;
+    private final Counter repairs;
+    private final AtomicBoolean scanning = new AtomicBoolean(false);
+
+    // Differences seen by the previous verification run, by product ID
+    private volatile Map<String, Mismatch> suspected = new HashMap<>();
+
+    private volatile List<CategoryTotals> checkpoint;
+    private volatile long checkpointedModifications = -1;
+
+    @Value("${inventory.aggregates.scan-batch-size:1000}")
+    private int scanBatchSize;
+
+    @Autowired
+    public InventorySummaryService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                   InventoryAggregates aggregates, ProductJpaRepository productRepository,
+                                   CategoryTreeCache categoryTree, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.aggregates = aggregates;
+        this.productRepository = productRepository;
+        this.categoryTree = categoryTree;
+        this.repairs = Counter.builder("inventory.aggregates.repairs")
+                .description("Product entries of the inventory aggregates corrected by verification")
+                .register(meterRegistry);
+        Gauge.builder("inventory.aggregates.suspected", this, service -> service.suspected.size())
+                .description("Products whose entry differed from the products table in the last verification")
+                .register(meterRegistry);
+    }
+
+    // Summaries
+
+    /**
+     * Value of the stock of all active products at current prices
+     */
+    public BigDecimal getTotalInventoryValue() {
+        List<CategoryTotals> totals = currentTotals();
+        if (totals == null) {
+            BigDecimal total = productRepository.getTotalInventoryValue(ProductStatus.ACTIVE);
+            return total != null ? total : BigDecimal.ZERO;
+        }
+        long cents = 0;
+        for (CategoryTotals category : totals) {
+            cents += category.getValueCents();
+        }
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * Per category with active products, ordered by category name:
+     * {category ID, category name, product count, stock quantity, reserved quantity, stock value}
+     */
+    public List<Object[]> getInventorySummaryByCategory() {
+        List<CategoryTotals> totals = currentTotals();
+        if (totals == null) {
+            return productRepository.getInventorySummaryByCategory(ProductStatus.ACTIVE);
+        }
+        CategoryTree tree = categoryTree.get();
+        List<Object[]> summary = new ArrayList<>(totals.size());
+        for (CategoryTotals category : totals) {
+            summary.add(new Object[]{category.getCategoryId(), tree.nameOf(category.getCategoryId()),
+                    category.getProductCount(), category.getStockQuantity(), category.getReservedQuantity(),
+                    category.getValue()});
+        }
+        summary.sort(Comparator.comparing(row -> (String) row[1], Comparator.nullsFirst(Comparator.naturalOrder())));
+        return summary;
+    }
+
+    /**
+     * Totals from memory once loaded, else from the last checkpoint, else null
+     */
+    private List<CategoryTotals> currentTotals() {
+        return aggregates.isReady() ? aggregates.categoryTotals() : checkpoint;
+    }
+
+    // Loading
+
+    /**
+     * Serve the last checkpoint, then load every product once the application has started
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            checkpoint = readCheckpoint();
+        } catch (RuntimeException e) {
+            logger.warn("Could not read inventory checkpoint: {}", e.getMessage());
+        }
+        load();
+    }
+
+    /**
+     * Load every product into the aggregates. Changes committed after a product's page was
+     * read are applied to its entry; one committed while the page query runs may be
+     * counted twice or missed, which verification repairs.
+     */
+    public void load() {
+        if (!scanning.compareAndSet(false, true)) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        aggregates.beginLoad();
+        try {
+            int[] loaded = new int[1];
+            scan(aggregates::beginPage, state -> {
+                aggregates.putLoaded(state);
+                loaded[0]++;
+            });
+            aggregates.markReady();
+            logger.info("Inventory aggregates loaded {} products in {} ms", loaded[0], System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            logger.error("Failed to load inventory aggregates, summaries will use the last checkpoint or the database", e);
+        } finally {
+            aggregates.endLoad();
+            scanning.set(false);
+        }
+    }
+
+    // Verification
+
+    /**
+     * Periodically reconcile the aggregates with the products table, or retry a failed load
+     */
+    @Scheduled(fixedDelayString = "${inventory.aggregates.verify-interval-ms:300000}",
+               initialDelayString = "${inventory.aggregates.verify-interval-ms:300000}")
+    public void scheduledVerify() {
+        try {
+            if (!aggregates.isReady()) {
+                load();
+            } else {
+                verify();
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Inventory aggregate verification failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Compare every product row with its entry and repair entries that differed in the same
+     * way in the previous run
+     *
+     * @return Number of entries repaired, or -1 if a load or verification is already running
+     */
+    public int verify() {
+        if (!scanning.compareAndSet(false, true)) {
+            return -1;
+        }
+        try {
+            Map<String, Mismatch> found = new HashMap<>();
+            Set<String> seen = new HashSet<>();
+            scan(state -> {
+                seen.add(state.getProductId());
+                ProductState entry = aggregates.get(state.getProductId());
+                if (!state.equals(entry)) {
+                    found.put(state.getProductId(), new Mismatch(state, entry));
+                }
+            });
+            for (String productId : aggregates.productIds()) {
+                if (!seen.contains(productId)) {
+                    ProductState entry = aggregates.get(productId);
+                    if (entry != null) {
+                        found.put(productId, new Mismatch(null, entry));
+                    }
+                }
+            }
+
+            Map<String, Mismatch> previous = suspected;
+            Map<String, Mismatch> next = new HashMap<>();
+            int repaired = 0;
+            for (Map.Entry<String, Mismatch> mismatch : found.entrySet()) {
+                Mismatch difference = mismatch.getValue();
+                if (difference.equals(previous.get(mismatch.getKey()))
+                        && aggregates.replaceIfUnchanged(mismatch.getKey(), difference.entry, difference.row)) {
+                    repaired++;
+                } else {
+                    next.put(mismatch.getKey(), difference);
+                }
+            }
+            suspected = next;
+
+            if (repaired > 0) {
+                repairs.increment(repaired);
+                logger.warn("Repaired {} inventory aggregate entries that disagreed with the products table", repaired);
+            }
+            logger.debug("Verified {} products against inventory aggregates, {} differences pending", seen.size(), next.size());
+            return repaired;
+        } finally {
+            scanning.set(false);
+        }
+    }
+
+    // Checkpointing
+
+    /**
+     * Periodically write the category totals to {@code inventory_category_checkpoints}
+     */
+    @Scheduled(fixedDelayString = "${inventory.aggregates.checkpoint-interval-ms:60000}")
+    public void scheduledCheckpoint() {
+        try {
+            checkpoint();
+        } catch (RuntimeException e) {
+            logger.warn("Inventory checkpoint failed, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Replace the checkpoint with the current totals, if they changed since the last one
+     */
+    public void checkpoint() {
+        if (!aggregates.isReady()) {
+            return;
+        }
+        long modifications = aggregates.modifications();
+        if (modifications == checkpointedModifications) {
+            return;
+        }
+        List<CategoryTotals> totals = aggregates.categoryTotals();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(totals.size());
+        for (CategoryTotals category : totals) {
+            rows.add(new Object[]{category.getCategoryId(), category.getProductCount(), category.getStockQuantity(),
+                    category.getReservedQuantity(), category.getValue(), now});
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM inventory_category_checkpoints");
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_CHECKPOINT_SQL, rows);
+            }
+        });
+        checkpointedModifications = modifications;
+    }
+
+    private List<CategoryTotals> readCheckpoint() {
+        List<CategoryTotals> totals = jdbcTemplate.query(
+                "SELECT category_id, product_count, stock_quantity, reserved_quantity, inventory_value " +
+                "FROM inventory_category_checkpoints",
+                (rs, rowNum) -> new CategoryTotals(rs.getString(1), rs.getLong(2), rs.getLong(3), rs.getLong(4),
+                        InventoryAggregates.toCents(rs.getBigDecimal(5))));
+        return totals.isEmpty() ? null : totals;
+    }
+
+    // Helpers
+
+    /**
+     * Read every product row in ID order, one page per statement. Outside a transaction, so
+     * it reads the primary rather than a replica that may lag behind the deltas.
+     */
+    private void scan(Consumer<ProductState> consumer) {
+        scan(() -> { }, consumer);
+    }
+
+    /**
+     * @param beforePage Run right before each page is read
+     */
+    private void scan(Runnable beforePage, Consumer<ProductState> consumer) {
+        String afterId = "";
+        int read;
+        do {
+            beforePage.run();
+            List<ProductState> page = jdbcTemplate.query(SCAN_SQL, (rs, rowNum) -> new ProductState(
+                    rs.getString(1), rs.getString(2), ProductStatus.valueOf(rs.getString(3)),
+                    InventoryAggregates.toCents(rs.getBigDecimal(4)), rs.getInt(5), rs.getInt(6)),
+                    afterId, scanBatchSize);
+            page.forEach(consumer);
+            read = page.size();
+            if (read > 0) {
+                afterId = page.get(read - 1).getProductId();
+            }
+        } while (read == scanBatchSize);
+    }
+
+    /**
+     * A product row and the entry it was compared with; either may be missing
+     */
+    private static final class Mismatch {
+        private final ProductState row;
+        private final ProductState entry;
+
+        Mismatch(ProductState row, ProductState entry) {
+            this.row = row;
+            this.entry = entry;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Mismatch other)) return false;
+            return Objects.equals(row, other.row) && Objects.equals(entry, other.entry);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(row, entry);
+        }
+    }
+}
@@ -0,0 +1,424 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.application.dto.OrderRollupBackfillStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Maintains {@code order_daily_rollups}, the per-day, per-status order counts and
+ * totals behind the admin order statistics.
+ *
+ * Order changes reach the rollups in two steps. {@code OrderRollupListener} appends
+ * them to {@code order_rollup_journal} inside the order's transaction, and a
+ * scheduled folder adds committed journal rows to the rollup rows in batches,
+ * deleting them in the same transaction. A committed change is therefore always in
+ * exactly one of the two tables, which is what the statistics read.
+ *
+ * History is counted by the backfill, which rebuilds the rollups of a range of days
+ * from {@code orders}, one day per transaction. It starts by itself when the rollups
+ * are empty and orders exist, and can be rerun for any range to correct drift. A
+ * backfill holds a MySQL named lock for its whole run, so instances starting together
+ * count history once and only one backfill runs across the cluster at a time.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Service
+public class OrderRollupService implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderRollupService.class);
+
+    // Named lock held by the instance running a backfill, on a connection of its own
+    private static final String BACKFILL_LOCK = "order_rollup_backfill";
+
+    private static final String UPSERT_ROLLUP_SQL =
+            "INSERT INTO order_daily_rollups (rollup_date, status, order_count, total_amount, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?) AS delta ON DUPLICATE KEY UPDATE " +
+            "order_count = order_daily_rollups.order_count + delta.order_count, " +
+            "total_amount = order_daily_rollups.total_amount + delta.total_amount, updated_at = delta.updated_at";
+
+    private static final String INSERT_ROLLUP_SQL =
+            "INSERT INTO order_daily_rollups (rollup_date, status, order_count, total_amount, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    // Locking read over one day of orders: waits for transactions still changing them and
+    // keeps new ones out until the rebuild of the day commits
+    private static final String COUNT_DAY_SQL =
+            "SELECT status, COUNT(*), COALESCE(SUM(total_amount), 0) FROM orders FORCE INDEX (idx_orders_order_date) " +
+            "WHERE order_date >= ? AND order_date < ? GROUP BY status FOR SHARE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate backfillTransaction;
+    private final Counter foldedRows;
+    private final Counter rebuiltDays;
+    private final TaskExecutor taskExecutor;
+    private final AtomicBoolean backfillRunning = new AtomicBoolean(false);
+
+    private volatile OrderRollupBackfillStatus latestBackfill;
+
+    @Value("${order.rollup.fold-batch-size:1000}")
+    private int foldBatchSize;
+
+    @Value("${order.rollup.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @Autowired
+    public OrderRollupService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                              TaskExecutor taskExecutor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskExecutor = taskExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.backfillTransaction = new TransactionTemplate(transactionManager);
+        // The day's journal rows are read after its orders are locked; with gap locks and one
+        // snapshot per transaction, exactly the changes already counted are visible
+        this.backfillTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.foldedRows = Counter.builder("order.rollup.journal.folded")
+                .description("Order rollup journal rows folded into the daily rollups")
+                .register(meterRegistry);
+        this.rebuiltDays = Counter.builder("order.rollup.backfill.days")
+                .description("Days of order rollups rebuilt from the orders table")
+                .register(meterRegistry);
+    }
+
+    // Startup
+
+    /**
+     * Count existing orders if the rollups have never been built
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        try {
+            if (needsBackfill() && startBackfill(null, null, true) != null) {
+                logger.info("Order rollups are empty, started backfill from existing orders");
+            }
+        } catch (IllegalStateException e) {
+            logger.info("Order rollups are empty, backfill left to the instance running one: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("Could not check whether order rollups need a backfill", e);
+        }
+    }
+
+    private boolean needsBackfill() {
+        boolean rollupsEmpty = jdbcTemplate.queryForList(
+                "SELECT 1 FROM order_daily_rollups LIMIT 1", Integer.class).isEmpty();
+        boolean ordersExist = !jdbcTemplate.queryForList(
+                "SELECT 1 FROM orders LIMIT 1", Integer.class).isEmpty();
+        return rollupsEmpty && ordersExist;
+    }
+
+    // Write-behind folding
+
+    /**
+     * Periodically fold committed journal rows into the daily rollups
+     */
+    @Scheduled(fixedDelayString = "${order.rollup.fold-interval-ms:1000}")
+    public void scheduledFold() {
+        try {
+            foldPending();
+        } catch (RuntimeException e) {
+            logger.warn("Order rollup fold failed, journal rows will be retried: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Fold all committed journal rows into the daily rollups
+     *
+     * @return Number of journal rows folded
+     */
+    public int foldPending() {
+        int total = 0;
+        int[] batch;
+        do {
+            batch = transactionTemplate.execute(status -> foldJournalBatch());
+            total += batch[1];
+        } while (batch[0] >= foldBatchSize);
+        if (total > 0) {
+            foldedRows.increment(total);
+        }
+        return total;
+    }
+
+    /**
+     * @return {candidate rows, rows folded}; rows taken by a concurrent backfill are not folded
+     */
+    private int[] foldJournalBatch() {
+        List<Long> candidates = jdbcTemplate.queryForList(
+                "SELECT id FROM order_rollup_journal ORDER BY id LIMIT ?", Long.class, foldBatchSize);
+        if (candidates.isEmpty()) {
+            return new int[]{0, 0};
+        }
+
+        // Lock the rows by primary key only: a range lock would also block journal appends by new orders
+        List<Long> ids = new ArrayList<>(candidates.size());
+        // Sorted by day and status so that concurrent folds lock rollup rows in the same order
+        Map<String, RollupDelta> deltas = new TreeMap<>();
+        jdbcTemplate.query("SELECT id, rollup_date, status, order_count_delta, amount_delta FROM order_rollup_journal " +
+                        "WHERE id IN (" + placeholders(candidates.size()) + ") FOR UPDATE",
+                rs -> {
+                    ids.add(rs.getLong(1));
+                    LocalDate day = rs.getDate(2).toLocalDate();
+                    String status = rs.getString(3);
+                    deltas.computeIfAbsent(day + "|" + status, key -> new RollupDelta(day, status))
+                            .add(rs.getLong(4), rs.getBigDecimal(5));
+                }, candidates.toArray());
+        if (ids.isEmpty()) {
+            return new int[]{candidates.size(), 0};
+        }
+
+        Timestamp now = now();
+        List<Object[]> upserts = new ArrayList<>(deltas.size());
+        for (RollupDelta delta : deltas.values()) {
+            if (!delta.isZero()) {
+                upserts.add(new Object[]{Date.valueOf(delta.day), delta.status, delta.orderCount, delta.amount, now});
+            }
+        }
+        if (!upserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_ROLLUP_SQL, upserts);
+        }
+        jdbcTemplate.update("DELETE FROM order_rollup_journal WHERE id IN (" + placeholders(ids.size()) + ")",
+                ids.toArray());
+        return new int[]{candidates.size(), ids.size()};
+    }
+
+    // Backfill
+
+    /**
+     * Rebuild the rollups of a range of days from the orders table on the application task executor
+     *
+     * @param from First day to rebuild, or null for the day of the oldest order
+     * @param to Last day to rebuild, or null for today
+     * @return The backfill as it starts
+     * @throws IllegalStateException if a backfill is already running in this or another instance
+     * @throws IllegalArgumentException if {@code from} is after {@code to}
+     */
+    public OrderRollupBackfillStatus startBackfill(LocalDate from, LocalDate to) {
+        return startBackfill(from, to, false);
+    }
+
+    /**
+     * @param onlyIfEmpty Start only if the rollups are still empty once the lock is held
+     * @return The backfill as it starts, or null if it was not needed
+     */
+    private OrderRollupBackfillStatus startBackfill(LocalDate from, LocalDate to, boolean onlyIfEmpty) {
+        if (!backfillRunning.compareAndSet(false, true)) {
+            throw new IllegalStateException("Order rollup backfill is already running");
+        }
+        Connection lock = null;
+        boolean started = false;
+        try {
+            lock = acquireBackfillLock();
+            // Another instance may have finished a backfill between the check and the lock
+            if (onlyIfEmpty && !needsBackfill()) {
+                return null;
+            }
+            LocalDate last = to != null ? to : LocalDate.now();
+            LocalDate first = from != null ? from : oldestOrderDay(last);
+            if (first.isAfter(last)) {
+                throw new IllegalArgumentException("Backfill start " + first + " is after its end " + last);
+            }
+            OrderRollupBackfillStatus run = new OrderRollupBackfillStatus(
+                    OrderRollupBackfillStatus.RUNNING, first, last, null, 0, LocalDateTime.now(), null);
+            Connection heldLock = lock;
+            taskExecutor.execute(() -> {
+                try {
+                    backfill(run);
+                } finally {
+                    releaseBackfillLock(heldLock);
+                    backfillRunning.set(false);
+                }
+            });
+            started = true;
+            latestBackfill = run;
+            return run;
+        } finally {
+            if (!started) {
+                if (lock != null) {
+                    releaseBackfillLock(lock);
+                }
+                backfillRunning.set(false);
+            }
+        }
+    }
+
+    /**
+     * Take the backfill lock on a new primary connection, which must stay open until the
+     * backfill ends; the lock is released with it if the instance dies
+     *
+     * @throws IllegalStateException if another instance holds the lock
+     */
+    private Connection acquireBackfillLock() {
+        Connection connection = null;
+        try {
+            connection = jdbcTemplate.getDataSource().getConnection();
+            try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+                statement.setString(1, BACKFILL_LOCK);
+                try (ResultSet rs = statement.executeQuery()) {
+                    if (rs.next() && rs.getInt(1) == 1) {
+                        return connection;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            closeQuietly(connection);
+            throw new DataAccessResourceFailureException("Could not take the order rollup backfill lock", e);
+        }
+        closeQuietly(connection);
+        throw new IllegalStateException("Order rollup backfill is already running on another instance");
+    }
+
+    private void releaseBackfillLock(Connection connection) {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            statement.setString(1, BACKFILL_LOCK);
+            statement.execute();
+        } catch (SQLException e) {
+            logger.warn("Could not release the order rollup backfill lock, closing its connection: {}", e.getMessage());
+        } finally {
+            closeQuietly(connection);
+        }
+    }
+
+    /**
+     * The most recently started backfill in this instance, or null if there has been none
+     */
+    public OrderRollupBackfillStatus getLatestBackfill() {
+        return latestBackfill;
+    }
+
+    private void backfill(OrderRollupBackfillStatus run) {
+        long startNanos = System.nanoTime();
+        LocalDate lastCompleted = null;
+        long processedDays = 0;
+        try {
+            for (LocalDate day = run.getFromDate(); !day.isAfter(run.getToDate()); day = day.plusDays(1)) {
+                LocalDate rebuilt = day;
+                backfillTransaction.executeWithoutResult(status -> rebuildDay(rebuilt));
+                rebuiltDays.increment();
+                lastCompleted = day;
+                processedDays++;
+                latestBackfill = new OrderRollupBackfillStatus(OrderRollupBackfillStatus.RUNNING, run.getFromDate(),
+                        run.getToDate(), lastCompleted, processedDays, run.getStartedAt(), null);
+            }
+            latestBackfill = new OrderRollupBackfillStatus(OrderRollupBackfillStatus.COMPLETED, run.getFromDate(),
+                    run.getToDate(), lastCompleted, processedDays, run.getStartedAt(), LocalDateTime.now());
+            logger.info("Rebuilt order rollups for {} days ({} to {}) in {} ms", processedDays, run.getFromDate(),
+                    run.getToDate(), (System.nanoTime() - startNanos) / 1_000_000);
+        } catch (RuntimeException e) {
+            latestBackfill = new OrderRollupBackfillStatus(OrderRollupBackfillStatus.FAILED, run.getFromDate(),
+                    run.getToDate(), lastCompleted, processedDays, run.getStartedAt(), LocalDateTime.now());
+            logger.error("Order rollup backfill failed after {}", lastCompleted, e);
+        }
+    }
+
+    /**
+     * Replace one day's rollups with counts taken from the orders table, dropping the
+     * journal rows of that day, which those counts already include
+     */
+    private void rebuildDay(LocalDate day) {
+        Date date = Date.valueOf(day);
+        List<Object[]> counts = jdbcTemplate.query(COUNT_DAY_SQL,
+                (rs, rowNum) -> new Object[]{rs.getString(1), rs.getLong(2), rs.getBigDecimal(3)},
+                Timestamp.valueOf(day.atStartOfDay()), Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+
+        List<Long> journalIds = jdbcTemplate.queryForList(
+                "SELECT id FROM order_rollup_journal WHERE rollup_date = ?", Long.class, date);
+        for (int start = 0; start < journalIds.size(); start += foldBatchSize) {
+            List<Long> chunk = journalIds.subList(start, Math.min(start + foldBatchSize, journalIds.size()));
+            jdbcTemplate.update("DELETE FROM order_rollup_journal WHERE id IN (" + placeholders(chunk.size()) + ")",
+                    chunk.toArray());
+        }
+
+        jdbcTemplate.update("DELETE FROM order_daily_rollups WHERE rollup_date = ?", date);
+        if (!counts.isEmpty()) {
+            Timestamp now = now();
+            List<Object[]> rows = new ArrayList<>(counts.size());
+            for (Object[] count : counts) {
+                rows.add(new Object[]{date, count[0], count[1], count[2], now});
+            }
+            jdbcTemplate.batchUpdate(INSERT_ROLLUP_SQL, rows);
+        }
+    }
+
+    private LocalDate oldestOrderDay(LocalDate fallback) {
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(order_date) FROM orders", Timestamp.class);
+        return oldest != null ? oldest.toLocalDateTime().toLocalDate() : fallback;
+    }
+
+    // Helpers
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now());
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            logger.debug("Could not close connection: {}", e.getMessage());
+        }
+    }
+
+    private static final class RollupDelta {
+        private final LocalDate day;
+        private final String status;
+        private long orderCount;
+        private BigDecimal amount = BigDecimal.ZERO;
+
+        RollupDelta(LocalDate day, String status) {
+            this.day = day;
+            this.status = status;
+        }
+
+        void add(long orderCountDelta, BigDecimal amountDelta) {
+            orderCount += orderCountDelta;
+            amount = amount.add(amountDelta);
+        }
+
+        boolean isZero() {
+            return orderCount == 0 && amount.signum() == 0;
+        }
+    }
+}
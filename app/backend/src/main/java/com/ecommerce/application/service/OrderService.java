@@ -1,14 +1,22 @@
 package com.ecommerce.application.service;
 
+import com.ecommerce.application.dto.CursorSlice;
+import com.ecommerce.application.dto.KeysetCursor;
+import com.ecommerce.domain.common.Money;
 import com.ecommerce.domain.order.OrderStatus;
 import com.ecommerce.domain.order.PaymentMethod;
+import com.ecommerce.infrastructure.order.OrderNumberAllocator;
 import com.ecommerce.infrastructure.persistence.entity.*;
 import com.ecommerce.infrastructure.persistence.repository.*;
+import com.ecommerce.infrastructure.persistence.transaction.AfterCommit;
+import com.ecommerce.infrastructure.recommendation.CoPurchaseIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -16,7 +24,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -57,6 +68,15 @@ public class OrderService {
     @Autowired
     private CartService cartService;
 
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private CoPurchaseIndex coPurchaseIndex;
+
+    @Autowired
+    private OrderNumberAllocator orderNumberAllocator;
+
     // Order Creation Methods
 
     /**
@@ -98,7 +118,7 @@ public class OrderService {
 
         // Create order
         OrderJpaEntity order = new OrderJpaEntity();
-        order.setOrderNumber(generateOrderNumber());
+        order.setOrderNumber(orderNumberAllocator.nextOrderNumber());
         order.setCustomer(customer);
         order.setBillingAddress(new EmbeddableAddress(billingAddress));
         order.setShippingAddress(new EmbeddableAddress(shippingAddress));
@@ -106,19 +126,23 @@ public class OrderService {
         order.setCustomerNotes(customerNotes);
         order.setStatus(OrderStatus.ORDER_RAISED);
 
-        // Calculate totals
-        BigDecimal subtotal = BigDecimal.ZERO;
+        // Calculate totals (money in paise)
+        long subtotal = 0L;
         BigDecimal totalWeight = BigDecimal.ZERO;
 
-        // Save order first to get ID
-        order = orderRepository.save(order);
+        // Lock all cart products in ID order with one statement before reserving
+        List<ProductJpaEntity> cartProducts = new ArrayList<>();
+        for (CartItemJpaEntity cartItem : cart.getItems()) {
+            cartProducts.add(cartItem.getProduct());
+        }
+        stockReservationService.lockForReservation(cartProducts);
 
         // Convert cart items to order items
         for (CartItemJpaEntity cartItem : cart.getItems()) {
             ProductJpaEntity product = cartItem.getProduct();
             
-            // Validate product availability
-            if (!product.canReserve(cartItem.getQuantity())) {
+            // Validate and reserve product stock in memory
+            if (!stockReservationService.reserveLocked(product, cartItem.getQuantity())) {
                 throw new IllegalArgumentException("Insufficient stock for product: " + product.getName());
             }
 
@@ -141,22 +165,17 @@ public class OrderService {
             // Set price component fields from product
             orderItem.setBaseAmount(product.getBaseAmount());
             orderItem.setTaxRate(product.getTaxRate());
-            orderItem.setTaxAmount(product.getTaxAmount().multiply(BigDecimal.valueOf(cartItem.getQuantity())));
+            orderItem.setTaxAmount(Money.toDecimal(Money.times(product.getTaxAmountPaise(), cartItem.getQuantity())));
 
             order.addItem(orderItem);
             
             // Calculate subtotal from effective unit price (for both regular and variable dimension products)
-            BigDecimal itemTotal = orderItem.getEffectiveUnitPrice().multiply(BigDecimal.valueOf(orderItem.getQuantity()));
-            subtotal = subtotal.add(itemTotal);
+            subtotal += Money.times(cartItem.getEffectiveUnitPricePaise(), orderItem.getQuantity());
             totalWeight = totalWeight.add(orderItem.getTotalWeight());
-
-            // Reserve product stock
-            product.reserveStock(cartItem.getQuantity());
-            productRepository.save(product);
         }
 
         // Set calculated totals
-        order.setSubtotal(subtotal);
+        order.setSubtotal(Money.toDecimal(subtotal));
         order.setTotalWeight(totalWeight);
         
         // Apply cart-level discounts and calculations
@@ -166,13 +185,13 @@ public class OrderService {
         order.setShippingAmount(cart.getShippingAmount());
         
         // Calculate final total
-        BigDecimal totalAmount = subtotal
-            .subtract(order.getDiscountAmount())
-            .add(order.getTaxAmount())
-            .add(order.getShippingAmount());
-        order.setTotalAmount(totalAmount);
+        long totalAmount = subtotal
+            - Money.of(order.getDiscountAmount())
+            + Money.of(order.getTaxAmount())
+            + Money.of(order.getShippingAmount());
+        order.setTotalAmount(Money.toDecimal(totalAmount));
 
-        // Save order with items
+        // Persist order with items; order, items, history and stock changes are written in one flush at commit
         order = orderRepository.save(order);
 
         // Add initial status history
@@ -181,6 +200,8 @@ public class OrderService {
         // Checkout the cart through CartService
         cartService.checkoutCart(cart.getId());
         
+        recordCoPurchaseAfterCommit(order);
+        
         logger.info("Order created successfully: {}", order.getOrderNumber());
         return order;
     }
@@ -210,7 +231,7 @@ public class OrderService {
 
         // Create order
         OrderJpaEntity order = new OrderJpaEntity();
-        order.setOrderNumber(generateOrderNumber());
+        order.setOrderNumber(orderNumberAllocator.nextOrderNumber());
         order.setCustomer(customer);
         order.setBillingAddress(new EmbeddableAddress(billingAddress));
         order.setShippingAddress(new EmbeddableAddress(shippingAddress));
@@ -218,18 +239,29 @@ public class OrderService {
         order.setCustomerNotes(customerNotes);
         order.setStatus(OrderStatus.ORDER_RAISED);
 
-        // Save order first to get ID
-        order = orderRepository.save(order);
+        // Load all requested products with one query and lock them in ID order
+        List<String> productIds = new ArrayList<>();
+        for (OrderItemRequest itemRequest : itemRequests) {
+            productIds.add(itemRequest.getProductId());
+        }
+        Map<String, ProductJpaEntity> products = new HashMap<>();
+        for (ProductJpaEntity product : productRepository.findAllById(productIds)) {
+            products.put(product.getId(), product);
+        }
+        stockReservationService.lockForReservation(products.values());
 
-        // Process items
-        BigDecimal subtotal = BigDecimal.ZERO;
+        // Process items (money in paise)
+        long subtotal = 0L;
         BigDecimal totalWeight = BigDecimal.ZERO;
 
         for (OrderItemRequest itemRequest : itemRequests) {
-            ProductJpaEntity product = productRepository.findById(itemRequest.getProductId())
-                .orElseThrow(() -> new IllegalArgumentException("Product not found: " + itemRequest.getProductId()));
+            ProductJpaEntity product = products.get(itemRequest.getProductId());
+            if (product == null) {
+                throw new IllegalArgumentException("Product not found: " + itemRequest.getProductId());
+            }
 
-            if (!product.canReserve(itemRequest.getQuantity())) {
+            // Validate and reserve product stock in memory
+            if (!stockReservationService.reserveLocked(product, itemRequest.getQuantity())) {
                 throw new IllegalArgumentException("Insufficient stock for product: " + product.getName());
             }
 
@@ -239,31 +271,29 @@ public class OrderService {
             // Set price component fields from product
             orderItem.setBaseAmount(product.getBaseAmount());
             orderItem.setTaxRate(product.getTaxRate());
-            orderItem.setTaxAmount(product.getTaxAmount().multiply(BigDecimal.valueOf(itemRequest.getQuantity())));
+            orderItem.setTaxAmount(Money.toDecimal(Money.times(product.getTaxAmountPaise(), itemRequest.getQuantity())));
 
             order.addItem(orderItem);
             
             // Calculate subtotal from base amounts (excluding tax)
-            BigDecimal itemBaseTotal = orderItem.getBaseAmount().multiply(BigDecimal.valueOf(orderItem.getQuantity()));
-            subtotal = subtotal.add(itemBaseTotal);
+            subtotal += Money.times(product.getBaseAmountPaise(), orderItem.getQuantity());
             totalWeight = totalWeight.add(orderItem.getTotalWeight());
-
-            // Reserve product stock
-            product.reserveStock(itemRequest.getQuantity());
-            productRepository.save(product);
         }
 
         // Set totals
-        order.setSubtotal(subtotal);
+        BigDecimal subtotalAmount = Money.toDecimal(subtotal);
+        order.setSubtotal(subtotalAmount);
         order.setTotalWeight(totalWeight);
-        order.setTotalAmount(subtotal); // Simple calculation, can be enhanced with tax/shipping logic
+        order.setTotalAmount(subtotalAmount); // Simple calculation, can be enhanced with tax/shipping logic
 
-        // Save order
+        // Persist order with items; order, items, history and stock changes are written in one flush at commit
         order = orderRepository.save(order);
 
         // Add initial status history
         addStatusHistory(order, OrderStatus.ORDER_RAISED, null, "Order created", getCurrentUsername(), false);
 
+        recordCoPurchaseAfterCommit(order);
+
         logger.info("Direct order created successfully: {}", order.getOrderNumber());
         return order;
     }
@@ -333,10 +363,14 @@ public class OrderService {
         }
 
         // Release reserved stock
+        List<StockReservationService.StockLine> stockLines = new ArrayList<>();
         for (OrderItemJpaEntity item : order.getItems()) {
-            ProductJpaEntity product = item.getProduct();
-            product.releaseReservedStock(item.getQuantity());
-            productRepository.save(product);
+            stockLines.add(new StockReservationService.StockLine(item.getProduct().getId(), item.getQuantity()));
+        }
+        for (StockReservationService.LineResult result : stockReservationService.releaseAll(stockLines)) {
+            if (!result.isSuccess()) {
+                throw new IllegalStateException("Invalid quantity to release for product: " + result.getProductId());
+            }
         }
 
         OrderStatus previousStatus = order.getStatus();
@@ -411,6 +445,64 @@ public class OrderService {
         return orderRepository.findByStatus(status, pageable);
     }
 
+    // Keyset (cursor) pagination: newest first, no count query
+
+    /**
+     * Get orders for customer after a cursor
+     *
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public CursorSlice<OrderJpaEntity> getCustomerOrdersAfter(String customerId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        return toCursorSlice(orderRepository.findCustomerOrdersAfter(customerId,
+                afterDate(after), afterId(after), PageRequest.of(0, size)));
+    }
+
+    /**
+     * Get customer orders with a status after a cursor
+     */
+    @Transactional(readOnly = true)
+    public CursorSlice<OrderJpaEntity> getCustomerOrdersByStatusAfter(String customerId, OrderStatus status,
+                                                                     String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        return toCursorSlice(orderRepository.findCustomerOrdersByStatusAfter(customerId, status,
+                afterDate(after), afterId(after), PageRequest.of(0, size)));
+    }
+
+    /**
+     * Search customer orders after a cursor
+     */
+    @Transactional(readOnly = true)
+    public CursorSlice<OrderJpaEntity> searchCustomerOrdersAfter(String customerId, String search, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        return toCursorSlice(orderRepository.searchCustomerOrdersAfter(customerId, search,
+                afterDate(after), afterId(after), PageRequest.of(0, size)));
+    }
+
+    /**
+     * Get orders by status after a cursor
+     */
+    @Transactional(readOnly = true)
+    public CursorSlice<OrderJpaEntity> getOrdersByStatusAfter(OrderStatus status, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        return toCursorSlice(orderRepository.findByStatusAfter(status,
+                afterDate(after), afterId(after), PageRequest.of(0, size)));
+    }
+
+    private static LocalDateTime afterDate(KeysetCursor after) {
+        return after != null ? after.getSortKeyAsDateTime() : null;
+    }
+
+    private static String afterId(KeysetCursor after) {
+        return after != null ? after.getId() : null;
+    }
+
+    private static CursorSlice<OrderJpaEntity> toCursorSlice(Slice<OrderJpaEntity> slice) {
+        return CursorSlice.of(slice, order -> KeysetCursor.of(order.getOrderDate(), order.getId()));
+    }
+
     /**
      * Get order status history
      */
@@ -429,16 +521,6 @@ public class OrderService {
 
     // Utility Methods
 
-    /**
-     * Generate unique order number
-     */
-    private String generateOrderNumber() {
-        // Generate exactly 10 digits by taking last 10 digits of timestamp
-        String timestamp = String.valueOf(System.currentTimeMillis());
-        String lastTenDigits = timestamp.substring(timestamp.length() - 10);
-        return "ORD-" + lastTenDigits;
-    }
-
     /**
      * Add status history entry
      */
@@ -450,6 +532,19 @@ public class OrderService {
         orderStatusHistoryRepository.save(history);
     }
 
+    /**
+     * Count the order's products in the co-purchase index once the order commits
+     */
+    private void recordCoPurchaseAfterCommit(OrderJpaEntity order) {
+        String orderId = order.getId();
+        LocalDateTime orderDate = order.getOrderDate();
+        List<String> productIds = new ArrayList<>(order.getItems().size());
+        for (OrderItemJpaEntity item : order.getItems()) {
+            productIds.add(item.getProduct().getId());
+        }
+        AfterCommit.run(() -> coPurchaseIndex.recordOrder(orderId, productIds, orderDate));
+    }
+
     /**
      * Get current username from security context
      */
@@ -0,0 +1,162 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.application.dto.DailyOrderStatistics;
+import com.ecommerce.domain.order.OrderStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Order statistics for the admin dashboard, answered from the daily rollups
+ * maintained by {@link OrderRollupService} instead of from the orders table.
+ *
+ * A range of days costs one read of its rollup rows (at most one per day and status)
+ * plus the journal rows not yet folded into them. Both are read in one read-only
+ * transaction, so a concurrent fold, which moves rows from the journal to the
+ * rollups atomically, is either fully visible or not at all.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Service
+public class OrderStatisticsService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTransaction;
+
+    @Autowired
+    public OrderStatisticsService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Orders placed per day in a range, across all statuses. Days without orders are left out.
+     */
+    public List<DailyOrderStatistics> getDailyStatistics(LocalDate from, LocalDate to) {
+        return daily(load(from, to));
+    }
+
+    /**
+     * Number of orders placed in a range of days that are now in each status
+     */
+    public Map<OrderStatus, Long> countOrdersByStatus(LocalDate from, LocalDate to) {
+        return countsByStatus(load(from, to));
+    }
+
+    /**
+     * Total value of the orders placed in a range of days that are now in one of the statuses
+     */
+    public BigDecimal sumTotalAmount(LocalDate from, LocalDate to, Collection<OrderStatus> statuses) {
+        return totalAmount(load(from, to), statuses);
+    }
+
+    /**
+     * Daily figures, counts by status and the revenue of the given statuses for a range
+     * of days, all from the same read
+     */
+    public Map<String, Object> getStatistics(LocalDate from, LocalDate to, Collection<OrderStatus> revenueStatuses) {
+        Map<LocalDate, Map<OrderStatus, Bucket>> buckets = load(from, to);
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("from", from);
+        stats.put("to", to);
+        stats.put("daily", daily(buckets));
+        stats.put("ordersByStatus", countsByStatus(buckets));
+        stats.put("revenueStatuses", revenueStatuses);
+        stats.put("revenue", totalAmount(buckets, revenueStatuses));
+        return stats;
+    }
+
+    private Map<LocalDate, Map<OrderStatus, Bucket>> load(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Start date " + from + " is after end date " + to);
+        }
+        Date start = Date.valueOf(from);
+        Date end = Date.valueOf(to);
+        Map<LocalDate, Map<OrderStatus, Bucket>> buckets = new TreeMap<>();
+        readTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.query("SELECT rollup_date, status, order_count, total_amount FROM order_daily_rollups " +
+                            "WHERE rollup_date BETWEEN ? AND ?",
+                    rs -> {
+                        bucket(buckets, rs.getDate(1).toLocalDate(), rs.getString(2))
+                                .add(rs.getLong(3), rs.getBigDecimal(4));
+                    }, start, end);
+            jdbcTemplate.query("SELECT rollup_date, status, SUM(order_count_delta), SUM(amount_delta) " +
+                            "FROM order_rollup_journal WHERE rollup_date BETWEEN ? AND ? GROUP BY rollup_date, status",
+                    rs -> {
+                        bucket(buckets, rs.getDate(1).toLocalDate(), rs.getString(2))
+                                .add(rs.getLong(3), rs.getBigDecimal(4));
+                    }, start, end);
+        });
+        return buckets;
+    }
+
+    private static Bucket bucket(Map<LocalDate, Map<OrderStatus, Bucket>> buckets, LocalDate day, String status) {
+        return buckets.computeIfAbsent(day, key -> new EnumMap<>(OrderStatus.class))
+                .computeIfAbsent(OrderStatus.valueOf(status), key -> new Bucket());
+    }
+
+    private static List<DailyOrderStatistics> daily(Map<LocalDate, Map<OrderStatus, Bucket>> buckets) {
+        List<DailyOrderStatistics> daily = new ArrayList<>(buckets.size());
+        buckets.forEach((day, byStatus) -> {
+            long orderCount = 0;
+            BigDecimal totalAmount = BigDecimal.ZERO;
+            for (Bucket bucket : byStatus.values()) {
+                orderCount += bucket.orderCount;
+                totalAmount = totalAmount.add(bucket.totalAmount);
+            }
+            if (orderCount > 0) {
+                daily.add(new DailyOrderStatistics(day, orderCount, totalAmount));
+            }
+        });
+        return daily;
+    }
+
+    private static Map<OrderStatus, Long> countsByStatus(Map<LocalDate, Map<OrderStatus, Bucket>> buckets) {
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            counts.put(status, 0L);
+        }
+        buckets.values().forEach(byStatus ->
+                byStatus.forEach((status, bucket) -> counts.merge(status, bucket.orderCount, Long::sum)));
+        return counts;
+    }
+
+    private static BigDecimal totalAmount(Map<LocalDate, Map<OrderStatus, Bucket>> buckets,
+                                          Collection<OrderStatus> statuses) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Map<OrderStatus, Bucket> byStatus : buckets.values()) {
+            for (Map.Entry<OrderStatus, Bucket> entry : byStatus.entrySet()) {
+                if (statuses.contains(entry.getKey())) {
+                    total = total.add(entry.getValue().totalAmount);
+                }
+            }
+        }
+        return total;
+    }
+
+    private static final class Bucket {
+        private long orderCount;
+        private BigDecimal totalAmount = BigDecimal.ZERO;
+
+        void add(long orderCount, BigDecimal totalAmount) {
+            this.orderCount += orderCount;
+            this.totalAmount = this.totalAmount.add(totalAmount);
+        }
+    }
+}
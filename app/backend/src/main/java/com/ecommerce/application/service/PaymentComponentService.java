@@ -2,6 +2,7 @@ package com.ecommerce.application.service;
 
 import com.ecommerce.application.dto.PaymentComponent;
 import com.ecommerce.domain.common.Address;
+import com.ecommerce.domain.common.Money;
 import com.ecommerce.infrastructure.persistence.entity.CartJpaEntity;
 import com.ecommerce.infrastructure.persistence.entity.OrderJpaEntity;
 import com.ecommerce.infrastructure.persistence.entity.OrderItemJpaEntity;
@@ -11,7 +12,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -35,15 +35,24 @@ public class PaymentComponentService {
     
     private static final Logger logger = LoggerFactory.getLogger(PaymentComponentService.class);
     
-    // Tax configuration
-    private static final BigDecimal DEFAULT_TAX_RATE = new BigDecimal("0.08"); // 8%
-    private static final BigDecimal HIGH_TAX_RATE = new BigDecimal("0.10"); // 10%
-    private static final BigDecimal LOW_TAX_RATE = new BigDecimal("0.05"); // 5%
+    // Tax configuration (basis points)
+    private static final long DEFAULT_TAX_RATE = 800L; // 8%
+    private static final long HIGH_TAX_RATE = 1000L; // 10%
+    private static final long LOW_TAX_RATE = 500L; // 5%
     
-    // Shipping configuration
-    private static final BigDecimal FREE_SHIPPING_THRESHOLD = new BigDecimal("50.00");
-    private static final BigDecimal STANDARD_SHIPPING_RATE = new BigDecimal("9.99");
-    private static final BigDecimal EXPRESS_SHIPPING_RATE = new BigDecimal("19.99");
+    // Shipping configuration (paise)
+    private static final long FREE_SHIPPING_THRESHOLD = 5000L; // 50.00
+    private static final long STANDARD_SHIPPING_RATE = 999L; // 9.99
+    private static final long EXPRESS_SHIPPING_RATE = 1999L; // 19.99
+    
+    // Discount and fee configuration
+    private static final long SAVE10_RATE = 1000L; // 10% (basis points)
+    private static final long SAVE20_RATE = 2000L; // 20% (basis points)
+    private static final long FIRST15_RATE = 1500L; // 15% (basis points)
+    private static final long FLAT5_AMOUNT = 500L; // 5.00 (paise)
+    private static final long FLAT10_AMOUNT = 1000L; // 10.00 (paise)
+    private static final long COD_FEE = 299L; // 2.99 (paise)
+    private static final long INTERNATIONAL_CARD_FEE_RATE = 300L; // 3% (basis points)
     
     /**
      * Calculate tax for a cart using product-level tax rates
@@ -51,45 +60,22 @@ public class PaymentComponentService {
     public PaymentComponentResult calculateTax(CartJpaEntity cart, AddressJpaEntity address) {
         logger.debug("Calculating tax for cart: {} with address: {}", cart.getId(), address != null ? address.getId() : "none");
         
-        BigDecimal totalTaxAmount = BigDecimal.ZERO;
-        BigDecimal totalSubtotal = BigDecimal.ZERO;
-        
-        // Calculate tax for each cart item using product's tax rate
-        for (var cartItem : cart.getItems()) {
-            var product = cartItem.getProduct();
-            
-            // For variable dimension products, tax is already included in calculatedUnitPrice
-            if (cartItem.hasCustomDimensions() && cartItem.getCalculatedUnitPrice() != null) {
-                // For variable dimension products, the rate already includes tax
-                // So we don't add separate tax - just include the subtotal
-                totalSubtotal = totalSubtotal.add(cartItem.getCalculatedUnitPrice());
-                // No additional tax amount since it's already included
-                continue;
-            }
-            
-            // For regular products, calculate tax separately
-            BigDecimal itemSubtotal = product.getBaseAmount() != null ? 
-                product.getBaseAmount().multiply(BigDecimal.valueOf(cartItem.getQuantity())) :
-                cartItem.getUnitPrice().multiply(BigDecimal.valueOf(cartItem.getQuantity()));
-                
-            BigDecimal itemTaxAmount = product.getTaxAmount() != null ?
-                product.getTaxAmount().multiply(BigDecimal.valueOf(cartItem.getQuantity())) :
-                BigDecimal.ZERO;
-                
-            totalTaxAmount = totalTaxAmount.add(itemTaxAmount);
-            totalSubtotal = totalSubtotal.add(itemSubtotal);
-        }
+        // Product-level tax per item is maintained incrementally on the cart (variable dimension
+        // items carry tax inside their calculated price and contribute only to the subtotal)
+        long totalTaxAmount = cart.getItemsTaxPaise();
+        long totalSubtotal = cart.getSubtotalPaise();
         
-        // Calculate effective tax rate for display
-        BigDecimal effectiveTaxRate = totalSubtotal.compareTo(BigDecimal.ZERO) > 0 ?
-            totalTaxAmount.divide(totalSubtotal, 4, BigDecimal.ROUND_HALF_UP) : BigDecimal.ZERO;
+        // Calculate effective tax rate for display (basis points, HALF_UP)
+        long effectiveTaxRate = Money.ratioBasisPoints(totalTaxAmount, totalSubtotal);
         
         String taxLabel = determineTaxLabel(address, effectiveTaxRate);
-        String taxDescription = totalTaxAmount.compareTo(BigDecimal.ZERO) > 0 ? 
+        String taxDescription = totalTaxAmount > 0 ? 
             "Tax calculated per product rates" : "Tax included in pricing";
         
-        logger.debug("Product-level tax calculation result: amount={}, effective rate={}, label={}", 
-                    totalTaxAmount, effectiveTaxRate, taxLabel);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Product-level tax calculation result: amount={}, effective rate={}, label={}", 
+                        Money.toDecimal(totalTaxAmount), effectiveTaxRate, taxLabel);
+        }
         
         return new PaymentComponentResult(totalTaxAmount, taxLabel, taxDescription);
     }
@@ -98,16 +84,20 @@ public class PaymentComponentService {
      * Calculate shipping for a cart
      */
     public PaymentComponentResult calculateShipping(CartJpaEntity cart, AddressJpaEntity address, String shippingMethod) {
-        logger.debug("Calculating shipping for cart: {} with address: {} and method: {}", 
-                    cart.getId(), address != null ? address.getId() : "none", shippingMethod);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Calculating shipping for cart: {} with address: {} and method: {}", 
+                        cart.getId(), address != null ? address.getId() : "none", shippingMethod);
+        }
         
-        BigDecimal subtotal = cart.getSubtotal();
-        BigDecimal shippingAmount = determineShippingAmount(subtotal, address, shippingMethod);
+        long subtotal = cart.getSubtotalPaise();
+        long shippingAmount = determineShippingAmount(subtotal, address, shippingMethod);
         
         String shippingLabel = determineShippingLabel(subtotal, shippingAmount, shippingMethod);
         String shippingDescription = determineShippingDescription(subtotal, shippingAmount, shippingMethod);
         
-        logger.debug("Shipping calculation result: amount={}, label={}", shippingAmount, shippingLabel);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Shipping calculation result: amount={}, label={}", Money.toDecimal(shippingAmount), shippingLabel);
+        }
         
         return new PaymentComponentResult(shippingAmount, shippingLabel, shippingDescription);
     }
@@ -118,13 +108,15 @@ public class PaymentComponentService {
     public PaymentComponentResult calculateDiscount(CartJpaEntity cart, String discountCode) {
         logger.debug("Calculating discount for cart: {} with code: {}", cart.getId(), discountCode);
         
-        BigDecimal subtotal = cart.getSubtotal();
-        BigDecimal discountAmount = determineDiscountAmount(subtotal, discountCode);
+        long subtotal = cart.getSubtotalPaise();
+        long discountAmount = determineDiscountAmount(subtotal, discountCode);
         
         String discountLabel = determineDiscountLabel(discountCode, discountAmount);
         String discountDescription = determineDiscountDescription(discountCode, discountAmount);
         
-        logger.debug("Discount calculation result: amount={}, label={}", discountAmount, discountLabel);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Discount calculation result: amount={}, label={}", Money.toDecimal(discountAmount), discountLabel);
+        }
         
         return new PaymentComponentResult(discountAmount, discountLabel, discountDescription);
     }
@@ -135,13 +127,15 @@ public class PaymentComponentService {
     public PaymentComponentResult calculateProcessingFee(CartJpaEntity cart, String paymentMethod) {
         logger.debug("Calculating processing fee for cart: {} with payment method: {}", cart.getId(), paymentMethod);
         
-        BigDecimal subtotal = cart.getSubtotal();
-        BigDecimal feeAmount = determineProcessingFeeAmount(subtotal, paymentMethod);
+        long subtotal = cart.getSubtotalPaise();
+        long feeAmount = determineProcessingFeeAmount(subtotal, paymentMethod);
         
         String feeLabel = determineProcessingFeeLabel(paymentMethod, feeAmount);
         String feeDescription = determineProcessingFeeDescription(paymentMethod, feeAmount);
         
-        logger.debug("Processing fee calculation result: amount={}, label={}", feeAmount, feeLabel);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Processing fee calculation result: amount={}, label={}", Money.toDecimal(feeAmount), feeLabel);
+        }
         
         return new PaymentComponentResult(feeAmount, feeLabel, feeDescription);
     }
@@ -171,7 +165,7 @@ public class PaymentComponentService {
         // Calculate processing fee if applicable
         if (paymentMethod != null && !paymentMethod.trim().isEmpty()) {
             PaymentComponentResult fee = calculateProcessingFee(cart, paymentMethod);
-            if (fee.getAmount().compareTo(BigDecimal.ZERO) > 0) {
+            if (fee.getAmountPaise() > 0) {
                 components.put("fee", fee);
             }
         }
@@ -189,15 +183,15 @@ public class PaymentComponentService {
         
         // Calculate tax
         PaymentComponentResult tax = calculateTax(cart, address);
-        if (tax.getAmount().compareTo(BigDecimal.ZERO) > 0) {
+        if (tax.getAmountPaise() > 0) {
             components.add(new PaymentComponent("TAX", tax.getAmount(), tax.getLabel()));
         }
         
         // Calculate shipping
         PaymentComponentResult shipping = calculateShipping(cart, address, shippingMethod);
-        if (shipping.getAmount().compareTo(BigDecimal.ZERO) > 0) {
+        if (shipping.getAmountPaise() > 0) {
             components.add(new PaymentComponent("SHIPPING", shipping.getAmount(), shipping.getLabel()));
-        } else if (shipping.getAmount().compareTo(BigDecimal.ZERO) == 0) {
+        } else if (shipping.getAmountPaise() == 0) {
             // Show free shipping
             components.add(new PaymentComponent("SHIPPING", BigDecimal.ZERO, shipping.getLabel()));
         }
@@ -205,7 +199,7 @@ public class PaymentComponentService {
         // Calculate discount if applicable
         if (discountCode != null && !discountCode.trim().isEmpty()) {
             PaymentComponentResult discount = calculateDiscount(cart, discountCode);
-            if (discount.getAmount().compareTo(BigDecimal.ZERO) > 0) {
+            if (discount.getAmountPaise() > 0) {
                 components.add(new PaymentComponent("DISCOUNT", discount.getAmount(), discount.getLabel(), true));
             }
         }
@@ -213,7 +207,7 @@ public class PaymentComponentService {
         // Calculate processing fee if applicable
         if (paymentMethod != null && !paymentMethod.trim().isEmpty()) {
             PaymentComponentResult fee = calculateProcessingFee(cart, paymentMethod);
-            if (fee.getAmount().compareTo(BigDecimal.ZERO) > 0) {
+            if (fee.getAmountPaise() > 0) {
                 components.add(new PaymentComponent("FEE", fee.getAmount(), fee.getLabel()));
             }
         }
@@ -230,34 +224,33 @@ public class PaymentComponentService {
         List<PaymentComponent> components = new ArrayList<>();
         
         // For orders, calculate detailed tax information from order items
-        BigDecimal totalTaxAmount = BigDecimal.ZERO;
-        BigDecimal totalBaseAmount = BigDecimal.ZERO;
+        long totalTaxAmount = 0L;
+        long totalBaseAmount = 0L;
         
         // Calculate tax from individual order items for better accuracy
         for (OrderItemJpaEntity item : order.getItems()) {
             if (item.getBaseAmount() != null && item.getTaxRate() != null) {
-                BigDecimal itemBaseTotal = item.getBaseAmount().multiply(BigDecimal.valueOf(item.getQuantity()));
-                BigDecimal itemTaxAmount = item.getTaxAmount() != null ? item.getTaxAmount() : 
-                    itemBaseTotal.multiply(item.getTaxRate()).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+                long itemBaseTotal = Money.times(Money.of(item.getBaseAmount()), item.getQuantity());
+                long itemTaxAmount = item.getTaxAmount() != null ? Money.of(item.getTaxAmount()) : 
+                    Money.applyBasisPoints(itemBaseTotal, Money.basisPoints(item.getTaxRate()));
                 
-                totalBaseAmount = totalBaseAmount.add(itemBaseTotal);
-                totalTaxAmount = totalTaxAmount.add(itemTaxAmount);
+                totalBaseAmount += itemBaseTotal;
+                totalTaxAmount += itemTaxAmount;
             }
         }
         
         // Use calculated tax or fallback to stored tax amount
-        BigDecimal taxToUse = totalTaxAmount.compareTo(BigDecimal.ZERO) > 0 ? totalTaxAmount : order.getTaxAmount();
+        long taxToUse = totalTaxAmount > 0 ? totalTaxAmount : Money.of(order.getTaxAmount());
         
-        if (taxToUse != null && taxToUse.compareTo(BigDecimal.ZERO) > 0) {
+        if (taxToUse > 0) {
             // Calculate effective tax rate for display
             String taxLabel = "Tax";
-            if (totalBaseAmount.compareTo(BigDecimal.ZERO) > 0) {
-                BigDecimal effectiveRate = taxToUse.multiply(BigDecimal.valueOf(100))
-                    .divide(totalBaseAmount, 2, RoundingMode.HALF_UP);
-                taxLabel = String.format("Tax (%.1f%%)", effectiveRate.doubleValue());
+            if (totalBaseAmount > 0) {
+                long effectiveRate = Money.ratioBasisPoints(taxToUse, totalBaseAmount);
+                taxLabel = String.format("Tax (%.1f%%)", effectiveRate / 100.0);
             }
             
-            components.add(new PaymentComponent("TAX", taxToUse, taxLabel));
+            components.add(new PaymentComponent("TAX", Money.toDecimal(taxToUse), taxLabel));
         }
         
         // Shipping component
@@ -281,7 +274,7 @@ public class PaymentComponentService {
     }
     
     // Private helper methods
-    private BigDecimal determineTaxRate(AddressJpaEntity address) {
+    private long determineTaxRate(AddressJpaEntity address) {
         if (address == null) {
             return DEFAULT_TAX_RATE;
         }
@@ -304,36 +297,36 @@ public class PaymentComponentService {
         return DEFAULT_TAX_RATE;
     }
     
-    private String determineTaxLabel(AddressJpaEntity address, BigDecimal taxRate) {
+    private String determineTaxLabel(AddressJpaEntity address, long taxRate) {
         if (address == null) {
-            return String.format("Tax (%.0f%%)", taxRate.multiply(new BigDecimal("100")).doubleValue());
+            return String.format("Tax (%.0f%%)", taxRate / 100.0);
         }
         
         String state = address.getState();
         if (state != null) {
-            return String.format("%s Tax (%.0f%%)", state.toUpperCase(), taxRate.multiply(new BigDecimal("100")).doubleValue());
+            return String.format("%s Tax (%.0f%%)", state.toUpperCase(), taxRate / 100.0);
         }
         
-        return String.format("Tax (%.0f%%)", taxRate.multiply(new BigDecimal("100")).doubleValue());
+        return String.format("Tax (%.0f%%)", taxRate / 100.0);
     }
     
-    private String determineTaxDescription(AddressJpaEntity address, BigDecimal taxRate) {
+    private String determineTaxDescription(AddressJpaEntity address, long taxRate) {
         if (address == null) {
             return "Standard tax rate applied";
         }
         
         String state = address.getState();
         if (state != null) {
-            return String.format("State tax for %s at %.1f%%", state.toUpperCase(), taxRate.multiply(new BigDecimal("100")).doubleValue());
+            return String.format("State tax for %s at %.1f%%", state.toUpperCase(), taxRate / 100.0);
         }
         
         return "Tax calculated based on shipping address";
     }
     
-    private BigDecimal determineShippingAmount(BigDecimal subtotal, AddressJpaEntity address, String shippingMethod) {
+    private long determineShippingAmount(long subtotal, AddressJpaEntity address, String shippingMethod) {
         // Free shipping over threshold
-        if (subtotal.compareTo(FREE_SHIPPING_THRESHOLD) >= 0) {
-            return BigDecimal.ZERO;
+        if (subtotal >= FREE_SHIPPING_THRESHOLD) {
+            return 0L;
         }
         
         // Shipping method specific rates
@@ -352,8 +345,8 @@ public class PaymentComponentService {
         return STANDARD_SHIPPING_RATE;
     }
     
-    private String determineShippingLabel(BigDecimal subtotal, BigDecimal shippingAmount, String shippingMethod) {
-        if (shippingAmount.compareTo(BigDecimal.ZERO) == 0) {
+    private String determineShippingLabel(long subtotal, long shippingAmount, String shippingMethod) {
+        if (shippingAmount == 0) {
             return "Free Shipping";
         }
         
@@ -373,9 +366,9 @@ public class PaymentComponentService {
         return "Shipping";
     }
     
-    private String determineShippingDescription(BigDecimal subtotal, BigDecimal shippingAmount, String shippingMethod) {
-        if (shippingAmount.compareTo(BigDecimal.ZERO) == 0) {
-            return String.format("Free shipping on orders over $%.2f", FREE_SHIPPING_THRESHOLD.doubleValue());
+    private String determineShippingDescription(long subtotal, long shippingAmount, String shippingMethod) {
+        if (shippingAmount == 0) {
+            return String.format("Free shipping on orders over $%.2f", Money.toDecimal(FREE_SHIPPING_THRESHOLD));
         }
         
         if (shippingMethod != null) {
@@ -391,33 +384,33 @@ public class PaymentComponentService {
             }
         }
         
-        return String.format("Standard shipping rate of $%.2f", shippingAmount.doubleValue());
+        return String.format("Standard shipping rate of $%.2f", Money.toDecimal(shippingAmount));
     }
     
-    private BigDecimal determineDiscountAmount(BigDecimal subtotal, String discountCode) {
+    private long determineDiscountAmount(long subtotal, String discountCode) {
         if (discountCode == null || discountCode.trim().isEmpty()) {
-            return BigDecimal.ZERO;
+            return 0L;
         }
         
         // Sample discount codes
         switch (discountCode.toUpperCase()) {
             case "SAVE10":
-                return subtotal.multiply(new BigDecimal("0.10")); // 10% off
+                return Money.applyBasisPoints(subtotal, SAVE10_RATE); // 10% off
             case "SAVE20":
-                return subtotal.multiply(new BigDecimal("0.20")); // 20% off
+                return Money.applyBasisPoints(subtotal, SAVE20_RATE); // 20% off
             case "FIRST15":
-                return subtotal.multiply(new BigDecimal("0.15")); // 15% off for first-time customers
+                return Money.applyBasisPoints(subtotal, FIRST15_RATE); // 15% off for first-time customers
             case "FLAT5":
-                return new BigDecimal("5.00"); // $5 off
+                return FLAT5_AMOUNT; // $5 off
             case "FLAT10":
-                return new BigDecimal("10.00"); // $10 off
+                return FLAT10_AMOUNT; // $10 off
             default:
-                return BigDecimal.ZERO;
+                return 0L;
         }
     }
     
-    private String determineDiscountLabel(String discountCode, BigDecimal discountAmount) {
-        if (discountAmount.compareTo(BigDecimal.ZERO) == 0) {
+    private String determineDiscountLabel(String discountCode, long discountAmount) {
+        if (discountAmount == 0) {
             return "Discount";
         }
         
@@ -441,8 +434,8 @@ public class PaymentComponentService {
         return "Discount Applied";
     }
     
-    private String determineDiscountDescription(String discountCode, BigDecimal discountAmount) {
-        if (discountAmount.compareTo(BigDecimal.ZERO) == 0) {
+    private String determineDiscountDescription(String discountCode, long discountAmount) {
+        if (discountAmount == 0) {
             return "No discount applied";
         }
         
@@ -463,28 +456,28 @@ public class PaymentComponentService {
             }
         }
         
-        return String.format("Discount of $%.2f applied", discountAmount.doubleValue());
+        return String.format("Discount of $%.2f applied", Money.toDecimal(discountAmount));
     }
     
-    private BigDecimal determineProcessingFeeAmount(BigDecimal subtotal, String paymentMethod) {
+    private long determineProcessingFeeAmount(long subtotal, String paymentMethod) {
         if (paymentMethod == null || paymentMethod.trim().isEmpty()) {
-            return BigDecimal.ZERO;
+            return 0L;
         }
         
         // Some payment methods might have processing fees
         switch (paymentMethod.toLowerCase()) {
             case "cod":
             case "cash_on_delivery":
-                return new BigDecimal("2.99"); // COD fee
+                return COD_FEE; // COD fee
             case "international_card":
-                return subtotal.multiply(new BigDecimal("0.03")); // 3% international fee
+                return Money.applyBasisPoints(subtotal, INTERNATIONAL_CARD_FEE_RATE); // 3% international fee
             default:
-                return BigDecimal.ZERO;
+                return 0L;
         }
     }
     
-    private String determineProcessingFeeLabel(String paymentMethod, BigDecimal feeAmount) {
-        if (feeAmount.compareTo(BigDecimal.ZERO) == 0) {
+    private String determineProcessingFeeLabel(String paymentMethod, long feeAmount) {
+        if (feeAmount == 0) {
             return "Processing Fee";
         }
         
@@ -503,8 +496,8 @@ public class PaymentComponentService {
         return "Processing Fee";
     }
     
-    private String determineProcessingFeeDescription(String paymentMethod, BigDecimal feeAmount) {
-        if (feeAmount.compareTo(BigDecimal.ZERO) == 0) {
+    private String determineProcessingFeeDescription(String paymentMethod, long feeAmount) {
+        if (feeAmount == 0) {
             return "No processing fee";
         }
         
@@ -516,29 +509,33 @@ public class PaymentComponentService {
                 case "international_card":
                     return "3% fee for international card transactions";
                 default:
-                    return String.format("Processing fee of $%.2f", feeAmount.doubleValue());
+                    return String.format("Processing fee of $%.2f", Money.toDecimal(feeAmount));
             }
         }
         
-        return String.format("Processing fee of $%.2f", feeAmount.doubleValue());
+        return String.format("Processing fee of $%.2f", Money.toDecimal(feeAmount));
     }
     
     /**
-     * Inner class to hold payment component calculation results
+     * Inner class to hold payment component calculation results (amount in paise)
      */
     public static class PaymentComponentResult {
-        private final BigDecimal amount;
+        private final long amountPaise;
         private final String label;
         private final String description;
         
-        public PaymentComponentResult(BigDecimal amount, String label, String description) {
-            this.amount = amount;
+        public PaymentComponentResult(long amountPaise, String label, String description) {
+            this.amountPaise = amountPaise;
             this.label = label;
             this.description = description;
         }
         
+        public long getAmountPaise() {
+            return amountPaise;
+        }
+        
         public BigDecimal getAmount() {
-            return amount;
+            return Money.toDecimal(amountPaise);
         }
         
         public String getLabel() {
@@ -0,0 +1,407 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.domain.order.PaymentMethod;
+import com.ecommerce.domain.payment.PaymentStatus;
+import com.ecommerce.infrastructure.payment.GatewayOrder;
+import com.ecommerce.infrastructure.payment.GatewayRefund;
+import com.ecommerce.infrastructure.payment.PaymentGateway;
+import com.ecommerce.infrastructure.payment.PaymentGatewayException;
+import com.ecommerce.infrastructure.payment.PaymentGatewayRejectedException;
+import com.ecommerce.infrastructure.payment.PaymentGatewayTimeoutException;
+import com.ecommerce.infrastructure.payment.PaymentGatewayUnavailableException;
+import com.ecommerce.infrastructure.persistence.entity.OrderJpaEntity;
+import com.ecommerce.infrastructure.persistence.entity.PaymentJpaEntity;
+import com.ecommerce.infrastructure.persistence.id.TimeOrderedIds;
+import com.ecommerce.infrastructure.persistence.repository.OrderJpaRepository;
+import com.ecommerce.infrastructure.persistence.repository.PaymentJpaRepository;
+import com.ecommerce.infrastructure.persistence.repository.UserJpaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+
+/**
+ * Creates gateway orders and refunds so that each one takes effect exactly once, also
+ * when the gateway answers after the caller stopped waiting.
+ *
+ * Before the gateway is called an attempt is stored as PENDING in
+ * {@code payment_gateway_attempts}, with an idempotency key that the gateway keeps
+ * with the order or refund. The outcome then settles the attempt:
+ *
+ * <ul>
+ *   <li>An answer in time records the payment, or applies the refund, in the same
+ *       transaction that marks the attempt SUCCEEDED.</li>
+ *   <li>A rejection, or a call the circuit breaker or bulkhead refused, marks it
+ *       FAILED.</li>
+ *   <li>After a deadline the caller gets the timeout, and the gateway's late answer
+ *       settles the attempt when it comes.</li>
+ *   <li>Attempts still PENDING after {@code razorpay.gateway.reconcile-after-ms} (an
+ *       answer that never came, or a restart in between) are looked up at the gateway
+ *       by their key: found ones are settled, the others marked FAILED.</li>
+ * </ul>
+ *
+ * Settling only applies its effect when it moves the attempt to SUCCEEDED, so a late
+ * answer and the reconciler cannot both apply it. While an attempt for an order or a
+ * payment's refund is PENDING a second one is refused with
+ * {@link IllegalStateException}, so retrying a timed-out refund cannot refund twice.
+ *
+ * Metrics: {@code payment.gateway.attempts} by operation and result.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Service
+public class PaymentGatewayAttemptService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentGatewayAttemptService.class);
+
+    static final String CREATE_ORDER = "CREATE_ORDER";
+    static final String CREATE_REFUND = "CREATE_REFUND";
+
+    static final String PENDING = "PENDING";
+    static final String SUCCEEDED = "SUCCEEDED";
+    static final String FAILED = "FAILED";
+
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final int RECONCILE_BATCH_SIZE = 100;
+
+    private static final String INSERT_ATTEMPT_SQL =
+            "INSERT INTO payment_gateway_attempts (idempotency_key, operation, status, in_flight_key, user_id, " +
+            "order_id, payment_id, gateway_payment_id, amount, currency, receipt, description, created_at) " +
+            "VALUES (?, ?, '" + PENDING + "', ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String MARK_SUCCEEDED_SQL =
+            "UPDATE payment_gateway_attempts SET status = '" + SUCCEEDED + "', in_flight_key = NULL, " +
+            "gateway_reference = ?, last_error = NULL, completed_at = ? " +
+            "WHERE idempotency_key = ? AND status <> '" + SUCCEEDED + "'";
+
+    private static final String MARK_FAILED_SQL =
+            "UPDATE payment_gateway_attempts SET status = '" + FAILED + "', in_flight_key = NULL, " +
+            "last_error = ?, completed_at = ? WHERE idempotency_key = ? AND status = '" + PENDING + "'";
+
+    private static final String SELECT_STALE_SQL =
+            "SELECT idempotency_key, operation, user_id, order_id, payment_id, gateway_payment_id, amount, " +
+            "currency, receipt, description FROM payment_gateway_attempts " +
+            "WHERE status = '" + PENDING + "' AND created_at < ? ORDER BY created_at LIMIT ?";
+
+    private static final RowMapper<Attempt> ATTEMPT_MAPPER = (rs, rowNum) -> new Attempt(
+            rs.getString("idempotency_key"), rs.getString("operation"), rs.getString("user_id"),
+            rs.getString("order_id"), rs.getString("payment_id"), rs.getString("gateway_payment_id"),
+            rs.getBigDecimal("amount"), rs.getString("currency"), rs.getString("receipt"),
+            rs.getString("description"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PaymentGateway paymentGateway;
+    private final PaymentJpaRepository paymentRepository;
+    private final OrderJpaRepository orderRepository;
+    private final UserJpaRepository userRepository;
+    private final Map<String, Counter> attemptCounters = new HashMap<>();
+
+    @Value("${razorpay.gateway.reconcile-after-ms:120000}")
+    private long reconcileAfterMillis;
+
+    @Autowired
+    public PaymentGatewayAttemptService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                        PaymentGateway paymentGateway, PaymentJpaRepository paymentRepository,
+                                        OrderJpaRepository orderRepository, UserJpaRepository userRepository,
+                                        MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.paymentGateway = paymentGateway;
+        this.paymentRepository = paymentRepository;
+        this.orderRepository = orderRepository;
+        this.userRepository = userRepository;
+        for (String operation : List.of(CREATE_ORDER, CREATE_REFUND)) {
+            for (String result : List.of("succeeded", "late", "reconciled", "failed", "unknown")) {
+                attemptCounters.put(operation + ":" + result, Counter.builder("payment.gateway.attempts")
+                        .description("Payment gateway orders and refunds by how their outcome was settled")
+                        .tag("operation", operation)
+                        .tag("result", result)
+                        .register(meterRegistry));
+            }
+        }
+    }
+
+    /**
+     * Create a gateway order and record its payment as CREATED
+     *
+     * @param userId The paying user
+     * @param orderId The order being paid, or null in the payment-first flow
+     * @param amount Amount in currency units
+     * @param currency ISO currency code
+     * @param receipt Our reference for the gateway order
+     * @param autoCapture Whether the gateway captures payments on authorisation
+     * @param description Description stored with the payment
+     * @return The gateway order
+     * @throws IllegalStateException if a gateway order for the order is already being created
+     * @throws PaymentGatewayUnavailableException if the gateway is unavailable or did not answer in time
+     */
+    public GatewayOrder createOrder(String userId, String orderId, BigDecimal amount, String currency, String receipt,
+                                    boolean autoCapture, String description) {
+        Attempt attempt = new Attempt(UUID.randomUUID().toString(), CREATE_ORDER, userId, orderId, null, null,
+                amount, currency, receipt, description);
+        begin(attempt, orderId != null ? "ORDER:" + orderId : null,
+                "A payment is already being created for order: " + orderId);
+        return await(attempt, paymentGateway.createOrder(toPaise(amount), currency, receipt, autoCapture,
+                attempt.idempotencyKey), this::settleOrder);
+    }
+
+    /**
+     * Refund a payment at the gateway and record the refund on the payment
+     *
+     * @param paymentId Our payment ID
+     * @param gatewayPaymentId The gateway's ID of the payment
+     * @param amount Amount to refund in currency units
+     * @param reason Optional note stored with the refund
+     * @return The gateway refund
+     * @throws IllegalStateException if a refund of the payment is already in progress
+     * @throws PaymentGatewayUnavailableException if the gateway is unavailable or did not answer in time
+     */
+    public GatewayRefund createRefund(String paymentId, String gatewayPaymentId, BigDecimal amount, String reason) {
+        Attempt attempt = new Attempt(UUID.randomUUID().toString(), CREATE_REFUND, null, null, paymentId,
+                gatewayPaymentId, amount, null, null, reason);
+        begin(attempt, "REFUND:" + paymentId, "A refund is already in progress for payment: " + paymentId);
+        return await(attempt, paymentGateway.createRefund(gatewayPaymentId, toPaise(amount), reason,
+                attempt.idempotencyKey), this::settleRefund);
+    }
+
+    /**
+     * Settle attempts whose outcome never arrived by looking them up at the gateway
+     */
+    @Scheduled(fixedDelayString = "${razorpay.gateway.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        Timestamp staleBefore = Timestamp.valueOf(LocalDateTime.now().minusNanos(reconcileAfterMillis * 1_000_000L));
+        List<Attempt> stale = jdbcTemplate.query(SELECT_STALE_SQL, ATTEMPT_MAPPER, staleBefore, RECONCILE_BATCH_SIZE);
+        for (Attempt attempt : stale) {
+            try {
+                if (CREATE_ORDER.equals(attempt.operation)) {
+                    Optional<GatewayOrder> order = join(paymentGateway.findOrder(attempt.receipt, attempt.idempotencyKey));
+                    if (order.isPresent()) {
+                        settleOrder(attempt, order.get());
+                    } else {
+                        fail(attempt, "Not found at the gateway");
+                    }
+                } else {
+                    Optional<GatewayRefund> refund = join(
+                            paymentGateway.findRefund(attempt.gatewayPaymentId, attempt.idempotencyKey));
+                    if (refund.isPresent()) {
+                        settleRefund(attempt, refund.get());
+                    } else {
+                        fail(attempt, "Not found at the gateway");
+                    }
+                }
+                count(attempt, "reconciled");
+            } catch (PaymentGatewayUnavailableException e) {
+                logger.warn("Payment gateway unavailable, reconciling attempts later: {}", e.getMessage());
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Error reconciling payment gateway attempt {}: {}", attempt.idempotencyKey,
+                        e.getMessage(), e);
+            }
+        }
+    }
+
+    private void begin(Attempt attempt, String inFlightKey, String inProgressMessage) {
+        try {
+            jdbcTemplate.update(INSERT_ATTEMPT_SQL, attempt.idempotencyKey, attempt.operation, inFlightKey,
+                    attempt.userId, attempt.orderId, attempt.paymentId, attempt.gatewayPaymentId, attempt.amount,
+                    attempt.currency, attempt.receipt, attempt.description, Timestamp.valueOf(LocalDateTime.now()));
+        } catch (DuplicateKeyException e) {
+            throw new IllegalStateException(inProgressMessage, e);
+        }
+    }
+
+    /**
+     * Wait for a gateway call and settle its attempt from the outcome. Its deadline
+     * bounds the wait.
+     */
+    private <T> T await(Attempt attempt, CompletableFuture<T> call, BiConsumer<Attempt, T> settle) {
+        T result;
+        try {
+            result = join(call);
+        } catch (PaymentGatewayTimeoutException e) {
+            settleLate(attempt, e.getLateOutcome(), settle);
+            throw e;
+        } catch (PaymentGatewayRejectedException | PaymentGatewayUnavailableException e) {
+            // Refused by the gateway, or never sent: nothing was created
+            fail(attempt, e.getMessage());
+            throw e;
+        } catch (PaymentGatewayException e) {
+            // The outcome is unknown; the reconciler looks the attempt up
+            count(attempt, "unknown");
+            throw e;
+        }
+        settle.accept(attempt, result);
+        count(attempt, "succeeded");
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void settleLate(Attempt attempt, CompletableFuture<?> lateOutcome, BiConsumer<Attempt, T> settle) {
+        logger.warn("Payment gateway {} {} timed out; settling it when the gateway answers",
+                attempt.operation, attempt.idempotencyKey);
+        lateOutcome.whenComplete((result, error) -> {
+            try {
+                if (error == null) {
+                    settle.accept(attempt, (T) result);
+                    count(attempt, "late");
+                    logger.info("Settled payment gateway {} {} after its deadline", attempt.operation,
+                            attempt.idempotencyKey);
+                } else if (unwrap(error) instanceof PaymentGatewayRejectedException) {
+                    fail(attempt, unwrap(error).getMessage());
+                }
+                // Any other failure leaves the attempt to the reconciler
+            } catch (RuntimeException e) {
+                logger.error("Error settling payment gateway attempt {}: {}", attempt.idempotencyKey,
+                        e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Mark an order attempt SUCCEEDED and record its payment, once
+     */
+    private void settleOrder(Attempt attempt, GatewayOrder gatewayOrder) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!markSucceeded(attempt, gatewayOrder.getId())) {
+                return;
+            }
+            OrderJpaEntity order = attempt.orderId != null ? orderRepository.findById(attempt.orderId).orElse(null) : null;
+            PaymentJpaEntity payment = new PaymentJpaEntity();
+            // Late settlements and the reconciler create payments concurrently; a timestamp would collide
+            payment.setPaymentId("PAY-" + TimeOrderedIds.newId());
+            payment.setRazorpayOrderId(gatewayOrder.getId());
+            payment.setAmount(attempt.amount);
+            payment.setCurrency(attempt.currency);
+            payment.setStatus(PaymentStatus.CREATED);
+            payment.setPaymentMethod(PaymentMethod.RAZORPAY_CARD); // Default, can be updated based on actual payment method
+            payment.setUser(userRepository.getReferenceById(attempt.userId));
+            // No order reference in the payment-first flow
+            payment.setOrder(order);
+            payment.setReceipt(gatewayOrder.getReceipt());
+            payment.setDescription(attempt.description);
+            paymentRepository.save(payment);
+        });
+    }
+
+    /**
+     * Mark a refund attempt SUCCEEDED and add the refund to its payment, once
+     */
+    private void settleRefund(Attempt attempt, GatewayRefund refund) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!markSucceeded(attempt, refund.getId())) {
+                return;
+            }
+            PaymentJpaEntity payment = paymentRepository.findByPaymentId(attempt.paymentId).orElseThrow();
+            BigDecimal totalRefunded = payment.getRefundAmount() != null ? payment.getRefundAmount() : BigDecimal.ZERO;
+            totalRefunded = totalRefunded.add(attempt.amount);
+
+            payment.setRefundAmount(totalRefunded);
+            payment.setRefundId(refund.getId());
+            payment.setRefundedAt(LocalDateTime.now());
+
+            // Update payment status based on refund amount
+            if (totalRefunded.compareTo(payment.getAmount()) >= 0) {
+                payment.setStatus(PaymentStatus.REFUNDED);
+            } else {
+                payment.setStatus(PaymentStatus.PARTIALLY_REFUNDED);
+            }
+
+            paymentRepository.save(payment);
+            logger.info("Updated payment refund status: payment_id={}, refund_amount={}, total_refunded={}",
+                    payment.getPaymentId(), attempt.amount, totalRefunded);
+        });
+    }
+
+    private boolean markSucceeded(Attempt attempt, String gatewayReference) {
+        return jdbcTemplate.update(MARK_SUCCEEDED_SQL, gatewayReference, Timestamp.valueOf(LocalDateTime.now()),
+                attempt.idempotencyKey) == 1;
+    }
+
+    private void fail(Attempt attempt, String error) {
+        String lastError = error == null ? null : error.substring(0, Math.min(error.length(), MAX_ERROR_LENGTH));
+        jdbcTemplate.update(MARK_FAILED_SQL, lastError, Timestamp.valueOf(LocalDateTime.now()), attempt.idempotencyKey);
+        count(attempt, "failed");
+    }
+
+    private void count(Attempt attempt, String result) {
+        attemptCounters.get(attempt.operation + ":" + result).increment();
+    }
+
+    /**
+     * Convert an amount to paise (Razorpay expects amounts in the smallest currency unit)
+     */
+    private static long toPaise(BigDecimal amount) {
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static <T> T join(CompletableFuture<T> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof PaymentGatewayException gatewayException) {
+                throw gatewayException;
+            }
+            throw new PaymentGatewayException("Payment gateway call failed", cause);
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * One row of {@code payment_gateway_attempts}
+     */
+    private static final class Attempt {
+        private final String idempotencyKey;
+        private final String operation;
+        private final String userId;
+        private final String orderId;
+        private final String paymentId;
+        private final String gatewayPaymentId;
+        private final BigDecimal amount;
+        private final String currency;
+        private final String receipt;
+        private final String description;
+
+        private Attempt(String idempotencyKey, String operation, String userId, String orderId, String paymentId,
+                        String gatewayPaymentId, BigDecimal amount, String currency, String receipt,
+                        String description) {
+            this.idempotencyKey = idempotencyKey;
+            this.operation = operation;
+            this.userId = userId;
+            this.orderId = orderId;
+            this.paymentId = paymentId;
+            this.gatewayPaymentId = gatewayPaymentId;
+            this.amount = amount;
+            this.currency = currency;
+            this.receipt = receipt;
+            this.description = description;
+        }
+    }
+}
@@ -0,0 +1,464 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.application.dto.PaymentWebhookEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Durable inbox for Razorpay webhooks.
+ *
+ * The webhook endpoint only verifies the signature, appends the raw event to
+ * {@code payment_webhook_events} and acknowledges. The event ID header is unique in
+ * the table, so a delivery the gateway retries is dropped at insert. A scheduled
+ * drainer claims due events in sequence order, splits them by Razorpay order ID so
+ * that one payment's events are always applied by one worker in order, and hands each
+ * worker's share to {@link RazorpayPaymentService#applyWebhookEvents} in batches. A
+ * batch's payment and order updates and the marking of its events commit together.
+ *
+ * Events whose payment is not found yet (the webhook can overtake the checkout that
+ * creates the payment) or whose batch or worker failed are retried with exponential
+ * backoff and end up FAILED after the configured number of attempts. Claims survive a
+ * crash: a claim older than the claim timeout returns to pending, which also makes it
+ * safe to run the drainer on several instances.
+ *
+ * Metrics: {@code payment.webhook.events} by result, {@code payment.webhook.lag} from
+ * receipt to processing, and the {@code payment.webhook.backlog} and
+ * {@code payment.webhook.oldest.age} gauges of events not yet processed.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Service
+public class PaymentWebhookInboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentWebhookInboxService.class);
+
+    static final String PENDING = "PENDING";
+    static final String PROCESSING = "PROCESSING";
+    static final String PROCESSED = "PROCESSED";
+    static final String IGNORED = "IGNORED";
+    static final String FAILED = "FAILED";
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private static final String INSERT_EVENT_SQL =
+            "INSERT IGNORE INTO payment_webhook_events (event_id, event_type, razorpay_order_id, payload, status, " +
+            "attempts, next_attempt_at, received_at, processed_at) VALUES (?, ?, ?, ?, ?, 0, ?, ?, ?)";
+
+    private static final String CLAIM_SQL =
+            "UPDATE payment_webhook_events SET status = '" + PROCESSING + "', claim_token = ?, claimed_at = ? " +
+            "WHERE status = '" + PENDING + "' AND next_attempt_at <= ? ORDER BY seq LIMIT ?";
+
+    private static final String RELEASE_EXPIRED_CLAIMS_SQL =
+            "UPDATE payment_webhook_events SET status = '" + PENDING + "', claim_token = NULL " +
+            "WHERE status = '" + PROCESSING + "' AND claimed_at < ?";
+
+    private static final String MARK_PROCESSED_SQL =
+            "UPDATE payment_webhook_events SET status = '" + PROCESSED + "', processed_at = ?, claim_token = NULL, " +
+            "attempts = attempts + 1, last_error = NULL WHERE seq = ?";
+
+    private static final String MARK_RETRY_SQL =
+            "UPDATE payment_webhook_events SET status = ?, attempts = attempts + 1, next_attempt_at = ?, " +
+            "claim_token = NULL, last_error = ? WHERE seq = ?";
+
+    /**
+     * Result of handing a webhook to the inbox
+     */
+    public enum Acceptance {
+        ACCEPTED,
+        DUPLICATE,
+        INVALID_SIGNATURE,
+        MALFORMED
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RazorpayPaymentService razorpayPaymentService;
+    private final ObjectMapper objectMapper;
+
+    private final Counter acceptedEvents;
+    private final Counter duplicateEvents;
+    private final Counter rejectedEvents;
+    private final Counter processedEvents;
+    private final Counter retriedEvents;
+    private final Counter failedEvents;
+    private final Timer lag;
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong oldestReceivedMillis = new AtomicLong();
+
+    private ExecutorService workerPool;
+
+    @Value("${razorpay.webhook.workers:4}")
+    private int workers;
+
+    @Value("${razorpay.webhook.batch-size:100}")
+    private int batchSize;
+
+    @Value("${razorpay.webhook.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${razorpay.webhook.retry-backoff-ms:1000}")
+    private long retryBackoffMillis;
+
+    @Value("${razorpay.webhook.claim-timeout-seconds:300}")
+    private long claimTimeoutSeconds;
+
+    @Autowired
+    public PaymentWebhookInboxService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                      RazorpayPaymentService razorpayPaymentService, ObjectMapper objectMapper,
+                                      MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.razorpayPaymentService = razorpayPaymentService;
+        this.objectMapper = objectMapper;
+
+        this.acceptedEvents = eventCounter(meterRegistry, "accepted");
+        this.duplicateEvents = eventCounter(meterRegistry, "duplicate");
+        this.rejectedEvents = eventCounter(meterRegistry, "rejected");
+        this.processedEvents = eventCounter(meterRegistry, "processed");
+        this.retriedEvents = eventCounter(meterRegistry, "retried");
+        this.failedEvents = eventCounter(meterRegistry, "failed");
+        this.lag = Timer.builder("payment.webhook.lag")
+                .description("Time from receiving a webhook event to applying it")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("payment.webhook.backlog", backlog, AtomicLong::get)
+                .description("Webhook events received but not yet processed")
+                .register(meterRegistry);
+        Gauge.builder("payment.webhook.oldest.age", oldestReceivedMillis, oldest ->
+                        oldest.get() > 0 ? (System.currentTimeMillis() - oldest.get()) / 1000.0 : 0)
+                .description("Age in seconds of the oldest webhook event not yet processed")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void startWorkers() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        workerPool = Executors.newFixedThreadPool(Math.max(1, workers), runnable -> {
+            Thread thread = new Thread(runnable, "payment-webhook-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stopWorkers() {
+        workerPool.shutdown();
+    }
+
+    // Intake
+
+    /**
+     * Verify a webhook and append it to the inbox. Does not touch payments or orders.
+     *
+     * @param payload Raw request body
+     * @param signature X-Razorpay-Signature header
+     * @param eventId X-Razorpay-Event-Id header; a hash of the payload is used if it is missing
+     */
+    public Acceptance accept(String payload, String signature, String eventId) {
+        if (!razorpayPaymentService.isValidWebhookSignature(payload, signature)) {
+            rejectedEvents.increment();
+            return Acceptance.INVALID_SIGNATURE;
+        }
+
+        String eventType;
+        String razorpayOrderId;
+        try {
+            JsonNode root = objectMapper.readTree(payload);
+            eventType = root.path("event").asText(null);
+            razorpayOrderId = root.path("payload").path("payment").path("entity").path("order_id").asText(null);
+        } catch (JsonProcessingException e) {
+            rejectedEvents.increment();
+            return Acceptance.MALFORMED;
+        }
+        if (eventType == null) {
+            rejectedEvents.increment();
+            return Acceptance.MALFORMED;
+        }
+
+        // Events that change no payment are kept for the record but never claimed
+        boolean handled = PaymentWebhookEvent.isHandled(eventType) && razorpayOrderId != null;
+        Timestamp now = now();
+        int inserted = jdbcTemplate.update(INSERT_EVENT_SQL,
+                eventId != null && !eventId.isBlank() ? eventId : payloadHash(payload),
+                eventType, razorpayOrderId, payload, handled ? PENDING : IGNORED, now, now, handled ? null : now);
+        if (inserted == 0) {
+            duplicateEvents.increment();
+            logger.info("Ignoring duplicate webhook event {} ({})", eventId, eventType);
+            return Acceptance.DUPLICATE;
+        }
+        acceptedEvents.increment();
+        return Acceptance.ACCEPTED;
+    }
+
+    // Draining
+
+    /**
+     * Claim and apply due events until none are left
+     */
+    @Scheduled(fixedDelayString = "${razorpay.webhook.poll-interval-ms:500}")
+    public void drain() {
+        try {
+            jdbcTemplate.update(RELEASE_EXPIRED_CLAIMS_SQL,
+                    Timestamp.valueOf(LocalDateTime.now().minusSeconds(claimTimeoutSeconds)));
+
+            int claimLimit = batchSize * Math.max(1, workers);
+            int claimed;
+            do {
+                String token = UUID.randomUUID().toString();
+                List<ClaimedEvent> events = claim(token, claimLimit);
+                claimed = events.size();
+                if (claimed > 0) {
+                    process(token, events);
+                }
+            } while (claimed == claimLimit);
+        } catch (RuntimeException e) {
+            logger.warn("Webhook inbox drain failed, claimed events will be retried: {}", e.getMessage());
+        } finally {
+            refreshBacklog();
+        }
+    }
+
+    private List<ClaimedEvent> claim(String token, int limit) {
+        Timestamp now = now();
+        if (jdbcTemplate.update(CLAIM_SQL, token, now, now, limit) == 0) {
+            return List.of();
+        }
+        return jdbcTemplate.query(
+                "SELECT seq, event_type, razorpay_order_id, payload, attempts, received_at " +
+                "FROM payment_webhook_events WHERE claim_token = ? ORDER BY seq",
+                (rs, rowNum) -> new ClaimedEvent(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                        rs.getInt(5), rs.getTimestamp(6).toLocalDateTime()),
+                token);
+    }
+
+    /**
+     * Split claimed events between the workers by Razorpay order ID and wait for all of them.
+     * If a worker fails, the events it left claimed are retried rather than held until the
+     * claim times out.
+     */
+    private void process(String token, List<ClaimedEvent> events) {
+        int partitions = Math.max(1, workers);
+        List<List<ClaimedEvent>> shares = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) {
+            shares.add(new ArrayList<>());
+        }
+        for (ClaimedEvent event : events) {
+            shares.get(Math.floorMod(event.razorpayOrderId.hashCode(), partitions)).add(event);
+        }
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (List<ClaimedEvent> share : shares) {
+            if (!share.isEmpty()) {
+                tasks.add(() -> {
+                    for (int from = 0; from < share.size(); from += batchSize) {
+                        applyBatch(share.subList(from, Math.min(from + batchSize, share.size())));
+                    }
+                    return null;
+                });
+            }
+        }
+        String failure = null;
+        try {
+            for (Future<Void> result : workerPool.invokeAll(tasks)) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    logger.error("Webhook worker failed", e.getCause());
+                    failure = "Webhook worker failed: " + e.getCause().getMessage();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = "Webhook drain interrupted";
+        }
+        if (failure != null) {
+            releaseUnfinished(token, events, failure);
+        }
+    }
+
+    /**
+     * Retry the events of a claim that were neither marked processed nor returned for retry
+     */
+    private void releaseUnfinished(String token, List<ClaimedEvent> events, String error) {
+        Set<Long> unfinished = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT seq FROM payment_webhook_events WHERE claim_token = ? AND status = '" + PROCESSING + "'",
+                Long.class, token));
+        for (ClaimedEvent claimed : events) {
+            if (unfinished.contains(claimed.seq)) {
+                retry(claimed, error, false);
+            }
+        }
+    }
+
+    private void applyBatch(List<ClaimedEvent> batch) {
+        Map<Long, ClaimedEvent> bySeq = new TreeMap<>();
+        List<PaymentWebhookEvent> events = new ArrayList<>(batch.size());
+        for (ClaimedEvent claimed : batch) {
+            bySeq.put(claimed.seq, claimed);
+            try {
+                events.add(parse(claimed));
+            } catch (JsonProcessingException | RuntimeException e) {
+                retry(claimed, "Unreadable payload: " + e.getMessage(), true);
+                bySeq.remove(claimed.seq);
+            }
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+
+        try {
+            Set<Long> missing = transactionTemplate.execute(status -> {
+                Set<Long> notFound = razorpayPaymentService.applyWebhookEvents(events);
+                Timestamp processedAt = now();
+                List<Object[]> processed = new ArrayList<>(events.size());
+                for (PaymentWebhookEvent event : events) {
+                    if (!notFound.contains(event.getSeq())) {
+                        processed.add(new Object[]{processedAt, event.getSeq()});
+                    }
+                }
+                jdbcTemplate.batchUpdate(MARK_PROCESSED_SQL, processed);
+                return notFound;
+            });
+
+            long nowMillis = System.currentTimeMillis();
+            for (ClaimedEvent claimed : bySeq.values()) {
+                if (missing != null && missing.contains(claimed.seq)) {
+                    retry(claimed, "Payment not found for Razorpay order ID " + claimed.razorpayOrderId, false);
+                } else {
+                    processedEvents.increment();
+                    lag.record(Duration.ofMillis(Math.max(0, nowMillis - claimed.receivedAtMillis())));
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Webhook batch of {} events failed, will retry: {}", bySeq.size(), e.getMessage());
+            for (ClaimedEvent claimed : bySeq.values()) {
+                retry(claimed, e.getMessage(), false);
+            }
+        }
+    }
+
+    private PaymentWebhookEvent parse(ClaimedEvent claimed) throws JsonProcessingException {
+        JsonNode payment = objectMapper.readTree(claimed.payload).path("payload").path("payment").path("entity");
+        return new PaymentWebhookEvent(claimed.seq, claimed.eventType, claimed.razorpayOrderId,
+                payment.path("id").asText(null),
+                payment.path("error_code").asText(""),
+                payment.path("error_description").asText(""));
+    }
+
+    /**
+     * Return an event to pending with exponential backoff, or fail it once it is out of attempts
+     */
+    private void retry(ClaimedEvent claimed, String error, boolean permanent) {
+        int attempts = claimed.attempts + 1;
+        boolean failed = permanent || attempts >= maxAttempts;
+        long delayMillis = retryBackoffMillis << Math.min(attempts - 1, 16);
+        String message = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        jdbcTemplate.update(MARK_RETRY_SQL, failed ? FAILED : PENDING,
+                Timestamp.valueOf(LocalDateTime.now().plusNanos(delayMillis * 1_000_000)), message, claimed.seq);
+        if (failed) {
+            failedEvents.increment();
+            logger.error("Webhook event {} ({}) failed after {} attempts: {}",
+                    claimed.seq, claimed.eventType, attempts, error);
+        } else {
+            retriedEvents.increment();
+        }
+    }
+
+    private void refreshBacklog() {
+        try {
+            jdbcTemplate.query("SELECT COUNT(*), MIN(received_at) FROM payment_webhook_events " +
+                    "WHERE status IN ('" + PENDING + "', '" + PROCESSING + "')", rs -> {
+                backlog.set(rs.getLong(1));
+                Timestamp oldest = rs.getTimestamp(2);
+                oldestReceivedMillis.set(oldest != null ? oldest.getTime() : 0);
+            });
+        } catch (RuntimeException e) {
+            logger.debug("Could not refresh webhook backlog: {}", e.getMessage());
+        }
+    }
+
+    private static String payloadHash(String payload) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(payload.getBytes(StandardCharsets.UTF_8));
+            return "sha256:" + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static Counter eventCounter(MeterRegistry registry, String result) {
+        return Counter.builder("payment.webhook.events")
+                .description("Webhook events by outcome")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now());
+    }
+
+    /**
+     * An inbox row claimed by this drainer
+     */
+    private static final class ClaimedEvent {
+        private final long seq;
+        private final String eventType;
+        private final String razorpayOrderId;
+        private final String payload;
+        private final int attempts;
+        private final LocalDateTime receivedAt;
+
+        ClaimedEvent(long seq, String eventType, String razorpayOrderId, String payload, int attempts,
+                     LocalDateTime receivedAt) {
+            this.seq = seq;
+            this.eventType = eventType;
+            this.razorpayOrderId = razorpayOrderId;
+            this.payload = payload;
+            this.attempts = attempts;
+            this.receivedAt = receivedAt;
+        }
+
+        long receivedAtMillis() {
+            return Timestamp.valueOf(receivedAt).getTime();
+        }
+    }
+}
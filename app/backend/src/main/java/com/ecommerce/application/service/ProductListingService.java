@@ -0,0 +1,209 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.application.dto.CursorSlice;
+import com.ecommerce.application.dto.KeysetCursor;
+import com.ecommerce.application.dto.ProductListingDto;
+import com.ecommerce.domain.product.ProductStatus;
+import com.ecommerce.infrastructure.persistence.repository.ProductImageJpaRepository;
+import com.ecommerce.infrastructure.persistence.repository.ProductJpaRepository;
+import com.ecommerce.infrastructure.persistence.repository.ProductSpecificationJpaRepository;
+import com.ecommerce.infrastructure.persistence.repository.ProductTagJpaRepository;
+import com.ecommerce.infrastructure.search.ProductSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read path for catalog listing pages
+ *
+ * A page costs a fixed number of statements regardless of its size: one for the
+ * listing rows (a projection, so no product entity and none of its lazy associations
+ * is loaded), a count query unless the page is only partly filled, and one {@code IN} query
+ * each for the images, specifications and tags of all products on the page.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Service
+@Transactional(readOnly = true)
+public class ProductListingService {
+
+    private final ProductJpaRepository productRepository;
+    private final ProductImageJpaRepository imageRepository;
+    private final ProductSpecificationJpaRepository specificationRepository;
+    private final ProductTagJpaRepository tagRepository;
+    private final ProductSearchIndex searchIndex;
+
+    @Autowired
+    public ProductListingService(ProductJpaRepository productRepository, ProductImageJpaRepository imageRepository,
+                                 ProductSpecificationJpaRepository specificationRepository,
+                                 ProductTagJpaRepository tagRepository, ProductSearchIndex searchIndex) {
+        this.productRepository = productRepository;
+        this.imageRepository = imageRepository;
+        this.specificationRepository = specificationRepository;
+        this.tagRepository = tagRepository;
+        this.searchIndex = searchIndex;
+    }
+
+    // Listing pages
+
+    /**
+     * List products, optionally by status, from active categories only unless requested otherwise
+     */
+    public Page<ProductListingDto> getProducts(ProductStatus status, boolean includeInactiveCategories, Pageable pageable) {
+        return assemble(productRepository.findListing(null, null, null, status, null, null, null,
+                !includeInactiveCategories, false, pageable));
+    }
+
+    /**
+     * List products in a category, regardless of status
+     */
+    public Page<ProductListingDto> getProductsByCategory(String categoryId, Pageable pageable) {
+        return assemble(productRepository.findListing(null, null, categoryId, null, null, null, null,
+                false, false, pageable));
+    }
+
+    /**
+     * List products of a brand, regardless of status
+     */
+    public Page<ProductListingDto> getProductsByBrand(String brand, Pageable pageable) {
+        return assemble(productRepository.findListing(null, brand, null, null, null, null, null,
+                false, false, pageable));
+    }
+
+    /**
+     * List active products in a price range
+     */
+    public Page<ProductListingDto> getProductsInPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
+        return assemble(productRepository.findListing(null, null, null, ProductStatus.ACTIVE, minPrice, maxPrice, null,
+                false, false, pageable));
+    }
+
+    /**
+     * List active products with available stock
+     */
+    public Page<ProductListingDto> getAvailableProducts(Pageable pageable) {
+        return assemble(productRepository.findListing(null, null, null, ProductStatus.ACTIVE, null, null, null,
+                false, true, pageable));
+    }
+
+    /**
+     * Search active products with multiple criteria. Text queries are ranked by the
+     * in-memory search index when it is ready; pure filter queries use indexed columns.
+     */
+    public Page<ProductListingDto> searchProducts(String name, String brand, String categoryId,
+                                                  BigDecimal minPrice, BigDecimal maxPrice,
+                                                  Boolean featured, Pageable pageable) {
+        if (name != null && !name.trim().isEmpty() && searchIndex.isReady()) {
+            return searchIndexed(name, brand, categoryId, minPrice, maxPrice, featured, pageable);
+        }
+        return assemble(productRepository.findListing(name, brand, categoryId, ProductStatus.ACTIVE,
+                minPrice, maxPrice, featured, false, false, pageable));
+    }
+
+    // Keyset (cursor) pagination
+
+    /**
+     * List products by name after a cursor, with the same optional criteria as
+     * {@link #searchProducts}. There is no count query, so deep pages cost the same as the
+     * first one; text matching uses the database rather than the ranked search index.
+     *
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public CursorSlice<ProductListingDto> scrollProducts(String name, String brand, String categoryId,
+                                                         ProductStatus status, BigDecimal minPrice,
+                                                         BigDecimal maxPrice, Boolean featured,
+                                                         boolean includeInactiveCategories,
+                                                         String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Slice<ProductListingDto> slice = productRepository.findListingAfter(name, brand, categoryId, status,
+                minPrice, maxPrice, featured, !includeInactiveCategories, false,
+                after != null ? after.getSortKey() : null, after != null ? after.getId() : null,
+                PageRequest.of(0, size));
+        attachCollections(slice.getContent());
+        return CursorSlice.of(slice, product -> KeysetCursor.of(product.getName(), product.getId()));
+    }
+
+    // Page assembly
+
+    private Page<ProductListingDto> searchIndexed(String text, String brand, String categoryId,
+                                                  BigDecimal minPrice, BigDecimal maxPrice,
+                                                  Boolean featured, Pageable pageable) {
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+
+        ProductSearchIndex.SearchHits hits = searchIndex.search(text, brand, categoryId, ProductStatus.ACTIVE,
+                minPrice, maxPrice, featured, offset, limit);
+        if (hits.getProductIds().isEmpty()) {
+            return new PageImpl<>(new ArrayList<>(), pageable, hits.getTotalHits());
+        }
+
+        Map<String, ProductListingDto> byId = new HashMap<>();
+        for (ProductListingDto product : productRepository.findListingByIds(hits.getProductIds())) {
+            byId.put(product.getId(), product);
+        }
+        List<ProductListingDto> ranked = new ArrayList<>(hits.getProductIds().size());
+        for (String productId : hits.getProductIds()) {
+            ProductListingDto product = byId.get(productId);
+            if (product != null) {
+                ranked.add(product);
+            }
+        }
+        attachCollections(ranked);
+        return new PageImpl<>(ranked, pageable, hits.getTotalHits());
+    }
+
+    private Page<ProductListingDto> assemble(Page<ProductListingDto> page) {
+        attachCollections(page.getContent());
+        return page;
+    }
+
+    /**
+     * Fill in images, specifications and tags for all products with one query per collection
+     */
+    private void attachCollections(List<ProductListingDto> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+        Map<String, ProductListingDto> byId = new LinkedHashMap<>();
+        for (ProductListingDto product : products) {
+            byId.put(product.getId(), product);
+        }
+
+        // Rows arrive in display order: the main image is the first primary image, else the first image
+        Set<String> withPrimaryImage = new HashSet<>();
+        for (Object[] row : imageRepository.findImageRowsByProductIds(byId.keySet())) {
+            ProductListingDto product = byId.get((String) row[0]);
+            String imageUrl = (String) row[1];
+            product.getImages().add(imageUrl);
+            if (Boolean.TRUE.equals(row[2]) && withPrimaryImage.add(product.getId())) {
+                product.setMainImageUrl(imageUrl);
+            } else if (product.getMainImageUrl() == null) {
+                product.setMainImageUrl(imageUrl);
+            }
+        }
+
+        for (Object[] row : specificationRepository.findVisibleRowsByProductIds(byId.keySet())) {
+            byId.get((String) row[0]).getSpecifications().put((String) row[1], row[2]);
+        }
+
+        for (Object[] row : tagRepository.findVisibleRowsByProductIds(byId.keySet())) {
+            byId.get((String) row[0]).getTags().add((String) row[1]);
+        }
+    }
+}
@@ -1,20 +1,40 @@
 package com.ecommerce.application.service;
 
+import com.ecommerce.application.dto.ProductSnapshot;
 import com.ecommerce.domain.product.ProductStatus;
+import com.ecommerce.infrastructure.cache.CategoryTreeCache;
+import com.ecommerce.infrastructure.cache.ProductReadCache;
+import com.ecommerce.infrastructure.inventory.InventoryAggregates;
+import com.ecommerce.infrastructure.inventory.InventoryAggregates.ProductState;
 import com.ecommerce.infrastructure.persistence.entity.CategoryJpaEntity;
 import com.ecommerce.infrastructure.persistence.entity.ProductJpaEntity;
+import com.ecommerce.infrastructure.persistence.repository.CartJpaRepository;
 import com.ecommerce.infrastructure.persistence.repository.CategoryJpaRepository;
 import com.ecommerce.infrastructure.persistence.repository.ProductJpaRepository;
+import com.ecommerce.infrastructure.persistence.routing.ReadWriteRoutingDataSource;
+import com.ecommerce.infrastructure.persistence.transaction.AfterCommit;
+import com.ecommerce.infrastructure.search.ProductSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service layer for Product management
@@ -26,11 +46,34 @@ public class ProductService {
 
     private final ProductJpaRepository productRepository;
     private final CategoryJpaRepository categoryRepository;
+    private final ProductSearchIndex searchIndex;
+    private final StockReservationService stockReservationService;
+    private final HotStockService hotStockService;
+    private final CartJpaRepository cartRepository;
+    private final ProductReadCache productCache;
+    private final CategoryTreeCache categoryTree;
+    private final InventoryAggregates inventoryAggregates;
+    private final InventorySummaryService inventorySummaryService;
+    private final TransactionTemplate readOnlyTransaction;
 
     @Autowired
-    public ProductService(ProductJpaRepository productRepository, CategoryJpaRepository categoryRepository) {
+    public ProductService(ProductJpaRepository productRepository, CategoryJpaRepository categoryRepository,
+                          ProductSearchIndex searchIndex, StockReservationService stockReservationService,
+                          HotStockService hotStockService, CartJpaRepository cartRepository,
+                          ProductReadCache productCache, CategoryTreeCache categoryTree,
+                          InventoryAggregates inventoryAggregates, InventorySummaryService inventorySummaryService,
+                          PlatformTransactionManager transactionManager) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
+        this.cartRepository = cartRepository;
+        this.searchIndex = searchIndex;
+        this.stockReservationService = stockReservationService;
+        this.hotStockService = hotStockService;
+        this.productCache = productCache;
+        this.categoryTree = categoryTree;
+        this.inventoryAggregates = inventoryAggregates;
+        this.inventorySummaryService = inventorySummaryService;
+        this.readOnlyTransaction = ReadWriteRoutingDataSource.primaryReadTransaction(transactionManager);
     }
 
     // Basic CRUD operations
@@ -56,14 +99,22 @@ public class ProductService {
             product.setCategory(category);
         }
 
-        return productRepository.save(product);
+        ProductJpaEntity savedProduct = productRepository.save(product);
+        reindexAfterCommit(savedProduct);
+        ProductState created = InventoryAggregates.stateOf(savedProduct);
+        AfterCommit.run(() -> inventoryAggregates.put(created));
+        if (savedProduct.isFeatured()) {
+            AfterCommit.run(productCache::invalidateFeatured);
+        }
+        return savedProduct;
     }
 
     /**
      * Update an existing product
      */
     public ProductJpaEntity updateProduct(String productId, ProductJpaEntity updatedProduct) {
-        ProductJpaEntity existingProduct = getProductById(productId);
+        ProductJpaEntity existingProduct = findProductOrThrow(productId);
+        ProductState before = InventoryAggregates.stateOf(existingProduct);
         
         // Validate that SKU is unique (excluding current product)
         if (!existingProduct.getSku().equals(updatedProduct.getSku()) && 
@@ -91,6 +142,10 @@ public class ProductService {
             throw new IllegalArgumentException("Cannot activate product in inactive category: " + existingProduct.getCategory().getName());
         }
 
+        BigDecimal previousBaseAmount = existingProduct.getBaseAmount();
+        BigDecimal previousTaxAmount = existingProduct.getTaxAmount();
+        BigDecimal previousPrice = existingProduct.getPrice();
+
         // Update fields
         existingProduct.setName(updatedProduct.getName());
         existingProduct.setDescription(updatedProduct.getDescription());
@@ -119,24 +174,75 @@ public class ProductService {
         existingProduct.setMetaDescription(updatedProduct.getMetaDescription());
         existingProduct.setMetaKeywords(updatedProduct.getMetaKeywords());
 
-        return productRepository.save(existingProduct);
+        ProductJpaEntity savedProduct = productRepository.save(existingProduct);
+        reindexAfterCommit(savedProduct);
+        inventoryChangeAfterCommit(before, savedProduct);
+        evictAfterCommit(productId, true);
+
+        // Carts store precomputed totals; force a recompute for carts holding this product
+        if (!sameAmount(previousBaseAmount, savedProduct.getBaseAmount()) ||
+            !sameAmount(previousTaxAmount, savedProduct.getTaxAmount()) ||
+            !sameAmount(previousPrice, savedProduct.getPrice())) {
+            cartRepository.markTotalsStaleForProduct(productId);
+        }
+        return savedProduct;
     }
 
     /**
-     * Get product by ID
+     * Get product by ID, served from the product read cache when possible
      */
-    @Transactional(readOnly = true)
-    public ProductJpaEntity getProductById(String productId) {
-        return productRepository.findById(productId)
-                .orElseThrow(() -> new IllegalArgumentException("Product not found with ID: " + productId));
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ProductSnapshot getProductById(String productId) {
+        ProductSnapshot snapshot = findSnapshot(productId);
+        if (snapshot == null) {
+            throw new IllegalArgumentException("Product not found with ID: " + productId);
+        }
+        return snapshot;
     }
 
     /**
-     * Get product by SKU
+     * Get product by SKU, served from the product read cache when possible
      */
-    @Transactional(readOnly = true)
-    public Optional<ProductJpaEntity> getProductBySku(String sku) {
-        return productRepository.findBySku(sku);
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<ProductSnapshot> getProductBySku(String sku) {
+        if (sku == null) {
+            return Optional.empty();
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return productRepository.findBySku(sku).map(ProductSnapshot::of);
+        }
+
+        String productId = productCache.productIdForSku(sku);
+        if (productId == null) {
+            productId = productRepository.findIdBySku(sku).orElse(null);
+            if (productId == null) {
+                return Optional.empty();
+            }
+        }
+        ProductSnapshot snapshot = findSnapshot(productId);
+        // The SKU may have moved to another product since it was indexed
+        if (snapshot == null || !sku.equals(snapshot.getSku())) {
+            return productRepository.findBySku(sku).map(ProductSnapshot::of);
+        }
+        return Optional.of(snapshot);
+    }
+
+    /**
+     * Get products by ID in list order, served from the product read cache when possible.
+     * Products that no longer exist are skipped.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<ProductSnapshot> getProductsByIds(List<String> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            Map<String, ProductSnapshot> found = productRepository.findAllById(productIds).stream()
+                    .map(ProductSnapshot::of)
+                    .collect(Collectors.toMap(ProductSnapshot::getId, Function.identity()));
+            return productIds.stream().map(found::get).filter(Objects::nonNull).collect(Collectors.toList());
+        }
+        return findSnapshots(productIds);
     }
 
     /**
@@ -191,7 +297,7 @@ public class ProductService {
      * Delete product by ID
      */
     public void deleteProduct(String productId) {
-        ProductJpaEntity product = getProductById(productId);
+        ProductJpaEntity product = findProductOrThrow(productId);
         
         // Check if product has reserved stock
         if (product.getReservedQuantity() > 0) {
@@ -199,6 +305,9 @@ public class ProductService {
         }
 
         productRepository.delete(product);
+        AfterCommit.run(() -> searchIndex.remove(productId));
+        AfterCommit.run(() -> inventoryAggregates.remove(productId));
+        evictAfterCommit(productId, true);
     }
 
     // Category operations
@@ -224,7 +333,9 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public List<ProductJpaEntity> getProductsInCategoryTree(String categoryId) {
-        return productRepository.findByCategory_IdAndStatus(categoryId, ProductStatus.ACTIVE);
+        List<String> subtree = categoryTree.get().subtreeIds(categoryId);
+        return productRepository.findByCategory_IdInAndStatusOrderByNameAsc(
+                subtree.isEmpty() ? List.of(categoryId) : subtree, ProductStatus.ACTIVE);
     }
 
     // Brand operations
@@ -260,6 +371,9 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public Page<ProductJpaEntity> searchProductsByName(String name, Pageable pageable) {
+        if (searchIndex.isReady()) {
+            return searchIndexed(name, null, null, null, null, null, pageable);
+        }
         return productRepository.findByNameContainingIgnoreCaseAndStatus(name, ProductStatus.ACTIVE, pageable);
     }
 
@@ -270,6 +384,10 @@ public class ProductService {
     public Page<ProductJpaEntity> searchProducts(String name, String brand, String categoryId, 
                                                  BigDecimal minPrice, BigDecimal maxPrice, 
                                                  Boolean featured, Pageable pageable) {
+        // Text queries are served from the in-memory index; pure filter queries use indexed columns
+        if (name != null && !name.trim().isEmpty() && searchIndex.isReady()) {
+            return searchIndexed(name, brand, categoryId, minPrice, maxPrice, featured, pageable);
+        }
         return productRepository.searchProducts(name, brand, categoryId, ProductStatus.ACTIVE, 
                                                 minPrice, maxPrice, featured, pageable);
     }
@@ -283,11 +401,29 @@ public class ProductService {
     }
 
     /**
-     * Get featured products
+     * Get featured products. The page's product IDs are cached and resolved through the
+     * product read cache, so a repeated page costs no queries while its products are cached.
      */
-    @Transactional(readOnly = true)
-    public Page<ProductJpaEntity> getFeaturedProducts(Pageable pageable) {
-        return productRepository.findByFeaturedAndStatusOrderByCreatedAtDesc(true, ProductStatus.ACTIVE, pageable);
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Page<ProductSnapshot> getFeaturedProducts(Pageable pageable) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return productRepository.findByFeaturedAndStatusOrderByCreatedAtDesc(true, ProductStatus.ACTIVE, pageable)
+                    .map(ProductSnapshot::of);
+        }
+
+        ProductReadCache.FeaturedPage cached = productCache.getFeaturedPage(pageable);
+        if (cached != null) {
+            return new PageImpl<>(findSnapshots(cached.getProductIds()), pageable, cached.getTotalElements());
+        }
+
+        long generation = productCache.featuredGeneration();
+        Page<ProductSnapshot> page = readOnlyTransaction.execute(status ->
+                productRepository.findByFeaturedAndStatusOrderByCreatedAtDesc(true, ProductStatus.ACTIVE, pageable)
+                        .map(ProductSnapshot::of));
+        productCache.putFeaturedPage(pageable,
+                page.getContent().stream().map(ProductSnapshot::getId).collect(Collectors.toList()),
+                page.getTotalElements(), generation);
+        return page;
     }
 
     // Inventory management
@@ -300,15 +436,30 @@ public class ProductService {
             throw new IllegalArgumentException("Stock quantity cannot be negative");
         }
         
-        ProductJpaEntity product = getProductById(productId);
+        if (hotStockService.isHot(productId)) {
+            int[] current = hotStockService.lockEffectiveQuantities(productId);
+            if (quantity < current[1] + current[2]) {
+                throw new IllegalArgumentException("Cannot set stock below reserved and leased quantity ("
+                        + (current[1] + current[2]) + ")");
+            }
+            hotStockService.adjustStock(productId, quantity - current[0]);
+            evictAfterCommit(productId, false);
+            return stockReservationService.reload(productId);
+        }
+
+        ProductJpaEntity product = findProductOrThrow(productId);
         
         // Check if reducing stock would make reserved quantity invalid
         if (quantity < product.getReservedQuantity()) {
             throw new IllegalArgumentException("Cannot set stock below reserved quantity (" + product.getReservedQuantity() + ")");
         }
         
+        ProductState before = InventoryAggregates.stateOf(product);
         product.setStockQuantity(quantity);
-        return productRepository.save(product);
+        ProductJpaEntity savedProduct = productRepository.save(product);
+        inventoryChangeAfterCommit(before, savedProduct);
+        evictAfterCommit(productId, false);
+        return savedProduct;
     }
 
     /**
@@ -318,37 +469,58 @@ public class ProductService {
         if (quantity <= 0) {
             throw new IllegalArgumentException("Quantity to add must be positive");
         }
+
+        if (hotStockService.isHot(productId)) {
+            hotStockService.adjustStock(productId, quantity);
+            evictAfterCommit(productId, false);
+            return stockReservationService.reload(productId);
+        }
         
-        ProductJpaEntity product = getProductById(productId);
+        ProductJpaEntity product = findProductOrThrow(productId);
+        ProductState before = InventoryAggregates.stateOf(product);
         product.addStock(quantity);
-        return productRepository.save(product);
+        ProductJpaEntity savedProduct = productRepository.save(product);
+        inventoryChangeAfterCommit(before, savedProduct);
+        evictAfterCommit(productId, false);
+        return savedProduct;
     }
 
     /**
      * Reserve stock for an order
      */
     public ProductJpaEntity reserveStock(String productId, int quantity) {
-        ProductJpaEntity product = getProductById(productId);
-        product.reserveStock(quantity);
-        return productRepository.save(product);
+        stockReservationService.reserve(productId, quantity);
+        return stockReservationService.reload(productId);
     }
 
     /**
      * Release reserved stock
      */
     public ProductJpaEntity releaseReservedStock(String productId, int quantity) {
-        ProductJpaEntity product = getProductById(productId);
-        product.releaseReservedStock(quantity);
-        return productRepository.save(product);
+        stockReservationService.release(productId, quantity);
+        return stockReservationService.reload(productId);
     }
 
     /**
      * Fulfill order (reduce stock and reserved quantity)
      */
     public ProductJpaEntity fulfillOrder(String productId, int quantity) {
-        ProductJpaEntity product = getProductById(productId);
-        product.fulfillOrder(quantity);
-        return productRepository.save(product);
+        stockReservationService.fulfill(productId, quantity);
+        return stockReservationService.reload(productId);
+    }
+
+    /**
+     * Switch a product in or out of hot-stock mode (in-memory reservations for flash sales)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ProductJpaEntity updateHotStockMode(String productId, boolean enabled) {
+        findProductOrThrow(productId);
+        if (enabled) {
+            hotStockService.enable(productId);
+        } else {
+            hotStockService.disable(productId);
+        }
+        return findProductOrThrow(productId);
     }
 
     /**
@@ -363,10 +535,12 @@ public class ProductService {
             throw new IllegalArgumentException("Minimum stock level cannot be greater than maximum stock level");
         }
         
-        ProductJpaEntity product = getProductById(productId);
+        ProductJpaEntity product = findProductOrThrow(productId);
         product.setMinStockLevel(minStockLevel);
         product.setMaxStockLevel(maxStockLevel);
-        return productRepository.save(product);
+        ProductJpaEntity savedProduct = productRepository.save(product);
+        evictAfterCommit(productId, false);
+        return savedProduct;
     }
 
     // Inventory alerts and reporting
@@ -425,42 +599,60 @@ public class ProductService {
      * Activate product
      */
     public ProductJpaEntity activateProduct(String productId) {
-        ProductJpaEntity product = getProductById(productId);
+        ProductJpaEntity product = findProductOrThrow(productId);
         
         // Check if category is active before allowing product activation
         if (!product.getCategory().isActive()) {
             throw new IllegalStateException("Cannot activate product in inactive category: " + product.getCategory().getName());
         }
         
+        ProductState before = InventoryAggregates.stateOf(product);
         product.setStatus(ProductStatus.ACTIVE);
-        return productRepository.save(product);
+        ProductJpaEntity savedProduct = productRepository.save(product);
+        reindexAfterCommit(savedProduct);
+        inventoryChangeAfterCommit(before, savedProduct);
+        evictAfterCommit(productId, true);
+        return savedProduct;
     }
 
     /**
      * Deactivate product
      */
     public ProductJpaEntity deactivateProduct(String productId) {
-        ProductJpaEntity product = getProductById(productId);
+        ProductJpaEntity product = findProductOrThrow(productId);
+        ProductState before = InventoryAggregates.stateOf(product);
         product.setStatus(ProductStatus.INACTIVE);
-        return productRepository.save(product);
+        ProductJpaEntity savedProduct = productRepository.save(product);
+        reindexAfterCommit(savedProduct);
+        inventoryChangeAfterCommit(before, savedProduct);
+        evictAfterCommit(productId, true);
+        return savedProduct;
     }
 
     /**
      * Mark product as discontinued
      */
     public ProductJpaEntity discontinueProduct(String productId) {
-        ProductJpaEntity product = getProductById(productId);
+        ProductJpaEntity product = findProductOrThrow(productId);
+        ProductState before = InventoryAggregates.stateOf(product);
         product.setStatus(ProductStatus.DISCONTINUED);
-        return productRepository.save(product);
+        ProductJpaEntity savedProduct = productRepository.save(product);
+        reindexAfterCommit(savedProduct);
+        inventoryChangeAfterCommit(before, savedProduct);
+        evictAfterCommit(productId, true);
+        return savedProduct;
     }
 
     /**
      * Update featured status
      */
     public ProductJpaEntity updateFeaturedStatus(String productId, boolean featured) {
-        ProductJpaEntity product = getProductById(productId);
+        ProductJpaEntity product = findProductOrThrow(productId);
         product.setFeatured(featured);
-        return productRepository.save(product);
+        ProductJpaEntity savedProduct = productRepository.save(product);
+        reindexAfterCommit(savedProduct);
+        evictAfterCommit(productId, true);
+        return savedProduct;
     }
 
     // Category-Product Status Synchronization Methods
@@ -471,7 +663,11 @@ public class ProductService {
      */
     public int deactivateProductsByCategory(String categoryId) {
         // Only deactivate products that are currently ACTIVE
-        return productRepository.updateStatusByCategory(categoryId, ProductStatus.INACTIVE);
+        int updated = productRepository.updateStatusByCategory(categoryId, ProductStatus.INACTIVE);
+        AfterCommit.run(() -> searchIndex.updateStatusByCategory(categoryId, null, ProductStatus.INACTIVE));
+        AfterCommit.run(() -> inventoryAggregates.updateStatusByCategory(categoryId, null, ProductStatus.INACTIVE));
+        AfterCommit.run(productCache::clear);
+        return updated;
     }
 
     /**
@@ -480,7 +676,11 @@ public class ProductService {
      */
     public int activateProductsByCategory(String categoryId) {
         // Only activate products that are currently INACTIVE (not DRAFT, DISCONTINUED, etc.)
-        return productRepository.updateSpecificStatusByCategory(categoryId, ProductStatus.INACTIVE, ProductStatus.ACTIVE);
+        int updated = productRepository.updateSpecificStatusByCategory(categoryId, ProductStatus.INACTIVE, ProductStatus.ACTIVE);
+        AfterCommit.run(() -> searchIndex.updateStatusByCategory(categoryId, ProductStatus.INACTIVE, ProductStatus.ACTIVE));
+        AfterCommit.run(() -> inventoryAggregates.updateStatusByCategory(categoryId, ProductStatus.INACTIVE, ProductStatus.ACTIVE));
+        AfterCommit.run(productCache::clear);
+        return updated;
     }
 
     /**
@@ -518,20 +718,19 @@ public class ProductService {
     }
 
     /**
-     * Get total inventory value
+     * Get total inventory value, from the in-memory inventory aggregates
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public BigDecimal getTotalInventoryValue() {
-        BigDecimal total = productRepository.getTotalInventoryValue(ProductStatus.ACTIVE);
-        return total != null ? total : BigDecimal.ZERO;
+        return inventorySummaryService.getTotalInventoryValue();
     }
 
     /**
-     * Get inventory summary by category
+     * Get inventory summary by category, from the in-memory inventory aggregates
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<Object[]> getInventorySummaryByCategory() {
-        return productRepository.getInventorySummaryByCategory(ProductStatus.ACTIVE);
+        return inventorySummaryService.getInventorySummaryByCategory();
     }
 
     /**
@@ -619,6 +818,146 @@ public class ProductService {
         }
     }
 
+    private static boolean sameAmount(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
+    }
+
+    // Product read cache support
+
+    /**
+     * Load the managed product for a write
+     */
+    private ProductJpaEntity findProductOrThrow(String productId) {
+        return productRepository.findById(productId)
+                .orElseThrow(() -> new IllegalArgumentException("Product not found with ID: " + productId));
+    }
+
+    /**
+     * Snapshot of a product from the cache, loading and caching it on a miss. Inside a
+     * caller's transaction the cache is bypassed, since that transaction may hold
+     * uncommitted changes that must neither be hidden nor cached.
+     *
+     * @return The snapshot, or null if the product does not exist
+     */
+    private ProductSnapshot findSnapshot(String productId) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return productRepository.findById(productId).map(ProductSnapshot::of).orElse(null);
+        }
+
+        ProductSnapshot snapshot = productCache.get(productId);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        long generation = productCache.generationFor(productId);
+        snapshot = readOnlyTransaction.execute(status ->
+                productRepository.findById(productId).map(ProductSnapshot::of).orElse(null));
+        if (snapshot != null) {
+            productCache.put(snapshot, generation);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Snapshots for a list of product IDs in list order, loading all cache misses with one
+     * query. Products that no longer exist are skipped.
+     */
+    private List<ProductSnapshot> findSnapshots(List<String> productIds) {
+        ProductSnapshot[] snapshots = new ProductSnapshot[productIds.size()];
+        Map<String, Long> missing = new HashMap<>();
+        for (int i = 0; i < snapshots.length; i++) {
+            snapshots[i] = productCache.get(productIds.get(i));
+            if (snapshots[i] == null) {
+                missing.put(productIds.get(i), productCache.generationFor(productIds.get(i)));
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            Map<String, ProductSnapshot> loaded = readOnlyTransaction.execute(status ->
+                    productRepository.findAllById(missing.keySet()).stream()
+                            .map(ProductSnapshot::of)
+                            .collect(Collectors.toMap(ProductSnapshot::getId, Function.identity())));
+            loaded.forEach((productId, snapshot) -> productCache.put(snapshot, missing.get(productId)));
+            for (int i = 0; i < snapshots.length; i++) {
+                if (snapshots[i] == null) {
+                    snapshots[i] = loaded.get(productIds.get(i));
+                }
+            }
+        }
+
+        List<ProductSnapshot> result = new ArrayList<>(snapshots.length);
+        for (ProductSnapshot snapshot : snapshots) {
+            if (snapshot != null) {
+                result.add(snapshot);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Drop a product from the read cache once the current transaction commits
+     *
+     * @param featuredPages Whether the change can move the product in or out of the featured pages
+     */
+    private void evictAfterCommit(String productId, boolean featuredPages) {
+        AfterCommit.run(() -> {
+            productCache.invalidate(productId);
+            if (featuredPages) {
+                productCache.invalidateFeatured();
+            }
+        });
+    }
+
+    /**
+     * Drop all cached product snapshots once the current transaction commits. Called when a
+     * category changes, since snapshots carry the category name.
+     */
+    public void evictCachedProductsAfterCommit() {
+        AfterCommit.run(productCache::clear);
+    }
+
+    // Search index support
+
+    /**
+     * Run a text search against the in-memory index and load the ranked page of products
+     */
+    private Page<ProductJpaEntity> searchIndexed(String text, String brand, String categoryId,
+                                                 BigDecimal minPrice, BigDecimal maxPrice,
+                                                 Boolean featured, Pageable pageable) {
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+
+        ProductSearchIndex.SearchHits hits = searchIndex.search(text, brand, categoryId, ProductStatus.ACTIVE,
+                minPrice, maxPrice, featured, offset, limit);
+
+        Map<String, ProductJpaEntity> productsById = productRepository.findAllById(hits.getProductIds()).stream()
+                .collect(Collectors.toMap(ProductJpaEntity::getId, Function.identity()));
+        List<ProductJpaEntity> ranked = new ArrayList<>(hits.getProductIds().size());
+        for (String productId : hits.getProductIds()) {
+            ProductJpaEntity product = productsById.get(productId);
+            if (product != null) {
+                ranked.add(product);
+            }
+        }
+        return new PageImpl<>(ranked, pageable, hits.getTotalHits());
+    }
+
+    /**
+     * Snapshot the product's searchable fields now and apply them to the index once committed
+     */
+    private void reindexAfterCommit(ProductJpaEntity product) {
+        ProductSearchIndex.IndexedDocument document = ProductSearchIndex.documentOf(product);
+        AfterCommit.run(() -> searchIndex.upsert(document));
+    }
+
+    /**
+     * Snapshot the product's inventory fields now and apply the change from {@code before}
+     * to the inventory aggregates once committed
+     */
+    private void inventoryChangeAfterCommit(ProductState before, ProductJpaEntity product) {
+        ProductState after = InventoryAggregates.stateOf(product);
+        AfterCommit.run(() -> inventoryAggregates.change(before, after));
+    }
+
     /**
      * Generate unique SKU
      */
@@ -0,0 +1,353 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.application.dto.RecommendationGenerationStatus;
+import com.ecommerce.domain.recommendation.RecommendationType;
+import com.ecommerce.infrastructure.cache.RecommendationCache;
+import com.ecommerce.infrastructure.persistence.id.TimeOrderedIds;
+import com.ecommerce.infrastructure.recommendation.RecommendationCandidateIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Catalog-wide recommendation generation.
+ *
+ * Products are read as plain rows in ID-ordered chunks, never as entities. A first
+ * pass groups every product with stock into a {@link RecommendationCandidateIndex};
+ * a second pass scores each chunk of source products against it in parallel on a
+ * dedicated fork-join pool, then replaces the chunk's recommendations with one
+ * batched insert. The rules are those of
+ * {@link RecommendationService#generateRecommendationsForProduct(String)}, with
+ * price-similar candidates taken closest in price first.
+ *
+ * Each chunk commits together with the run's checkpoint in
+ * {@code recommendation_generation_runs}, so a run that stops part way resumes
+ * after the last committed chunk. Cached recommendations of a chunk's products are
+ * invalidated as soon as it commits. Runs are per JVM: only one runs at a time in an
+ * instance, and generation assumes a single instance runs it.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Service
+public class RecommendationGenerationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationGenerationService.class);
+
+    private static final int CATEGORY_LIMIT = 5;
+    private static final int BRAND_LIMIT = 3;
+    private static final int PRICE_LIMIT = 3;
+    private static final BigDecimal CATEGORY_SCORE = BigDecimal.valueOf(0.8);
+    private static final BigDecimal BRAND_SCORE = BigDecimal.valueOf(0.7);
+    private static final BigDecimal PRICE_SCORE = BigDecimal.valueOf(0.6);
+    private static final BigDecimal PRICE_LOWER_FACTOR = BigDecimal.valueOf(0.8);
+    private static final BigDecimal PRICE_UPPER_FACTOR = BigDecimal.valueOf(1.2);
+
+    private static final String SELECT_CANDIDATES_SQL =
+            "SELECT id, category_id, brand, price, status FROM products " +
+            "WHERE stock_quantity > 0 AND id > ? ORDER BY id LIMIT ?";
+
+    private static final String SELECT_SOURCES_SQL =
+            "SELECT p.id, p.category_id, c.name, p.brand, p.price, p.status FROM products p " +
+            "LEFT JOIN categories c ON c.id = p.category_id WHERE p.id > ? ORDER BY p.id LIMIT ?";
+
+    private static final String INSERT_RECOMMENDATION_SQL =
+            "INSERT INTO product_recommendations (id, source_product_id, recommended_product_id, recommendation_type, " +
+            "score, reason, active, created_at, updated_at, created_by, updated_by, version) " +
+            "VALUES (?, ?, ?, ?, ?, ?, TRUE, ?, ?, 'system', 'system', 0)";
+
+    private static final String SELECT_RUN_SQL =
+            "SELECT id, status, processed_products, total_products, written_recommendations, last_product_id, " +
+            "started_at, updated_at, finished_at FROM recommendation_generation_runs ";
+
+    private static final String UPDATE_RUN_PROGRESS_SQL =
+            "UPDATE recommendation_generation_runs SET last_product_id = ?, processed_products = processed_products + ?, " +
+            "written_recommendations = written_recommendations + ?, updated_at = ? WHERE id = ?";
+
+    private static final RowMapper<RecommendationGenerationStatus> RUN_MAPPER = (rs, rowNum) ->
+            new RecommendationGenerationStatus(
+                    rs.getString(1), rs.getString(2), rs.getLong(3), rs.getLong(4), rs.getLong(5), rs.getString(6),
+                    toLocalDateTime(rs.getTimestamp(7)), toLocalDateTime(rs.getTimestamp(8)),
+                    toLocalDateTime(rs.getTimestamp(9)));
+
+    private static final RowMapper<SourceProduct> SOURCE_MAPPER = (rs, rowNum) ->
+            new SourceProduct(rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                    rs.getBigDecimal(5), rs.getString(6));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RecommendationCache recommendationCache;
+    private final TaskExecutor taskExecutor;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    @Value("${recommendation.generation.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${recommendation.generation.parallelism:0}")
+    private int parallelism;
+
+    @Autowired
+    public RecommendationGenerationService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                           RecommendationCache recommendationCache,
+                                           @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                                           TaskExecutor taskExecutor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.recommendationCache = recommendationCache;
+        this.taskExecutor = taskExecutor;
+    }
+
+    // Runs
+
+    /**
+     * Start generating recommendations for every product on the application task executor
+     *
+     * @param resume Continue the latest run that did not complete, if there is one
+     * @return The run as it starts
+     * @throws IllegalStateException if a run is already in progress in this instance
+     */
+    public RecommendationGenerationStatus start(boolean resume) {
+        claim();
+        try {
+            RecommendationGenerationStatus run = open(resume);
+            taskExecutor.execute(() -> {
+                try {
+                    execute(run);
+                } finally {
+                    running.set(false);
+                }
+            });
+            return run;
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+    }
+
+    /**
+     * Generate recommendations for every product on the calling thread
+     *
+     * @param resume Continue the latest run that did not complete, if there is one
+     * @return The finished run
+     * @throws IllegalStateException if a run is already in progress in this instance
+     */
+    public RecommendationGenerationStatus generateAll(boolean resume) {
+        claim();
+        try {
+            return execute(open(resume));
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * The most recently started run, or null if there has been none
+     */
+    public RecommendationGenerationStatus getLatestRun() {
+        List<RecommendationGenerationStatus> runs =
+                jdbcTemplate.query(SELECT_RUN_SQL + "ORDER BY started_at DESC LIMIT 1", RUN_MAPPER);
+        return runs.isEmpty() ? null : runs.get(0);
+    }
+
+    private void claim() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Recommendation generation is already running");
+        }
+    }
+
+    private RecommendationGenerationStatus open(boolean resume) {
+        Timestamp now = now();
+        if (resume) {
+            // Nothing else runs in this instance, so a RUNNING row was left by a run that died
+            List<RecommendationGenerationStatus> unfinished = jdbcTemplate.query(
+                    SELECT_RUN_SQL + "WHERE status <> ? ORDER BY started_at DESC LIMIT 1",
+                    RUN_MAPPER, RecommendationGenerationStatus.COMPLETED);
+            if (!unfinished.isEmpty()) {
+                RecommendationGenerationStatus run = unfinished.get(0);
+                long remaining = countProductsAfter(run.getLastProductId());
+                jdbcTemplate.update("UPDATE recommendation_generation_runs SET status = ?, total_products = ?, " +
+                                "updated_at = ?, finished_at = NULL WHERE id = ?",
+                        RecommendationGenerationStatus.RUNNING, run.getProcessedProducts() + remaining, now, run.getRunId());
+                logger.info("Resuming recommendation generation run {} after product {}",
+                        run.getRunId(), run.getLastProductId());
+                return findRun(run.getRunId());
+            }
+        }
+        String runId = TimeOrderedIds.newId();
+        jdbcTemplate.update("INSERT INTO recommendation_generation_runs (id, status, last_product_id, processed_products, " +
+                        "total_products, written_recommendations, started_at, updated_at) VALUES (?, ?, NULL, 0, ?, 0, ?, ?)",
+                runId, RecommendationGenerationStatus.RUNNING, countProductsAfter(null), now, now);
+        logger.info("Started recommendation generation run {}", runId);
+        return findRun(runId);
+    }
+
+    private RecommendationGenerationStatus execute(RecommendationGenerationStatus run) {
+        long startNanos = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        try {
+            RecommendationCandidateIndex index = buildIndex();
+            logger.info("Recommendation run {} indexed {} candidate products", run.getRunId(), index.size());
+
+            String afterId = run.getLastProductId() != null ? run.getLastProductId() : "";
+            long processed = run.getProcessedProducts();
+            List<SourceProduct> sources;
+            while (!(sources = jdbcTemplate.query(SELECT_SOURCES_SQL, SOURCE_MAPPER, afterId, chunkSize)).isEmpty()) {
+                List<Object[]> rows = score(pool, index, sources);
+                String lastId = sources.get(sources.size() - 1).id;
+                int chunkProducts = sources.size();
+                List<String> sourceIds = sources.stream().map(source -> source.id).toList();
+                transactionTemplate.executeWithoutResult(status ->
+                        writeChunk(run.getRunId(), sourceIds, rows, lastId, chunkProducts));
+                recommendationCache.invalidateAll(sourceIds);
+
+                afterId = lastId;
+                processed += chunkProducts;
+                logger.info("Recommendation run {}: {}/{} products ({} rows in last chunk)",
+                        run.getRunId(), processed, run.getTotalProducts(), rows.size());
+            }
+
+            jdbcTemplate.update("UPDATE recommendation_generation_runs SET status = ?, updated_at = ?, finished_at = ? WHERE id = ?",
+                    RecommendationGenerationStatus.COMPLETED, now(), now(), run.getRunId());
+            logger.info("Recommendation run {} completed in {} ms",
+                    run.getRunId(), (System.nanoTime() - startNanos) / 1_000_000);
+        } catch (RuntimeException e) {
+            logger.error("Recommendation run {} failed, resume to continue after the last committed chunk",
+                    run.getRunId(), e);
+            jdbcTemplate.update("UPDATE recommendation_generation_runs SET status = ?, updated_at = ? WHERE id = ?",
+                    RecommendationGenerationStatus.FAILED, now(), run.getRunId());
+        } finally {
+            pool.shutdown();
+        }
+        return findRun(run.getRunId());
+    }
+
+    // Scoring
+
+    private RecommendationCandidateIndex buildIndex() {
+        RecommendationCandidateIndex.Builder builder = RecommendationCandidateIndex.builder(CATEGORY_LIMIT, BRAND_LIMIT);
+        String[] afterId = {""};
+        int fetched;
+        do {
+            int[] count = {0};
+            jdbcTemplate.query(SELECT_CANDIDATES_SQL, rs -> {
+                afterId[0] = rs.getString(1);
+                builder.add(afterId[0], rs.getString(2), rs.getString(3), rs.getBigDecimal(4), rs.getString(5));
+                count[0]++;
+            }, afterId[0], chunkSize);
+            fetched = count[0];
+        } while (fetched == chunkSize);
+        return builder.build();
+    }
+
+    private List<Object[]> score(ForkJoinPool pool, RecommendationCandidateIndex index, List<SourceProduct> sources) {
+        Timestamp timestamp = now();
+        try {
+            // A parallel stream started inside the pool runs its tasks there, not on the common pool
+            return pool.submit(() -> sources.parallelStream()
+                    .flatMap(source -> recommend(index, source, timestamp).stream())
+                    .toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Recommendation scoring was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Recommendation scoring failed", e.getCause());
+        }
+    }
+
+    private static List<Object[]> recommend(RecommendationCandidateIndex index, SourceProduct source, Timestamp timestamp) {
+        List<Object[]> rows = new ArrayList<>(CATEGORY_LIMIT + BRAND_LIMIT + PRICE_LIMIT);
+        for (String id : index.sameCategory(source.status, source.categoryId, source.id, CATEGORY_LIMIT)) {
+            rows.add(row(source, id, RecommendationType.CATEGORY_RELATED, CATEGORY_SCORE,
+                    "Same category: " + source.categoryName, timestamp));
+        }
+        for (String id : index.sameBrand(source.status, source.brand, source.id, BRAND_LIMIT)) {
+            rows.add(row(source, id, RecommendationType.BRAND_RELATED, BRAND_SCORE,
+                    "Same brand: " + source.brand, timestamp));
+        }
+        if (source.price != null) {
+            List<String> similar = index.nearestPrice(source.status, source.price,
+                    source.price.multiply(PRICE_LOWER_FACTOR), source.price.multiply(PRICE_UPPER_FACTOR),
+                    source.id, PRICE_LIMIT);
+            for (String id : similar) {
+                rows.add(row(source, id, RecommendationType.PRICE_SIMILAR, PRICE_SCORE, "Similar price range", timestamp));
+            }
+        }
+        return rows;
+    }
+
+    private static Object[] row(SourceProduct source, String recommendedId, RecommendationType type,
+                                BigDecimal score, String reason, Timestamp timestamp) {
+        return new Object[]{TimeOrderedIds.newId(), source.id, recommendedId, type.name(), score, reason,
+                timestamp, timestamp};
+    }
+
+    // Writes
+
+    private void writeChunk(String runId, List<String> sourceIds, List<Object[]> rows, String lastId, int chunkProducts) {
+        String placeholders = String.join(",", Collections.nCopies(sourceIds.size(), "?"));
+        Object[] ids = sourceIds.toArray();
+        jdbcTemplate.update("DELETE FROM recommendation_metadata WHERE recommendation_id IN " +
+                "(SELECT id FROM product_recommendations WHERE source_product_id IN (" + placeholders + "))", ids);
+        jdbcTemplate.update("DELETE FROM product_recommendations WHERE source_product_id IN (" + placeholders + ")", ids);
+        jdbcTemplate.batchUpdate(INSERT_RECOMMENDATION_SQL, rows);
+        jdbcTemplate.update(UPDATE_RUN_PROGRESS_SQL, lastId, chunkProducts, rows.size(), now(), runId);
+    }
+
+    private long countProductsAfter(String afterId) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products WHERE id > ?", Long.class,
+                afterId != null ? afterId : "");
+        return count != null ? count : 0;
+    }
+
+    private RecommendationGenerationStatus findRun(String runId) {
+        return jdbcTemplate.queryForObject(SELECT_RUN_SQL + "WHERE id = ?", RUN_MAPPER, runId);
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now());
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    /**
+     * Fields of a source product that the rules look at
+     */
+    private static final class SourceProduct {
+        private final String id;
+        private final String categoryId;
+        private final String categoryName;
+        private final String brand;
+        private final BigDecimal price;
+        private final String status;
+
+        SourceProduct(String id, String categoryId, String categoryName, String brand, BigDecimal price, String status) {
+            this.id = id;
+            this.categoryId = categoryId;
+            this.categoryName = categoryName;
+            this.brand = brand;
+            this.price = price;
+            this.status = status;
+        }
+    }
+}
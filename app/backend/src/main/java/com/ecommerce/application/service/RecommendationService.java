@@ -1,20 +1,38 @@
 package com.ecommerce.application.service;
 
+import com.ecommerce.application.dto.ProductSnapshot;
+import com.ecommerce.application.dto.RecommendationGenerationStatus;
+import com.ecommerce.application.dto.RecommendedProductDto;
+import com.ecommerce.domain.product.ProductStatus;
 import com.ecommerce.domain.recommendation.RecommendationType;
+import com.ecommerce.infrastructure.cache.RecommendationCache;
 import com.ecommerce.infrastructure.persistence.entity.ProductJpaEntity;
 import com.ecommerce.infrastructure.persistence.entity.ProductRecommendationJpaEntity;
+import com.ecommerce.infrastructure.persistence.id.TimeOrderedIds;
+import com.ecommerce.infrastructure.persistence.repository.ProductImageJpaRepository;
 import com.ecommerce.infrastructure.persistence.repository.ProductJpaRepository;
 import com.ecommerce.infrastructure.persistence.repository.ProductRecommendationJpaRepository;
+import com.ecommerce.infrastructure.persistence.routing.ReadWriteRoutingDataSource;
+import com.ecommerce.infrastructure.persistence.transaction.AfterCommit;
+import com.ecommerce.infrastructure.recommendation.CoPurchaseIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Service for managing product recommendations
@@ -25,33 +43,68 @@ public class RecommendationService {
     
     private final ProductRecommendationJpaRepository recommendationRepository;
     private final ProductJpaRepository productRepository;
+    private final RecommendationGenerationService generationService;
+    private final CoPurchaseIndex coPurchaseIndex;
+    private final ProductService productService;
+    private final ProductImageJpaRepository imageRepository;
+    private final RecommendationCache recommendationCache;
+    private final TransactionTemplate readOnlyTransaction;
     
     @Autowired
     public RecommendationService(ProductRecommendationJpaRepository recommendationRepository,
-                               ProductJpaRepository productRepository) {
+                               ProductJpaRepository productRepository,
+                               RecommendationGenerationService generationService,
+                               CoPurchaseIndex coPurchaseIndex,
+                               ProductService productService,
+                               ProductImageJpaRepository imageRepository,
+                               RecommendationCache recommendationCache,
+                               PlatformTransactionManager transactionManager) {
         this.recommendationRepository = recommendationRepository;
         this.productRepository = productRepository;
+        this.generationService = generationService;
+        this.coPurchaseIndex = coPurchaseIndex;
+        this.productService = productService;
+        this.imageRepository = imageRepository;
+        this.recommendationCache = recommendationCache;
+        this.readOnlyTransaction = ReadWriteRoutingDataSource.primaryReadTransaction(transactionManager);
     }
     
     /**
-     * Get recommendations for a specific product
+     * Get recommendations for a specific product as compact summaries, highest score first.
+     * The top-k list of each product is served from the recommendation cache; larger
+     * requests, and reads inside a caller's transaction, go to the database.
      */
-    @Transactional(readOnly = true)
-    public List<ProductJpaEntity> getRecommendationsForProduct(String productId, int limit) {
-        Pageable pageable = PageRequest.of(0, limit);
-        Page<ProductRecommendationJpaEntity> recommendations = 
-            recommendationRepository.findActiveRecommendationsByProductId(productId, pageable);
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<RecommendedProductDto> getRecommendationsForProduct(String productId, int limit) {
+        long started = System.nanoTime();
+        int topK = recommendationCache.getTopK();
+        boolean cacheable = limit <= topK && !TransactionSynchronizationManager.isActualTransactionActive();
         
-        return recommendations.getContent().stream()
-                .map(ProductRecommendationJpaEntity::getRecommendedProduct)
-                .toList();
+        List<RecommendedProductDto> recommendations = cacheable ? recommendationCache.get(productId) : null;
+        boolean fromCache = recommendations != null;
+        if (!fromCache) {
+            int size = Math.max(limit, topK);
+            long generation = recommendationCache.generationFor(productId);
+            recommendations = readOnlyTransaction.execute(status -> loadRecommendationSummaries(productId, size));
+            if (cacheable) {
+                recommendationCache.put(productId, recommendations, generation);
+            }
+        }
+        recommendationCache.recordLatency(fromCache, System.nanoTime() - started);
+        
+        return recommendations.size() > limit ? recommendations.subList(0, limit) : recommendations;
     }
     
     /**
-     * Get recommendations for a specific product by type
+     * Get recommendations for a specific product by type. Frequently bought together
+     * products are ranked by the in-memory co-purchase index; the other types come from
+     * the stored recommendations.
      */
     @Transactional(readOnly = true)
     public List<ProductJpaEntity> getRecommendationsByType(String productId, RecommendationType type, int limit) {
+        if (type == RecommendationType.FREQUENTLY_BOUGHT_TOGETHER) {
+            return getFrequentlyBoughtTogetherProducts(productId, limit);
+        }
         Pageable pageable = PageRequest.of(0, limit);
         Page<ProductRecommendationJpaEntity> recommendations = 
             recommendationRepository.findActiveRecommendationsByProductIdAndType(productId, type, pageable);
@@ -61,6 +114,44 @@ public class RecommendationService {
                 .toList();
     }
     
+    /**
+     * Get products frequently bought together with a product, strongest first.
+     * Served from the in-memory co-purchase index and the product read cache.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<ProductSnapshot> getFrequentlyBoughtTogether(String productId, int limit) {
+        // Take the whole top-k so that inactive or out of stock products can be skipped
+        List<String> candidateIds = coPurchaseIndex.topCoPurchased(productId, Integer.MAX_VALUE).stream()
+                .map(CoPurchaseIndex.ScoredProduct::getProductId)
+                .toList();
+        return productService.getProductsByIds(candidateIds).stream()
+                .filter(product -> product.getStatus() == ProductStatus.ACTIVE && product.isInStock())
+                .limit(limit)
+                .toList();
+    }
+    
+    /**
+     * Products frequently bought together as entities, in co-purchase order, loaded by
+     * primary key with no join on the recommendations table
+     */
+    private List<ProductJpaEntity> getFrequentlyBoughtTogetherProducts(String productId, int limit) {
+        List<String> candidateIds = coPurchaseIndex.topCoPurchased(productId, Integer.MAX_VALUE).stream()
+                .map(CoPurchaseIndex.ScoredProduct::getProductId)
+                .toList();
+        if (candidateIds.isEmpty()) {
+            return List.of();
+        }
+        Map<String, ProductJpaEntity> byId = new HashMap<>();
+        for (ProductJpaEntity product : productRepository.findAllById(candidateIds)) {
+            byId.put(product.getId(), product);
+        }
+        return candidateIds.stream()
+                .map(byId::get)
+                .filter(product -> product != null && product.getStatus() == ProductStatus.ACTIVE && product.isInStock())
+                .limit(limit)
+                .toList();
+    }
+    
     /**
      * Get all recommendations for a product (including metadata)
      */
@@ -96,7 +187,7 @@ public class RecommendationService {
         
         // Create recommendation
         ProductRecommendationJpaEntity recommendation = new ProductRecommendationJpaEntity(
-                UUID.randomUUID().toString(),
+                TimeOrderedIds.newId(),
                 sourceProduct,
                 recommendedProduct,
                 type,
@@ -104,6 +195,7 @@ public class RecommendationService {
                 reason
         );
         
+        evictAfterCommit(sourceProductId);
         return recommendationRepository.save(recommendation);
     }
     
@@ -115,6 +207,7 @@ public class RecommendationService {
                 .orElseThrow(() -> new IllegalArgumentException("Recommendation not found: " + recommendationId));
         
         recommendation.setScore(newScore);
+        evictAfterCommit(recommendation.getSourceProduct().getId());
         return recommendationRepository.save(recommendation);
     }
     
@@ -126,6 +219,7 @@ public class RecommendationService {
                 .orElseThrow(() -> new IllegalArgumentException("Recommendation not found: " + recommendationId));
         
         recommendation.activate();
+        evictAfterCommit(recommendation.getSourceProduct().getId());
         return recommendationRepository.save(recommendation);
     }
     
@@ -137,6 +231,7 @@ public class RecommendationService {
                 .orElseThrow(() -> new IllegalArgumentException("Recommendation not found: " + recommendationId));
         
         recommendation.deactivate();
+        evictAfterCommit(recommendation.getSourceProduct().getId());
         return recommendationRepository.save(recommendation);
     }
     
@@ -144,11 +239,11 @@ public class RecommendationService {
      * Delete recommendation
      */
     public void deleteRecommendation(String recommendationId) {
-        if (!recommendationRepository.existsById(recommendationId)) {
-            throw new IllegalArgumentException("Recommendation not found: " + recommendationId);
-        }
+        String sourceProductId = recommendationRepository.findSourceProductIdById(recommendationId)
+                .orElseThrow(() -> new IllegalArgumentException("Recommendation not found: " + recommendationId));
         
         recommendationRepository.deleteById(recommendationId);
+        evictAfterCommit(sourceProductId);
     }
     
     /**
@@ -156,6 +251,7 @@ public class RecommendationService {
      */
     public void deleteRecommendationsForProduct(String productId) {
         recommendationRepository.deleteBySourceProductId(productId);
+        evictAfterCommit(productId);
     }
     
     /**
@@ -179,19 +275,12 @@ public class RecommendationService {
     }
     
     /**
-     * Generate recommendations for all products
+     * Generate recommendations for all products on the calling thread.
+     * Runs outside any transaction; the generator commits chunk by chunk.
      */
-    public void generateAllRecommendations() {
-        List<ProductJpaEntity> allProducts = productRepository.findAll();
-        
-        for (ProductJpaEntity product : allProducts) {
-            try {
-                generateRecommendationsForProduct(product.getId());
-            } catch (Exception e) {
-                // Log error but continue with other products
-                System.err.println("Failed to generate recommendations for product: " + product.getId() + " - " + e.getMessage());
-            }
-        }
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public RecommendationGenerationStatus generateAllRecommendations() {
+        return generationService.generateAll(false);
     }
     
     /**
@@ -287,4 +376,42 @@ public class RecommendationService {
                     }
                 });
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Top recommendations of a product as summaries, attaching main images with one batched query
+     */
+    private List<RecommendedProductDto> loadRecommendationSummaries(String productId, int size) {
+        List<RecommendedProductDto> recommendations =
+                recommendationRepository.findTopSummaries(productId, PageRequest.of(0, size));
+        if (recommendations.isEmpty()) {
+            return recommendations;
+        }
+        
+        // A product can be recommended under more than one type
+        Map<String, List<RecommendedProductDto>> byProductId = new HashMap<>();
+        for (RecommendedProductDto recommendation : recommendations) {
+            byProductId.computeIfAbsent(recommendation.getId(), id -> new ArrayList<>(1)).add(recommendation);
+        }
+        
+        // Rows arrive in display order: the main image is the first primary image, else the first image
+        Set<String> withPrimaryImage = new HashSet<>();
+        for (Object[] row : imageRepository.findImageRowsByProductIds(byProductId.keySet())) {
+            String recommendedId = (String) row[0];
+            String imageUrl = (String) row[1];
+            boolean primary = Boolean.TRUE.equals(row[2]) && withPrimaryImage.add(recommendedId);
+            for (RecommendedProductDto recommendation : byProductId.get(recommendedId)) {
+                if (primary || recommendation.getMainImageUrl() == null) {
+                    recommendation.setMainImageUrl(imageUrl);
+                }
+            }
+        }
+        return recommendations;
+    }
+    
+    /**
+     * Drop a product's cached recommendations once the current transaction commits
+     */
+    private void evictAfterCommit(String sourceProductId) {
+        AfterCommit.run(() -> recommendationCache.invalidate(sourceProductId));
+    }
+}
@@ -0,0 +1,490 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.infrastructure.cache.ProductReadCache;
+import com.ecommerce.infrastructure.inventory.InventoryAggregates;
+import com.ecommerce.infrastructure.persistence.entity.ProductJpaEntity;
+import com.ecommerce.infrastructure.persistence.repository.ProductJpaRepository;
+import com.ecommerce.infrastructure.persistence.transaction.AfterCommit;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Stock reservation engine built on single-statement conditional updates.
+ *
+ * Each reserve/release/fulfill is one {@code UPDATE ... WHERE} whose predicate
+ * enforces the stock invariant in the database, so concurrent checkouts on the
+ * same product never load-modify-save the row and never hit optimistic lock
+ * conflicts with each other. The version column is still incremented so that
+ * a stale {@link ProductJpaEntity} saved elsewhere fails instead of overwriting
+ * the quantities.
+ *
+ * Batch variants send all lines of an order as one JDBC batch, ordered by
+ * product ID so that concurrent batches lock rows in the same order. A line only
+ * counts as applied when the driver reports its row count; if it reports
+ * {@link Statement#SUCCESS_NO_INFO} instead, the batch fails (rolling back the
+ * caller's transaction) and later batches run their updates one by one.
+ *
+ * Products in hot-stock mode bypass the row update entirely and reserve from
+ * the in-memory counters of {@link HotStockService}; the reserve statement only
+ * matches rows that are not in hot-stock mode so the two paths never both apply, and
+ * leaves units still leased to hot-stock counters alone. The mode is decided from the
+ * product row rather than from this instance's counters, which pick up a product
+ * switched on another instance only on their next heartbeat.
+ *
+ * Row updates report their quantity change to {@link InventoryAggregates} once
+ * committed; hot-stock products report theirs when their journal is flushed.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Service
+@Transactional
+public class StockReservationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockReservationService.class);
+
+    private static final String RESERVE_SQL =
+            "UPDATE products SET reserved_quantity = reserved_quantity + ?, version = version + 1, updated_at = ? " +
+            "WHERE id = ? AND hot_stock = FALSE AND stock_quantity - reserved_quantity - hot_stock_leased >= ?";
+
+    private static final String RELEASE_SQL =
+            "UPDATE products SET reserved_quantity = reserved_quantity - ?, version = version + 1, updated_at = ? " +
+            "WHERE id = ? AND reserved_quantity >= ?";
+
+    private static final String FULFILL_SQL =
+            "UPDATE products SET stock_quantity = stock_quantity - ?, reserved_quantity = reserved_quantity - ?, " +
+            "version = version + 1, updated_at = ? WHERE id = ? AND reserved_quantity >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final HotStockService hotStockService;
+    private final ProductJpaRepository productRepository;
+    private final ProductReadCache productCache;
+    private final InventoryAggregates inventoryAggregates;
+    // Cleared once the driver answers a batch without row counts
+    private volatile boolean batchCountsReported = true;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public StockReservationService(JdbcTemplate jdbcTemplate, HotStockService hotStockService,
+                                   ProductJpaRepository productRepository, ProductReadCache productCache,
+                                   InventoryAggregates inventoryAggregates) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.hotStockService = hotStockService;
+        this.productRepository = productRepository;
+        this.productCache = productCache;
+        this.inventoryAggregates = inventoryAggregates;
+    }
+
+    /**
+     * Check whether a quantity can be reserved, using the in-memory counter for hot-stock
+     * products and the loaded entity otherwise
+     */
+    public boolean canReserve(ProductJpaEntity product, int quantity) {
+        if (product.isHotStock() || hotStockService.isHot(product.getId())) {
+            return hotStockService.follow(product.getId()) && hotStockService.canReserve(product.getId(), quantity);
+        }
+        return product.canReserve(quantity);
+    }
+
+    // Single line operations
+
+    /**
+     * Reserve stock for a single product
+     *
+     * @throws IllegalArgumentException if the product does not exist or has insufficient available stock
+     */
+    public void reserve(String productId, int quantity) {
+        requirePositive(quantity, "reserve");
+        if (hotStockService.isHot(productId)) {
+            reserveHot(productId, quantity);
+            return;
+        }
+        flushPendingChanges();
+        int updated = jdbcTemplate.update(RESERVE_SQL, quantity, now(), productId, quantity);
+        if (updated == 0) {
+            if (isHotInDatabase(productId)) {
+                // Switched to hot-stock mode on another instance since this one's last heartbeat
+                reserveHot(productId, quantity);
+                return;
+            }
+            int available = availableQuantity(productId);
+            throw new IllegalArgumentException("Cannot reserve " + quantity + " items. Available: " + available);
+        }
+        inventoryAggregates.adjustAfterCommit(productId, 0, quantity);
+        evictAfterCommit(List.of(productId));
+    }
+
+    /**
+     * Release previously reserved stock for a single product
+     *
+     * @throws IllegalArgumentException if the product does not exist or has less reserved stock than requested
+     */
+    public void release(String productId, int quantity) {
+        requirePositive(quantity, "release");
+        if (hotStockService.isHot(productId)) {
+            hotStockService.release(productId, quantity);
+            return;
+        }
+        flushPendingChanges();
+        int updated = jdbcTemplate.update(RELEASE_SQL, quantity, now(), productId, quantity);
+        if (updated == 0) {
+            requireExists(productId);
+            throw new IllegalArgumentException("Invalid quantity to release: " + quantity);
+        }
+        inventoryAggregates.adjustAfterCommit(productId, 0, -quantity);
+        evictAfterCommit(List.of(productId));
+    }
+
+    /**
+     * Fulfill reserved stock for a single product (reduces both stock and reserved quantity)
+     *
+     * @throws IllegalArgumentException if the product does not exist or has less reserved stock than requested
+     */
+    public void fulfill(String productId, int quantity) {
+        requirePositive(quantity, "fulfill");
+        if (hotStockService.isHot(productId)) {
+            hotStockService.fulfill(productId, quantity);
+            return;
+        }
+        flushPendingChanges();
+        int updated = jdbcTemplate.update(FULFILL_SQL, quantity, quantity, now(), productId, quantity);
+        if (updated == 0) {
+            requireExists(productId);
+            throw new IllegalArgumentException("Invalid quantity to fulfill: " + quantity);
+        }
+        inventoryAggregates.adjustAfterCommit(productId, -quantity, -quantity);
+        evictAfterCommit(List.of(productId));
+    }
+
+    // Locked in-memory reservations
+
+    /**
+     * Lock the rows of all products that were not loaded in hot-stock mode with a single
+     * {@code SELECT ... FOR UPDATE} in product ID order, then refresh only the instances
+     * whose version, mode or leased units changed since they were loaded (leasing does not
+     * bump the version). Afterwards the entities can be checked and reserved in memory with
+     * {@link #reserveLocked} and written in the commit flush.
+     *
+     * @param products Products about to be reserved (already loaded in this transaction)
+     */
+    public void lockForReservation(Collection<ProductJpaEntity> products) {
+        Map<String, ProductJpaEntity> byId = new TreeMap<>();
+        for (ProductJpaEntity product : products) {
+            if (!product.isHotStock()) {
+                byId.put(product.getId(), product);
+            }
+        }
+        if (byId.isEmpty()) {
+            return;
+        }
+
+        Map<String, Object[]> lockedRows = new HashMap<>();
+        for (Object[] row : productRepository.lockByIdsInOrder(byId.keySet())) {
+            lockedRows.put((String) row[0], row);
+        }
+
+        int refreshed = 0;
+        for (ProductJpaEntity product : byId.values()) {
+            Object[] row = lockedRows.get(product.getId());
+            if (row == null) {
+                throw new IllegalArgumentException("Product not found: " + product.getId());
+            }
+            Long version = row[1] != null ? ((Number) row[1]).longValue() : null;
+            boolean hot = row[2] instanceof Boolean flag ? flag : ((Number) row[2]).intValue() != 0;
+            int leased = ((Number) row[3]).intValue();
+            if (!Objects.equals(version, product.getVersion()) || hot != product.isHotStock()
+                    || leased != product.getHotStockLeased()) {
+                entityManager.refresh(product);
+                refreshed++;
+            }
+        }
+        if (refreshed > 0) {
+            logger.debug("Refreshed {} of {} locked products with stale state", refreshed, byId.size());
+        }
+    }
+
+    /**
+     * Reserve stock on a product locked by {@link #lockForReservation}. Regular products
+     * are updated in memory and written by the next flush; hot-stock products, as the
+     * locked row has them, reserve from their in-memory counter.
+     *
+     * @return true if the stock was reserved, false if not enough stock is available
+     */
+    public boolean reserveLocked(ProductJpaEntity product, int quantity) {
+        requirePositive(quantity, "reserve");
+        if (product.isHotStock()) {
+            return hotStockService.follow(product.getId()) && hotStockService.tryReserve(product.getId(), quantity);
+        }
+        if (!product.canReserve(quantity)) {
+            return false;
+        }
+        product.reserveStock(quantity);
+        inventoryAggregates.adjustAfterCommit(product.getId(), 0, quantity);
+        evictAfterCommit(List.of(product.getId()));
+        return true;
+    }
+
+    // Batch operations
+
+    /**
+     * Reserve stock for every line in one JDBC batch. Lines that cannot be reserved are
+     * reported as failed; the others stay reserved, so callers that need all-or-nothing
+     * semantics should throw (and roll back the surrounding transaction) on any failure.
+     *
+     * @param lines Lines to reserve
+     * @return One result per input line, in input order
+     */
+    public List<LineResult> reserveAll(List<StockLine> lines) {
+        return executeBatch(lines, RESERVE_SQL, 0, 1, (line, timestamp) ->
+                new Object[]{line.getQuantity(), timestamp, line.getProductId(), line.getQuantity()},
+                line -> hotStockService.tryReserve(line.getProductId(), line.getQuantity()));
+    }
+
+    /**
+     * Release reserved stock for every line in one JDBC batch
+     *
+     * @param lines Lines to release
+     * @return One result per input line, in input order
+     */
+    public List<LineResult> releaseAll(List<StockLine> lines) {
+        return executeBatch(lines, RELEASE_SQL, 0, -1, (line, timestamp) ->
+                new Object[]{line.getQuantity(), timestamp, line.getProductId(), line.getQuantity()},
+                line -> {
+                    hotStockService.release(line.getProductId(), line.getQuantity());
+                    return true;
+                });
+    }
+
+    /**
+     * Fulfill reserved stock for every line in one JDBC batch
+     *
+     * @param lines Lines to fulfill
+     * @return One result per input line, in input order
+     */
+    public List<LineResult> fulfillAll(List<StockLine> lines) {
+        return executeBatch(lines, FULFILL_SQL, -1, -1, (line, timestamp) ->
+                new Object[]{line.getQuantity(), line.getQuantity(), timestamp, line.getProductId(), line.getQuantity()},
+                line -> {
+                    hotStockService.fulfill(line.getProductId(), line.getQuantity());
+                    return true;
+                });
+    }
+
+    /**
+     * Reload a product from the database, discarding any stale in-memory state
+     */
+    @Transactional(readOnly = true)
+    public ProductJpaEntity reload(String productId) {
+        ProductJpaEntity product = entityManager.find(ProductJpaEntity.class, productId);
+        if (product == null) {
+            throw new IllegalArgumentException("Product not found with ID: " + productId);
+        }
+        entityManager.refresh(product);
+        return product;
+    }
+
+    // Helpers
+
+    /**
+     * Apply regular lines as one ordered batch and hot-stock lines through their in-memory operation
+     *
+     * @param stockSign Direction in which a successful line moves the stock quantity (-1, 0 or 1)
+     * @param reservedSign Direction in which a successful line moves the reserved quantity
+     */
+    private List<LineResult> executeBatch(List<StockLine> lines, String sql, int stockSign, int reservedSign,
+                                          BatchArguments arguments, HotLineOperation hotOperation) {
+        if (lines.isEmpty()) {
+            return Collections.emptyList();
+        }
+        for (StockLine line : lines) {
+            requirePositive(line.getQuantity(), "process");
+        }
+
+        LineResult[] results = new LineResult[lines.size()];
+        List<Integer> order = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            StockLine line = lines.get(i);
+            if (hotStockService.isHot(line.getProductId())) {
+                results[i] = new LineResult(line.getProductId(), line.getQuantity(), hotOperation.apply(line));
+            } else {
+                order.add(i);
+            }
+        }
+
+        if (!order.isEmpty()) {
+            flushPendingChanges();
+
+            // Deterministic row order prevents deadlocks between concurrent batches
+            order.sort(Comparator.comparing(i -> lines.get(i).getProductId()));
+
+            Timestamp timestamp = now();
+            List<Object[]> batchArgs = new ArrayList<>(order.size());
+            for (Integer index : order) {
+                batchArgs.add(arguments.of(lines.get(index), timestamp));
+            }
+            int[] counts = batchCountsReported ? jdbcTemplate.batchUpdate(sql, batchArgs) : updateEach(sql, batchArgs);
+            if (Arrays.stream(counts).anyMatch(count -> count == Statement.SUCCESS_NO_INFO)) {
+                // Some of the conditional updates may not have matched, and there is no telling which
+                batchCountsReported = false;
+                logger.error("JDBC driver reported no row counts for a stock batch; running stock updates one by one");
+                throw new IllegalStateException("Stock updates could not be verified, please retry");
+            }
+
+            List<String> updated = new ArrayList<>(order.size());
+            for (int i = 0; i < order.size(); i++) {
+                StockLine line = lines.get(order.get(i));
+                boolean success = counts[i] > 0;
+                results[order.get(i)] = new LineResult(line.getProductId(), line.getQuantity(), success);
+                if (success) {
+                    updated.add(line.getProductId());
+                    inventoryAggregates.adjustAfterCommit(line.getProductId(),
+                            stockSign * line.getQuantity(), reservedSign * line.getQuantity());
+                }
+            }
+            evictAfterCommit(updated);
+        }
+
+        long failed = Arrays.stream(results).filter(result -> !result.isSuccess()).count();
+        if (failed > 0) {
+            logger.debug("Stock batch applied {} of {} lines", lines.size() - failed, lines.size());
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Run a batch's statements one at a time, each reporting its own row count
+     */
+    private int[] updateEach(String sql, List<Object[]> batchArgs) {
+        int[] counts = new int[batchArgs.size()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = jdbcTemplate.update(sql, batchArgs.get(i));
+        }
+        return counts;
+    }
+
+    /**
+     * Conditional updates go straight to JDBC, so pending entity changes must reach the
+     * database first or they would be flushed later on top of the new quantities
+     */
+    private void flushPendingChanges() {
+        if (entityManager.isJoinedToTransaction()) {
+            entityManager.flush();
+        }
+    }
+
+    /**
+     * Stock quantities are part of the cached product snapshots; drop the changed products
+     * from the read cache once the current transaction commits
+     */
+    private void evictAfterCommit(Collection<String> productIds) {
+        if (productIds.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> productIds.forEach(productCache::invalidate));
+    }
+
+    private void reserveHot(String productId, int quantity) {
+        if (!hotStockService.follow(productId) || !hotStockService.tryReserve(productId, quantity)) {
+            throw new IllegalArgumentException("Cannot reserve " + quantity + " items. Available: "
+                    + Math.max(0, hotStockService.availableQuantity(productId)));
+        }
+    }
+
+    private boolean isHotInDatabase(String productId) {
+        return jdbcTemplate.queryForList("SELECT hot_stock FROM products WHERE id = ?", Boolean.class, productId)
+                .contains(Boolean.TRUE);
+    }
+
+    private int availableQuantity(String productId) {
+        try {
+            Integer available = jdbcTemplate.queryForObject(
+                    "SELECT stock_quantity - reserved_quantity - hot_stock_leased FROM products WHERE id = ?",
+                    Integer.class, productId);
+            return available != null ? Math.max(0, available) : 0;
+        } catch (EmptyResultDataAccessException e) {
+            throw new IllegalArgumentException("Product not found with ID: " + productId);
+        }
+    }
+
+    private void requireExists(String productId) {
+        availableQuantity(productId);
+    }
+
+    private static void requirePositive(int quantity, String operation) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity to " + operation + " must be positive: " + quantity);
+        }
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now());
+    }
+
+    @FunctionalInterface
+    private interface BatchArguments {
+        Object[] of(StockLine line, Timestamp timestamp);
+    }
+
+    @FunctionalInterface
+    private interface HotLineOperation {
+        boolean apply(StockLine line);
+    }
+
+    /**
+     * A product and quantity to reserve, release or fulfill
+     */
+    public static class StockLine {
+        private final String productId;
+        private final int quantity;
+
+        public StockLine(String productId, int quantity) {
+            this.productId = productId;
+            this.quantity = quantity;
+        }
+
+        public String getProductId() { return productId; }
+        public int getQuantity() { return quantity; }
+    }
+
+    /**
+     * Outcome of one line of a batch operation
+     */
+    public static class LineResult {
+        private final String productId;
+        private final int quantity;
+        private final boolean success;
+
+        public LineResult(String productId, int quantity, boolean success) {
+            this.productId = productId;
+            this.quantity = quantity;
+            this.success = success;
+        }
+
+        public String getProductId() { return productId; }
+        public int getQuantity() { return quantity; }
+        public boolean isSuccess() { return success; }
+    }
+}
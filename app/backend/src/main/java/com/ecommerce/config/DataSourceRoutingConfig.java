@@ -0,0 +1,99 @@
+package com.ecommerce.config;
+
+import com.ecommerce.infrastructure.persistence.routing.ReadWriteRoutingDataSource;
+import com.ecommerce.infrastructure.persistence.routing.ReadYourWritesTracker;
+import com.ecommerce.infrastructure.persistence.routing.ReplicaHealthMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration of a read replica, active when {@code database.replica.url} is set.
+ *
+ * Replaces the auto-configured data source with two Hikari pools, the primary
+ * (configured by {@code spring.datasource}) and the replica, behind a
+ * {@link ReadWriteRoutingDataSource} that sends read-only transactions to the replica.
+ * Without a replica URL the application keeps the single auto-configured pool.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Configuration
+@ConditionalOnExpression("!'${database.replica.url:}'.isEmpty()")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(
+            @Value("${database.replica.url}") String url,
+            @Value("${database.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${database.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${database.replica.maximum-pool-size:20}") int maximumPoolSize,
+            @Value("${database.replica.minimum-idle:5}") int minimumIdle,
+            @Value("${database.replica.connection-timeout-ms:2000}") long connectionTimeoutMillis) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setMinimumIdle(minimumIdle);
+        // Fail over to the primary quickly rather than queueing reads behind a dead replica
+        dataSource.setConnectionTimeout(connectionTimeoutMillis);
+        dataSource.setReadOnly(true);
+        // Start even if the replica is down; reads use the primary until it is healthy
+        dataSource.setInitializationFailTimeout(-1);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${database.read-your-writes-window-ms:5000}") long windowMillis) {
+        return new ReadYourWritesTracker(windowMillis);
+    }
+
+    @Bean
+    public ReplicaHealthMonitor replicaHealthMonitor(
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${database.replica.lag-query:}") String lagQuery,
+            @Value("${database.replica.max-lag-seconds:5}") double maxLagSeconds,
+            ReadYourWritesTracker readYourWritesTracker,
+            MeterRegistry meterRegistry) {
+        return new ReplicaHealthMonitor(replicaDataSource, lagQuery, maxLagSeconds, readYourWritesTracker, meterRegistry);
+    }
+
+    /**
+     * The data source used by JPA and JdbcTemplate. The lazy proxy fetches the
+     * physical connection on the first statement, once the transaction's read-only
+     * flag is known.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaHealthMonitor replicaHealthMonitor,
+                                 ReadYourWritesTracker readYourWritesTracker,
+                                 MeterRegistry meterRegistry) {
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(primaryDataSource,
+                replicaDataSource, replicaHealthMonitor, readYourWritesTracker, meterRegistry);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
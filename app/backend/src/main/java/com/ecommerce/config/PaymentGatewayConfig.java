@@ -0,0 +1,80 @@
+package com.ecommerce.config;
+
+import com.ecommerce.infrastructure.payment.CircuitBreaker;
+import com.ecommerce.infrastructure.payment.PaymentGateway;
+import com.ecommerce.infrastructure.payment.RazorpayGatewayClient;
+import com.ecommerce.infrastructure.payment.ResilientPaymentGateway;
+import com.ecommerce.infrastructure.payment.StubPaymentGateway;
+import com.razorpay.RazorpayClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the payment gateway client: Razorpay, or the local stub when the
+ * Razorpay credentials are dummies, behind deadlines, a bulkhead and a circuit breaker
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Configuration
+public class PaymentGatewayConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentGatewayConfig.class);
+
+    @Value("${razorpay.gateway.max-concurrent-calls:20}")
+    private int maxConcurrentCalls;
+
+    @Value("${razorpay.gateway.order-deadline-ms:5000}")
+    private long orderDeadlineMillis;
+
+    @Value("${razorpay.gateway.refund-deadline-ms:10000}")
+    private long refundDeadlineMillis;
+
+    @Value("${razorpay.gateway.lookup-deadline-ms:5000}")
+    private long lookupDeadlineMillis;
+
+    @Value("${razorpay.gateway.circuit-breaker.window-size:50}")
+    private int windowSize;
+
+    @Value("${razorpay.gateway.circuit-breaker.minimum-calls:10}")
+    private int minimumCalls;
+
+    @Value("${razorpay.gateway.circuit-breaker.failure-rate-threshold:50}")
+    private double failureRateThreshold;
+
+    @Value("${razorpay.gateway.circuit-breaker.open-duration-ms:30000}")
+    private long openDurationMillis;
+
+    @Value("${razorpay.gateway.circuit-breaker.half-open-probes:3}")
+    private int halfOpenProbes;
+
+    @Value("${razorpay.gateway.stub.latency-ms:0}")
+    private long stubLatencyMillis;
+
+    @Value("${razorpay.gateway.stub.latency-jitter-ms:0}")
+    private long stubLatencyJitterMillis;
+
+    @Value("${razorpay.gateway.stub.failure-rate:0}")
+    private double stubFailureRate;
+
+    @Bean
+    public PaymentGateway paymentGateway(RazorpayConfig razorpayConfig, RazorpayClient razorpayClient,
+                                         MeterRegistry meterRegistry) {
+        PaymentGateway gateway;
+        if (razorpayConfig.isDummyCredentials()) {
+            logger.warn("Using the stub payment gateway (latency {}ms + up to {}ms, failure rate {})",
+                    stubLatencyMillis, stubLatencyJitterMillis, stubFailureRate);
+            gateway = new StubPaymentGateway(stubLatencyMillis, stubLatencyJitterMillis, stubFailureRate);
+        } else {
+            gateway = new RazorpayGatewayClient(razorpayClient, maxConcurrentCalls);
+        }
+        CircuitBreaker circuitBreaker = new CircuitBreaker("razorpay", windowSize, minimumCalls,
+                failureRateThreshold, openDurationMillis, halfOpenProbes);
+        return new ResilientPaymentGateway(gateway, maxConcurrentCalls, circuitBreaker,
+                orderDeadlineMillis, refundDeadlineMillis, lookupDeadlineMillis, meterRegistry);
+    }
+}
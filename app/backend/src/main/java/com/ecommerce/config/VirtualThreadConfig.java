@@ -0,0 +1,52 @@
+package com.ecommerce.config;
+
+import com.ecommerce.infrastructure.persistence.pool.ConnectionPermitDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Additions for running on virtual threads ({@code spring.threads.virtual.enabled}).
+ *
+ * Spring Boot then serves requests and runs {@code @Async} and {@code @Scheduled}
+ * work on virtual threads. Because nothing bounds the number of request threads any
+ * more, every Hikari pool (the primary, and the replica if configured) is put behind a
+ * {@link ConnectionPermitDataSource} sized to the pool, so callers queue for JDBC on a
+ * semaphore in arrival order.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionPermitPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource pool) {
+                    // Wait for a permit as long as the pool would wait for a connection
+                    return new ConnectionPermitDataSource(pool, pool.getMaximumPoolSize(),
+                            pool.getConnectionTimeout(), pool.getPoolName() != null ? pool.getPoolName() : beanName);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionPermitMetrics(ObjectProvider<DataSource> dataSources) {
+        return registry -> dataSources.orderedStream()
+                .filter(ConnectionPermitDataSource.class::isInstance)
+                .forEach(dataSource -> ((ConnectionPermitDataSource) dataSource).bindTo(registry));
+    }
+}
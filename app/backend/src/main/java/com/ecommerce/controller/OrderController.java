@@ -1,10 +1,14 @@
 package com.ecommerce.controller;
 
 import com.ecommerce.application.dto.CreateOrderRequest;
+import com.ecommerce.application.dto.CursorSlice;
+import com.ecommerce.application.dto.OrderRollupBackfillStatus;
 import com.ecommerce.application.dto.OrderDto;
 import com.ecommerce.application.dto.OrderItemDto;
 import com.ecommerce.application.dto.OrderStatusHistoryDto;
+import com.ecommerce.application.service.OrderRollupService;
 import com.ecommerce.application.service.OrderService;
+import com.ecommerce.application.service.OrderStatisticsService;
 import com.ecommerce.application.service.PaymentComponentService;
 import com.ecommerce.domain.order.OrderStatus;
 import com.ecommerce.domain.order.PaymentMethod;
@@ -23,11 +27,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -53,6 +60,12 @@ public class OrderController {
     
     @Autowired
     private PaymentComponentService paymentComponentService;
+    
+    @Autowired
+    private OrderStatisticsService orderStatisticsService;
+    
+    @Autowired
+    private OrderRollupService orderRollupService;
 
     // Order Creation Endpoints
 
@@ -180,6 +193,47 @@ public class OrderController {
         }
     }
 
+    /**
+     * Get user's orders with keyset pagination, newest first. Takes the same filters as
+     * {@link #getUserOrders} but returns an opaque cursor instead of page totals, so deep
+     * pages cost the same as the first one.
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<Map<String, Object>> scrollUserOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String search) {
+
+        String customerId = getCurrentUserId();
+        logger.info("Scrolling orders for customer: {}", customerId);
+
+        CursorSlice<OrderJpaEntity> orderSlice;
+        try {
+            if (search != null && !search.trim().isEmpty()) {
+                orderSlice = orderService.searchCustomerOrdersAfter(customerId, search, cursor, size);
+            } else if (status != null && !status.trim().isEmpty()) {
+                OrderStatus orderStatus = OrderStatus.valueOf(status.toUpperCase());
+                orderSlice = orderService.getCustomerOrdersByStatusAfter(customerId, orderStatus, cursor, size);
+            } else {
+                orderSlice = orderService.getCustomerOrdersAfter(customerId, cursor, size);
+            }
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid order scroll request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+
+        CursorSlice<OrderDto> orders = orderSlice.map(this::convertToDto);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("content", orders.getContent());
+        response.put("pageSize", orders.getSize());
+        response.put("nextCursor", orders.getNextCursor());
+        response.put("hasNext", orders.isHasNext());
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get recent orders for user
      */
@@ -382,6 +436,62 @@ public class OrderController {
         }
     }
 
+    /**
+     * Get order statistics for a range of days (admin endpoint), from the daily rollups.
+     * Defaults to the last 30 days and to the revenue of paid and delivered orders.
+     */
+    @GetMapping("/admin/statistics")
+    public ResponseEntity<Map<String, Object>> getOrderStatistics(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<OrderStatus> revenueStatuses) {
+        try {
+            LocalDate end = to != null ? to : LocalDate.now();
+            LocalDate start = from != null ? from : end.minusDays(29);
+            List<OrderStatus> statuses = revenueStatuses != null && !revenueStatuses.isEmpty()
+                    ? revenueStatuses
+                    : List.of(OrderStatus.PAYMENT_DONE, OrderStatus.DELIVERED);
+            return ResponseEntity.ok(orderStatisticsService.getStatistics(start, end, statuses));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Failed to get order statistics", e);
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    /**
+     * Rebuild the daily order rollups of a range of days from the orders table in the
+     * background (admin endpoint). Defaults to the day of the oldest order up to today.
+     */
+    @PostMapping("/admin/statistics/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildOrderStatistics(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            response.put("message", "Order statistics rebuild started");
+            response.put("backfill", orderRollupService.startBackfill(from, to));
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (IllegalArgumentException e) {
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (IllegalStateException e) {
+            response.put("message", e.getMessage());
+            response.put("backfill", orderRollupService.getLatestBackfill());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        }
+    }
+
+    /**
+     * Get progress of the latest order statistics rebuild (admin endpoint)
+     */
+    @GetMapping("/admin/statistics/rebuild/status")
+    public ResponseEntity<OrderRollupBackfillStatus> getOrderStatisticsRebuildStatus() {
+        OrderRollupBackfillStatus backfill = orderRollupService.getLatestBackfill();
+        return backfill != null ? ResponseEntity.ok(backfill) : ResponseEntity.notFound().build();
+    }
+
     // Utility Methods
 
     /**
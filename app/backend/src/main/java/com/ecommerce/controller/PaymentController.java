@@ -5,7 +5,9 @@ import com.ecommerce.application.dto.PaymentOrderResponse;
 import com.ecommerce.application.dto.PaymentVerificationRequest;
 import com.ecommerce.application.dto.PaymentVerificationResponse;
 import com.ecommerce.application.dto.RefundResponse;
+import com.ecommerce.application.service.PaymentWebhookInboxService;
 import com.ecommerce.application.service.RazorpayPaymentService;
+import com.ecommerce.infrastructure.payment.PaymentGatewayUnavailableException;
 import com.ecommerce.infrastructure.persistence.entity.PaymentJpaEntity;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -37,10 +39,13 @@ public class PaymentController {
     private static final Logger logger = LoggerFactory.getLogger(PaymentController.class);
     
     private final RazorpayPaymentService razorpayPaymentService;
+    private final PaymentWebhookInboxService paymentWebhookInboxService;
     
     @Autowired
-    public PaymentController(RazorpayPaymentService razorpayPaymentService) {
+    public PaymentController(RazorpayPaymentService razorpayPaymentService,
+                             PaymentWebhookInboxService paymentWebhookInboxService) {
         this.razorpayPaymentService = razorpayPaymentService;
+        this.paymentWebhookInboxService = paymentWebhookInboxService;
     }
     
     /**
@@ -57,7 +62,8 @@ public class PaymentController {
         @ApiResponse(responseCode = "200", description = "Order created successfully"),
         @ApiResponse(responseCode = "400", description = "Invalid request"),
         @ApiResponse(responseCode = "404", description = "User or order not found"),
-        @ApiResponse(responseCode = "500", description = "Internal server error")
+        @ApiResponse(responseCode = "500", description = "Internal server error"),
+        @ApiResponse(responseCode = "503", description = "Payment gateway unavailable")
     })
     public ResponseEntity<PaymentOrderResponse> createPaymentOrder(
             @Valid @RequestBody PaymentOrderRequest request,
@@ -80,6 +86,9 @@ public class PaymentController {
         } catch (IllegalStateException e) {
             logger.error("Invalid state: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (PaymentGatewayUnavailableException e) {
+            logger.warn("Payment gateway unavailable: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         } catch (Exception e) {
             logger.error("Error creating payment order: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -100,7 +109,8 @@ public class PaymentController {
         @ApiResponse(responseCode = "200", description = "Payment order created successfully"),
         @ApiResponse(responseCode = "400", description = "Invalid request"),
         @ApiResponse(responseCode = "404", description = "User not found"),
-        @ApiResponse(responseCode = "500", description = "Internal server error")
+        @ApiResponse(responseCode = "500", description = "Internal server error"),
+        @ApiResponse(responseCode = "503", description = "Payment gateway unavailable")
     })
     public ResponseEntity<PaymentOrderResponse> createPaymentOrderWithoutExistingOrder(
             @Valid @RequestBody PaymentOrderRequest request,
@@ -118,6 +128,9 @@ public class PaymentController {
         } catch (IllegalArgumentException e) {
             logger.error("Invalid request: {}", e.getMessage());
             return ResponseEntity.badRequest().build();
+        } catch (PaymentGatewayUnavailableException e) {
+            logger.warn("Payment gateway unavailable: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         } catch (Exception e) {
             logger.error("Error creating payment order: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -257,7 +270,9 @@ public class PaymentController {
         @ApiResponse(responseCode = "200", description = "Refund processed successfully"),
         @ApiResponse(responseCode = "400", description = "Invalid request"),
         @ApiResponse(responseCode = "404", description = "Payment not found"),
-        @ApiResponse(responseCode = "500", description = "Internal server error")
+        @ApiResponse(responseCode = "409", description = "A refund of the payment is already in progress"),
+        @ApiResponse(responseCode = "500", description = "Internal server error"),
+        @ApiResponse(responseCode = "503", description = "Payment gateway unavailable")
     })
     public ResponseEntity<RefundResponse> processRefund(
             @Parameter(description = "Payment ID", required = true)
@@ -280,6 +295,13 @@ public class PaymentController {
                 return ResponseEntity.badRequest().body(response);
             }
             
+        } catch (IllegalStateException e) {
+            logger.warn("Refund not started: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(RefundResponse.failure(e.getMessage()));
+        } catch (PaymentGatewayUnavailableException e) {
+            logger.warn("Payment gateway unavailable: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(RefundResponse.error("Payment gateway is unavailable, please retry later"));
         } catch (Exception e) {
             logger.error("Error processing refund: {}", e.getMessage(), e);
             RefundResponse errorResponse = RefundResponse.error("Internal server error");
@@ -288,41 +310,46 @@ public class PaymentController {
     }
 
     /**
-     * Webhook endpoint for Razorpay payment status notifications
+     * Webhook endpoint for Razorpay payment status notifications.
+     * Verified events are queued in the webhook inbox and applied asynchronously.
      * 
      * @param payload the webhook payload from Razorpay
      * @param signature the webhook signature for verification
+     * @param eventId the Razorpay event ID, used to drop retried deliveries
      * @return Success response
      */
     @PostMapping("/webhook")
-    @Operation(summary = "Razorpay webhook", description = "Handles Razorpay webhook notifications for payment status updates")
+    @Operation(summary = "Razorpay webhook", description = "Queues Razorpay webhook notifications for payment status updates")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Webhook processed successfully"),
-        @ApiResponse(responseCode = "400", description = "Invalid webhook signature"),
+        @ApiResponse(responseCode = "200", description = "Webhook accepted or already received"),
+        @ApiResponse(responseCode = "400", description = "Invalid webhook signature or payload"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<String> handleWebhook(
             @RequestBody String payload,
-            @RequestHeader(value = "X-Razorpay-Signature", required = false) String signature) {
+            @RequestHeader(value = "X-Razorpay-Signature", required = false) String signature,
+            @RequestHeader(value = "X-Razorpay-Event-Id", required = false) String eventId) {
         
         try {
-            logger.info("Received Razorpay webhook notification");
-            
-            // Process the webhook
-            boolean processed = razorpayPaymentService.processWebhook(payload, signature);
+            logger.debug("Received Razorpay webhook notification {}", eventId);
             
-            if (processed) {
-                logger.info("Webhook processed successfully");
-                return ResponseEntity.ok("Webhook processed successfully");
-            } else {
-                logger.warn("Webhook processing failed - invalid signature");
-                return ResponseEntity.badRequest().body("Invalid webhook signature");
+            switch (paymentWebhookInboxService.accept(payload, signature, eventId)) {
+                case ACCEPTED:
+                    return ResponseEntity.ok("Webhook accepted");
+                case DUPLICATE:
+                    return ResponseEntity.ok("Webhook already received");
+                case MALFORMED:
+                    logger.warn("Rejected malformed webhook payload");
+                    return ResponseEntity.badRequest().body("Malformed webhook payload");
+                default:
+                    logger.warn("Rejected webhook with invalid signature");
+                    return ResponseEntity.badRequest().body("Invalid webhook signature");
             }
             
         } catch (Exception e) {
-            logger.error("Error processing webhook: {}", e.getMessage(), e);
+            logger.error("Error queueing webhook: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body("Error processing webhook");
         }
     }
-} 
\ No newline at end of file
+}
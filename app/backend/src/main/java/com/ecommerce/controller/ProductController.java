@@ -1,5 +1,9 @@
 package com.ecommerce.controller;
 
+import com.ecommerce.application.dto.CursorSlice;
+import com.ecommerce.application.dto.ProductListingDto;
+import com.ecommerce.application.dto.ProductSnapshot;
+import com.ecommerce.application.service.ProductListingService;
 import com.ecommerce.application.service.ProductService;
 import com.ecommerce.domain.product.ProductStatus;
 import com.ecommerce.infrastructure.persistence.entity.ProductJpaEntity;
@@ -29,17 +33,19 @@ import java.util.Optional;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductListingService listingService;
 
     @Autowired
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductListingService listingService) {
         this.productService = productService;
+        this.listingService = listingService;
     }
 
     /**
      * Get all products with pagination and filtering
      */
     @GetMapping
-    public ResponseEntity<Page<ProductJpaEntity>> getAllProducts(
+    public ResponseEntity<Page<ProductListingDto>> getAllProducts(
             @PageableDefault(size = 20, sort = "name", direction = Sort.Direction.ASC) Pageable pageable,
             @RequestParam(value = "status", required = false) ProductStatus status,
             @RequestParam(value = "featured", required = false) Boolean featured,
@@ -50,39 +56,54 @@ public class ProductController {
             @RequestParam(value = "name", required = false) String name,
             @RequestParam(value = "includeInactiveCategories", defaultValue = "false") boolean includeInactiveCategories) {
 
-        Page<ProductJpaEntity> products;
+        Page<ProductListingDto> products;
 
         // Use search if any filter criteria provided
         if (name != null || brand != null || categoryId != null || 
             minPrice != null || maxPrice != null || featured != null) {
-            products = productService.searchProducts(name, brand, categoryId, 
+            products = listingService.searchProducts(name, brand, categoryId, 
                                                    minPrice, maxPrice, featured, pageable);
-        } else if (status != null) {
-            if (includeInactiveCategories) {
-                products = productService.getProductsByStatus(status, pageable);
-            } else {
-                // Default behavior: only show products from active categories
-                products = productService.getProductsByStatusAndActiveCategory(status, pageable);
-            }
         } else {
-            if (includeInactiveCategories) {
-                products = productService.getAllProducts(pageable);
-            } else {
-                // Default behavior: only show products from active categories
-                products = productService.getAllProductsFromActiveCategories(pageable);
-            }
+            // Default behavior: only show products from active categories
+            products = listingService.getProducts(status, includeInactiveCategories, pageable);
         }
 
         return ResponseEntity.ok(products);
     }
 
+    /**
+     * Get products by name with keyset pagination. Takes the same filters as
+     * {@link #getAllProducts} but returns an opaque cursor instead of page totals, so deep
+     * pages cost the same as the first one.
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorSlice<ProductListingDto>> scrollProducts(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "status", required = false) ProductStatus status,
+            @RequestParam(value = "featured", required = false) Boolean featured,
+            @RequestParam(value = "brand", required = false) String brand,
+            @RequestParam(value = "categoryId", required = false) String categoryId,
+            @RequestParam(value = "minPrice", required = false) BigDecimal minPrice,
+            @RequestParam(value = "maxPrice", required = false) BigDecimal maxPrice,
+            @RequestParam(value = "name", required = false) String name,
+            @RequestParam(value = "includeInactiveCategories", defaultValue = "false") boolean includeInactiveCategories) {
+        try {
+            CursorSlice<ProductListingDto> products = listingService.scrollProducts(name, brand, categoryId, status,
+                    minPrice, maxPrice, featured, includeInactiveCategories, cursor, size);
+            return ResponseEntity.ok(products);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * Get active products only
      */
     @GetMapping("/active")
-    public ResponseEntity<Page<ProductJpaEntity>> getActiveProducts(
+    public ResponseEntity<Page<ProductListingDto>> getActiveProducts(
             @PageableDefault(size = 20, sort = "name", direction = Sort.Direction.ASC) Pageable pageable) {
-        Page<ProductJpaEntity> products = productService.getVisibleProducts(pageable);
+        Page<ProductListingDto> products = listingService.getProducts(ProductStatus.ACTIVE, false, pageable);
         return ResponseEntity.ok(products);
     }
 
@@ -90,9 +111,9 @@ public class ProductController {
      * Get product by ID
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ProductJpaEntity> getProductById(@PathVariable String id) {
+    public ResponseEntity<ProductSnapshot> getProductById(@PathVariable String id) {
         try {
-            ProductJpaEntity product = productService.getProductById(id);
+            ProductSnapshot product = productService.getProductById(id);
             return ResponseEntity.ok(product);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
@@ -103,8 +124,8 @@ public class ProductController {
      * Get product by SKU
      */
     @GetMapping("/sku/{sku}")
-    public ResponseEntity<ProductJpaEntity> getProductBySku(@PathVariable String sku) {
-        Optional<ProductJpaEntity> product = productService.getProductBySku(sku);
+    public ResponseEntity<ProductSnapshot> getProductBySku(@PathVariable String sku) {
+        Optional<ProductSnapshot> product = productService.getProductBySku(sku);
         return product.map(ResponseEntity::ok)
                      .orElse(ResponseEntity.notFound().build());
     }
@@ -113,10 +134,10 @@ public class ProductController {
      * Get products by category (only active category products)
      */
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<Page<ProductJpaEntity>> getProductsByCategory(
+    public ResponseEntity<Page<ProductListingDto>> getProductsByCategory(
             @PathVariable String categoryId,
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<ProductJpaEntity> products = productService.getProductsByCategory(categoryId, pageable);
+        Page<ProductListingDto> products = listingService.getProductsByCategory(categoryId, pageable);
         return ResponseEntity.ok(products);
     }
 
@@ -142,10 +163,10 @@ public class ProductController {
      * Get products by brand
      */
     @GetMapping("/brand/{brand}")
-    public ResponseEntity<Page<ProductJpaEntity>> getProductsByBrand(
+    public ResponseEntity<Page<ProductListingDto>> getProductsByBrand(
             @PathVariable String brand,
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<ProductJpaEntity> products = productService.getProductsByBrand(brand, pageable);
+        Page<ProductListingDto> products = listingService.getProductsByBrand(brand, pageable);
         return ResponseEntity.ok(products);
     }
 
@@ -153,9 +174,9 @@ public class ProductController {
      * Get featured products
      */
     @GetMapping("/featured")
-    public ResponseEntity<Page<ProductJpaEntity>> getFeaturedProducts(
+    public ResponseEntity<Page<ProductSnapshot>> getFeaturedProducts(
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<ProductJpaEntity> products = productService.getFeaturedProducts(pageable);
+        Page<ProductSnapshot> products = productService.getFeaturedProducts(pageable);
         return ResponseEntity.ok(products);
     }
 
@@ -163,10 +184,10 @@ public class ProductController {
      * Search products by name
      */
     @GetMapping("/search")
-    public ResponseEntity<Page<ProductJpaEntity>> searchProducts(
+    public ResponseEntity<Page<ProductListingDto>> searchProducts(
             @RequestParam String name,
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<ProductJpaEntity> products = productService.searchProductsByName(name, pageable);
+        Page<ProductListingDto> products = listingService.searchProducts(name, null, null, null, null, null, pageable);
         return ResponseEntity.ok(products);
     }
 
@@ -174,11 +195,11 @@ public class ProductController {
      * Get products in price range
      */
     @GetMapping("/price-range")
-    public ResponseEntity<Page<ProductJpaEntity>> getProductsInPriceRange(
+    public ResponseEntity<Page<ProductListingDto>> getProductsInPriceRange(
             @RequestParam BigDecimal minPrice,
             @RequestParam BigDecimal maxPrice,
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<ProductJpaEntity> products = productService.getProductsInPriceRange(minPrice, maxPrice, pageable);
+        Page<ProductListingDto> products = listingService.getProductsInPriceRange(minPrice, maxPrice, pageable);
         return ResponseEntity.ok(products);
     }
 
@@ -186,9 +207,9 @@ public class ProductController {
      * Get available products (in stock)
      */
     @GetMapping("/available")
-    public ResponseEntity<Page<ProductJpaEntity>> getAvailableProducts(
+    public ResponseEntity<Page<ProductListingDto>> getAvailableProducts(
             @PageableDefault(size = 20) Pageable pageable) {
-        Page<ProductJpaEntity> products = productService.getAvailableProducts(pageable);
+        Page<ProductListingDto> products = listingService.getAvailableProducts(pageable);
         return ResponseEntity.ok(products);
     }
 
@@ -315,6 +336,21 @@ public class ProductController {
         }
     }
 
+    /**
+     * Enable or disable hot-stock mode for flash sales
+     */
+    @PatchMapping("/{id}/stock/hot")
+    public ResponseEntity<ProductJpaEntity> updateHotStockMode(
+            @PathVariable String id,
+            @RequestParam boolean enabled) {
+        try {
+            ProductJpaEntity product = productService.updateHotStockMode(id, enabled);
+            return ResponseEntity.ok(product);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     /**
      * Reserve stock
      */
@@ -1,6 +1,10 @@
 package com.ecommerce.controller;
 
 import com.ecommerce.application.dto.CreateRecommendationRequest;
+import com.ecommerce.application.dto.ProductSnapshot;
+import com.ecommerce.application.dto.RecommendationGenerationStatus;
+import com.ecommerce.application.dto.RecommendedProductDto;
+import com.ecommerce.application.service.RecommendationGenerationService;
 import com.ecommerce.application.service.RecommendationService;
 import com.ecommerce.domain.recommendation.RecommendationType;
 import com.ecommerce.infrastructure.persistence.entity.ProductJpaEntity;
@@ -24,27 +28,40 @@ import java.util.Map;
 public class RecommendationController {
     
     private final RecommendationService recommendationService;
+    private final RecommendationGenerationService generationService;
     
     @Autowired
-    public RecommendationController(RecommendationService recommendationService) {
+    public RecommendationController(RecommendationService recommendationService,
+                                    RecommendationGenerationService generationService) {
         this.recommendationService = recommendationService;
+        this.generationService = generationService;
     }
     
     /**
      * Get recommendations for a specific product
      */
     @GetMapping("/products/{productId}")
-    public ResponseEntity<List<ProductJpaEntity>> getRecommendationsForProduct(
+    public ResponseEntity<List<RecommendedProductDto>> getRecommendationsForProduct(
             @PathVariable String productId,
             @RequestParam(defaultValue = "6") int limit) {
         try {
-            List<ProductJpaEntity> recommendations = recommendationService.getRecommendationsForProduct(productId, limit);
+            List<RecommendedProductDto> recommendations = recommendationService.getRecommendationsForProduct(productId, limit);
             return ResponseEntity.ok(recommendations);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
     }
     
+    /**
+     * Get products frequently bought together with a specific product
+     */
+    @GetMapping("/products/{productId}/frequently-bought-together")
+    public ResponseEntity<List<ProductSnapshot>> getFrequentlyBoughtTogether(
+            @PathVariable String productId,
+            @RequestParam(defaultValue = "6") int limit) {
+        return ResponseEntity.ok(recommendationService.getFrequentlyBoughtTogether(productId, limit));
+    }
+    
     /**
      * Get recommendations for a specific product by type
      */
@@ -182,16 +199,36 @@ public class RecommendationController {
     }
     
     /**
-     * Generate recommendations for all products
+     * Generate recommendations for all products in the background.
+     * With resume=true, continues the latest run that did not complete.
      */
     @PostMapping("/generate-all")
-    public ResponseEntity<Map<String, Object>> generateAllRecommendations() {
-        recommendationService.generateAllRecommendations();
-        
-        Map<String, Object> response = new HashMap<>();
-        response.put("message", "Recommendations generation started for all products");
-        
-        return ResponseEntity.ok(response);
+    public ResponseEntity<Map<String, Object>> generateAllRecommendations(
+            @RequestParam(defaultValue = "false") boolean resume) {
+        try {
+            RecommendationGenerationStatus run = generationService.start(resume);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "Recommendations generation started for all products");
+            response.put("run", run);
+            
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (IllegalStateException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", e.getMessage());
+            response.put("run", generationService.getLatestRun());
+            
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        }
+    }
+    
+    /**
+     * Get progress of the latest generation run
+     */
+    @GetMapping("/generate-all/status")
+    public ResponseEntity<RecommendationGenerationStatus> getGenerationStatus() {
+        RecommendationGenerationStatus run = generationService.getLatestRun();
+        return run != null ? ResponseEntity.ok(run) : ResponseEntity.notFound().build();
     }
     
     /**
@@ -0,0 +1,147 @@
+package com.ecommerce.domain.common;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Primitive money arithmetic on amounts held as {@code long} paise (1/100 of a rupee)
+ *
+ * Pricing code keeps amounts as plain {@code long} values and uses these helpers for
+ * tax, discount, shipping and dimension pricing, so the hot paths do not allocate.
+ * {@link BigDecimal} is only produced or consumed at the persistence and DTO boundary
+ * through {@link #of(BigDecimal)} and {@link #toDecimal(long)}.
+ *
+ * Every division rounds HALF_UP (ties away from zero), which is the rounding the
+ * {@code BigDecimal} code used and the rounding MySQL applies when a value is stored
+ * into a {@code DECIMAL(p,2)} column. Results that would overflow a {@code long}
+ * are computed exactly on a slow path instead of wrapping.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+public final class Money {
+
+    /** Number of decimal places in a paise amount */
+    public static final int SCALE = 2;
+
+    /** Basis points in 100% (a rate of 18.00% is 1800 basis points) */
+    public static final long BASIS_POINTS = 10_000L;
+
+    /** Thousandths in one dimension unit (the scale of lengths and heights) */
+    public static final long THOUSANDTHS = 1_000L;
+
+    private static final long AREA_TO_UNITS = THOUSANDTHS * THOUSANDTHS;
+
+    private Money() {
+    }
+
+    // Boundary conversions
+
+    /**
+     * Convert a decimal amount to paise, rounding HALF_UP; {@code null} is treated as zero
+     */
+    public static long of(BigDecimal amount) {
+        return toScaled(amount, SCALE);
+    }
+
+    /**
+     * Convert paise to a decimal amount with two decimal places
+     */
+    public static BigDecimal toDecimal(long paise) {
+        return BigDecimal.valueOf(paise, SCALE);
+    }
+
+    /**
+     * Convert a percentage with two decimal places (e.g. 18.00) to basis points
+     */
+    public static long basisPoints(BigDecimal percent) {
+        return toScaled(percent, SCALE);
+    }
+
+    /**
+     * Convert a length or height to thousandths of its unit, rounding HALF_UP
+     */
+    public static long thousandths(BigDecimal value) {
+        return toScaled(value, 3);
+    }
+
+    private static long toScaled(BigDecimal value, int scale) {
+        if (value == null) {
+            return 0L;
+        }
+        return value.movePointRight(scale).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    // Arithmetic
+
+    /**
+     * Amount multiplied by a quantity
+     */
+    public static long times(long paise, long quantity) {
+        return Math.multiplyExact(paise, quantity);
+    }
+
+    /**
+     * Share of an amount at a rate in basis points, rounded HALF_UP to the paisa
+     */
+    public static long applyBasisPoints(long paise, long basisPoints) {
+        return mulDivHalfUp(paise, basisPoints, BASIS_POINTS);
+    }
+
+    /**
+     * Rate of {@code part} relative to {@code whole} in basis points, rounded HALF_UP; zero when whole is not positive
+     */
+    public static long ratioBasisPoints(long part, long whole) {
+        return whole > 0 ? mulDivHalfUp(part, BASIS_POINTS, whole) : 0L;
+    }
+
+    /**
+     * Price of a rectangle given its sides in thousandths and a rate in paise per square unit
+     */
+    public static long areaPrice(long heightThousandths, long lengthThousandths, long ratePaise) {
+        long hi = Math.multiplyHigh(heightThousandths, lengthThousandths);
+        long area = heightThousandths * lengthThousandths;
+        if (hi != (area >> 63)) {
+            return exactMulDiv(BigDecimal.valueOf(heightThousandths).multiply(BigDecimal.valueOf(lengthThousandths)),
+                    ratePaise, AREA_TO_UNITS);
+        }
+        return mulDivHalfUp(area, ratePaise, AREA_TO_UNITS);
+    }
+
+    /**
+     * {@code a * b / divisor} rounded HALF_UP, exact for any {@code long} operands
+     */
+    public static long mulDivHalfUp(long a, long b, long divisor) {
+        if (divisor <= 0) {
+            throw new IllegalArgumentException("Divisor must be positive");
+        }
+        long hi = Math.multiplyHigh(a, b);
+        long product = a * b;
+        if (hi != (product >> 63)) {
+            return exactMulDiv(BigDecimal.valueOf(a), b, divisor);
+        }
+        return divideHalfUp(product, divisor);
+    }
+
+    /**
+     * {@code dividend / divisor} rounded HALF_UP
+     */
+    public static long divideHalfUp(long dividend, long divisor) {
+        if (divisor <= 0) {
+            throw new IllegalArgumentException("Divisor must be positive");
+        }
+        long quotient = dividend / divisor;
+        long remainder = Math.abs(dividend % divisor);
+        // remainder >= divisor - remainder is 2 * remainder >= divisor without overflow
+        if (remainder >= divisor - remainder) {
+            quotient += dividend < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+
+    private static long exactMulDiv(BigDecimal a, long b, long divisor) {
+        return a.multiply(BigDecimal.valueOf(b))
+                .divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_UP)
+                .longValueExact();
+    }
+}
@@ -25,7 +25,7 @@ import java.util.*;
 public class Order extends AuditableEntity {
     
     @NotBlank(message = "Order number is required")
-    @Pattern(regexp = "^ORD-[0-9]{10}$", message = "Order number must follow pattern ORD-XXXXXXXXXX")
+    @Pattern(regexp = "^ORD-([0-9]{10}|[0-9]{12})$", message = "Order number must follow pattern ORD-XXXXXXXXXX or ORD-XXXXXXXXXXXX")
     private String orderNumber;
     
     @NotNull(message = "Customer is required")
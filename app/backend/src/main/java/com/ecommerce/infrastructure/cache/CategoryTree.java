@@ -0,0 +1,255 @@
+package com.ecommerce.infrastructure.cache;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the category hierarchy laid out as a nested set
+ *
+ * Categories are numbered in pre-order, children sorted by sort order and name. Each
+ * category's subtree is the contiguous interval {@code [position, subtreeEnd)}, so
+ * "is X below Y" is an interval check and a subtree is a slice of the pre-order array.
+ * Ancestors are found by following parent positions, at most depth steps.
+ *
+ * Categories whose parent chain loops back on itself are unreachable from any root and
+ * are left out.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+public final class CategoryTree {
+
+    private final long generation;
+    private final Map<String, Integer> positions;
+    private final String[] ids;
+    private final String[] names;
+    private final int[] parents;
+    private final int[] subtreeEnds;
+    private final int[] depths;
+    private final List<List<String>> idsByDepth;
+
+    private CategoryTree(long generation, Map<String, Integer> positions, String[] ids, String[] names, int[] parents,
+                         int[] subtreeEnds, int[] depths, List<List<String>> idsByDepth) {
+        this.generation = generation;
+        this.positions = positions;
+        this.ids = ids;
+        this.names = names;
+        this.parents = parents;
+        this.subtreeEnds = subtreeEnds;
+        this.depths = depths;
+        this.idsByDepth = idsByDepth;
+    }
+
+    /**
+     * Build a tree from flat category rows
+     *
+     * @param generation Generation of the cache the tree is built for
+     * @param nodes All categories
+     */
+    public static CategoryTree build(long generation, List<Node> nodes) {
+        Comparator<Node> siblingOrder = Comparator.comparingInt((Node node) -> node.sortOrder)
+                .thenComparing(node -> node.name, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(node -> node.id);
+
+        Map<String, Node> nodesById = new HashMap<>();
+        for (Node node : nodes) {
+            nodesById.put(node.id, node);
+        }
+        Map<String, List<Node>> children = new HashMap<>();
+        List<Node> roots = new ArrayList<>();
+        for (Node node : nodes) {
+            if (node.parentId == null || !nodesById.containsKey(node.parentId)) {
+                roots.add(node);
+            } else {
+                children.computeIfAbsent(node.parentId, key -> new ArrayList<>()).add(node);
+            }
+        }
+        roots.sort(siblingOrder);
+        children.values().forEach(siblings -> siblings.sort(siblingOrder));
+
+        int size = nodes.size();
+        Map<String, Integer> positions = new HashMap<>(size * 2);
+        String[] ids = new String[size];
+        String[] names = new String[size];
+        int[] parents = new int[size];
+        int[] subtreeEnds = new int[size];
+        int[] depths = new int[size];
+        Node[] ordered = new Node[size];
+
+        // Iterative pre-order walk; a negative entry marks the end of that position's subtree
+        int next = 0;
+        Deque<Object> stack = new ArrayDeque<>();
+        for (int i = roots.size() - 1; i >= 0; i--) {
+            stack.push(new Frame(roots.get(i), -1));
+        }
+        while (!stack.isEmpty()) {
+            Object top = stack.pop();
+            if (top instanceof Integer closing) {
+                subtreeEnds[closing] = next;
+                continue;
+            }
+            Frame frame = (Frame) top;
+            int position = next++;
+            positions.put(frame.node.id, position);
+            ids[position] = frame.node.id;
+            names[position] = frame.node.name;
+            parents[position] = frame.parent;
+            depths[position] = frame.parent < 0 ? 0 : depths[frame.parent] + 1;
+            ordered[position] = frame.node;
+
+            stack.push(position);
+            List<Node> nodeChildren = children.getOrDefault(frame.node.id, List.of());
+            for (int i = nodeChildren.size() - 1; i >= 0; i--) {
+                stack.push(new Frame(nodeChildren.get(i), position));
+            }
+        }
+
+        List<List<Node>> nodesByDepth = new ArrayList<>();
+        for (int position = 0; position < next; position++) {
+            while (nodesByDepth.size() <= depths[position]) {
+                nodesByDepth.add(new ArrayList<>());
+            }
+            nodesByDepth.get(depths[position]).add(ordered[position]);
+        }
+        List<List<String>> idsByDepth = new ArrayList<>(nodesByDepth.size());
+        for (List<Node> level : nodesByDepth) {
+            level.sort(siblingOrder);
+            idsByDepth.add(level.stream().map(node -> node.id).toList());
+        }
+
+        return new CategoryTree(generation, positions, Arrays.copyOf(ids, next), Arrays.copyOf(names, next),
+                Arrays.copyOf(parents, next), Arrays.copyOf(subtreeEnds, next), Arrays.copyOf(depths, next),
+                Collections.unmodifiableList(idsByDepth));
+    }
+
+    // Lookups
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public boolean contains(String categoryId) {
+        return categoryId != null && positions.containsKey(categoryId);
+    }
+
+    /**
+     * Name of a category, or null if it is not in the tree
+     */
+    public String nameOf(String categoryId) {
+        Integer position = position(categoryId);
+        return position != null ? names[position] : null;
+    }
+
+    /**
+     * Depth of a category, 0 for roots, or -1 if it is not in the tree
+     */
+    public int depthOf(String categoryId) {
+        Integer position = position(categoryId);
+        return position != null ? depths[position] : -1;
+    }
+
+    /**
+     * Whether a category lies strictly below another
+     */
+    public boolean isDescendantOf(String categoryId, String ancestorId) {
+        Integer position = position(categoryId);
+        Integer ancestor = position(ancestorId);
+        return position != null && ancestor != null
+                && ancestor < position && position < subtreeEnds[ancestor];
+    }
+
+    /**
+     * The category and everything below it, in pre-order; empty if it is not in the tree
+     */
+    public List<String> subtreeIds(String categoryId) {
+        Integer position = position(categoryId);
+        if (position == null) {
+            return List.of();
+        }
+        return Collections.unmodifiableList(Arrays.asList(ids).subList(position, subtreeEnds[position]));
+    }
+
+    /**
+     * Everything below a category, in pre-order
+     */
+    public List<String> descendantIds(String categoryId) {
+        List<String> subtree = subtreeIds(categoryId);
+        return subtree.isEmpty() ? subtree : subtree.subList(1, subtree.size());
+    }
+
+    /**
+     * Ancestors of a category, root first
+     */
+    public List<String> ancestorIds(String categoryId) {
+        Integer position = position(categoryId);
+        if (position == null) {
+            return List.of();
+        }
+        String[] ancestors = new String[depths[position]];
+        for (int parent = parents[position], i = ancestors.length - 1; parent >= 0; parent = parents[parent], i--) {
+            ancestors[i] = ids[parent];
+        }
+        return List.of(ancestors);
+    }
+
+    /**
+     * Path from the root down to and including a category; empty if it is not in the tree
+     */
+    public List<String> pathIds(String categoryId) {
+        if (!contains(categoryId)) {
+            return List.of();
+        }
+        List<String> path = new ArrayList<>(ancestorIds(categoryId));
+        path.add(categoryId);
+        return Collections.unmodifiableList(path);
+    }
+
+    /**
+     * Categories at a depth, ordered by sort order and name
+     */
+    public List<String> idsAtDepth(int depth) {
+        return depth >= 0 && depth < idsByDepth.size() ? idsByDepth.get(depth) : List.of();
+    }
+
+    private Integer position(String categoryId) {
+        return categoryId != null ? positions.get(categoryId) : null;
+    }
+
+    /**
+     * One category row as loaded from the database
+     */
+    public static final class Node {
+        private final String id;
+        private final String parentId;
+        private final String name;
+        private final int sortOrder;
+
+        public Node(String id, String parentId, String name, int sortOrder) {
+            this.id = id;
+            this.parentId = parentId;
+            this.name = name;
+            this.sortOrder = sortOrder;
+        }
+    }
+
+    private static final class Frame {
+        private final Node node;
+        private final int parent;
+
+        Frame(Node node, int parent) {
+            this.node = node;
+            this.parent = parent;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.ecommerce.infrastructure.cache;
+
+import com.ecommerce.infrastructure.persistence.repository.CategoryJpaRepository;
+import com.ecommerce.infrastructure.persistence.routing.ReadWriteRoutingDataSource;
+import com.ecommerce.infrastructure.persistence.transaction.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds the current {@link CategoryTree}, so hierarchy lookups need no recursive SQL
+ *
+ * The tree is loaded on first use with one flat query and replaced as a whole after
+ * every committed change to the hierarchy; readers keep using the previous tree until
+ * the new one is published. Each rebuild takes a new generation before it reads the
+ * categories, and a tree only replaces one of an older generation, so a slow rebuild
+ * can never overwrite a tree that already reflects a later commit.
+ *
+ * Commits only trigger a rebuild on the instance that made them, so a loaded tree is
+ * also rebuilt on a fixed interval; that interval bounds how long other instances work
+ * from a tree that misses a change.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Component
+public class CategoryTreeCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategoryTreeCache.class);
+
+    private final CategoryJpaRepository categoryRepository;
+    private final TransactionTemplate readTransaction;
+    private final AtomicReference<CategoryTree> current = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+    // Held while loading from the database, so not a monitor (it would pin a virtual thread)
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    @Autowired
+    public CategoryTreeCache(CategoryJpaRepository categoryRepository, PlatformTransactionManager transactionManager) {
+        this.categoryRepository = categoryRepository;
+        // Rebuilds run from afterCommit callbacks, where the finished transaction is still bound
+        this.readTransaction = ReadWriteRoutingDataSource.primaryReadTransaction(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Current tree, loading it if this is the first use
+     */
+    public CategoryTree get() {
+        CategoryTree tree = current.get();
+        if (tree != null) {
+            return tree;
+        }
+        loadLock.lock();
+        try {
+            tree = current.get();
+            return tree != null ? tree : publish(load(generation.get()));
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Rebuild the tree once the current transaction commits, or now if there is none.
+     * Call from every write that adds, removes, moves or reorders a category.
+     */
+    public void rebuildAfterCommit() {
+        AfterCommit.run(this::rebuild);
+    }
+
+    /**
+     * Pick up hierarchy changes committed on other instances. Does nothing until the
+     * tree has been loaded.
+     */
+    @Scheduled(fixedDelayString = "${catalog.category-tree.refresh-interval-ms:30000}")
+    public void refresh() {
+        if (current.get() == null) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            logger.warn("Category tree refresh failed, keeping the current tree: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild the tree from committed state and publish it
+     */
+    public CategoryTree rebuild() {
+        CategoryTree tree = publish(load(generation.incrementAndGet()));
+        logger.debug("Rebuilt category tree generation {} with {} categories", tree.getGeneration(), tree.size());
+        return tree;
+    }
+
+    private CategoryTree load(long treeGeneration) {
+        List<CategoryTree.Node> nodes = readTransaction.execute(status -> categoryRepository.findTreeRows().stream()
+                .map(row -> new CategoryTree.Node((String) row[0], (String) row[1], (String) row[2], (Integer) row[3]))
+                .toList());
+        return CategoryTree.build(treeGeneration, nodes);
+    }
+
+    private CategoryTree publish(CategoryTree tree) {
+        return current.accumulateAndGet(tree, (published, candidate) ->
+                published == null || candidate.getGeneration() > published.getGeneration() ? candidate : published);
+    }
+}
@@ -0,0 +1,72 @@
+package com.ecommerce.infrastructure.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Striped generation counters that let an on-heap cache drop values loaded
+ * concurrently with an invalidation.
+ *
+ * A loader reads {@link #current} for its key before querying and stamps the value it
+ * caches with that generation; invalidating the key advances the generation of its
+ * stripe, so a value stamped before the invalidation is refused on {@code put} and
+ * treated as a miss on {@code get}. Keys that share a stripe are invalidated together,
+ * which costs an occasional extra miss but keeps the counters bounded.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+public final class GenerationStripes {
+
+    public static final int DEFAULT_STRIPES = 1024;
+
+    private final AtomicLongArray generations;
+
+    public GenerationStripes() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * @param stripes Number of counters, a power of two
+     */
+    public GenerationStripes(int stripes) {
+        if (stripes <= 0 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("Stripe count must be a power of two: " + stripes);
+        }
+        this.generations = new AtomicLongArray(stripes);
+    }
+
+    /**
+     * Current generation for a key, to be read before loading its value
+     */
+    public long current(String key) {
+        return generations.get(stripe(key));
+    }
+
+    /**
+     * Whether a value stamped with a generation is still valid for its key
+     */
+    public boolean isCurrent(String key, long generation) {
+        return generation == generations.get(stripe(key));
+    }
+
+    /**
+     * Invalidate a key, and every other key in its stripe
+     */
+    public void advance(String key) {
+        generations.incrementAndGet(stripe(key));
+    }
+
+    /**
+     * Invalidate every key
+     */
+    public void advanceAll() {
+        for (int i = 0; i < generations.length(); i++) {
+            generations.incrementAndGet(i);
+        }
+    }
+
+    private int stripe(String key) {
+        int hash = key == null ? 0 : key.hashCode();
+        return (hash ^ (hash >>> 16)) & (generations.length() - 1);
+    }
+}
@@ -0,0 +1,309 @@
+package com.ecommerce.infrastructure.cache;
+
+import com.ecommerce.application.dto.ProductSnapshot;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded on-heap near cache for the product read paths: {@link ProductSnapshot}s by
+ * product ID, a SKU to product ID index and the ID lists of featured product pages.
+ *
+ * Writers invalidate a product after their transaction commits. Each invalidation bumps
+ * the product's {@link GenerationStripes} counter (or the featured generation for featured
+ * pages); loaders read the generation before querying and pass it to {@code put}, so a
+ * snapshot loaded concurrently with a write is dropped instead of being cached after the
+ * invalidation. Entries also expire after the configured TTL, which bounds staleness for
+ * changes made outside this instance. When the cache is full, expired entries and then
+ * arbitrary entries are evicted until it is back under 90% of its bound.
+ *
+ * Hits and misses are published as {@code product.cache.requests} tagged with the cache
+ * ({@code product} or {@code featured}) and the result ({@code hit} or {@code miss}).
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Component
+public class ProductReadCache {
+
+    private final Map<String, CachedProduct> products = new ConcurrentHashMap<>();
+    private final Map<String, String> productIdsBySku = new ConcurrentHashMap<>();
+    private final Map<String, FeaturedPage> featuredPages = new ConcurrentHashMap<>();
+    private final GenerationStripes generations = new GenerationStripes();
+    private final AtomicLong featuredGeneration = new AtomicLong();
+
+    private final LongAdder productHits = new LongAdder();
+    private final LongAdder productMisses = new LongAdder();
+    private final LongAdder featuredHits = new LongAdder();
+    private final LongAdder featuredMisses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Value("${catalog.cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${catalog.cache.featured-max-pages:256}")
+    private int maxFeaturedPages;
+
+    @Value("${catalog.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Autowired
+    public ProductReadCache(MeterRegistry meterRegistry) {
+        registerRequestCounter(meterRegistry, "product", "hit", productHits);
+        registerRequestCounter(meterRegistry, "product", "miss", productMisses);
+        registerRequestCounter(meterRegistry, "featured", "hit", featuredHits);
+        registerRequestCounter(meterRegistry, "featured", "miss", featuredMisses);
+        FunctionCounter.builder("product.cache.evictions", evictions, LongAdder::doubleValue)
+                .description("Product snapshots evicted because the cache was full")
+                .register(meterRegistry);
+        Gauge.builder("product.cache.size", products, Map::size)
+                .description("Product snapshots currently cached")
+                .register(meterRegistry);
+    }
+
+    // Product snapshots
+
+    /**
+     * Get a cached product snapshot, recording a hit or a miss
+     *
+     * @param productId Product ID
+     * @return The snapshot, or null if it is not cached, expired or invalidated
+     */
+    public ProductSnapshot get(String productId) {
+        CachedProduct cached = productId != null ? products.get(productId) : null;
+        if (cached == null) {
+            productMisses.increment();
+            return null;
+        }
+        if (cached.expiresAtMillis <= System.currentTimeMillis()
+                || !generations.isCurrent(productId, cached.generation)) {
+            remove(productId, cached);
+            productMisses.increment();
+            return null;
+        }
+        productHits.increment();
+        return cached.snapshot;
+    }
+
+    /**
+     * Product ID last cached for a SKU, or null if the SKU has not been seen. The ID
+     * may be stale; callers must check the SKU of the snapshot they load for it.
+     */
+    public String productIdForSku(String sku) {
+        return sku != null ? productIdsBySku.get(sku) : null;
+    }
+
+    /**
+     * Current generation for a product. Read this before loading the product and pass it
+     * to {@link #put} so that a concurrent invalidation is not lost.
+     */
+    public long generationFor(String productId) {
+        return generations.current(productId);
+    }
+
+    /**
+     * Cache a product snapshot
+     *
+     * @param snapshot Snapshot built from committed state
+     * @param generation Generation read via {@link #generationFor} before loading the product
+     */
+    public void put(ProductSnapshot snapshot, long generation) {
+        String productId = snapshot.getId();
+        if (productId == null || !generations.isCurrent(productId, generation)) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (products.size() >= maxSize) {
+            evict(now);
+        }
+        products.put(productId, new CachedProduct(snapshot, now + ttlSeconds * 1000, generation));
+        if (snapshot.getSku() != null) {
+            productIdsBySku.put(snapshot.getSku(), productId);
+        }
+    }
+
+    /**
+     * Invalidate a product. Call after the transaction that changed it has committed.
+     *
+     * @param productId Product ID
+     */
+    public void invalidate(String productId) {
+        if (productId == null) {
+            return;
+        }
+        generations.advance(productId);
+        CachedProduct cached = products.remove(productId);
+        if (cached != null && cached.snapshot.getSku() != null) {
+            productIdsBySku.remove(cached.snapshot.getSku(), productId);
+        }
+    }
+
+    // Featured pages
+
+    /**
+     * Get the product IDs of a cached featured page, recording a hit or a miss
+     *
+     * @return The page, or null if it is not cached, expired or invalidated
+     */
+    public FeaturedPage getFeaturedPage(Pageable pageable) {
+        String key = featuredKey(pageable);
+        FeaturedPage page = featuredPages.get(key);
+        if (page == null) {
+            featuredMisses.increment();
+            return null;
+        }
+        if (page.expiresAtMillis <= System.currentTimeMillis() || page.generation != featuredGeneration.get()) {
+            featuredPages.remove(key, page);
+            featuredMisses.increment();
+            return null;
+        }
+        featuredHits.increment();
+        return page;
+    }
+
+    /**
+     * Current featured generation, to be read before querying a featured page
+     */
+    public long featuredGeneration() {
+        return featuredGeneration.get();
+    }
+
+    /**
+     * Cache the product IDs of a featured page
+     *
+     * @param pageable Page request the IDs were loaded for
+     * @param productIds Product IDs in page order
+     * @param totalElements Total number of featured products
+     * @param generation Generation read via {@link #featuredGeneration} before the query
+     */
+    public void putFeaturedPage(Pageable pageable, List<String> productIds, long totalElements, long generation) {
+        if (generation != featuredGeneration.get()) {
+            return;
+        }
+        if (featuredPages.size() >= maxFeaturedPages) {
+            featuredPages.clear();
+        }
+        featuredPages.put(featuredKey(pageable), new FeaturedPage(List.copyOf(productIds), totalElements,
+                System.currentTimeMillis() + ttlSeconds * 1000, generation));
+    }
+
+    /**
+     * Invalidate every cached featured page
+     */
+    public void invalidateFeatured() {
+        featuredGeneration.incrementAndGet();
+        featuredPages.clear();
+    }
+
+    // Maintenance
+
+    /**
+     * Invalidate everything, e.g. after a bulk update that touched an unknown set of products
+     */
+    public void clear() {
+        generations.advanceAll();
+        products.clear();
+        productIdsBySku.clear();
+        invalidateFeatured();
+    }
+
+    /**
+     * Number of cached product snapshots
+     */
+    public int size() {
+        return products.size();
+    }
+
+    /**
+     * Drop expired entries, then arbitrary entries until the cache is back under 90% of its bound
+     */
+    private void evict(long now) {
+        products.entrySet().removeIf(entry -> {
+            if (entry.getValue().expiresAtMillis > now) {
+                return false;
+            }
+            removeSku(entry.getKey(), entry.getValue());
+            return true;
+        });
+
+        int target = (int) (maxSize * 0.9);
+        Iterator<Map.Entry<String, CachedProduct>> iterator = products.entrySet().iterator();
+        while (products.size() > target && iterator.hasNext()) {
+            Map.Entry<String, CachedProduct> entry = iterator.next();
+            iterator.remove();
+            removeSku(entry.getKey(), entry.getValue());
+            evictions.increment();
+        }
+    }
+
+    private void remove(String productId, CachedProduct cached) {
+        if (products.remove(productId, cached)) {
+            removeSku(productId, cached);
+        }
+    }
+
+    private void removeSku(String productId, CachedProduct cached) {
+        if (cached.snapshot.getSku() != null) {
+            productIdsBySku.remove(cached.snapshot.getSku(), productId);
+        }
+    }
+
+    private static String featuredKey(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return "unpaged";
+        }
+        return pageable.getPageNumber() + ":" + pageable.getPageSize() + ":" + pageable.getSort();
+    }
+
+    private static void registerRequestCounter(MeterRegistry registry, String cache, String result, LongAdder counter) {
+        FunctionCounter.builder("product.cache.requests", counter, LongAdder::doubleValue)
+                .description("Product read cache lookups")
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static final class CachedProduct {
+        private final ProductSnapshot snapshot;
+        private final long expiresAtMillis;
+        private final long generation;
+
+        CachedProduct(ProductSnapshot snapshot, long expiresAtMillis, long generation) {
+            this.snapshot = snapshot;
+            this.expiresAtMillis = expiresAtMillis;
+            this.generation = generation;
+        }
+    }
+
+    /**
+     * Product IDs of one cached featured page
+     */
+    public static final class FeaturedPage {
+        private final List<String> productIds;
+        private final long totalElements;
+        private final long expiresAtMillis;
+        private final long generation;
+
+        FeaturedPage(List<String> productIds, long totalElements, long expiresAtMillis, long generation) {
+            this.productIds = productIds;
+            this.totalElements = totalElements;
+            this.expiresAtMillis = expiresAtMillis;
+            this.generation = generation;
+        }
+
+        public List<String> getProductIds() { return productIds; }
+        public long getTotalElements() { return totalElements; }
+    }
+}
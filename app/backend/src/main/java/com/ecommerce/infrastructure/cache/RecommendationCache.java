@@ -0,0 +1,230 @@
+package com.ecommerce.infrastructure.cache;
+
+import com.ecommerce.application.dto.RecommendedProductDto;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded on-heap cache of each source product's top-k recommendations, held as
+ * {@link RecommendedProductDto} summaries in score order.
+ *
+ * Recommendation writers invalidate a source product after their transaction commits,
+ * through {@link GenerationStripes} like {@link ProductReadCache}: loaders read the
+ * generation before querying and pass it to {@code put}, so a list loaded concurrently
+ * with a write is not cached. Entries also expire after the configured TTL, which bounds
+ * how stale the embedded product prices and stock can get.
+ *
+ * Eviction is by access frequency. Every hit counts against its entry; when the cache is
+ * full, expired entries and then the least frequently used entries are evicted until it
+ * is back under 90% of its bound, and the surviving counts are halved so that entries
+ * that were popular long ago do not stay forever.
+ *
+ * Lookups are published as {@code recommendation.cache.requests} tagged with the result
+ * ({@code hit} or {@code miss}), and the time to serve a list as
+ * {@code recommendation.cache.latency} tagged with its source ({@code cache} or
+ * {@code database}).
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Component
+public class RecommendationCache {
+
+    private final Map<String, CachedRecommendations> entries = new ConcurrentHashMap<>();
+    private final GenerationStripes generations = new GenerationStripes();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final Timer cacheLatency;
+    private final Timer databaseLatency;
+
+    @Value("${recommendation.cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${recommendation.cache.top-k:20}")
+    private int topK;
+
+    @Value("${recommendation.cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Autowired
+    public RecommendationCache(MeterRegistry meterRegistry) {
+        registerRequestCounter(meterRegistry, "hit", hits);
+        registerRequestCounter(meterRegistry, "miss", misses);
+        FunctionCounter.builder("recommendation.cache.evictions", evictions, LongAdder::doubleValue)
+                .description("Recommendation lists evicted because the cache was full")
+                .register(meterRegistry);
+        Gauge.builder("recommendation.cache.size", entries, Map::size)
+                .description("Source products whose recommendations are currently cached")
+                .register(meterRegistry);
+        cacheLatency = registerLatencyTimer(meterRegistry, "cache");
+        databaseLatency = registerLatencyTimer(meterRegistry, "database");
+    }
+
+    /**
+     * Number of recommendations kept per source product; larger requests bypass the cache
+     */
+    public int getTopK() {
+        return topK;
+    }
+
+    /**
+     * Get the cached recommendations of a source product, recording a hit or a miss
+     *
+     * @return The top-k list in score order, or null if it is not cached, expired or invalidated
+     */
+    public List<RecommendedProductDto> get(String sourceProductId) {
+        CachedRecommendations cached = sourceProductId != null ? entries.get(sourceProductId) : null;
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        if (cached.expiresAtMillis <= System.currentTimeMillis()
+                || !generations.isCurrent(sourceProductId, cached.generation)) {
+            entries.remove(sourceProductId, cached);
+            misses.increment();
+            return null;
+        }
+        cached.frequency.incrementAndGet();
+        hits.increment();
+        return cached.recommendations;
+    }
+
+    /**
+     * Current generation for a source product. Read this before loading its
+     * recommendations and pass it to {@link #put} so that a concurrent invalidation is not lost.
+     */
+    public long generationFor(String sourceProductId) {
+        return generations.current(sourceProductId);
+    }
+
+    /**
+     * Cache the top-k recommendations of a source product
+     *
+     * @param recommendations Summaries in score order, loaded from committed state
+     * @param generation Generation read via {@link #generationFor} before loading them
+     */
+    public void put(String sourceProductId, List<RecommendedProductDto> recommendations, long generation) {
+        if (sourceProductId == null || !generations.isCurrent(sourceProductId, generation)) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        entries.put(sourceProductId, new CachedRecommendations(List.copyOf(recommendations),
+                now + ttlSeconds * 1000, generation));
+    }
+
+    /**
+     * Invalidate a source product. Call after the transaction that changed its recommendations has committed.
+     */
+    public void invalidate(String sourceProductId) {
+        if (sourceProductId == null) {
+            return;
+        }
+        generations.advance(sourceProductId);
+        entries.remove(sourceProductId);
+    }
+
+    /**
+     * Invalidate several source products, e.g. a chunk of a generation run
+     */
+    public void invalidateAll(Collection<String> sourceProductIds) {
+        sourceProductIds.forEach(this::invalidate);
+    }
+
+    /**
+     * Invalidate everything
+     */
+    public void clear() {
+        generations.advanceAll();
+        entries.clear();
+    }
+
+    /**
+     * Record the time taken to serve a list
+     *
+     * @param fromCache Whether it was served from the cache rather than the database
+     */
+    public void recordLatency(boolean fromCache, long nanos) {
+        (fromCache ? cacheLatency : databaseLatency).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Number of cached source products
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drop expired entries, then the least frequently used until the cache is back under
+     * 90% of its bound, then age the surviving counts
+     */
+    private void evict(long now) {
+        entries.values().removeIf(cached -> cached.expiresAtMillis <= now);
+
+        int target = (int) (maxSize * 0.9);
+        int excess = entries.size() - target;
+        if (excess > 0) {
+            int[] frequencies = entries.values().stream().mapToInt(cached -> cached.frequency.get()).toArray();
+            Arrays.sort(frequencies);
+            int threshold = frequencies[Math.min(excess, frequencies.length) - 1];
+            Iterator<CachedRecommendations> iterator = entries.values().iterator();
+            while (entries.size() > target && iterator.hasNext()) {
+                if (iterator.next().frequency.get() <= threshold) {
+                    iterator.remove();
+                    evictions.increment();
+                }
+            }
+        }
+
+        entries.values().forEach(cached -> cached.frequency.updateAndGet(frequency -> frequency >>> 1));
+    }
+
+    private static void registerRequestCounter(MeterRegistry registry, String result, LongAdder counter) {
+        FunctionCounter.builder("recommendation.cache.requests", counter, LongAdder::doubleValue)
+                .description("Recommendation cache lookups")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Timer registerLatencyTimer(MeterRegistry registry, String source) {
+        return Timer.builder("recommendation.cache.latency")
+                .description("Time to serve a product's recommendations")
+                .tag("source", source)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+
+    private static final class CachedRecommendations {
+        private final List<RecommendedProductDto> recommendations;
+        private final long expiresAtMillis;
+        private final long generation;
+        private final AtomicInteger frequency = new AtomicInteger();
+
+        CachedRecommendations(List<RecommendedProductDto> recommendations, long expiresAtMillis, long generation) {
+            this.recommendations = recommendations;
+            this.expiresAtMillis = expiresAtMillis;
+            this.generation = generation;
+        }
+    }
+}
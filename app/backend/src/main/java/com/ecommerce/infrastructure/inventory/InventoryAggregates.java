@@ -0,0 +1,439 @@
+package com.ecommerce.infrastructure.inventory;
+
+import com.ecommerce.domain.product.ProductStatus;
+import com.ecommerce.infrastructure.persistence.entity.ProductJpaEntity;
+import com.ecommerce.infrastructure.persistence.transaction.AfterCommit;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory inventory aggregates per category: number of active products, their
+ * stock and reserved quantities, and the value of their stock at current prices.
+ *
+ * Every product is kept as a small entry (category, status, price, quantities) and
+ * the category totals are always exactly the sum of the entries of active products.
+ * Writers report committed changes as deltas: quantity changes from the conditional
+ * stock updates and the hot-stock flush, and before/after states from entity writes.
+ * Deltas commute, so the order in which concurrent commits report them does not
+ * matter. Reading the totals costs one pass over the categories.
+ *
+ * The entries are loaded and checked against the products table by
+ * {@link com.ecommerce.application.service.InventorySummaryService}. While a load runs,
+ * changes to products it has not reached yet are held back per product and applied to
+ * the entry it loads, provided they arrived after the page holding that product was
+ * read; earlier ones are already part of what the page read. Changes made by other
+ * application instances are not seen here until its verification repairs them.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Component
+public class InventoryAggregates {
+
+    // Totals layout: product count, stock quantity, reserved quantity, stock value in cents
+    private static final int COUNT = 0;
+    private static final int STOCK = 1;
+    private static final int RESERVED = 2;
+    private static final int VALUE = 3;
+
+    // Guards the entries and the totals together, so the totals always match the entries
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, ProductState> products = new HashMap<>();
+    private final Map<String, long[]> categories = new HashMap<>();
+
+    // Changes to products not loaded yet, while a load runs; null otherwise
+    private Map<String, PendingChange> pending;
+
+    private volatile boolean ready;
+    private long modifications;
+
+    /**
+     * Capture the inventory fields of a product. Call inside the writing transaction.
+     */
+    public static ProductState stateOf(ProductJpaEntity product) {
+        return new ProductState(product.getId(), product.getCategoryId(), product.getStatus(),
+                toCents(product.getPrice()),
+                product.getStockQuantity() != null ? product.getStockQuantity() : 0,
+                product.getReservedQuantity() != null ? product.getReservedQuantity() : 0);
+    }
+
+    public static long toCents(BigDecimal price) {
+        return price != null ? price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue() : 0;
+    }
+
+    // Lifecycle
+
+    /**
+     * Whether every product has been loaded, so that the totals can be served
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        ready = true;
+    }
+
+    /**
+     * Start holding back changes to products that are not loaded yet
+     */
+    public void beginLoad() {
+        lock.lock();
+        try {
+            pending = new HashMap<>();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drop the changes held back so far. Call right before reading each page: the page,
+     * and every later one, already contains them.
+     */
+    public void beginPage() {
+        lock.lock();
+        try {
+            if (pending != null) {
+                pending.clear();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Insert a product read by the load, with the changes that arrived since its page was read
+     */
+    public void putLoaded(ProductState state) {
+        lock.lock();
+        try {
+            PendingChange change = pending != null ? pending.remove(state.productId) : null;
+            replace(state.productId, change != null ? change.applyTo(state) : state);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stop holding back changes, whether or not the load completed
+     */
+    public void endLoad() {
+        lock.lock();
+        try {
+            pending = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Number of changes applied so far; unchanged means the totals are unchanged
+     */
+    public long modifications() {
+        lock.lock();
+        try {
+            return modifications;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Changes
+
+    /**
+     * Insert or replace a product with its full state
+     */
+    public void put(ProductState state) {
+        lock.lock();
+        try {
+            replace(state.productId, state);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove a deleted product
+     */
+    public void remove(String productId) {
+        lock.lock();
+        try {
+            replace(productId, null);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Apply a committed entity write: the quantities move by the difference between the
+     * two states and the category, status and price become those of {@code after}
+     */
+    public void change(ProductState before, ProductState after) {
+        lock.lock();
+        try {
+            ProductState current = products.get(after.productId);
+            if (current == null && pending != null) {
+                pending.computeIfAbsent(after.productId, key -> new PendingChange())
+                        .add(after, after.stockQuantity - before.stockQuantity,
+                                after.reservedQuantity - before.reservedQuantity);
+                return;
+            }
+            if (current == null) {
+                replace(after.productId, after);
+                return;
+            }
+            replace(after.productId, new ProductState(after.productId, after.categoryId, after.status, after.priceCents,
+                    current.stockQuantity + after.stockQuantity - before.stockQuantity,
+                    current.reservedQuantity + after.reservedQuantity - before.reservedQuantity));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Apply a committed quantity change. Products not loaded yet are held back while a
+     * load runs and skipped otherwise; the load reads their committed quantities.
+     */
+    public void adjust(String productId, int stockDelta, int reservedDelta) {
+        lock.lock();
+        try {
+            ProductState current = products.get(productId);
+            if (current != null) {
+                replace(productId, current.withQuantities(
+                        current.stockQuantity + stockDelta, current.reservedQuantity + reservedDelta));
+            } else if (pending != null) {
+                pending.computeIfAbsent(productId, key -> new PendingChange()).add(null, stockDelta, reservedDelta);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Apply a committed bulk status change for all products of a category
+     *
+     * @param currentStatus Only products currently in this status are changed, or null for all
+     */
+    public void updateStatusByCategory(String categoryId, ProductStatus currentStatus, ProductStatus newStatus) {
+        lock.lock();
+        try {
+            List<ProductState> affected = new ArrayList<>();
+            for (ProductState state : products.values()) {
+                if (Objects.equals(state.categoryId, categoryId)
+                        && (currentStatus == null || state.status == currentStatus)) {
+                    affected.add(state);
+                }
+            }
+            for (ProductState state : affected) {
+                replace(state.productId, state.withStatus(newStatus));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replace a product's entry only if it still holds {@code expected}
+     *
+     * @param expected Entry the caller compared against, or null if there was none
+     * @param state New entry, or null to remove it
+     * @return true if the entry was replaced
+     */
+    public boolean replaceIfUnchanged(String productId, ProductState expected, ProductState state) {
+        lock.lock();
+        try {
+            if (!Objects.equals(products.get(productId), expected)) {
+                return false;
+            }
+            replace(productId, state);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Apply a quantity change once the current transaction commits, or now if there is none
+     */
+    public void adjustAfterCommit(String productId, int stockDelta, int reservedDelta) {
+        AfterCommit.run(() -> adjust(productId, stockDelta, reservedDelta));
+    }
+
+    // Reads
+
+    public ProductState get(String productId) {
+        lock.lock();
+        try {
+            return products.get(productId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Set<String> productIds() {
+        lock.lock();
+        try {
+            return new HashSet<>(products.keySet());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Totals of every category that has active products
+     */
+    public List<CategoryTotals> categoryTotals() {
+        lock.lock();
+        try {
+            List<CategoryTotals> totals = new ArrayList<>(categories.size());
+            categories.forEach((categoryId, sums) -> {
+                if (sums[COUNT] > 0) {
+                    totals.add(new CategoryTotals(categoryId, sums[COUNT], sums[STOCK], sums[RESERVED], sums[VALUE]));
+                }
+            });
+            return totals;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Helpers
+
+    private void replace(String productId, ProductState state) {
+        ProductState previous = state != null ? products.put(productId, state) : products.remove(productId);
+        contribute(previous, -1);
+        contribute(state, 1);
+        modifications++;
+    }
+
+    private void contribute(ProductState state, int sign) {
+        if (state == null || state.status != ProductStatus.ACTIVE || state.categoryId == null) {
+            return;
+        }
+        long[] sums = categories.computeIfAbsent(state.categoryId, key -> new long[4]);
+        sums[COUNT] += sign;
+        sums[STOCK] += sign * (long) state.stockQuantity;
+        sums[RESERVED] += sign * (long) state.reservedQuantity;
+        sums[VALUE] += sign * state.priceCents * state.stockQuantity;
+        if (sums[COUNT] == 0) {
+            categories.remove(state.categoryId);
+        }
+    }
+
+    // Supporting types
+
+    /**
+     * Changes held back for a product the load has not reached: quantity deltas, and the
+     * category, status and price of the latest entity write if there was one
+     */
+    private static final class PendingChange {
+        private ProductState latest;
+        private int stockDelta;
+        private int reservedDelta;
+
+        void add(ProductState after, int stockDelta, int reservedDelta) {
+            if (after != null) {
+                latest = after;
+            }
+            this.stockDelta += stockDelta;
+            this.reservedDelta += reservedDelta;
+        }
+
+        ProductState applyTo(ProductState loaded) {
+            ProductState base = latest != null ? latest : loaded;
+            return new ProductState(loaded.productId, base.categoryId, base.status, base.priceCents,
+                    loaded.stockQuantity + stockDelta, loaded.reservedQuantity + reservedDelta);
+        }
+    }
+
+    /**
+     * Inventory fields of one product
+     */
+    public static final class ProductState {
+        private final String productId;
+        private final String categoryId;
+        private final ProductStatus status;
+        private final long priceCents;
+        private final int stockQuantity;
+        private final int reservedQuantity;
+
+        public ProductState(String productId, String categoryId, ProductStatus status, long priceCents,
+                            int stockQuantity, int reservedQuantity) {
+            this.productId = productId;
+            this.categoryId = categoryId;
+            this.status = status;
+            this.priceCents = priceCents;
+            this.stockQuantity = stockQuantity;
+            this.reservedQuantity = reservedQuantity;
+        }
+
+        ProductState withQuantities(int stockQuantity, int reservedQuantity) {
+            return new ProductState(productId, categoryId, status, priceCents, stockQuantity, reservedQuantity);
+        }
+
+        ProductState withStatus(ProductStatus status) {
+            return new ProductState(productId, categoryId, status, priceCents, stockQuantity, reservedQuantity);
+        }
+
+        public String getProductId() { return productId; }
+        public String getCategoryId() { return categoryId; }
+        public ProductStatus getStatus() { return status; }
+        public long getPriceCents() { return priceCents; }
+        public int getStockQuantity() { return stockQuantity; }
+        public int getReservedQuantity() { return reservedQuantity; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ProductState other)) return false;
+            return priceCents == other.priceCents && stockQuantity == other.stockQuantity
+                    && reservedQuantity == other.reservedQuantity && status == other.status
+                    && productId.equals(other.productId) && Objects.equals(categoryId, other.categoryId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(productId, categoryId, status, priceCents, stockQuantity, reservedQuantity);
+        }
+    }
+
+    /**
+     * Sums over the active products of one category
+     */
+    public static final class CategoryTotals {
+        private final String categoryId;
+        private final long productCount;
+        private final long stockQuantity;
+        private final long reservedQuantity;
+        private final long valueCents;
+
+        public CategoryTotals(String categoryId, long productCount, long stockQuantity, long reservedQuantity,
+                              long valueCents) {
+            this.categoryId = categoryId;
+            this.productCount = productCount;
+            this.stockQuantity = stockQuantity;
+            this.reservedQuantity = reservedQuantity;
+            this.valueCents = valueCents;
+        }
+
+        public String getCategoryId() { return categoryId; }
+        public long getProductCount() { return productCount; }
+        public long getStockQuantity() { return stockQuantity; }
+        public long getReservedQuantity() { return reservedQuantity; }
+        public long getValueCents() { return valueCents; }
+
+        public BigDecimal getValue() {
+            return BigDecimal.valueOf(valueCents, 2);
+        }
+    }
+}
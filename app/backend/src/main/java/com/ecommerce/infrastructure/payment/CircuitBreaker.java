@@ -0,0 +1,159 @@
+package com.ecommerce.infrastructure.payment;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Count-based circuit breaker.
+ *
+ * While CLOSED it records the outcomes of the last {@code windowSize} calls and opens
+ * once at least {@code minimumCalls} were recorded and the share of failures reaches
+ * the threshold. While OPEN every call is refused. After the open duration it goes
+ * HALF_OPEN and lets {@code halfOpenProbes} calls through: if they all succeed it
+ * closes with an empty window, the first failure opens it again. Outcomes of calls
+ * that started before the last change of state are ignored.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+public final class CircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final boolean[] window;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final int halfOpenProbes;
+
+    private State state = State.CLOSED;
+    private long generation;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+    private long openedAt;
+    private int probesStarted;
+    private int probesSucceeded;
+
+    /**
+     * @param name Name for logging
+     * @param windowSize Number of recent calls the failure rate is computed over
+     * @param minimumCalls Calls needed in the window before the breaker can open
+     * @param failureRateThreshold Failure percentage at which the breaker opens
+     * @param openMillis How long the breaker stays open before probing
+     * @param halfOpenProbes Calls let through, and needed to succeed, while half-open
+     */
+    public CircuitBreaker(String name, int windowSize, int minimumCalls, double failureRateThreshold,
+                          long openMillis, int halfOpenProbes) {
+        this.name = name;
+        this.window = new boolean[Math.max(1, windowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, window.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openMillis * 1_000_000L;
+        this.halfOpenProbes = Math.max(1, halfOpenProbes);
+    }
+
+    /**
+     * Ask to make a call
+     *
+     * @return a permit to pass to {@link #onSuccess}, {@link #onFailure} or
+     *         {@link #release}, or -1 if the call must not be made
+     */
+    public synchronized long tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                return -1;
+            }
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesStarted >= halfOpenProbes) {
+                return -1;
+            }
+            probesStarted++;
+        }
+        return generation;
+    }
+
+    /**
+     * Give back a permit for a call that was not made after all
+     */
+    public synchronized void release(long permit) {
+        if (permit == generation && state == State.HALF_OPEN) {
+            probesStarted--;
+        }
+    }
+
+    public synchronized void onSuccess(long permit) {
+        if (permit != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            if (++probesSucceeded >= halfOpenProbes) {
+                transition(State.CLOSED);
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure(long permit) {
+        if (permit != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            transition(State.OPEN);
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (windowCount >= minimumCalls && windowFailures * 100.0 / windowCount >= failureRateThreshold) {
+                transition(State.OPEN);
+            }
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (windowCount == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void transition(State next) {
+        if (next == State.OPEN) {
+            openedAt = System.nanoTime();
+            if (state == State.HALF_OPEN) {
+                logger.warn("Circuit breaker {} opened again: a probe call failed", name);
+            } else {
+                logger.warn("Circuit breaker {} opened after {} failures in {} calls", name, windowFailures, windowCount);
+            }
+        } else {
+            logger.info("Circuit breaker {} is now {}", name, next);
+        }
+        state = next;
+        generation++;
+        windowIndex = 0;
+        windowCount = 0;
+        windowFailures = 0;
+        probesStarted = 0;
+        probesSucceeded = 0;
+    }
+}
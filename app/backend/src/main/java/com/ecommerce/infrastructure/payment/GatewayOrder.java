@@ -0,0 +1,66 @@
+package com.ecommerce.infrastructure.payment;
+
+/**
+ * An order created at the payment gateway
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+public final class GatewayOrder {
+
+    private final String id;
+    private final String entity;
+    private final long amountInPaise;
+    private final String currency;
+    private final String receipt;
+    private final String status;
+    private final String createdAt;
+
+    /**
+     * @param id Gateway order ID
+     * @param entity Gateway entity type, "order"
+     * @param amountInPaise Amount in the smallest currency unit
+     * @param currency ISO currency code
+     * @param receipt Our reference
+     * @param status Gateway order status, e.g. "created"
+     * @param createdAt Creation time as reported by the gateway
+     */
+    public GatewayOrder(String id, String entity, long amountInPaise, String currency, String receipt,
+                        String status, String createdAt) {
+        this.id = id;
+        this.entity = entity;
+        this.amountInPaise = amountInPaise;
+        this.currency = currency;
+        this.receipt = receipt;
+        this.status = status;
+        this.createdAt = createdAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getEntity() {
+        return entity;
+    }
+
+    public long getAmountInPaise() {
+        return amountInPaise;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public String getReceipt() {
+        return receipt;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,30 @@
+package com.ecommerce.infrastructure.payment;
+
+/**
+ * A refund created at the payment gateway
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+public final class GatewayRefund {
+
+    private final String id;
+    private final String status;
+
+    /**
+     * @param id Gateway refund ID
+     * @param status Gateway refund status, e.g. "processed"
+     */
+    public GatewayRefund(String id, String status) {
+        this.id = id;
+        this.status = status;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+}
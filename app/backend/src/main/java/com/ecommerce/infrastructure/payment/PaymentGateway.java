@@ -0,0 +1,56 @@
+package com.ecommerce.infrastructure.payment;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Port to the payment gateway. Calls return at once; the futures complete when the
+ * gateway has answered, exceptionally with a {@link PaymentGatewayException}.
+ *
+ * Creating calls carry an idempotency key that is stored with the gateway object, so
+ * that a call whose answer was lost can be looked up again with the find methods.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+public interface PaymentGateway extends AutoCloseable {
+
+    /**
+     * Create a gateway order that the client then pays
+     *
+     * @param amountInPaise Amount in the smallest currency unit
+     * @param currency ISO currency code
+     * @param receipt Our reference, shown in the gateway dashboard
+     * @param autoCapture Whether the gateway captures payments on authorisation
+     * @param idempotencyKey Key stored with the order, for {@link #findOrder}
+     */
+    CompletableFuture<GatewayOrder> createOrder(long amountInPaise, String currency, String receipt, boolean autoCapture,
+                                                String idempotencyKey);
+
+    /**
+     * Refund (part of) a captured payment
+     *
+     * @param gatewayPaymentId The gateway's payment ID
+     * @param amountInPaise Amount to refund in the smallest currency unit
+     * @param reason Optional note stored with the refund
+     * @param idempotencyKey Key stored with the refund, for {@link #findRefund}
+     */
+    CompletableFuture<GatewayRefund> createRefund(String gatewayPaymentId, long amountInPaise, String reason,
+                                                  String idempotencyKey);
+
+    /**
+     * Look up the order created with an idempotency key
+     *
+     * @param receipt The receipt the order was created with
+     */
+    CompletableFuture<Optional<GatewayOrder>> findOrder(String receipt, String idempotencyKey);
+
+    /**
+     * Look up the refund of a payment created with an idempotency key
+     */
+    CompletableFuture<Optional<GatewayRefund>> findRefund(String gatewayPaymentId, String idempotencyKey);
+
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.infrastructure.payment;
+
+/**
+ * A payment gateway call failed
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+public class PaymentGatewayException extends RuntimeException {
+
+    public PaymentGatewayException(String message) {
+        super(message);
+    }
+
+    public PaymentGatewayException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.infrastructure.payment;
+
+/**
+ * The payment gateway answered and refused the request, e.g. because a parameter is
+ * invalid or the payment cannot be refunded. Nothing was created at the gateway, and
+ * retrying the same request will fail the same way. Says nothing about the gateway's
+ * health, so it does not count towards the circuit breaker.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+public class PaymentGatewayRejectedException extends PaymentGatewayException {
+
+    public PaymentGatewayRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,29 @@
+package com.ecommerce.infrastructure.payment;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A payment gateway call was made but not answered before its deadline. Unlike the
+ * other {@link PaymentGatewayUnavailableException}s the outcome is unknown: the
+ * gateway may still carry out the request. {@link #getLateOutcome()} completes when
+ * the gateway does answer.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+public class PaymentGatewayTimeoutException extends PaymentGatewayUnavailableException {
+
+    private final transient CompletableFuture<?> lateOutcome;
+
+    public PaymentGatewayTimeoutException(String message, Throwable cause, CompletableFuture<?> lateOutcome) {
+        super(message, cause);
+        this.lateOutcome = lateOutcome;
+    }
+
+    /**
+     * The gateway's answer to the call, completed after the deadline
+     */
+    public CompletableFuture<?> getLateOutcome() {
+        return lateOutcome;
+    }
+}
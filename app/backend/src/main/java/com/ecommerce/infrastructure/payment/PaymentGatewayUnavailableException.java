@@ -0,0 +1,20 @@
+package com.ecommerce.infrastructure.payment;
+
+/**
+ * A payment gateway call was not made or not answered in time: the circuit breaker is
+ * open, too many calls are in flight, or the deadline passed. Callers should ask the
+ * client to retry later.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+public class PaymentGatewayUnavailableException extends PaymentGatewayException {
+
+    public PaymentGatewayUnavailableException(String message) {
+        super(message);
+    }
+
+    public PaymentGatewayUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,170 @@
+package com.ecommerce.infrastructure.payment;
+
+import com.razorpay.Order;
+import com.razorpay.RazorpayClient;
+import com.razorpay.RazorpayException;
+import com.razorpay.Refund;
+import org.json.JSONObject;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@link PaymentGateway} backed by the Razorpay SDK.
+ *
+ * The SDK's calls are synchronous, so they run on a dedicated pool of threads and the
+ * caller gets a future. The pool is sized to the bulkhead of the
+ * {@link ResilientPaymentGateway} in front of it, so a call that is let through
+ * always finds a thread.
+ *
+ * The idempotency key is stored in the notes of an order and as the receipt of a
+ * refund, which is how the find methods recognise them. Razorpay's answers that
+ * refuse the request (a {@code BAD_REQUEST_ERROR}, or a 4xx status other than 408
+ * and 429) fail with {@link PaymentGatewayRejectedException}.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+public class RazorpayGatewayClient implements PaymentGateway {
+
+    private static final String IDEMPOTENCY_NOTE = "idempotency_key";
+
+    // Razorpay's message for error responses without an error object
+    private static final Pattern CLIENT_ERROR_STATUS = Pattern.compile("^Status Code: (4\\d\\d)");
+
+    // Refunds are looked up among the latest refunds of their payment
+    private static final int REFUND_LOOKUP_COUNT = 100;
+
+    private final RazorpayClient razorpayClient;
+    private final ExecutorService executor;
+
+    public RazorpayGatewayClient(RazorpayClient razorpayClient, int threads) {
+        this.razorpayClient = razorpayClient;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "razorpay-gateway-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public CompletableFuture<GatewayOrder> createOrder(long amountInPaise, String currency, String receipt,
+                                                       boolean autoCapture, String idempotencyKey) {
+        JSONObject orderRequest = new JSONObject();
+        orderRequest.put("amount", amountInPaise);
+        orderRequest.put("currency", currency);
+        orderRequest.put("receipt", receipt);
+        orderRequest.put("payment_capture", autoCapture);
+        orderRequest.put("notes", new JSONObject().put(IDEMPOTENCY_NOTE, idempotencyKey));
+
+        return submit("create order", () -> toGatewayOrder(razorpayClient.orders.create(orderRequest)));
+    }
+
+    @Override
+    public CompletableFuture<GatewayRefund> createRefund(String gatewayPaymentId, long amountInPaise, String reason,
+                                                         String idempotencyKey) {
+        JSONObject refundRequest = new JSONObject();
+        refundRequest.put("amount", amountInPaise);
+        refundRequest.put("payment_id", gatewayPaymentId);
+        refundRequest.put("receipt", idempotencyKey);
+        if (reason != null && !reason.trim().isEmpty()) {
+            refundRequest.put("notes", new JSONObject().put("reason", reason));
+        }
+
+        return submit("create refund", () -> toGatewayRefund(razorpayClient.refunds.create(refundRequest)));
+    }
+
+    @Override
+    public CompletableFuture<Optional<GatewayOrder>> findOrder(String receipt, String idempotencyKey) {
+        JSONObject query = new JSONObject().put("receipt", receipt);
+        return submit("find order", () -> {
+            for (Order order : razorpayClient.orders.fetchAll(query)) {
+                JSONObject notes = order.toJson().optJSONObject("notes");
+                if (notes != null && idempotencyKey.equals(notes.optString(IDEMPOTENCY_NOTE))) {
+                    return Optional.of(toGatewayOrder(order));
+                }
+            }
+            return Optional.empty();
+        });
+    }
+
+    @Override
+    public CompletableFuture<Optional<GatewayRefund>> findRefund(String gatewayPaymentId, String idempotencyKey) {
+        JSONObject query = new JSONObject().put("count", REFUND_LOOKUP_COUNT);
+        return submit("find refund", () -> {
+            for (Refund refund : razorpayClient.payments.fetchAllRefunds(gatewayPaymentId, query)) {
+                if (idempotencyKey.equals(refund.toJson().optString("receipt"))) {
+                    return Optional.of(toGatewayRefund(refund));
+                }
+            }
+            return Optional.empty();
+        });
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submit(String operation, SdkCall<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    result.complete(call.execute());
+                } catch (RazorpayException e) {
+                    result.completeExceptionally(isRejection(e)
+                            ? new PaymentGatewayRejectedException(
+                                    "Razorpay rejected the request to " + operation + ": " + e.getMessage(), e)
+                            : new PaymentGatewayException(
+                                    "Razorpay failed to " + operation + ": " + e.getMessage(), e));
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(new PaymentGatewayException(
+                            "Unexpected error from Razorpay trying to " + operation, e));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(new PaymentGatewayUnavailableException("Payment gateway client is shut down", e));
+        }
+        return result;
+    }
+
+    private static GatewayOrder toGatewayOrder(Order order) {
+        Object amount = order.get("amount");
+        Object createdAt = order.get("created_at");
+        return new GatewayOrder(order.get("id"), order.get("entity"), Long.parseLong(amount.toString()),
+                order.get("currency"), order.get("receipt"), order.get("status"), String.valueOf(createdAt));
+    }
+
+    private static GatewayRefund toGatewayRefund(Refund refund) {
+        return new GatewayRefund(refund.get("id"), refund.get("status"));
+    }
+
+    /**
+     * Whether Razorpay answered and refused the request. Network failures carry their
+     * cause and are not refusals.
+     */
+    private static boolean isRejection(RazorpayException e) {
+        String message = e.getMessage();
+        if (message == null || e.getCause() != null) {
+            return false;
+        }
+        if (message.startsWith("BAD_REQUEST_ERROR")) {
+            return true;
+        }
+        Matcher status = CLIENT_ERROR_STATUS.matcher(message);
+        return status.find() && !status.group(1).equals("408") && !status.group(1).equals("429");
+    }
+
+    @FunctionalInterface
+    private interface SdkCall<T> {
+        T execute() throws RazorpayException;
+    }
+}
@@ -0,0 +1,172 @@
+package com.ecommerce.infrastructure.payment;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Guards another {@link PaymentGateway} so that a slow or failing gateway cannot tie
+ * up the application.
+ *
+ * <ul>
+ *   <li>Circuit breaker: after too many failures calls fail at once with
+ *       {@link PaymentGatewayUnavailableException} until probe calls succeed again.</li>
+ *   <li>Bulkhead: at most {@code maxConcurrentCalls} calls are in flight; further calls
+ *       are refused rather than queued. A call holds its slot until the gateway has
+ *       really answered, also after its deadline passed.</li>
+ *   <li>Deadline per operation: the returned future fails with
+ *       {@link PaymentGatewayTimeoutException} when the gateway has not answered in
+ *       time. The call itself goes on, and the exception carries its late outcome.
+ *       Timeouts count as failures for the circuit breaker.</li>
+ * </ul>
+ *
+ * A {@link PaymentGatewayRejectedException} means the gateway answered and refused
+ * the request; it is passed on but counts as a successful call for the breaker.
+ *
+ * Call latency is recorded in the {@code payment.gateway.calls} histogram by operation
+ * and outcome (success, invalid, failure, timeout, rejected).
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+public class ResilientPaymentGateway implements PaymentGateway {
+
+    private static final String CREATE_ORDER = "create_order";
+    private static final String CREATE_REFUND = "create_refund";
+    private static final String FIND_ORDER = "find_order";
+    private static final String FIND_REFUND = "find_refund";
+
+    private final PaymentGateway delegate;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final long orderDeadlineMillis;
+    private final long refundDeadlineMillis;
+    private final long lookupDeadlineMillis;
+    private final Map<String, Timer> timers = new HashMap<>();
+
+    public ResilientPaymentGateway(PaymentGateway delegate, int maxConcurrentCalls, CircuitBreaker circuitBreaker,
+                                   long orderDeadlineMillis, long refundDeadlineMillis, long lookupDeadlineMillis,
+                                   MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.bulkhead = new Semaphore(Math.max(1, maxConcurrentCalls));
+        this.circuitBreaker = circuitBreaker;
+        this.orderDeadlineMillis = orderDeadlineMillis;
+        this.refundDeadlineMillis = refundDeadlineMillis;
+        this.lookupDeadlineMillis = lookupDeadlineMillis;
+
+        for (String operation : new String[] {CREATE_ORDER, CREATE_REFUND, FIND_ORDER, FIND_REFUND}) {
+            for (String outcome : new String[] {"success", "invalid", "failure", "timeout", "rejected"}) {
+                timers.put(operation + '/' + outcome, Timer.builder("payment.gateway.calls")
+                        .description("Payment gateway call latency")
+                        .tag("operation", operation)
+                        .tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+            }
+        }
+
+        Gauge.builder("payment.gateway.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Payment gateway circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+        Gauge.builder("payment.gateway.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .description("Payment gateway calls that can still start")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<GatewayOrder> createOrder(long amountInPaise, String currency, String receipt,
+                                                       boolean autoCapture, String idempotencyKey) {
+        return call(CREATE_ORDER, orderDeadlineMillis,
+                () -> delegate.createOrder(amountInPaise, currency, receipt, autoCapture, idempotencyKey));
+    }
+
+    @Override
+    public CompletableFuture<GatewayRefund> createRefund(String gatewayPaymentId, long amountInPaise, String reason,
+                                                         String idempotencyKey) {
+        return call(CREATE_REFUND, refundDeadlineMillis,
+                () -> delegate.createRefund(gatewayPaymentId, amountInPaise, reason, idempotencyKey));
+    }
+
+    @Override
+    public CompletableFuture<Optional<GatewayOrder>> findOrder(String receipt, String idempotencyKey) {
+        return call(FIND_ORDER, lookupDeadlineMillis, () -> delegate.findOrder(receipt, idempotencyKey));
+    }
+
+    @Override
+    public CompletableFuture<Optional<GatewayRefund>> findRefund(String gatewayPaymentId, String idempotencyKey) {
+        return call(FIND_REFUND, lookupDeadlineMillis, () -> delegate.findRefund(gatewayPaymentId, idempotencyKey));
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    private <T> CompletableFuture<T> call(String operation, long deadlineMillis, Supplier<CompletableFuture<T>> invocation) {
+        long permit = circuitBreaker.tryAcquire();
+        if (permit < 0) {
+            timer(operation, "rejected").record(0, TimeUnit.NANOSECONDS);
+            return CompletableFuture.failedFuture(
+                    new PaymentGatewayUnavailableException("Payment gateway circuit breaker is open"));
+        }
+        if (!bulkhead.tryAcquire()) {
+            circuitBreaker.release(permit);
+            timer(operation, "rejected").record(0, TimeUnit.NANOSECONDS);
+            return CompletableFuture.failedFuture(
+                    new PaymentGatewayUnavailableException("Too many payment gateway calls in flight"));
+        }
+
+        long started = System.nanoTime();
+        CompletableFuture<T> gatewayCall;
+        try {
+            gatewayCall = invocation.get();
+        } catch (RuntimeException e) {
+            gatewayCall = CompletableFuture.failedFuture(e);
+        }
+        gatewayCall.whenComplete((value, error) -> bulkhead.release());
+
+        // Time out a copy so the deadline does not complete the gateway's own future
+        CompletableFuture<T> lateOutcome = gatewayCall;
+        return gatewayCall.copy()
+                .orTimeout(deadlineMillis, TimeUnit.MILLISECONDS)
+                .handle((value, error) -> {
+                    long elapsed = System.nanoTime() - started;
+                    if (error == null) {
+                        circuitBreaker.onSuccess(permit);
+                        timer(operation, "success").record(elapsed, TimeUnit.NANOSECONDS);
+                        return value;
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    if (cause instanceof PaymentGatewayRejectedException) {
+                        // The gateway answered; refusing a request says nothing about its health
+                        circuitBreaker.onSuccess(permit);
+                        timer(operation, "invalid").record(elapsed, TimeUnit.NANOSECONDS);
+                        throw new CompletionException(cause);
+                    }
+                    circuitBreaker.onFailure(permit);
+                    if (cause instanceof TimeoutException) {
+                        timer(operation, "timeout").record(elapsed, TimeUnit.NANOSECONDS);
+                        throw new CompletionException(new PaymentGatewayTimeoutException(
+                                "Payment gateway did not answer within " + deadlineMillis + "ms", cause, lateOutcome));
+                    }
+                    timer(operation, "failure").record(elapsed, TimeUnit.NANOSECONDS);
+                    throw new CompletionException(cause instanceof PaymentGatewayException
+                            ? cause : new PaymentGatewayException("Payment gateway call failed", cause));
+                });
+    }
+
+    private Timer timer(String operation, String outcome) {
+        return timers.get(operation + '/' + outcome);
+    }
+}
@@ -0,0 +1,96 @@
+package com.ecommerce.infrastructure.payment;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Local stand-in for the gateway, used with dummy Razorpay credentials.
+ *
+ * Answers like the development mock responses did (order_mock_ and rfnd_mock_ IDs),
+ * after an optional delay and failing a configurable share of calls, so timeouts,
+ * the bulkhead and the circuit breaker can be exercised without Razorpay. The delay
+ * is a timer, not a sleeping thread. Created orders and refunds are remembered by
+ * idempotency key for the find methods.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+public class StubPaymentGateway implements PaymentGateway {
+
+    private static final Logger logger = LoggerFactory.getLogger(StubPaymentGateway.class);
+
+    private final long latencyMillis;
+    private final long latencyJitterMillis;
+    private final double failureRate;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, GatewayOrder> ordersByKey = new ConcurrentHashMap<>();
+    private final Map<String, GatewayRefund> refundsByKey = new ConcurrentHashMap<>();
+
+    /**
+     * @param latencyMillis Delay before every answer
+     * @param latencyJitterMillis Up to this much extra delay, uniformly distributed
+     * @param failureRate Share of calls, from 0 to 1, that fail
+     */
+    public StubPaymentGateway(long latencyMillis, long latencyJitterMillis, double failureRate) {
+        this.latencyMillis = Math.max(0, latencyMillis);
+        this.latencyJitterMillis = Math.max(0, latencyJitterMillis);
+        this.failureRate = failureRate;
+    }
+
+    @Override
+    public CompletableFuture<GatewayOrder> createOrder(long amountInPaise, String currency, String receipt,
+                                                       boolean autoCapture, String idempotencyKey) {
+        return answer("create order", () -> ordersByKey.computeIfAbsent(idempotencyKey, key -> {
+            String orderId = "order_mock_" + System.currentTimeMillis() + sequence.incrementAndGet();
+            logger.info("Created mock payment order: {}", orderId);
+            return new GatewayOrder(orderId, "order", amountInPaise, currency, receipt, "created", new Date().toString());
+        }));
+    }
+
+    @Override
+    public CompletableFuture<GatewayRefund> createRefund(String gatewayPaymentId, long amountInPaise, String reason,
+                                                         String idempotencyKey) {
+        return answer("create refund", () -> refundsByKey.computeIfAbsent(idempotencyKey, key -> {
+            String refundId = "rfnd_mock_" + System.currentTimeMillis() + sequence.incrementAndGet();
+            logger.info("Created mock refund: {}", refundId);
+            return new GatewayRefund(refundId, "processed");
+        }));
+    }
+
+    @Override
+    public CompletableFuture<Optional<GatewayOrder>> findOrder(String receipt, String idempotencyKey) {
+        return answer("find order", () -> Optional.ofNullable(ordersByKey.get(idempotencyKey)));
+    }
+
+    @Override
+    public CompletableFuture<Optional<GatewayRefund>> findRefund(String gatewayPaymentId, String idempotencyKey) {
+        return answer("find refund", () -> Optional.ofNullable(refundsByKey.get(idempotencyKey)));
+    }
+
+    private <T> CompletableFuture<T> answer(String operation, Supplier<T> response) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = latencyMillis + (latencyJitterMillis > 0 ? random.nextLong(latencyJitterMillis + 1) : 0);
+        boolean fail = failureRate > 0 && random.nextDouble() < failureRate;
+
+        Executor executor = delay > 0
+                ? CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS)
+                : Runnable::run;
+        return CompletableFuture.supplyAsync(() -> {
+            if (fail) {
+                throw new PaymentGatewayException("Injected failure trying to " + operation);
+            }
+            return response.get();
+        }, executor);
+    }
+}
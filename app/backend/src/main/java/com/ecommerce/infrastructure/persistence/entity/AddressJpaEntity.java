@@ -1,6 +1,7 @@
 package com.ecommerce.infrastructure.persistence.entity;
 
 import com.ecommerce.domain.common.AddressType;
+import com.ecommerce.infrastructure.persistence.id.BinaryUuidConverter;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
@@ -24,6 +25,8 @@ import jakarta.validation.constraints.Size;
         @Index(name = "idx_addresses_created_at", columnList = "created_at")
     }
 )
+@AttributeOverride(name = "id", column = @Column(name = "id", columnDefinition = "BINARY(16)"))
+@Convert(attributeName = "id", converter = BinaryUuidConverter.class)
 public class AddressJpaEntity extends BaseJpaEntity {
     
     @NotBlank(message = "Street address is required")
@@ -63,7 +66,7 @@ public class AddressJpaEntity extends BaseJpaEntity {
     private AddressType type = AddressType.SHIPPING;
     
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id", nullable = false)
+    @JoinColumn(name = "user_id", nullable = false, columnDefinition = "BINARY(16)")
     private UserJpaEntity user;
     
     // Default constructor
@@ -1,5 +1,6 @@
 package com.ecommerce.infrastructure.persistence.entity;
 
+import com.ecommerce.infrastructure.persistence.id.TimeOrderedIds;
 import jakarta.persistence.*;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
@@ -9,12 +10,13 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
-import java.util.UUID;
 
 /**
  * Base JPA entity class providing auditing capabilities and common fields.
  * This class provides automatic auditing of creation and modification times/users,
- * UUID-based primary keys, and optimistic locking support.
+ * time-ordered UUID primary keys (see {@link TimeOrderedIds}), and optimistic locking support.
+ * Keys are VARCHAR(36) by default; entities whose keys are always generated store them
+ * as BINARY(16) by overriding the column and converting the inherited {@code id}.
  * 
  * @author E-Commerce Development Team
  * @version 1.0.0
@@ -48,10 +50,10 @@ public abstract class BaseJpaEntity {
     private Long version;
     
     /**
-     * Default constructor that initializes the entity with a new UUID
+     * Default constructor that initializes the entity with a new time-ordered UUID
      */
     public BaseJpaEntity() {
-        this.id = UUID.randomUUID().toString();
+        this.id = TimeOrderedIds.newId();
     }
     
     /**
@@ -68,7 +70,7 @@ public abstract class BaseJpaEntity {
     @PrePersist
     protected void prePersist() {
         if (this.id == null) {
-            this.id = UUID.randomUUID().toString();
+            this.id = TimeOrderedIds.newId();
         }
         LocalDateTime now = LocalDateTime.now();
         if (this.createdAt == null) {
@@ -0,0 +1,67 @@
+package com.ecommerce.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA Entity for the progress of the chunked cart cleanup, one row per phase.
+ *
+ * While a phase's run is in progress {@code run_started_at} holds the time its
+ * cutoffs are derived from and {@code last_cart_id} the last cart of the last
+ * committed chunk; both are cleared when the phase completes. The rows are read and
+ * written with plain JDBC; the mapping exists to describe the table.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "cart_cleanup_progress")
+public class CartCleanupProgressJpaEntity {
+
+    @Id
+    @Column(name = "phase", length = 32)
+    private String phase;
+
+    @Column(name = "run_started_at")
+    private LocalDateTime runStartedAt;
+
+    @Column(name = "last_cart_id", columnDefinition = "BINARY(16)")
+    private byte[] lastCartId;
+
+    @Column(name = "processed_rows", nullable = false)
+    private long processedRows;
+
+    @Column(name = "last_completed_at")
+    private LocalDateTime lastCompletedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public CartCleanupProgressJpaEntity() {
+    }
+
+    public String getPhase() {
+        return phase;
+    }
+
+    public LocalDateTime getRunStartedAt() {
+        return runStartedAt;
+    }
+
+    public byte[] getLastCartId() {
+        return lastCartId;
+    }
+
+    public long getProcessedRows() {
+        return processedRows;
+    }
+
+    public LocalDateTime getLastCompletedAt() {
+        return lastCompletedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -1,5 +1,7 @@
 package com.ecommerce.infrastructure.persistence.entity;
 
+import com.ecommerce.domain.common.Money;
+import com.ecommerce.infrastructure.persistence.id.BinaryUuidConverter;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -23,10 +25,12 @@ import java.time.LocalDateTime;
     // Note: Additional partial unique constraint idx_cart_item_cart_product_regular is created via migration
     // for cart_id, product_id WHERE custom_length IS NULL to handle regular products
 })
+@AttributeOverride(name = "id", column = @Column(name = "id", columnDefinition = "BINARY(16)"))
+@Convert(attributeName = "id", converter = BinaryUuidConverter.class)
 public class CartItemJpaEntity extends BaseJpaEntity {
     
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "cart_id", nullable = false)
+    @JoinColumn(name = "cart_id", nullable = false, columnDefinition = "BINARY(16)")
     private CartJpaEntity cart;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -70,6 +74,27 @@ public class CartItemJpaEntity extends BaseJpaEntity {
     @Column(name = "dimension_details", columnDefinition = "JSON")
     private String dimensionDetails;
     
+    // Contribution of this line to the cart totals, kept so removals can subtract it exactly
+    @Column(name = "line_subtotal", precision = 19, scale = 2)
+    private BigDecimal lineSubtotal;
+    
+    @Column(name = "line_tax_amount", precision = 19, scale = 2)
+    private BigDecimal lineTaxAmount;
+    
+    // Paise mirrors of the price and line total columns, derived on first use and
+    // invalidated whenever a mirrored value changes or the row is (re)loaded
+    @Transient
+    private boolean paiseMirrorsValid;
+    
+    @Transient
+    private long effectiveUnitPricePaise;
+    
+    @Transient
+    private long lineSubtotalPaise;
+    
+    @Transient
+    private long lineTaxPaise;
+    
     // Default constructor
     public CartItemJpaEntity() {
         super();
@@ -101,10 +126,69 @@ public class CartItemJpaEntity extends BaseJpaEntity {
         return basePrice.subtract(discountAmount != null ? discountAmount : BigDecimal.ZERO);
     }
     
+    /**
+     * Recompute this line's contribution to the cart subtotal and tax from the current product pricing.
+     * Variable dimension lines already include tax in their calculated price.
+     */
+    public void recalculateLineTotals() {
+        if (hasCustomDimensions() && calculatedUnitPrice != null) {
+            setLineTotals(getEffectiveUnitPricePaise(), 0L);
+            return;
+        }
+        
+        long baseAmountPaise = product.getBaseAmount() != null ? 
+            product.getBaseAmountPaise() : Money.of(unitPrice);
+        setLineTotals(Money.times(baseAmountPaise, quantity), Money.times(product.getTaxAmountPaise(), quantity));
+    }
+    
+    private void setLineTotals(long subtotalPaise, long taxPaise) {
+        this.lineSubtotal = Money.toDecimal(subtotalPaise);
+        this.lineTaxAmount = Money.toDecimal(taxPaise);
+        this.lineSubtotalPaise = subtotalPaise;
+        this.lineTaxPaise = taxPaise;
+    }
+    
+    /**
+     * Whether this line's contribution to the cart totals has been computed
+     */
+    public boolean hasLineTotals() {
+        return lineSubtotal != null && lineTaxAmount != null;
+    }
+    
+    public long getLineSubtotalPaise() {
+        ensurePaiseMirrors();
+        return lineSubtotalPaise;
+    }
+    
+    public long getLineTaxPaise() {
+        ensurePaiseMirrors();
+        return lineTaxPaise;
+    }
+    
     public BigDecimal getEffectiveUnitPrice() {
         return calculatedUnitPrice != null ? calculatedUnitPrice : unitPrice;
     }
     
+    public long getEffectiveUnitPricePaise() {
+        ensurePaiseMirrors();
+        return effectiveUnitPricePaise;
+    }
+    
+    private void ensurePaiseMirrors() {
+        if (paiseMirrorsValid) {
+            return;
+        }
+        effectiveUnitPricePaise = Money.of(getEffectiveUnitPrice());
+        lineSubtotalPaise = Money.of(lineSubtotal);
+        lineTaxPaise = Money.of(lineTaxAmount);
+        paiseMirrorsValid = true;
+    }
+    
+    @PostLoad
+    private void invalidatePaiseMirrors() {
+        paiseMirrorsValid = false;
+    }
+    
     public BigDecimal getOriginalTotalPrice() {
         return priceAtTime != null ? priceAtTime.multiply(BigDecimal.valueOf(quantity)) : getTotalPrice();
     }
@@ -129,6 +213,7 @@ public class CartItemJpaEntity extends BaseJpaEntity {
             throw new IllegalArgumentException("Price must be positive");
         }
         this.unitPrice = newPrice;
+        invalidatePaiseMirrors();
         this.updatedAt = LocalDateTime.now();
     }
     
@@ -204,6 +289,7 @@ public class CartItemJpaEntity extends BaseJpaEntity {
         this.customLength = customLength;
         // Note: calculatedUnitPrice already includes tax (rate includes tax)
         this.calculatedUnitPrice = product.calculatePriceForLength(customLength);
+        invalidatePaiseMirrors();
         
         // Store dimension calculation details as JSON
         if (customLength != null && product.getFixedHeight() != null) {
@@ -268,6 +354,7 @@ public class CartItemJpaEntity extends BaseJpaEntity {
     
     public void setUnitPrice(BigDecimal unitPrice) {
         this.unitPrice = unitPrice;
+        invalidatePaiseMirrors();
     }
     
     public LocalDateTime getAddedAt() {
@@ -341,6 +428,7 @@ public class CartItemJpaEntity extends BaseJpaEntity {
     
     public void setCalculatedUnitPrice(BigDecimal calculatedUnitPrice) {
         this.calculatedUnitPrice = calculatedUnitPrice;
+        invalidatePaiseMirrors();
     }
     
     public String getDimensionDetails() {
@@ -351,6 +439,14 @@ public class CartItemJpaEntity extends BaseJpaEntity {
         this.dimensionDetails = dimensionDetails;
     }
     
+    public BigDecimal getLineSubtotal() {
+        return lineSubtotal;
+    }
+    
+    public BigDecimal getLineTaxAmount() {
+        return lineTaxAmount;
+    }
+    
     @Override
     public String toString() {
         return "CartItemJpaEntity{" +
@@ -1,6 +1,8 @@
 package com.ecommerce.infrastructure.persistence.entity;
 
 import com.ecommerce.domain.cart.CartStatus;
+import com.ecommerce.domain.common.Money;
+import com.ecommerce.infrastructure.persistence.id.BinaryUuidConverter;
 import jakarta.persistence.*;
 import org.hibernate.annotations.UuidGenerator;
 
@@ -17,6 +19,7 @@ import java.util.List;
  * - Session ID tracking for guest users
  * - Cart expiration and status management
  * - Cart item management
+ * - Precomputed totals maintained incrementally as items change
  * 
  * @author E-Commerce Development Team
  * @version 1.0.0
@@ -28,10 +31,12 @@ import java.util.List;
     @Index(name = "idx_cart_status", columnList = "status"),
     @Index(name = "idx_cart_expires_at", columnList = "expires_at")
 })
+@AttributeOverride(name = "id", column = @Column(name = "id", columnDefinition = "BINARY(16)"))
+@Convert(attributeName = "id", converter = BinaryUuidConverter.class)
 public class CartJpaEntity extends BaseJpaEntity {
     
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id", nullable = true)
+    @JoinColumn(name = "user_id", nullable = true, columnDefinition = "BINARY(16)")
     private UserJpaEntity user;
     
     @Column(name = "session_id", length = 128, nullable = true)
@@ -74,6 +79,37 @@ public class CartJpaEntity extends BaseJpaEntity {
     @Column(name = "last_activity_at")
     private LocalDateTime lastActivityAt;
     
+    // Precomputed totals, updated with per-item deltas. A null totals version (carts created
+    // before totals were stored) or the stale flag (product pricing changed) forces a recompute.
+    @Column(name = "items_subtotal", precision = 19, scale = 2)
+    private BigDecimal itemsSubtotal = BigDecimal.ZERO;
+    
+    @Column(name = "items_tax_amount", precision = 19, scale = 2)
+    private BigDecimal itemsTaxAmount = BigDecimal.ZERO;
+    
+    @Column(name = "item_count")
+    private Integer itemCount = 0;
+    
+    @Column(name = "unique_item_count")
+    private Integer uniqueItemCount = 0;
+    
+    @Column(name = "totals_version")
+    private Long totalsVersion = 0L;
+    
+    @Column(name = "totals_stale")
+    private Boolean totalsStale = false;
+    
+    // Paise mirrors of the precomputed item totals, derived on first use and kept in step with
+    // every delta; the decimal columns are only rewritten as the persistence boundary
+    @Transient
+    private boolean paiseMirrorsValid;
+    
+    @Transient
+    private long itemsSubtotalPaise;
+    
+    @Transient
+    private long itemsTaxPaise;
+    
     // Default constructor
     public CartJpaEntity() {
         super();
@@ -100,35 +136,143 @@ public class CartJpaEntity extends BaseJpaEntity {
     public void addItem(CartItemJpaEntity item) {
         items.add(item);
         item.setCart(this);
+        if (isTotalsCurrent()) {
+            item.recalculateLineTotals();
+            applyLineTotals(item, 1);
+            uniqueItemCount++;
+            totalsVersion++;
+        }
         updateLastActivity();
     }
     
     public void removeItem(CartItemJpaEntity item) {
         items.remove(item);
         item.setCart(null);
+        if (isTotalsCurrent()) {
+            applyLineTotals(item, -1);
+            uniqueItemCount--;
+            totalsVersion++;
+        }
         updateLastActivity();
     }
     
     public void clearItems() {
         items.clear();
+        resetTotals();
+        totalsStale = false;
+        totalsVersion = totalsVersion != null ? totalsVersion + 1 : 1L;
         updateLastActivity();
     }
     
+    /**
+     * Change an item's quantity and apply the difference to the cart totals
+     */
+    public void updateItemQuantity(CartItemJpaEntity item, Integer newQuantity) {
+        boolean current = isTotalsCurrent();
+        if (current) {
+            applyLineTotals(item, -1);
+        }
+        item.updateQuantity(newQuantity);
+        if (current) {
+            item.recalculateLineTotals();
+            applyLineTotals(item, 1);
+            totalsVersion++;
+        }
+        updateLastActivity();
+    }
+    
+    /**
+     * Whether the stored totals reflect the current items and product pricing
+     */
+    public boolean isTotalsCurrent() {
+        return totalsVersion != null && !Boolean.TRUE.equals(totalsStale) &&
+               itemsSubtotal != null && itemsTaxAmount != null && itemCount != null && uniqueItemCount != null;
+    }
+    
+    /**
+     * Recompute all line and cart totals from the items (after product price or tax changes)
+     */
+    public void recalculateTotals() {
+        resetTotals();
+        for (CartItemJpaEntity item : items) {
+            item.recalculateLineTotals();
+            applyLineTotals(item, 1);
+        }
+        uniqueItemCount = items.size();
+        totalsStale = false;
+        totalsVersion = totalsVersion != null ? totalsVersion + 1 : 1L;
+    }
+    
+    private void applyLineTotals(CartItemJpaEntity item, int sign) {
+        if (!item.hasLineTotals()) {
+            // Line was never totalled; fall back to a full recompute on next read
+            totalsStale = true;
+            return;
+        }
+        ensurePaiseMirrors();
+        setItemTotals(itemsSubtotalPaise + sign * item.getLineSubtotalPaise(),
+                itemsTaxPaise + sign * item.getLineTaxPaise());
+        itemCount += sign * item.getQuantity();
+    }
+    
+    private void resetTotals() {
+        setItemTotals(0L, 0L);
+        itemCount = 0;
+        uniqueItemCount = 0;
+    }
+    
+    private void setItemTotals(long subtotalPaise, long taxPaise) {
+        itemsSubtotal = Money.toDecimal(subtotalPaise);
+        itemsTaxAmount = Money.toDecimal(taxPaise);
+        itemsSubtotalPaise = subtotalPaise;
+        itemsTaxPaise = taxPaise;
+        paiseMirrorsValid = true;
+    }
+    
+    private void ensurePaiseMirrors() {
+        if (paiseMirrorsValid) {
+            return;
+        }
+        itemsSubtotalPaise = Money.of(itemsSubtotal);
+        itemsTaxPaise = Money.of(itemsTaxAmount);
+        paiseMirrorsValid = true;
+    }
+    
+    @PostLoad
+    private void invalidatePaiseMirrors() {
+        paiseMirrorsValid = false;
+    }
+    
     public BigDecimal getSubtotal() {
-        // Calculate subtotal - for variable dimension products, calculatedUnitPrice already includes tax
-        return items.stream()
-                .map(item -> {
-                    // For variable dimension products, calculatedUnitPrice is already the total price (including tax)
-                    if (item.hasCustomDimensions() && item.getCalculatedUnitPrice() != null) {
-                        return item.getCalculatedUnitPrice();
-                    }
-                    
-                    ProductJpaEntity product = item.getProduct();
-                    BigDecimal baseAmount = product.getBaseAmount() != null ? 
-                        product.getBaseAmount() : item.getUnitPrice();
-                    return baseAmount.multiply(BigDecimal.valueOf(item.getQuantity()));
-                })
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        if (isTotalsCurrent()) {
+            return itemsSubtotal;
+        }
+        return Money.toDecimal(getSubtotalPaise());
+    }
+    
+    /**
+     * Items subtotal in paise - for variable dimension products, calculatedUnitPrice already includes tax
+     */
+    public long getSubtotalPaise() {
+        if (isTotalsCurrent()) {
+            ensurePaiseMirrors();
+            return itemsSubtotalPaise;
+        }
+        long subtotal = 0L;
+        for (int i = 0; i < items.size(); i++) {
+            CartItemJpaEntity item = items.get(i);
+            // For variable dimension products, calculatedUnitPrice is already the total price (including tax)
+            if (item.hasCustomDimensions() && item.getCalculatedUnitPrice() != null) {
+                subtotal += item.getEffectiveUnitPricePaise();
+                continue;
+            }
+            
+            ProductJpaEntity product = item.getProduct();
+            long baseAmount = product.getBaseAmount() != null ? 
+                product.getBaseAmountPaise() : Money.of(item.getUnitPrice());
+            subtotal += Money.times(baseAmount, item.getQuantity());
+        }
+        return subtotal;
     }
     
     public BigDecimal getTotalAmount() {
@@ -138,17 +282,54 @@ public class CartJpaEntity extends BaseJpaEntity {
                 .subtract(discountAmount != null ? discountAmount : BigDecimal.ZERO);
     }
     
+    /**
+     * Sum of product-level tax over all regular (non variable dimension) items
+     */
+    public BigDecimal getItemsTaxAmount() {
+        if (isTotalsCurrent()) {
+            return itemsTaxAmount;
+        }
+        return Money.toDecimal(getItemsTaxPaise());
+    }
+    
+    /**
+     * Sum of product-level tax over all regular items in paise
+     */
+    public long getItemsTaxPaise() {
+        if (isTotalsCurrent()) {
+            ensurePaiseMirrors();
+            return itemsTaxPaise;
+        }
+        long tax = 0L;
+        for (int i = 0; i < items.size(); i++) {
+            CartItemJpaEntity item = items.get(i);
+            if (!(item.hasCustomDimensions() && item.getCalculatedUnitPrice() != null)) {
+                tax += Money.times(item.getProduct().getTaxAmountPaise(), item.getQuantity());
+            }
+        }
+        return tax;
+    }
+    
     public int getTotalItemCount() {
+        if (isTotalsCurrent()) {
+            return itemCount;
+        }
         return items.stream()
                 .mapToInt(CartItemJpaEntity::getQuantity)
                 .sum();
     }
     
     public int getUniqueItemCount() {
+        if (isTotalsCurrent()) {
+            return uniqueItemCount;
+        }
         return items.size();
     }
     
     public boolean isEmpty() {
+        if (isTotalsCurrent()) {
+            return uniqueItemCount == 0;
+        }
         return items.isEmpty();
     }
     
@@ -325,6 +506,14 @@ public class CartJpaEntity extends BaseJpaEntity {
         this.currency = currency;
     }
     
+    public Long getTotalsVersion() {
+        return totalsVersion;
+    }
+    
+    public Boolean getTotalsStale() {
+        return totalsStale;
+    }
+    
     @Override
     public String toString() {
         return "CartJpaEntity{" +
@@ -0,0 +1,56 @@
+package com.ecommerce.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA Entity for units of a hot-stock product leased to one application instance.
+ *
+ * An instance leases units from {@code products.hot_stock_leased} when its in-memory
+ * counter runs out, and renews its leases while it runs. Reservations and releases
+ * change the units through the stock journal. A lease that has not been renewed for
+ * the lease timeout is deleted and its units returned to the product. Rows are written
+ * and consumed with plain JDBC; the mapping exists to describe the table.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "hot_stock_leases", indexes = {
+    @Index(name = "idx_hot_stock_lease_renewed", columnList = "renewed_at")
+})
+public class HotStockLeaseJpaEntity {
+
+    @Id
+    @Column(name = "lease_id", length = 36)
+    private String leaseId;
+
+    @Column(name = "product_id", nullable = false, length = 36)
+    private String productId;
+
+    @Column(name = "units", nullable = false)
+    private int units;
+
+    @Column(name = "renewed_at", nullable = false)
+    private LocalDateTime renewedAt;
+
+    public HotStockLeaseJpaEntity() {
+    }
+
+    public String getLeaseId() {
+        return leaseId;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public int getUnits() {
+        return units;
+    }
+
+    public LocalDateTime getRenewedAt() {
+        return renewedAt;
+    }
+}
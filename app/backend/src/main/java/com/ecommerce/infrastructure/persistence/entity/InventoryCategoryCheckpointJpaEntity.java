@@ -0,0 +1,68 @@
+package com.ecommerce.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * JPA Entity for the last checkpointed inventory totals of one category: its active
+ * products, their stock and reserved quantities and the value of their stock.
+ *
+ * The whole table is replaced with plain JDBC by the inventory summary service each
+ * time the in-memory totals have changed, and read back while they are loading on
+ * startup; the mapping exists to describe the table.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "inventory_category_checkpoints")
+public class InventoryCategoryCheckpointJpaEntity {
+
+    @Id
+    @Column(name = "category_id", length = 36)
+    private String categoryId;
+
+    @Column(name = "product_count", nullable = false)
+    private long productCount;
+
+    @Column(name = "stock_quantity", nullable = false)
+    private long stockQuantity;
+
+    @Column(name = "reserved_quantity", nullable = false)
+    private long reservedQuantity;
+
+    @Column(name = "inventory_value", nullable = false, precision = 19, scale = 2)
+    private BigDecimal inventoryValue;
+
+    @Column(name = "checkpointed_at", nullable = false)
+    private LocalDateTime checkpointedAt;
+
+    public InventoryCategoryCheckpointJpaEntity() {
+    }
+
+    public String getCategoryId() {
+        return categoryId;
+    }
+
+    public long getProductCount() {
+        return productCount;
+    }
+
+    public long getStockQuantity() {
+        return stockQuantity;
+    }
+
+    public long getReservedQuantity() {
+        return reservedQuantity;
+    }
+
+    public BigDecimal getInventoryValue() {
+        return inventoryValue;
+    }
+
+    public LocalDateTime getCheckpointedAt() {
+        return checkpointedAt;
+    }
+}
@@ -0,0 +1,96 @@
+package com.ecommerce.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * JPA Entity for the number and total value of the orders placed on one day that
+ * are currently in one status.
+ *
+ * An order counts towards the day of its {@code order_date}; a status change moves
+ * it from one row of that day to another. Rows are maintained with plain JDBC by the
+ * rollup service from {@code order_rollup_journal}, or rebuilt from {@code orders}
+ * by its backfill; the mapping exists to describe the table.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "order_daily_rollups")
+@IdClass(OrderDailyRollupJpaEntity.Key.class)
+public class OrderDailyRollupJpaEntity {
+
+    @Id
+    @Column(name = "rollup_date")
+    private LocalDate rollupDate;
+
+    @Id
+    @Column(name = "status", length = 20)
+    private String status;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public OrderDailyRollupJpaEntity() {
+    }
+
+    public LocalDate getRollupDate() {
+        return rollupDate;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /**
+     * Composite primary key: day and status
+     */
+    public static class Key implements Serializable {
+
+        private LocalDate rollupDate;
+        private String status;
+
+        public Key() {
+        }
+
+        public Key(LocalDate rollupDate, String status) {
+            this.rollupDate = rollupDate;
+            this.status = status;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(rollupDate, key.rollupDate) && Objects.equals(status, key.status);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(rollupDate, status);
+        }
+    }
+}
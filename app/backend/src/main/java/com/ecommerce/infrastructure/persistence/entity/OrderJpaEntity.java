@@ -2,6 +2,9 @@ package com.ecommerce.infrastructure.persistence.entity;
 
 import com.ecommerce.domain.order.OrderStatus;
 import com.ecommerce.domain.order.PaymentMethod;
+import com.ecommerce.infrastructure.persistence.id.BinaryUuidConverter;
+import com.ecommerce.infrastructure.persistence.rollup.OrderRollupListener;
+import com.ecommerce.infrastructure.persistence.rollup.OrderRollupSnapshot;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -24,19 +27,25 @@ import java.util.List;
         @Index(name = "idx_orders_status", columnList = "status"),
         @Index(name = "idx_orders_order_date", columnList = "order_date"),
         @Index(name = "idx_orders_order_number", columnList = "order_number", unique = true),
-        @Index(name = "idx_orders_tracking_number", columnList = "tracking_number")
+        @Index(name = "idx_orders_tracking_number", columnList = "tracking_number"),
+        @Index(name = "idx_orders_customer_date_id", columnList = "customer_id, order_date, id"),
+        @Index(name = "idx_orders_status_date_id", columnList = "status, order_date, id"),
+        @Index(name = "idx_orders_customer_status_date_id", columnList = "customer_id, status, order_date, id")
     }
 )
+@AttributeOverride(name = "id", column = @Column(name = "id", columnDefinition = "BINARY(16)"))
+@Convert(attributeName = "id", converter = BinaryUuidConverter.class)
+@EntityListeners(OrderRollupListener.class)
 public class OrderJpaEntity extends BaseJpaEntity {
 
     @NotBlank(message = "Order number is required")
-    @Pattern(regexp = "^ORD-[0-9]{10}$", message = "Order number must follow pattern ORD-XXXXXXXXXX")
+    @Pattern(regexp = "^ORD-([0-9]{10}|[0-9]{12})$", message = "Order number must follow pattern ORD-XXXXXXXXXX or ORD-XXXXXXXXXXXX")
     @Column(name = "order_number", nullable = false, unique = true, length = 20)
     private String orderNumber;
 
     @NotNull(message = "Customer is required")
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "customer_id", nullable = false, foreignKey = @ForeignKey(name = "fk_orders_customer"))
+    @JoinColumn(name = "customer_id", nullable = false, columnDefinition = "BINARY(16)", foreignKey = @ForeignKey(name = "fk_orders_customer"))
     private UserJpaEntity customer;
 
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
@@ -139,6 +148,10 @@ public class OrderJpaEntity extends BaseJpaEntity {
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     private List<OrderStatusHistoryJpaEntity> statusHistory = new ArrayList<>();
 
+    // Day, status and total as last loaded or written, maintained by OrderRollupListener
+    @Transient
+    private OrderRollupSnapshot rollupSnapshot;
+
     // Constructors
     public OrderJpaEntity() {
         super();
@@ -390,4 +403,12 @@ public class OrderJpaEntity extends BaseJpaEntity {
     public void setStatusHistory(List<OrderStatusHistoryJpaEntity> statusHistory) {
         this.statusHistory = statusHistory;
     }
+
+    public OrderRollupSnapshot getRollupSnapshot() {
+        return rollupSnapshot;
+    }
+
+    public void setRollupSnapshot(OrderRollupSnapshot rollupSnapshot) {
+        this.rollupSnapshot = rollupSnapshot;
+    }
 } 
\ No newline at end of file
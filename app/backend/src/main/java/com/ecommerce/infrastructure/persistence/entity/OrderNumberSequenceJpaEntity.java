@@ -0,0 +1,36 @@
+package com.ecommerce.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * JPA Entity for the sequence that order numbers are allocated from.
+ *
+ * {@code next_value} is the first value not yet reserved by any application
+ * instance; instances advance it by a whole block under a row lock. The row is
+ * read and written with plain JDBC; the mapping exists to describe the table.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "order_number_sequence")
+public class OrderNumberSequenceJpaEntity {
+
+    @Id
+    @Column(name = "name", length = 50)
+    private String name;
+
+    @Column(name = "next_value", nullable = false)
+    private long nextValue;
+
+    public OrderNumberSequenceJpaEntity() {
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getNextValue() {
+        return nextValue;
+    }
+}
@@ -0,0 +1,74 @@
+package com.ecommerce.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * JPA Entity for a pending change to the daily order rollups.
+ *
+ * Rows are appended by {@code OrderRollupListener} in the same transaction as the
+ * order change that caused them and are folded into {@code order_daily_rollups} by
+ * the rollup service, which deletes them in the same transaction. Any row still
+ * present therefore represents a committed change that has not yet reached the
+ * rollups. Rows are written and consumed with plain JDBC; the mapping exists to
+ * describe the table.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "order_rollup_journal", indexes = {
+    @Index(name = "idx_order_rollup_journal_date", columnList = "rollup_date")
+})
+public class OrderRollupJournalEntryJpaEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "order_count_delta", nullable = false)
+    private int orderCountDelta;
+
+    @Column(name = "amount_delta", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amountDelta;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public OrderRollupJournalEntryJpaEntity() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getRollupDate() {
+        return rollupDate;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public int getOrderCountDelta() {
+        return orderCountDelta;
+    }
+
+    public BigDecimal getAmountDelta() {
+        return amountDelta;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -1,6 +1,7 @@
 package com.ecommerce.infrastructure.persistence.entity;
 
 import com.ecommerce.domain.order.OrderStatus;
+import com.ecommerce.infrastructure.persistence.id.BinaryUuidConverter;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 
@@ -19,11 +20,13 @@ import java.time.LocalDateTime;
         @Index(name = "idx_order_status_history_timestamp", columnList = "timestamp")
     }
 )
+@AttributeOverride(name = "id", column = @Column(name = "id", columnDefinition = "BINARY(16)"))
+@Convert(attributeName = "id", converter = BinaryUuidConverter.class)
 public class OrderStatusHistoryJpaEntity extends BaseJpaEntity {
 
     @NotNull(message = "Order is required")
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "order_id", nullable = false, foreignKey = @ForeignKey(name = "fk_order_status_history_order"))
+    @JoinColumn(name = "order_id", nullable = false, columnDefinition = "BINARY(16)", foreignKey = @ForeignKey(name = "fk_order_status_history_order"))
     private OrderJpaEntity order;
 
     @NotNull(message = "Status is required")
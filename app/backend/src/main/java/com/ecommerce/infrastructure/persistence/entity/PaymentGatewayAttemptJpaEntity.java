@@ -0,0 +1,153 @@
+package com.ecommerce.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * JPA Entity for one call that creates an order or a refund at the payment gateway.
+ *
+ * The row is inserted as PENDING, with the idempotency key sent to the gateway, before
+ * the call is made, and settled as SUCCEEDED (with the gateway's ID) or FAILED once
+ * the outcome is known, also when that is only after the caller gave up waiting.
+ * While PENDING, {@code in_flight_key} keeps a second call for the same order or
+ * payment from starting. Rows are written with plain JDBC by the attempt service; the
+ * mapping exists to describe the table.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "payment_gateway_attempts", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_payment_gateway_attempt_key", columnNames = "idempotency_key"),
+    @UniqueConstraint(name = "uk_payment_gateway_attempt_in_flight", columnNames = "in_flight_key")
+}, indexes = {
+    @Index(name = "idx_payment_gateway_attempt_status", columnList = "status, created_at")
+})
+public class PaymentGatewayAttemptJpaEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "idempotency_key", nullable = false, length = 36)
+    private String idempotencyKey;
+
+    @Column(name = "operation", nullable = false, length = 20)
+    private String operation;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "in_flight_key", length = 100)
+    private String inFlightKey;
+
+    @Column(name = "user_id", length = 36)
+    private String userId;
+
+    @Column(name = "order_id", length = 36)
+    private String orderId;
+
+    @Column(name = "payment_id")
+    private String paymentId;
+
+    @Column(name = "gateway_payment_id")
+    private String gatewayPaymentId;
+
+    @Column(name = "amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "currency", length = 3)
+    private String currency;
+
+    @Column(name = "receipt")
+    private String receipt;
+
+    @Column(name = "description")
+    private String description;
+
+    @Column(name = "gateway_reference")
+    private String gatewayReference;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    public PaymentGatewayAttemptJpaEntity() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getInFlightKey() {
+        return inFlightKey;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public String getPaymentId() {
+        return paymentId;
+    }
+
+    public String getGatewayPaymentId() {
+        return gatewayPaymentId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public String getReceipt() {
+        return receipt;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getGatewayReference() {
+        return gatewayReference;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+}
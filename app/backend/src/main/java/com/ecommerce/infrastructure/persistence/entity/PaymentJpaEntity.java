@@ -2,6 +2,7 @@ package com.ecommerce.infrastructure.persistence.entity;
 
 import com.ecommerce.domain.order.PaymentMethod;
 import com.ecommerce.domain.payment.PaymentStatus;
+import com.ecommerce.infrastructure.persistence.id.BinaryUuidConverter;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -17,7 +18,11 @@ import java.time.LocalDateTime;
  * @version 1.0.0
  */
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+    @Index(name = "idx_payments_razorpay_order_id", columnList = "razorpay_order_id")
+})
+@AttributeOverride(name = "id", column = @Column(name = "id", columnDefinition = "BINARY(16)"))
+@Convert(attributeName = "id", converter = BinaryUuidConverter.class)
 public class PaymentJpaEntity extends BaseJpaEntity {
     
     @NotBlank(message = "Payment ID is required")
@@ -54,11 +59,11 @@ public class PaymentJpaEntity extends BaseJpaEntity {
     
     @NotNull(message = "User is required")
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id", nullable = false)
+    @JoinColumn(name = "user_id", nullable = false, columnDefinition = "BINARY(16)")
     private UserJpaEntity user;
     
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "order_id", nullable = true)
+    @JoinColumn(name = "order_id", nullable = true, columnDefinition = "BINARY(16)")
     private OrderJpaEntity order;
     
     @Column(name = "receipt")
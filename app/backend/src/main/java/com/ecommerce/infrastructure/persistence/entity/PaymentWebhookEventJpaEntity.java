@@ -0,0 +1,124 @@
+package com.ecommerce.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA Entity for a Razorpay webhook event waiting in, or processed from, the inbox.
+ *
+ * The webhook endpoint inserts one row per event ID and ignores retried deliveries of
+ * the same event. Workers claim pending rows by stamping a claim token, apply them to
+ * payments and orders, and mark them processed in the same transaction; a claim that
+ * is not completed within the claim timeout returns to pending. Rows are written and
+ * consumed with plain JDBC; the mapping exists to describe the table.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "payment_webhook_events", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_payment_webhook_event_id", columnNames = "event_id")
+}, indexes = {
+    @Index(name = "idx_payment_webhook_status_next", columnList = "status, next_attempt_at, seq"),
+    @Index(name = "idx_payment_webhook_claim", columnList = "claim_token")
+})
+public class PaymentWebhookEventJpaEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "seq")
+    private Long seq;
+
+    @Column(name = "event_id", nullable = false, length = 100)
+    private String eventId;
+
+    @Column(name = "event_type", nullable = false, length = 100)
+    private String eventType;
+
+    @Column(name = "razorpay_order_id")
+    private String razorpayOrderId;
+
+    @Lob
+    @Column(name = "payload", nullable = false, columnDefinition = "MEDIUMTEXT")
+    private String payload;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    public PaymentWebhookEventJpaEntity() {
+    }
+
+    public Long getSeq() {
+        return seq;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public String getRazorpayOrderId() {
+        return razorpayOrderId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public String getClaimToken() {
+        return claimToken;
+    }
+
+    public LocalDateTime getClaimedAt() {
+        return claimedAt;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public LocalDateTime getReceivedAt() {
+        return receivedAt;
+    }
+
+    public LocalDateTime getProcessedAt() {
+        return processedAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+}
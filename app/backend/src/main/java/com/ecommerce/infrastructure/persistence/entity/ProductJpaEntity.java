@@ -2,6 +2,7 @@ package com.ecommerce.infrastructure.persistence.entity;
 
 import com.ecommerce.domain.product.ProductStatus;
 import com.ecommerce.domain.product.DimensionUnit;
+import com.ecommerce.domain.common.Money;
 import com.fasterxml.jackson.annotation.*;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
@@ -22,7 +23,9 @@ import java.util.stream.Collectors;
     @Index(name = "idx_product_brand", columnList = "brand"),
     @Index(name = "idx_product_featured", columnList = "featured"),
     @Index(name = "idx_product_price", columnList = "price"),
-    @Index(name = "idx_product_stock", columnList = "stock_quantity")
+    @Index(name = "idx_product_stock", columnList = "stock_quantity"),
+    @Index(name = "idx_product_name_id", columnList = "name, id"),
+    @Index(name = "idx_product_status_name_id", columnList = "status, name, id")
 })
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class ProductJpaEntity extends BaseJpaEntity {
@@ -130,6 +133,14 @@ public class ProductJpaEntity extends BaseJpaEntity {
     @Column(name = "featured", nullable = false)
     private boolean featured = false;
 
+    // Hot-stock products reserve from in-memory counters (see HotStockService)
+    @Column(name = "hot_stock", nullable = false)
+    private boolean hotStock = false;
+
+    // Units leased to instances' hot-stock counters; maintained with plain JDBC only
+    @Column(name = "hot_stock_leased", nullable = false, updatable = false)
+    private int hotStockLeased = 0;
+
     @DecimalMin(value = "0.0", message = "Rating must be between 0 and 5")
     @DecimalMax(value = "5.0", message = "Rating must be between 0 and 5")
     @Column(name = "average_rating", precision = 3, scale = 2)
@@ -169,6 +180,30 @@ public class ProductJpaEntity extends BaseJpaEntity {
     @Column(name = "dimension_unit", length = 20)
     private DimensionUnit dimensionUnit;
 
+    // Paise / thousandths mirrors of the decimal pricing columns used by the allocation-free
+    // pricing paths. Derived on first use and invalidated whenever a mirrored value changes,
+    // including when Hibernate loads or refreshes the row.
+    @Transient
+    private boolean paiseMirrorsValid;
+
+    @Transient
+    private long pricePaise;
+
+    @Transient
+    private long baseAmountPaise;
+
+    @Transient
+    private long taxAmountPaise;
+
+    @Transient
+    private long variableDimensionRatePaise;
+
+    @Transient
+    private long fixedHeightThousandths;
+
+    @Transient
+    private long maxLengthThousandths;
+
     // Default constructor
     public ProductJpaEntity() {
         super();
@@ -222,8 +257,9 @@ public class ProductJpaEntity extends BaseJpaEntity {
         return getAvailableQuantity() > 0;
     }
 
+    // Units leased to hot-stock counters are not available to row-level reservations
     public int getAvailableQuantity() {
-        return Math.max(0, stockQuantity - reservedQuantity);
+        return Math.max(0, stockQuantity - reservedQuantity - hotStockLeased);
     }
 
     public boolean canReserve(int quantity) {
@@ -286,18 +322,21 @@ public class ProductJpaEntity extends BaseJpaEntity {
     public void calculateTaxAmount() {
         if (baseAmount != null && taxRate != null) {
             this.taxAmount = baseAmount.multiply(taxRate).divide(BigDecimal.valueOf(100), 2, BigDecimal.ROUND_HALF_UP);
+            invalidatePaiseMirrors();
         }
     }
 
     public void calculateFinalPrice() {
         if (baseAmount != null && taxAmount != null) {
             this.price = baseAmount.add(taxAmount);
+            invalidatePaiseMirrors();
         }
     }
 
     public void updatePriceComponents(BigDecimal baseAmount, BigDecimal taxRate) {
         this.baseAmount = baseAmount;
         this.taxRate = taxRate;
+        invalidatePaiseMirrors();
         calculateTaxAmount();
         calculateFinalPrice();
     }
@@ -312,21 +351,64 @@ public class ProductJpaEntity extends BaseJpaEntity {
             return price; // Return regular price if not variable dimension
         }
         
-        if (customLength.compareTo(BigDecimal.ZERO) <= 0) {
+        return Money.toDecimal(calculatePricePaiseForLength(Money.thousandths(customLength)));
+    }
+    
+    /**
+     * Variable dimension price in paise for a length given in thousandths of the dimension unit:
+     * fixedHeight × customLength × rate (rate already includes tax), rounded HALF_UP to the paisa
+     */
+    public long calculatePricePaiseForLength(long customLengthThousandths) {
+        if (!isVariableDimension || fixedHeight == null || variableDimensionRate == null) {
+            return getPricePaise(); // Return regular price if not variable dimension
+        }
+        
+        if (customLengthThousandths <= 0) {
             throw new IllegalArgumentException("Custom length must be greater than 0");
         }
         
-        if (maxLength != null && customLength.compareTo(maxLength) > 0) {
+        ensurePaiseMirrors();
+        if (maxLength != null && customLengthThousandths > maxLengthThousandths) {
             throw new IllegalArgumentException("Custom length cannot exceed maximum length of " + maxLength + " " + dimensionUnit.getSymbol());
         }
         
-        // Calculate area: fixedHeight × customLength
-        BigDecimal area = fixedHeight.multiply(customLength);
-        
-        // Calculate final price: area × rate (rate already includes tax)
-        BigDecimal finalPrice = area.multiply(variableDimensionRate);
-        
-        return finalPrice;
+        return Money.areaPrice(fixedHeightThousandths, customLengthThousandths, variableDimensionRatePaise);
+    }
+    
+    @JsonIgnore
+    public long getPricePaise() {
+        ensurePaiseMirrors();
+        return pricePaise;
+    }
+    
+    @JsonIgnore
+    public long getBaseAmountPaise() {
+        ensurePaiseMirrors();
+        return baseAmountPaise;
+    }
+    
+    @JsonIgnore
+    public long getTaxAmountPaise() {
+        ensurePaiseMirrors();
+        return taxAmountPaise;
+    }
+    
+    private void ensurePaiseMirrors() {
+        if (paiseMirrorsValid) {
+            return;
+        }
+        pricePaise = Money.of(price);
+        baseAmountPaise = Money.of(baseAmount);
+        taxAmountPaise = Money.of(taxAmount);
+        variableDimensionRatePaise = Money.of(variableDimensionRate);
+        fixedHeightThousandths = Money.thousandths(fixedHeight);
+        maxLengthThousandths = Money.thousandths(maxLength);
+        paiseMirrorsValid = true;
+    }
+    
+    @PostLoad
+    private void invalidatePaiseMirrors() {
+        paiseMirrorsValid = false;
     }
     
     public boolean isValidCustomLength(BigDecimal customLength) {
@@ -395,6 +477,7 @@ public class ProductJpaEntity extends BaseJpaEntity {
 
     public void setPrice(BigDecimal price) {
         this.price = price;
+        invalidatePaiseMirrors();
     }
 
     public BigDecimal getOriginalPrice() {
@@ -411,6 +494,7 @@ public class ProductJpaEntity extends BaseJpaEntity {
 
     public void setBaseAmount(BigDecimal baseAmount) {
         this.baseAmount = baseAmount;
+        invalidatePaiseMirrors();
         calculateTaxAmount();
         calculateFinalPrice();
     }
@@ -431,6 +515,7 @@ public class ProductJpaEntity extends BaseJpaEntity {
 
     public void setTaxAmount(BigDecimal taxAmount) {
         this.taxAmount = taxAmount;
+        invalidatePaiseMirrors();
     }
 
     public CategoryJpaEntity getCategory() {
@@ -660,6 +745,18 @@ public class ProductJpaEntity extends BaseJpaEntity {
         this.featured = featured;
     }
 
+    public boolean isHotStock() {
+        return hotStock;
+    }
+
+    public void setHotStock(boolean hotStock) {
+        this.hotStock = hotStock;
+    }
+
+    public int getHotStockLeased() {
+        return hotStockLeased;
+    }
+
     public BigDecimal getAverageRating() {
         return averageRating;
     }
@@ -717,6 +814,7 @@ public class ProductJpaEntity extends BaseJpaEntity {
 
     public void setFixedHeight(BigDecimal fixedHeight) {
         this.fixedHeight = fixedHeight;
+        invalidatePaiseMirrors();
     }
 
     public BigDecimal getVariableDimensionRate() {
@@ -725,6 +823,7 @@ public class ProductJpaEntity extends BaseJpaEntity {
 
     public void setVariableDimensionRate(BigDecimal variableDimensionRate) {
         this.variableDimensionRate = variableDimensionRate;
+        invalidatePaiseMirrors();
     }
 
     public BigDecimal getMaxLength() {
@@ -733,6 +832,7 @@ public class ProductJpaEntity extends BaseJpaEntity {
 
     public void setMaxLength(BigDecimal maxLength) {
         this.maxLength = maxLength;
+        invalidatePaiseMirrors();
     }
 
     public DimensionUnit getDimensionUnit() {
@@ -0,0 +1,91 @@
+package com.ecommerce.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA Entity for the checkpoint of a catalog-wide recommendation generation run.
+ *
+ * The generator walks source products in ID order and advances
+ * {@code last_product_id} in the same transaction that replaces a chunk's
+ * recommendations, so the checkpoint never runs ahead of committed rows. A run
+ * that did not complete is resumed after its checkpoint. Rows are written and read
+ * with plain JDBC; the mapping exists to describe the table.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "recommendation_generation_runs", indexes = {
+    @Index(name = "idx_recommendation_run_started", columnList = "started_at")
+})
+public class RecommendationGenerationRunJpaEntity {
+
+    @Id
+    @Column(name = "id", length = 36)
+    private String id;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "last_product_id", length = 36)
+    private String lastProductId;
+
+    @Column(name = "processed_products", nullable = false)
+    private long processedProducts;
+
+    @Column(name = "total_products", nullable = false)
+    private long totalProducts;
+
+    @Column(name = "written_recommendations", nullable = false)
+    private long writtenRecommendations;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public RecommendationGenerationRunJpaEntity() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getLastProductId() {
+        return lastProductId;
+    }
+
+    public long getProcessedProducts() {
+        return processedProducts;
+    }
+
+    public long getTotalProducts() {
+        return totalProducts;
+    }
+
+    public long getWrittenRecommendations() {
+        return writtenRecommendations;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+}
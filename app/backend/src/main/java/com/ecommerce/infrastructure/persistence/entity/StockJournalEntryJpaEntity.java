@@ -0,0 +1,104 @@
+package com.ecommerce.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA Entity for a pending stock change of a hot-stock product.
+ *
+ * Rows are appended in the same transaction as the order that caused them and
+ * are folded into {@code products.stock_quantity} / {@code products.reserved_quantity}
+ * (and the lease they draw from, if any) by the write-behind flusher, which deletes them in the same transaction. Any row
+ * still present therefore represents a committed change that has not yet reached
+ * the products table. Rows are written and consumed with plain JDBC; the mapping
+ * exists to describe the table.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "stock_journal", indexes = {
+    @Index(name = "idx_stock_journal_product", columnList = "product_id"),
+    @Index(name = "idx_stock_journal_lease", columnList = "lease_id")
+})
+public class StockJournalEntryJpaEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "product_id", nullable = false, length = 36)
+    private String productId;
+
+    @Column(name = "stock_delta", nullable = false)
+    private int stockDelta;
+
+    @Column(name = "reserved_delta", nullable = false)
+    private int reservedDelta;
+
+    @Column(name = "lease_id", length = 36)
+    private String leaseId;
+
+    @Column(name = "lease_delta", nullable = false)
+    private int leaseDelta;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public StockJournalEntryJpaEntity() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public void setProductId(String productId) {
+        this.productId = productId;
+    }
+
+    public int getStockDelta() {
+        return stockDelta;
+    }
+
+    public void setStockDelta(int stockDelta) {
+        this.stockDelta = stockDelta;
+    }
+
+    public int getReservedDelta() {
+        return reservedDelta;
+    }
+
+    public void setReservedDelta(int reservedDelta) {
+        this.reservedDelta = reservedDelta;
+    }
+
+    public String getLeaseId() {
+        return leaseId;
+    }
+
+    public void setLeaseId(String leaseId) {
+        this.leaseId = leaseId;
+    }
+
+    public int getLeaseDelta() {
+        return leaseDelta;
+    }
+
+    public void setLeaseDelta(int leaseDelta) {
+        this.leaseDelta = leaseDelta;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -2,6 +2,8 @@ package com.ecommerce.infrastructure.persistence.entity;
 
 import com.ecommerce.domain.user.UserRole;
 import com.ecommerce.domain.user.UserStatus;
+import com.ecommerce.infrastructure.persistence.id.BinaryUuidConverter;
+import com.ecommerce.infrastructure.security.UserSecurityChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -30,6 +32,9 @@ import java.util.Set;
         @Index(name = "idx_users_created_at", columnList = "created_at")
     }
 )
+@EntityListeners(UserSecurityChangeListener.class)
+@AttributeOverride(name = "id", column = @Column(name = "id", columnDefinition = "BINARY(16)"))
+@Convert(attributeName = "id", converter = BinaryUuidConverter.class)
 public class UserJpaEntity extends BaseJpaEntity {
     
     @NotBlank(message = "First name is required")
@@ -63,7 +68,7 @@ public class UserJpaEntity extends BaseJpaEntity {
     @ElementCollection(targetClass = UserRole.class, fetch = FetchType.EAGER)
     @CollectionTable(
         name = "user_roles",
-        joinColumns = @JoinColumn(name = "user_id"),
+        joinColumns = @JoinColumn(name = "user_id", columnDefinition = "BINARY(16)"),
         indexes = @Index(name = "idx_user_roles_user_id", columnList = "user_id")
     )
     @Enumerated(EnumType.STRING)
@@ -112,6 +117,11 @@ public class UserJpaEntity extends BaseJpaEntity {
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<AddressJpaEntity> addresses = new ArrayList<>();
     
+    // Email as last read from or written to the database; lets a change of email also
+    // drop the authentications cached under the previous one
+    @Transient
+    private String persistedEmail;
+    
     // Default constructor
     public UserJpaEntity() {
         super();
@@ -174,6 +184,14 @@ public class UserJpaEntity extends BaseJpaEntity {
         resetFailedLoginAttempts();
     }
     
+    // Lifecycle callbacks; they run after those of the entity listeners
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void rememberPersistedEmail() {
+        this.persistedEmail = email;
+    }
+    
     // Getters and Setters
     public String getFirstName() {
         return firstName;
@@ -199,6 +217,14 @@ public class UserJpaEntity extends BaseJpaEntity {
         this.email = email != null ? email.toLowerCase().trim() : null;
     }
     
+    /**
+     * Email as last read from or written to the database. During an update that changes
+     * the email, entity listeners still see the previous value here.
+     */
+    public String getPersistedEmail() {
+        return persistedEmail;
+    }
+    
     public String getPasswordHash() {
         return passwordHash;
     }
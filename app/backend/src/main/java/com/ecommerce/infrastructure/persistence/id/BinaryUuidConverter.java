@@ -0,0 +1,29 @@
+package com.ecommerce.infrastructure.persistence.id;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores a string UUID ID in a {@code BINARY(16)} column.
+ *
+ * Entities, repositories, DTOs and URLs keep using the 36-character string form;
+ * only the column holds the 16 raw bytes. Applied per entity to its inherited
+ * {@code id} with {@code @Convert(attributeName = "id", ...)}; foreign keys that
+ * reference such an entity are mapped through it as well.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Converter
+public class BinaryUuidConverter implements AttributeConverter<String, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(String id) {
+        return id != null ? TimeOrderedIds.toBytes(id) : null;
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] column) {
+        return column != null ? TimeOrderedIds.fromBytes(column) : null;
+    }
+}
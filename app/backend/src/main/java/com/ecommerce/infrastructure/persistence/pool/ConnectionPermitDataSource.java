@@ -0,0 +1,151 @@
+package com.ecommerce.infrastructure.persistence.pool;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limits the connections taken from a pool at once with a fair semaphore that has as
+ * many permits as the pool has connections.
+ *
+ * With a thread per request the servlet thread pool bounds how many callers can wait
+ * for a connection. With virtual threads thousands of requests may want one at the
+ * same time; they park on the semaphore in arrival order, which costs next to nothing,
+ * instead of all contending inside the pool. A permit is held from
+ * {@link #getConnection()} until the returned connection is closed. Waiting longer than
+ * the timeout fails like a pool timeout, with an {@link SQLTransientConnectionException}.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+public class ConnectionPermitDataSource extends DelegatingDataSource implements MeterBinder {
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final long timeoutMillis;
+    private final String name;
+
+    /**
+     * @param target The pool
+     * @param maxPermits Connections that may be in use at once, normally the pool's maximum size
+     * @param timeoutMillis How long a caller waits for a permit
+     * @param name Name of the pool, for errors and metrics
+     */
+    public ConnectionPermitDataSource(DataSource target, int maxPermits, long timeoutMillis, String name) {
+        super(target);
+        this.maxPermits = Math.max(1, maxPermits);
+        this.permits = new Semaphore(this.maxPermits, true);
+        this.timeoutMillis = timeoutMillis;
+        this.name = name;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return withPermit(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return withPermit(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("datasource.connection.permits.waiting", permits, Semaphore::getQueueLength)
+                .description("Threads waiting for a connection permit")
+                .tag("pool", name)
+                .register(registry);
+        Gauge.builder("datasource.connection.permits.in.use", permits, semaphore -> maxPermits - semaphore.availablePermits())
+                .description("Connection permits held")
+                .tag("pool", name)
+                .register(registry);
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                        name + " - no connection permit available within " + timeoutMillis + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException(name + " - interrupted waiting for a connection permit", e);
+        }
+    }
+
+    private Connection withPermit(Connection target) {
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                new Class<?>[] {ConnectionProxy.class}, new PermitReleasingHandler(target));
+    }
+
+    /**
+     * Returns the permit when the connection is closed, once
+     */
+    private final class PermitReleasingHandler implements InvocationHandler {
+        private final Connection target;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        PermitReleasingHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "getTargetConnection":
+                    return target;
+                case "isClosed":
+                    return closed.get() || target.isClosed();
+                case "close":
+                    if (closed.compareAndSet(false, true)) {
+                        try {
+                            target.close();
+                        } finally {
+                            permits.release();
+                        }
+                    }
+                    return null;
+                case "unwrap":
+                    return ((Class<?>) args[0]).isInstance(proxy) ? proxy : target.unwrap((Class<?>) args[0]);
+                case "isWrapperFor":
+                    return ((Class<?>) args[0]).isInstance(proxy) || target.isWrapperFor((Class<?>) args[0]);
+                default:
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+            }
+        }
+    }
+}
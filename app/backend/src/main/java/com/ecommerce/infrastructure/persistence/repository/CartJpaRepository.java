@@ -76,15 +76,15 @@ public interface CartJpaRepository extends JpaRepository<CartJpaEntity, String>,
     @Query("UPDATE CartJpaEntity c SET c.status = :newStatus, c.updatedAt = :now WHERE c.id IN :cartIds")
     int updateCartStatus(@Param("cartIds") List<String> cartIds, @Param("newStatus") CartStatus newStatus, @Param("now") LocalDateTime now);
     
+    /**
+     * Mark the stored totals of active carts containing a product as stale (after a price or tax change).
+     * Bumps the entity version so a concurrently loaded cart cannot overwrite the flag.
+     */
     @Modifying
     @Transactional
-    @Query("UPDATE CartJpaEntity c SET c.status = 'EXPIRED', c.updatedAt = :now WHERE c.expiresAt < :now AND c.status = 'ACTIVE'")
-    int markExpiredCarts(@Param("now") LocalDateTime now);
-    
-    @Modifying
-    @Transactional
-    @Query("UPDATE CartJpaEntity c SET c.status = 'ABANDONED', c.updatedAt = :now WHERE c.user IS NULL AND c.lastActivityAt < :cutoffDate AND c.status = 'ACTIVE'")
-    int markAbandonedGuestCarts(@Param("cutoffDate") LocalDateTime cutoffDate, @Param("now") LocalDateTime now);
+    @Query("UPDATE CartJpaEntity c SET c.totalsStale = true, c.version = c.version + 1 WHERE c.status = 'ACTIVE' AND " +
+           "c.id IN (SELECT i.cart.id FROM CartItemJpaEntity i WHERE i.product.id = :productId)")
+    int markTotalsStaleForProduct(@Param("productId") String productId);
     
     // Cart merging operations
     @Query("SELECT c FROM CartJpaEntity c WHERE c.user IS NULL AND c.sessionId = :sessionId AND c.status = 'ACTIVE'")
@@ -106,17 +106,6 @@ public interface CartJpaRepository extends JpaRepository<CartJpaEntity, String>,
     @Query("SELECT AVG(SIZE(c.items)) FROM CartJpaEntity c WHERE c.status = 'ACTIVE' AND c.updatedAt > :since")
     Double getAverageCartSize(@Param("since") LocalDateTime since);
     
-    // Cart maintenance
-    @Modifying
-    @Transactional
-    @Query("DELETE FROM CartJpaEntity c WHERE c.status IN ('EXPIRED', 'ABANDONED') AND c.updatedAt < :cutoffDate")
-    int deleteOldCarts(@Param("cutoffDate") LocalDateTime cutoffDate);
-    
-    @Modifying
-    @Transactional
-    @Query("DELETE FROM CartJpaEntity c WHERE c.user IS NULL AND c.status = 'ACTIVE' AND c.lastActivityAt < :cutoffDate")
-    int deleteInactiveGuestCarts(@Param("cutoffDate") LocalDateTime cutoffDate);
-    
     // Cart activity tracking
     @Modifying
     @Transactional
@@ -1,5 +1,6 @@
 package com.ecommerce.infrastructure.persistence.repository;
 
+import com.ecommerce.domain.product.ProductStatus;
 import com.ecommerce.infrastructure.persistence.entity.CategoryJpaEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -10,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -68,83 +70,13 @@ public interface CategoryJpaRepository extends JpaRepository<CategoryJpaEntity,
     // Count active children of a category
     long countByParent_IdAndActive(String parentId, boolean active);
 
-    // Custom queries for hierarchical operations
-    
-    /**
-     * Find all descendants of a category (recursive)
-     */
-    @Query(value = """
-        WITH RECURSIVE category_hierarchy AS (
-            SELECT id, name, slug, description, parent_id, active, sort_order, 0 as level
-            FROM categories 
-            WHERE id = :categoryId
-            
-            UNION ALL
-            
-            SELECT c.id, c.name, c.slug, c.description, c.parent_id, c.active, c.sort_order, ch.level + 1
-            FROM categories c
-            INNER JOIN category_hierarchy ch ON c.parent_id = ch.id
-        )
-        SELECT * FROM category_hierarchy WHERE level > 0 ORDER BY level, sort_order, name
-        """, nativeQuery = true)
-    List<CategoryJpaEntity> findAllDescendants(@Param("categoryId") String categoryId);
-
-    /**
-     * Find all ancestors of a category (recursive)
-     */
-    @Query(value = """
-        WITH RECURSIVE category_ancestors AS (
-            SELECT id, name, slug, description, parent_id, active, sort_order, 0 as level
-            FROM categories 
-            WHERE id = :categoryId
-            
-            UNION ALL
-            
-            SELECT c.id, c.name, c.slug, c.description, c.parent_id, c.active, c.sort_order, ca.level + 1
-            FROM categories c
-            INNER JOIN category_ancestors ca ON ca.parent_id = c.id
-        )
-        SELECT * FROM category_ancestors WHERE level > 0 ORDER BY level DESC
-        """, nativeQuery = true)
-    List<CategoryJpaEntity> findAllAncestors(@Param("categoryId") String categoryId);
-
-    /**
-     * Find category path from root to specified category
-     */
-    @Query(value = """
-        WITH RECURSIVE category_path AS (
-            SELECT id, name, slug, description, parent_id, active, sort_order, 0 as level
-            FROM categories 
-            WHERE id = :categoryId
-            
-            UNION ALL
-            
-            SELECT c.id, c.name, c.slug, c.description, c.parent_id, c.active, c.sort_order, cp.level + 1
-            FROM categories c
-            INNER JOIN category_path cp ON cp.parent_id = c.id
-        )
-        SELECT * FROM category_path ORDER BY level DESC
-        """, nativeQuery = true)
-    List<CategoryJpaEntity> findCategoryPath(@Param("categoryId") String categoryId);
+    // Hierarchy (served from the in-memory CategoryTree; no recursive SQL)
 
     /**
-     * Find categories by depth level
+     * Flat rows for building the category tree: id, parent id, name, sort order
      */
-    @Query(value = """
-        WITH RECURSIVE category_levels AS (
-            SELECT id, name, slug, description, parent_id, active, sort_order, 0 as level
-            FROM categories 
-            WHERE parent_id IS NULL
-            
-            UNION ALL
-            
-            SELECT c.id, c.name, c.slug, c.description, c.parent_id, c.active, c.sort_order, cl.level + 1
-            FROM categories c
-            INNER JOIN category_levels cl ON c.parent_id = cl.id
-        )
-        SELECT * FROM category_levels WHERE level = :level ORDER BY sort_order, name
-        """, nativeQuery = true)
-    List<CategoryJpaEntity> findCategoriesByLevel(@Param("level") int level);
+    @Query("SELECT c.id, p.id, c.name, c.sortOrder FROM CategoryJpaEntity c LEFT JOIN c.parent p")
+    List<Object[]> findTreeRows();
 
     /**
      * Update sort order for categories
@@ -154,19 +86,11 @@ public interface CategoryJpaRepository extends JpaRepository<CategoryJpaEntity,
     int updateSortOrder(@Param("categoryId") String categoryId, @Param("sortOrder") int sortOrder);
 
     /**
-     * Deactivate category and all its descendants
+     * Deactivate the given categories, e.g. a whole subtree
      */
     @Modifying
-    @Query(value = """
-        WITH RECURSIVE category_to_deactivate AS (
-            SELECT id FROM categories WHERE id = :categoryId
-            UNION ALL
-            SELECT c.id FROM categories c
-            INNER JOIN category_to_deactivate ctd ON c.parent_id = ctd.id
-        )
-        UPDATE categories SET active = false WHERE id IN (SELECT id FROM category_to_deactivate)
-        """, nativeQuery = true)
-    int deactivateCategoryAndDescendants(@Param("categoryId") String categoryId);
+    @Query("UPDATE CategoryJpaEntity c SET c.active = false WHERE c.id IN :categoryIds")
+    int deactivateCategories(@Param("categoryIds") Collection<String> categoryIds);
 
     /**
      * Find categories that have products
@@ -181,32 +105,14 @@ public interface CategoryJpaRepository extends JpaRepository<CategoryJpaEntity,
     List<CategoryJpaEntity> findCategoriesWithActiveProducts();
 
     /**
-     * Count products in category and its descendants
+     * Count products in the given categories, e.g. a whole subtree
      */
-    @Query(value = """
-        WITH RECURSIVE category_tree AS (
-            SELECT id FROM categories WHERE id = :categoryId
-            UNION ALL
-            SELECT c.id FROM categories c
-            INNER JOIN category_tree ct ON c.parent_id = ct.id
-        )
-        SELECT COUNT(*) FROM products p 
-        WHERE p.category_id IN (SELECT id FROM category_tree)
-        """, nativeQuery = true)
-    long countProductsInCategoryTree(@Param("categoryId") String categoryId);
+    @Query("SELECT COUNT(p) FROM ProductJpaEntity p WHERE p.category.id IN :categoryIds")
+    long countProductsInCategories(@Param("categoryIds") Collection<String> categoryIds);
 
     /**
-     * Count active products in category and its descendants
+     * Count products with a status in the given categories
      */
-    @Query(value = """
-        WITH RECURSIVE category_tree AS (
-            SELECT id FROM categories WHERE id = :categoryId
-            UNION ALL
-            SELECT c.id FROM categories c
-            INNER JOIN category_tree ct ON c.parent_id = ct.id
-        )
-        SELECT COUNT(*) FROM products p 
-        WHERE p.category_id IN (SELECT id FROM category_tree) AND p.status = 'ACTIVE'
-        """, nativeQuery = true)
-    long countActiveProductsInCategoryTree(@Param("categoryId") String categoryId);
+    @Query("SELECT COUNT(p) FROM ProductJpaEntity p WHERE p.category.id IN :categoryIds AND p.status = :status")
+    long countProductsInCategoriesByStatus(@Param("categoryIds") Collection<String> categoryIds, @Param("status") ProductStatus status);
 } 
\ No newline at end of file
@@ -14,6 +14,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -194,4 +195,8 @@ public interface OrderItemJpaRepository extends JpaRepository<OrderItemJpaEntity
     @Transactional
     @Query("UPDATE OrderItemJpaEntity oi SET oi.discountAmount = :discountAmount WHERE oi.order.id = :orderId")
     int updateDiscountAmountByOrderId(@Param("orderId") String orderId, @Param("discountAmount") BigDecimal discountAmount);
-} 
\ No newline at end of file
+    
+    // Co-purchase index load: (order ID, product ID) pairs without loading entities
+    @Query("SELECT oi.order.id, oi.product.id FROM OrderItemJpaEntity oi WHERE oi.order.id IN :orderIds")
+    List<Object[]> findOrderAndProductIdsByOrderIds(@Param("orderIds") Collection<String> orderIds);
+}
\ No newline at end of file
@@ -5,6 +5,7 @@ import com.ecommerce.infrastructure.persistence.entity.OrderJpaEntity;
 import com.ecommerce.infrastructure.persistence.entity.UserJpaEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -23,6 +24,14 @@ import java.util.Optional;
 @Repository
 public interface OrderJpaRepository extends JpaRepository<OrderJpaEntity, String>, JpaSpecificationExecutor<OrderJpaEntity> {
 
+    /**
+     * Keyset predicate and order for newest-first order listings: rows strictly after the
+     * cursor row (afterDate, afterId), or from the start when afterDate is null
+     */
+    String ORDERS_AFTER_CURSOR = "(:afterDate IS NULL OR o.orderDate < :afterDate " +
+           "OR (o.orderDate = :afterDate AND o.id < :afterId)) " +
+           "ORDER BY o.orderDate DESC, o.id DESC";
+
     // Basic order queries
     Optional<OrderJpaEntity> findByOrderNumber(String orderNumber);
     
@@ -122,9 +131,6 @@ public interface OrderJpaRepository extends JpaRepository<OrderJpaEntity, String
     @Query("SELECT SUM(o.totalAmount) FROM OrderJpaEntity o WHERE o.customer.id = :customerId AND o.status IN :statuses")
     BigDecimal sumTotalAmountByCustomerIdAndStatusIn(@Param("customerId") String customerId, @Param("statuses") List<OrderStatus> statuses);
     
-    @Query("SELECT SUM(o.totalAmount) FROM OrderJpaEntity o WHERE o.orderDate BETWEEN :startDate AND :endDate AND o.status IN :statuses")
-    BigDecimal sumTotalAmountByDateRangeAndStatusIn(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate, @Param("statuses") List<OrderStatus> statuses);
-    
     // Complex queries
     @Query("SELECT o FROM OrderJpaEntity o WHERE o.customer.id = :customerId AND o.status = :status AND o.orderDate >= :since ORDER BY o.orderDate DESC")
     List<OrderJpaEntity> findByCustomerIdAndStatusAndOrderDateAfter(@Param("customerId") String customerId, @Param("status") OrderStatus status, @Param("since") LocalDateTime since);
@@ -148,13 +154,26 @@ public interface OrderJpaRepository extends JpaRepository<OrderJpaEntity, String
            "ORDER BY o.orderDate DESC")
     Page<OrderJpaEntity> searchCustomerOrders(@Param("customerId") String customerId, @Param("search") String search, Pageable pageable);
     
+    // Keyset (seek) pagination: no count query, served by the (..., order_date, id) composite indexes
+    @Query("SELECT o FROM OrderJpaEntity o WHERE o.customer.id = :customerId AND " + ORDERS_AFTER_CURSOR)
+    Slice<OrderJpaEntity> findCustomerOrdersAfter(@Param("customerId") String customerId, @Param("afterDate") LocalDateTime afterDate, @Param("afterId") String afterId, Pageable pageable);
+    
+    @Query("SELECT o FROM OrderJpaEntity o WHERE o.customer.id = :customerId AND o.status = :status AND " + ORDERS_AFTER_CURSOR)
+    Slice<OrderJpaEntity> findCustomerOrdersByStatusAfter(@Param("customerId") String customerId, @Param("status") OrderStatus status, @Param("afterDate") LocalDateTime afterDate, @Param("afterId") String afterId, Pageable pageable);
+    
+    @Query("SELECT o FROM OrderJpaEntity o WHERE o.status = :status AND " + ORDERS_AFTER_CURSOR)
+    Slice<OrderJpaEntity> findByStatusAfter(@Param("status") OrderStatus status, @Param("afterDate") LocalDateTime afterDate, @Param("afterId") String afterId, Pageable pageable);
+    
+    @Query("SELECT o FROM OrderJpaEntity o WHERE o.customer.id = :customerId AND (" +
+           "LOWER(o.orderNumber) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(o.trackingNumber) LIKE LOWER(CONCAT('%', :search, '%'))) AND " + ORDERS_AFTER_CURSOR)
+    Slice<OrderJpaEntity> searchCustomerOrdersAfter(@Param("customerId") String customerId, @Param("search") String search, @Param("afterDate") LocalDateTime afterDate, @Param("afterId") String afterId, Pageable pageable);
+    
     // Aggregation queries
     @Query("SELECT o.status, COUNT(o) FROM OrderJpaEntity o GROUP BY o.status")
     List<Object[]> countOrdersByStatus();
     
-    @Query("SELECT o.status, COUNT(o) FROM OrderJpaEntity o WHERE o.orderDate BETWEEN :startDate AND :endDate GROUP BY o.status")
-    List<Object[]> countOrdersByStatusAndDateRange(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
-    
-    @Query("SELECT DATE(o.orderDate), COUNT(o), SUM(o.totalAmount) FROM OrderJpaEntity o WHERE o.orderDate BETWEEN :startDate AND :endDate GROUP BY DATE(o.orderDate) ORDER BY DATE(o.orderDate)")
-    List<Object[]> getDailyOrderStatistics(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
-} 
\ No newline at end of file
+    // Co-purchase index load: order IDs and dates in ID order, one page at a time
+    @Query("SELECT o.id, o.orderDate FROM OrderJpaEntity o WHERE o.id > :afterId AND o.status <> :excludedStatus ORDER BY o.id")
+    List<Object[]> findIdsAndDatesAfter(@Param("afterId") String afterId, @Param("excludedStatus") OrderStatus excludedStatus, Pageable pageable);
+}
\ No newline at end of file
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -109,4 +110,13 @@ public interface PaymentJpaRepository extends JpaRepository<PaymentJpaEntity, Lo
      */
     @Query("SELECT p FROM PaymentJpaEntity p WHERE p.user.id = :userId AND p.status IN ('FAILED', 'CANCELLED') ORDER BY p.createdAt DESC")
     List<PaymentJpaEntity> findFailedPaymentsByUser(@Param("userId") String userId);
-} 
\ No newline at end of file
+    
+    /**
+     * Find the payments for several Razorpay order IDs, with their orders
+     * 
+     * @param razorpayOrderIds the Razorpay order IDs
+     * @return Payments for those Razorpay orders
+     */
+    @Query("SELECT p FROM PaymentJpaEntity p LEFT JOIN FETCH p.order WHERE p.razorpayOrderId IN :razorpayOrderIds")
+    List<PaymentJpaEntity> findByRazorpayOrderIdIn(@Param("razorpayOrderIds") Collection<String> razorpayOrderIds);
+}
\ No newline at end of file
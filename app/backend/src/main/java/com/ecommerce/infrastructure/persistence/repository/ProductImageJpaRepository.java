@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +25,14 @@ public interface ProductImageJpaRepository extends JpaRepository<ProductImageJpa
     @Query("SELECT pi FROM ProductImageJpaEntity pi WHERE pi.product.id = :productId ORDER BY pi.displayOrder ASC")
     List<ProductImageJpaEntity> findByProductIdOrderByDisplayOrder(@Param("productId") String productId);
 
+    /**
+     * Images of several products in one query, for assembling a listing page
+     * @param productIds the product IDs
+     * @return rows of {productId, imageUrl, isPrimary} ordered by display order
+     */
+    @Query("SELECT pi.product.id, pi.imageUrl, pi.isPrimary FROM ProductImageJpaEntity pi WHERE pi.product.id IN :productIds ORDER BY pi.displayOrder ASC")
+    List<Object[]> findImageRowsByProductIds(@Param("productIds") Collection<String> productIds);
+
     /**
      * Find primary image for a product
      * @param productId the product ID
@@ -1,17 +1,23 @@
 package com.ecommerce.infrastructure.persistence.repository;
 
+import com.ecommerce.application.dto.ProductListingDto;
 import com.ecommerce.domain.product.ProductStatus;
 import com.ecommerce.infrastructure.persistence.entity.CategoryJpaEntity;
 import com.ecommerce.infrastructure.persistence.entity.ProductJpaEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,10 +28,37 @@ import java.util.Optional;
 @Repository
 public interface ProductJpaRepository extends JpaRepository<ProductJpaEntity, String> {
 
+    /**
+     * Scalar columns of a catalog listing row; no product entity is loaded, so none of its
+     * lazy associations can be initialized per row
+     */
+    String LISTING_SELECT = """
+        SELECT new com.ecommerce.application.dto.ProductListingDto(
+            p.id, p.name, p.description, p.sku, p.brand, p.price, p.originalPrice, p.baseAmount,
+            p.taxRate, p.taxAmount, p.stockQuantity, p.reservedQuantity, p.status, p.featured,
+            p.averageRating, p.reviewCount, p.isVariableDimension, c.id, c.name, p.createdAt)
+        """;
+
+    String LISTING_FILTER = """
+        FROM ProductJpaEntity p JOIN p.category c WHERE
+        (:name IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))) AND
+        (:brand IS NULL OR LOWER(p.brand) = LOWER(:brand)) AND
+        (:categoryId IS NULL OR c.id = :categoryId) AND
+        (:status IS NULL OR p.status = :status) AND
+        (:minPrice IS NULL OR p.price >= :minPrice) AND
+        (:maxPrice IS NULL OR p.price <= :maxPrice) AND
+        (:featured IS NULL OR p.featured = :featured) AND
+        (:activeCategoriesOnly = false OR c.active = true) AND
+        (:availableOnly = false OR (p.stockQuantity - p.reservedQuantity) > 0)
+        """;
+
     // Basic finding operations
     Optional<ProductJpaEntity> findBySku(String sku);
     
     boolean existsBySku(String sku);
+
+    @Query("SELECT p.id FROM ProductJpaEntity p WHERE p.sku = :sku")
+    Optional<String> findIdBySku(@Param("sku") String sku);
     
     Optional<ProductJpaEntity> findBySkuAndStatus(String sku, ProductStatus status);
 
@@ -129,22 +162,66 @@ public interface ProductJpaRepository extends JpaRepository<ProductJpaEntity, St
         Pageable pageable
     );
 
+    // Catalog listing projections
+
     /**
-     * Find products in multiple categories (category tree search)
+     * Page of listing rows matching the given criteria; null criteria are ignored
      */
-    @Query(value = """
-        WITH RECURSIVE category_tree AS (
-            SELECT id FROM categories WHERE id = :categoryId
-            UNION ALL
-            SELECT c.id FROM categories c
-            INNER JOIN category_tree ct ON c.parent_id = ct.id
-        )
-        SELECT p.* FROM products p 
-        WHERE p.category_id IN (SELECT id FROM category_tree) 
-        AND p.status = :status
-        ORDER BY p.name
-        """, nativeQuery = true)
-    List<ProductJpaEntity> findProductsInCategoryTree(@Param("categoryId") String categoryId, @Param("status") String status);
+    @Query(value = LISTING_SELECT + LISTING_FILTER, countQuery = "SELECT COUNT(p) " + LISTING_FILTER)
+    Page<ProductListingDto> findListing(
+        @Param("name") String name,
+        @Param("brand") String brand,
+        @Param("categoryId") String categoryId,
+        @Param("status") ProductStatus status,
+        @Param("minPrice") BigDecimal minPrice,
+        @Param("maxPrice") BigDecimal maxPrice,
+        @Param("featured") Boolean featured,
+        @Param("activeCategoriesOnly") boolean activeCategoriesOnly,
+        @Param("availableOnly") boolean availableOnly,
+        Pageable pageable
+    );
+
+    /**
+     * Products strictly after the given ID in ID order, one page at a time for full scans.
+     * Returned as a list, so there is no count query and every page is a primary key range scan.
+     */
+    @Query("SELECT p FROM ProductJpaEntity p WHERE p.id > :afterId ORDER BY p.id")
+    List<ProductJpaEntity> findAfterId(@Param("afterId") String afterId, Pageable pageable);
+
+    /**
+     * Listing rows matching the given criteria in (name, id) order, strictly after the cursor
+     * row (afterName, afterId) or from the start when afterName is null. Fetched as a slice,
+     * so there is no count query and every page costs the same.
+     */
+    @Query(LISTING_SELECT + LISTING_FILTER + """
+        AND (:afterName IS NULL OR p.name > :afterName OR (p.name = :afterName AND p.id > :afterId))
+        ORDER BY p.name, p.id
+        """)
+    Slice<ProductListingDto> findListingAfter(
+        @Param("name") String name,
+        @Param("brand") String brand,
+        @Param("categoryId") String categoryId,
+        @Param("status") ProductStatus status,
+        @Param("minPrice") BigDecimal minPrice,
+        @Param("maxPrice") BigDecimal maxPrice,
+        @Param("featured") Boolean featured,
+        @Param("activeCategoriesOnly") boolean activeCategoriesOnly,
+        @Param("availableOnly") boolean availableOnly,
+        @Param("afterName") String afterName,
+        @Param("afterId") String afterId,
+        Pageable pageable
+    );
+
+    /**
+     * Listing rows for the given product IDs, in no particular order
+     */
+    @Query(LISTING_SELECT + "FROM ProductJpaEntity p JOIN p.category c WHERE p.id IN :ids")
+    List<ProductListingDto> findListingByIds(@Param("ids") Collection<String> ids);
+
+    /**
+     * Find products with a status in multiple categories (e.g. a category subtree)
+     */
+    List<ProductJpaEntity> findByCategory_IdInAndStatusOrderByNameAsc(Collection<String> categoryIds, ProductStatus status);
 
     /**
      * Find products by tags
@@ -216,6 +293,17 @@ public interface ProductJpaRepository extends JpaRepository<ProductJpaEntity, St
     @Query("UPDATE ProductJpaEntity p SET p.stockQuantity = :quantity WHERE p.id = :productId")
     int updateStockQuantity(@Param("productId") String productId, @Param("quantity") int quantity);
     
+    /**
+     * Lock product rows for update in ID order (one statement, deterministic lock order)
+     * and return their current state as {id, version, hot_stock, hot_stock_leased} rows.
+     * Pending changes are not auto-flushed so the caller can keep all writes for a single
+     * flush at commit.
+     */
+    @Query(value = "SELECT id, version, hot_stock, hot_stock_leased FROM products WHERE id IN (:ids) " +
+            "ORDER BY id FOR UPDATE", nativeQuery = true)
+    @QueryHints(@QueryHint(name = "org.hibernate.flushMode", value = "COMMIT"))
+    List<Object[]> lockByIdsInOrder(@Param("ids") Collection<String> ids);
+
     /**
      * Update reserved quantity
      */
@@ -1,5 +1,6 @@
 package com.ecommerce.infrastructure.persistence.repository;
 
+import com.ecommerce.application.dto.RecommendedProductDto;
 import com.ecommerce.domain.recommendation.RecommendationType;
 import com.ecommerce.infrastructure.persistence.entity.ProductRecommendationJpaEntity;
 import org.springframework.data.domain.Page;
@@ -10,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * JPA Repository for ProductRecommendation entities
@@ -43,6 +45,29 @@ public interface ProductRecommendationJpaRepository extends JpaRepository<Produc
            "ORDER BY pr.score DESC")
     Page<ProductRecommendationJpaEntity> findActiveRecommendationsByProductId(@Param("productId") String productId, Pageable pageable);
     
+    /**
+     * Find the highest scored recommendations for a product as compact summaries,
+     * without loading recommendation or product entities
+     */
+    @Query("SELECT new com.ecommerce.application.dto.RecommendedProductDto(" +
+           "rp.id, rp.name, rp.description, rp.sku, rp.brand, rp.price, rp.originalPrice, rp.stockQuantity, " +
+           "rp.reservedQuantity, rp.averageRating, rp.reviewCount, c.id, c.name, pr.recommendationType, pr.score) " +
+           "FROM ProductRecommendationJpaEntity pr " +
+           "JOIN pr.recommendedProduct rp " +
+           "JOIN rp.category c " +
+           "WHERE pr.sourceProduct.id = :productId " +
+           "AND pr.active = true " +
+           "AND rp.status = 'ACTIVE' " +
+           "AND rp.stockQuantity > 0 " +
+           "ORDER BY pr.score DESC")
+    List<RecommendedProductDto> findTopSummaries(@Param("productId") String productId, Pageable pageable);
+    
+    /**
+     * Source product of a recommendation
+     */
+    @Query("SELECT pr.sourceProduct.id FROM ProductRecommendationJpaEntity pr WHERE pr.id = :recommendationId")
+    Optional<String> findSourceProductIdById(@Param("recommendationId") String recommendationId);
+    
     /**
      * Find recommendations by type for a specific product
      */
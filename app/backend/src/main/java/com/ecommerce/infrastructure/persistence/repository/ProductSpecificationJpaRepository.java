@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +25,14 @@ public interface ProductSpecificationJpaRepository extends JpaRepository<Product
     @Query("SELECT ps FROM ProductSpecificationJpaEntity ps WHERE ps.product.id = :productId ORDER BY ps.displayOrder ASC")
     List<ProductSpecificationJpaEntity> findByProductIdOrderByDisplayOrder(@Param("productId") String productId);
 
+    /**
+     * Visible specifications of several products in one query, for assembling a listing page
+     * @param productIds the product IDs
+     * @return rows of {productId, specKey, specValue} ordered by display order
+     */
+    @Query("SELECT ps.product.id, ps.specKey, ps.specValue FROM ProductSpecificationJpaEntity ps WHERE ps.product.id IN :productIds AND ps.isVisible = true ORDER BY ps.displayOrder ASC")
+    List<Object[]> findVisibleRowsByProductIds(@Param("productIds") Collection<String> productIds);
+
     /**
      * Find specification by product ID and key
      * @param productId the product ID
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +25,14 @@ public interface ProductTagJpaRepository extends JpaRepository<ProductTagJpaEnti
     @Query("SELECT pt FROM ProductTagJpaEntity pt WHERE pt.product.id = :productId ORDER BY pt.tagName ASC")
     List<ProductTagJpaEntity> findByProductIdOrderByTagName(@Param("productId") String productId);
 
+    /**
+     * Visible tags of several products in one query, for assembling a listing page
+     * @param productIds the product IDs
+     * @return rows of {productId, tagName} ordered by tag name
+     */
+    @Query("SELECT pt.product.id, pt.tagName FROM ProductTagJpaEntity pt WHERE pt.product.id IN :productIds AND pt.isVisible = true ORDER BY pt.tagName ASC")
+    List<Object[]> findVisibleRowsByProductIds(@Param("productIds") Collection<String> productIds);
+
     /**
      * Find tag by product ID and tag name
      * @param productId the product ID
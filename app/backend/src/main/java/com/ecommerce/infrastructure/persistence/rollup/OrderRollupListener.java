@@ -0,0 +1,87 @@
+package com.ecommerce.infrastructure.persistence.rollup;
+
+import com.ecommerce.infrastructure.persistence.entity.OrderJpaEntity;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * JPA entity listener that records every change to an order's day, status or total
+ * in {@code order_rollup_journal}, whichever service made it.
+ *
+ * The rows are written with the order's own connection during the flush, so they
+ * commit or roll back with the order. Each change becomes an append rather than an
+ * update of the shared per-day counter row, so concurrent checkouts never wait on
+ * each other here; the rollup service folds the journal into
+ * {@code order_daily_rollups} in the background.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Component
+public class OrderRollupListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderRollupListener.class);
+
+    private static final String INSERT_JOURNAL_SQL =
+            "INSERT INTO order_rollup_journal (rollup_date, status, order_count_delta, amount_delta, created_at) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public OrderRollupListener(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostLoad
+    public void onOrderLoaded(OrderJpaEntity order) {
+        order.setRollupSnapshot(OrderRollupSnapshot.of(order));
+    }
+
+    @PostPersist
+    public void onOrderCreated(OrderJpaEntity order) {
+        OrderRollupSnapshot current = OrderRollupSnapshot.of(order);
+        append(current, 1);
+        order.setRollupSnapshot(current);
+    }
+
+    @PostUpdate
+    public void onOrderUpdated(OrderJpaEntity order) {
+        OrderRollupSnapshot previous = order.getRollupSnapshot();
+        OrderRollupSnapshot current = OrderRollupSnapshot.of(order);
+        if (previous == null) {
+            // Not expected for a managed order; the day's rollup is corrected by the next backfill of it
+            logger.warn("No rollup snapshot for updated order {}, daily rollup for {} may be off until rebuilt",
+                    order.getId(), current.getDay());
+        } else if (!previous.equals(current)) {
+            append(previous, -1);
+            append(current, 1);
+        }
+        order.setRollupSnapshot(current);
+    }
+
+    @PostRemove
+    public void onOrderRemoved(OrderJpaEntity order) {
+        OrderRollupSnapshot previous = order.getRollupSnapshot();
+        append(previous != null ? previous : OrderRollupSnapshot.of(order), -1);
+        order.setRollupSnapshot(null);
+    }
+
+    private void append(OrderRollupSnapshot snapshot, int sign) {
+        BigDecimal amount = sign < 0 ? snapshot.getTotalAmount().negate() : snapshot.getTotalAmount();
+        jdbcTemplate.update(INSERT_JOURNAL_SQL, Date.valueOf(snapshot.getDay()), snapshot.getStatus(), sign, amount,
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,64 @@
+package com.ecommerce.infrastructure.persistence.rollup;
+
+import com.ecommerce.infrastructure.persistence.entity.OrderJpaEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * The part of an order that the daily rollups count: its day, status and total.
+ * Kept on the entity as last loaded or written, so that a change can be turned into
+ * a removal from the old rollup and an addition to the new one.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+public final class OrderRollupSnapshot {
+
+    private final LocalDate day;
+    private final String status;
+    private final BigDecimal totalAmount;
+
+    private OrderRollupSnapshot(LocalDate day, String status, BigDecimal totalAmount) {
+        this.day = day;
+        this.status = status;
+        this.totalAmount = totalAmount;
+    }
+
+    /**
+     * Snapshot of the order's current values
+     */
+    public static OrderRollupSnapshot of(OrderJpaEntity order) {
+        return new OrderRollupSnapshot(
+                order.getOrderDate().toLocalDate(),
+                order.getStatus().name(),
+                order.getTotalAmount() != null ? order.getTotalAmount() : BigDecimal.ZERO);
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof OrderRollupSnapshot other)) return false;
+        // compareTo, so that 10.0 and 10.00 count as the same total
+        return day.equals(other.day) && status.equals(other.status)
+                && totalAmount.compareTo(other.totalAmount) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(day, status, totalAmount.stripTrailingZeros());
+    }
+}
@@ -0,0 +1,106 @@
+package com.ecommerce.infrastructure.persistence.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Routes connections of read-only transactions to the replica pool and everything
+ * else to the primary.
+ *
+ * Reads stay on the primary while the replica is unhealthy or lagging (see
+ * {@link ReplicaHealthMonitor}) and while the current user is pinned after a write of
+ * their own (see {@link ReadYourWritesTracker}), and always for read-only
+ * transactions started with {@link #primaryReadTransaction}. The decision is taken when a
+ * connection is fetched, so this data source has to sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the
+ * transaction manager opens the connection before the transaction's read-only flag
+ * is published, and the proxy defers that until the first statement.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * Lookup keys of the two pools
+     */
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    /**
+     * Name of the read-only transactions that {@link #primaryReadTransaction} starts
+     */
+    public static final String PRIMARY_READ = "primary-read";
+
+    private final ReplicaHealthMonitor replicaHealth;
+    private final ReadYourWritesTracker readYourWrites;
+    private final Counter replicaReads;
+    private final Counter unhealthyFallbacks;
+    private final Counter pinnedFallbacks;
+    private final Counter primaryReads;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaHealthMonitor replicaHealth,
+                                      ReadYourWritesTracker readYourWrites, MeterRegistry meterRegistry) {
+        this.replicaHealth = replicaHealth;
+        this.readYourWrites = readYourWrites;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+
+        this.replicaReads = readCounter(meterRegistry, "replica");
+        this.unhealthyFallbacks = readCounter(meterRegistry, "primary_replica_unavailable");
+        this.pinnedFallbacks = readCounter(meterRegistry, "primary_read_your_writes");
+        this.primaryReads = readCounter(meterRegistry, "primary_requested");
+    }
+
+    /**
+     * Template for read-only transactions that always read the primary. In-process
+     * caches fill and rebuild with it: they often load right after a commit, and data
+     * loaded from a replica that has not caught up yet would be served until the next
+     * invalidation.
+     */
+    public static TransactionTemplate primaryReadTransaction(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.setName(PRIMARY_READ);
+        return template;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readYourWrites.recordWriteOnCommit();
+            return Target.PRIMARY;
+        }
+        if (PRIMARY_READ.equals(TransactionSynchronizationManager.getCurrentTransactionName())) {
+            primaryReads.increment();
+            return Target.PRIMARY;
+        }
+        if (!replicaHealth.isReplicaUsable()) {
+            unhealthyFallbacks.increment();
+            return Target.PRIMARY;
+        }
+        if (readYourWrites.isPinned()) {
+            pinnedFallbacks.increment();
+            return Target.PRIMARY;
+        }
+        replicaReads.increment();
+        return Target.REPLICA;
+    }
+
+    private static Counter readCounter(MeterRegistry registry, String route) {
+        return Counter.builder("datasource.routing.reads")
+                .description("Connections fetched for read-only transactions, by where they were routed")
+                .tag("route", route)
+                .register(registry);
+    }
+}
@@ -0,0 +1,160 @@
+package com.ecommerce.infrastructure.persistence.routing;
+
+import com.ecommerce.infrastructure.persistence.transaction.AfterCommit;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a user's reads on the primary for a short window after they committed a write,
+ * so they do not read replica data that has not caught up with their own change.
+ *
+ * A commit of a read-write transaction pins the current request, for the rest of it,
+ * and the authenticated user, until the window has passed. Guests are pinned for
+ * their request only; their cart reads run in read-write transactions anyway.
+ * Writes outside a request or a security context (scheduled jobs) pin nobody.
+ *
+ * The user's pin is kept in this instance and also sent to the client as the
+ * {@value #LAST_WRITE_COOKIE} cookie, which holds the time of the write. Behind a load
+ * balancer the next request may reach another instance, which pins the user from the
+ * cookie alone. That instance compares the time with its own clock, so clock skew between
+ * instances shortens or lengthens the window. A forged cookie can only send its own
+ * client's reads to the primary, and for at most one window.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+public class ReadYourWritesTracker {
+
+    private static final String PINNED_ATTRIBUTE = ReadYourWritesTracker.class.getName() + ".PINNED";
+    static final String LAST_WRITE_COOKIE = "last_write_at";
+
+    private final long windowNanos;
+    private final Map<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(long windowMillis) {
+        this.windowNanos = windowMillis * 1_000_000L;
+    }
+
+    /**
+     * Pin the current request and user once the current read-write transaction
+     * commits; does nothing outside a transaction
+     */
+    void recordWriteOnCommit() {
+        if (windowNanos <= 0 || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        // Further connections in the same transaction find the pin already registered
+        AfterCommit.runOnce(PINNED_ATTRIBUTE, this::pinCurrentCaller);
+    }
+
+    /**
+     * Whether the current request or user wrote recently enough to read from the primary
+     */
+    boolean isPinned() {
+        if (windowNanos <= 0) {
+            return false;
+        }
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null && request.getAttribute(PINNED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return true;
+        }
+        String user = currentUser();
+        if (user == null) {
+            return false;
+        }
+        if (request instanceof ServletRequestAttributes servlet && isRecent(lastWriteFromCookie(servlet.getRequest()))) {
+            return true;
+        }
+        Long lastWrite = lastWriteByUser.get(user);
+        if (lastWrite == null) {
+            return false;
+        }
+        if (System.nanoTime() - lastWrite < windowNanos) {
+            return true;
+        }
+        lastWriteByUser.remove(user, lastWrite);
+        return false;
+    }
+
+    /**
+     * Forget users whose window has passed
+     */
+    void purgeExpired() {
+        long now = System.nanoTime();
+        lastWriteByUser.values().removeIf(lastWrite -> now - lastWrite >= windowNanos);
+    }
+
+    private void pinCurrentCaller() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.setAttribute(PINNED_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+        String user = currentUser();
+        if (user != null) {
+            lastWriteByUser.put(user, System.nanoTime());
+            if (request instanceof ServletRequestAttributes servlet) {
+                sendLastWriteCookie(servlet.getResponse());
+            }
+        }
+    }
+
+    /**
+     * Whether a write at the given wall-clock time is still within the window. Times
+     * further in the future than a window are not trusted.
+     */
+    private boolean isRecent(long lastWriteMillis) {
+        long age = System.currentTimeMillis() - lastWriteMillis;
+        long windowMillis = windowNanos / 1_000_000L;
+        return lastWriteMillis > 0 && age < windowMillis && age > -windowMillis;
+    }
+
+    private void sendLastWriteCookie(HttpServletResponse response) {
+        // Headers can no longer be added once the response has started
+        if (response == null || response.isCommitted()) {
+            return;
+        }
+        Cookie cookie = new Cookie(LAST_WRITE_COOKIE, Long.toString(System.currentTimeMillis()));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, (windowNanos + 999_999_999L) / 1_000_000_000L));
+        cookie.setAttribute("SameSite", "Lax");
+        response.addCookie(cookie);
+    }
+
+    private static long lastWriteFromCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (LAST_WRITE_COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
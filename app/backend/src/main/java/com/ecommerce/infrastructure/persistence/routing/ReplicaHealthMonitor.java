@@ -0,0 +1,103 @@
+package com.ecommerce.infrastructure.persistence.routing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Periodically checks that the replica accepts connections and, when a lag query is
+ * configured, that it is not further behind the primary than allowed.
+ *
+ * The lag query must return one row with the lag in seconds, e.g. from a heartbeat
+ * table the primary updates; a NULL lag (replication stopped) counts as unhealthy.
+ * Until the first check has passed, reads go to the primary.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+public class ReplicaHealthMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaHealthMonitor.class);
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final ReadYourWritesTracker readYourWrites;
+
+    private volatile boolean replicaUsable;
+    private volatile double lastLagSeconds = Double.NaN;
+
+    public ReplicaHealthMonitor(DataSource replica, String lagQuery, double maxLagSeconds,
+                                ReadYourWritesTracker readYourWrites, MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+        this.readYourWrites = readYourWrites;
+
+        Gauge.builder("datasource.replica.usable", this, monitor -> monitor.replicaUsable ? 1 : 0)
+                .description("Whether read-only transactions are routed to the replica")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lastLagSeconds)
+                .description("Replica lag in seconds reported by the lag query")
+                .register(meterRegistry);
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    @Scheduled(fixedDelayString = "${database.replica.health-check-interval-ms:5000}")
+    public void check() {
+        readYourWrites.purgeExpired();
+
+        String problem;
+        try (Connection connection = replica.getConnection()) {
+            problem = connection.isValid(VALIDATION_TIMEOUT_SECONDS) ? checkLag(connection) : "connection is not valid";
+        } catch (SQLException e) {
+            problem = e.getMessage();
+        }
+
+        boolean usable = problem == null;
+        if (usable != replicaUsable) {
+            if (usable) {
+                logger.info("Replica is healthy; routing read-only transactions to it");
+            } else {
+                logger.warn("Replica is unavailable ({}); routing read-only transactions to the primary", problem);
+            }
+        }
+        replicaUsable = usable;
+    }
+
+    /**
+     * @return why the replica is too far behind, or null if it is not
+     */
+    private String checkLag(Connection connection) throws SQLException {
+        if (lagQuery == null) {
+            return null;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(lagQuery)) {
+            if (!result.next()) {
+                lastLagSeconds = Double.NaN;
+                return "lag query returned no row";
+            }
+            double lag = result.getDouble(1);
+            if (result.wasNull()) {
+                lastLagSeconds = Double.NaN;
+                return "replication is not running";
+            }
+            lastLagSeconds = lag;
+            return lag > maxLagSeconds ? "lag of " + lag + "s exceeds " + maxLagSeconds + "s" : null;
+        }
+    }
+}
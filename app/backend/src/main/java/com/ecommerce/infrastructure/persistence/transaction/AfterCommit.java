@@ -0,0 +1,67 @@
+package com.ecommerce.infrastructure.persistence.transaction;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Objects;
+
+/**
+ * Runs an action once the current transaction commits, or immediately if there is none.
+ *
+ * Caches, in-memory indexes and aggregates that mirror the database must only see a
+ * change after it is committed: applied earlier, a rollback would leave them ahead of
+ * the database, and other transactions could repopulate them from the old rows before
+ * the commit. Actions registered here run in registration order after the commit and
+ * are dropped on rollback.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Run {@code action} after the current transaction commits, or now if there is none
+     */
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new Action(null, action));
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Like {@link #run(Runnable)}, but register at most one action per {@code key} in the
+     * current transaction; later calls with an equal key are ignored until it ends
+     */
+    public static void runOnce(Object key, Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof Action registered && Objects.equals(registered.key, key)) {
+                return;
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new Action(key, action));
+    }
+
+    private static final class Action implements TransactionSynchronization {
+        private final Object key;
+        private final Runnable action;
+
+        Action(Object key, Runnable action) {
+            this.key = key;
+            this.action = action;
+        }
+
+        @Override
+        public void afterCommit() {
+            action.run();
+        }
+    }
+}
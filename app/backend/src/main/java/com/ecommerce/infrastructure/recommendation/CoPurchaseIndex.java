@@ -0,0 +1,419 @@
+package com.ecommerce.infrastructure.recommendation;
+
+import com.ecommerce.domain.order.OrderStatus;
+import com.ecommerce.infrastructure.persistence.repository.OrderItemJpaRepository;
+import com.ecommerce.infrastructure.persistence.repository.OrderJpaRepository;
+import com.ecommerce.infrastructure.persistence.routing.ReadWriteRoutingDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory "frequently bought together" index built from order history.
+ *
+ * Every pair of distinct products in an order adds weight to each other's entry,
+ * 1/(n-1) for an order of n distinct products so that large baskets do not drown out
+ * small ones. Weight decays exponentially with the order's age. Products are
+ * dictionary-encoded to ints; each product keeps its co-purchase weights in a
+ * primitive {@link IntFloatHashMap} and its strongest neighbours in a bounded min-heap,
+ * so a lookup is a copy of at most top-k entries with no database access.
+ *
+ * Decay is applied implicitly: a contribution is stored multiplied by
+ * 2^((orderTime - epoch) / halfLife), and lookups multiply by 2^((epoch - now) / halfLife).
+ * Since all weights decay by the same factor their order never changes, so weights only
+ * ever grow, and a neighbour can only enter a product's top-k by passing its weakest
+ * member; the heaps stay exact without rescans. When stored factors get large the epoch
+ * moves forward and every weight is rescaled.
+ *
+ * The index is loaded once at startup from orders that were not cancelled and then
+ * maintained by {@link com.ecommerce.application.service.OrderService} after each
+ * committed order. Later cancellations are not subtracted.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Component
+public class CoPurchaseIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoPurchaseIndex.class);
+
+    private static final int LOAD_BATCH_SIZE = 500;
+    private static final int MAX_BASKET_SIZE = 50;
+    private static final double MAX_EXPONENT = 64;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> codesByProductId = new HashMap<>();
+    private final List<String> productIds = new ArrayList<>();
+    private final List<IntFloatHashMap> weights = new ArrayList<>();
+    private final List<TopNeighbours> neighbours = new ArrayList<>();
+
+    private long epochSeconds = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
+    private long pairs;
+
+    private volatile boolean ready;
+    // Orders committed before the load starts reading are in the pages it reads as well
+    private boolean loading = true;
+    private final Set<String> recordedWhileLoading = new HashSet<>();
+
+    private final OrderJpaRepository orderRepository;
+    private final OrderItemJpaRepository orderItemRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${recommendation.co-purchase.top-k:20}")
+    private int topK;
+
+    @Value("${recommendation.co-purchase.half-life-days:90}")
+    private double halfLifeDays;
+
+    @Autowired
+    public CoPurchaseIndex(OrderJpaRepository orderRepository, OrderItemJpaRepository orderItemRepository,
+                           PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.readOnlyTransaction = ReadWriteRoutingDataSource.primaryReadTransaction(transactionManager);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // Lifecycle
+
+    /**
+     * Build the index from order history once the application has started.
+     * Orders recorded at any time before the load completes are not counted twice.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        load();
+    }
+
+    private void load() {
+        long started = System.currentTimeMillis();
+        try {
+            String afterId = "";
+            int loaded = 0;
+            boolean hasNext = true;
+            while (hasNext) {
+                String cursor = afterId;
+                Map<String, Basket> baskets = readOnlyTransaction.execute(status -> readBaskets(cursor));
+                hasNext = baskets != null && baskets.size() == LOAD_BATCH_SIZE;
+                if (baskets != null && !baskets.isEmpty()) {
+                    withWriteLock(() -> baskets.forEach((orderId, basket) -> {
+                        if (!recordedWhileLoading.contains(orderId)) {
+                            addBasket(basket.productIds, basket.orderDate);
+                        }
+                    }));
+                    loaded += baskets.size();
+                    for (String orderId : baskets.keySet()) {
+                        afterId = orderId;
+                    }
+                }
+            }
+            ready = true;
+            logger.info("Co-purchase index loaded {} orders ({} product pairs) in {} ms",
+                    loaded, pairs, System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            logger.error("Failed to load co-purchase index, frequently bought together will be empty", e);
+        } finally {
+            withWriteLock(() -> {
+                loading = false;
+                recordedWhileLoading.clear();
+            });
+        }
+    }
+
+    /**
+     * The next page of orders after the given ID, in ID order, with their product IDs
+     */
+    private Map<String, Basket> readBaskets(String afterId) {
+        Map<String, Basket> baskets = new LinkedHashMap<>();
+        for (Object[] row : orderRepository.findIdsAndDatesAfter(afterId, OrderStatus.CANCELLED,
+                PageRequest.of(0, LOAD_BATCH_SIZE))) {
+            baskets.put((String) row[0], new Basket((LocalDateTime) row[1]));
+        }
+        if (!baskets.isEmpty()) {
+            for (Object[] row : orderItemRepository.findOrderAndProductIdsByOrderIds(baskets.keySet())) {
+                baskets.get((String) row[0]).productIds.add((String) row[1]);
+            }
+        }
+        return baskets;
+    }
+
+    /**
+     * Whether the initial load has completed
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Maintenance
+
+    /**
+     * Count a committed order. Call once per order, after its transaction commits.
+     */
+    public void recordOrder(String orderId, Collection<String> orderProductIds, LocalDateTime orderDate) {
+        withWriteLock(() -> {
+            if (loading) {
+                recordedWhileLoading.add(orderId);
+            }
+            addBasket(orderProductIds, orderDate);
+        });
+    }
+
+    private void addBasket(Collection<String> basketProductIds, LocalDateTime orderDate) {
+        Set<String> distinct = new LinkedHashSet<>(basketProductIds);
+        int n = distinct.size();
+        if (n < 2 || n > MAX_BASKET_SIZE) {
+            return;
+        }
+
+        double exponent = exponentAt(orderDate);
+        if (exponent > MAX_EXPONENT) {
+            rescale(exponent);
+            exponent = exponentAt(orderDate);
+        }
+        float weight = (float) (Math.pow(2, exponent) / (n - 1));
+        if (weight == 0f) {
+            return;
+        }
+
+        int[] codes = new int[n];
+        int i = 0;
+        for (String productId : distinct) {
+            codes[i++] = encode(productId);
+        }
+        for (int a = 0; a < n; a++) {
+            IntFloatHashMap productWeights = weights.get(codes[a]);
+            TopNeighbours top = neighbours.get(codes[a]);
+            for (int b = 0; b < n; b++) {
+                if (a != b) {
+                    int before = productWeights.size();
+                    top.offer(codes[b], productWeights.add(codes[b], weight));
+                    pairs += productWeights.size() - before;
+                }
+            }
+        }
+    }
+
+    /**
+     * Move the epoch up to the given exponent and shrink every stored weight to match
+     */
+    private void rescale(double exponent) {
+        long shiftSeconds = (long) (Math.floor(exponent) * halfLifeSeconds());
+        float factor = (float) Math.pow(2, -Math.floor(exponent));
+        for (int code = 0; code < weights.size(); code++) {
+            weights.get(code).scale(factor);
+            neighbours.get(code).scale(factor);
+        }
+        epochSeconds += shiftSeconds;
+        logger.info("Rescaled co-purchase weights, epoch moved forward {} seconds", shiftSeconds);
+    }
+
+    private int encode(String productId) {
+        Integer code = codesByProductId.get(productId);
+        if (code == null) {
+            code = productIds.size();
+            codesByProductId.put(productId, code);
+            productIds.add(productId);
+            weights.add(new IntFloatHashMap());
+            neighbours.add(new TopNeighbours(topK));
+        }
+        return code;
+    }
+
+    // Lookups
+
+    /**
+     * Products most often bought together with the given one, strongest first, with
+     * their decayed weights as of now
+     */
+    public List<ScoredProduct> topCoPurchased(String productId, int limit) {
+        lock.readLock().lock();
+        try {
+            Integer code = codesByProductId.get(productId);
+            if (code == null || limit <= 0) {
+                return List.of();
+            }
+            float decay = (float) Math.pow(2, -exponentAt(LocalDateTime.now()));
+            TopNeighbours top = neighbours.get(code);
+            Integer[] ranked = top.rankedPositions();
+            List<ScoredProduct> result = new ArrayList<>(Math.min(limit, ranked.length));
+            for (int i = 0; i < ranked.length && result.size() < limit; i++) {
+                result.add(new ScoredProduct(productIds.get(top.codes[ranked[i]]), top.heapWeights[ranked[i]] * decay));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int productCount() {
+        lock.readLock().lock();
+        try {
+            return productIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private double exponentAt(LocalDateTime time) {
+        return (time.toEpochSecond(ZoneOffset.UTC) - epochSeconds) / halfLifeSeconds();
+    }
+
+    private double halfLifeSeconds() {
+        return halfLifeDays * 86_400d;
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * A recommended product and its co-purchase weight
+     */
+    public static final class ScoredProduct {
+        private final String productId;
+        private final float score;
+
+        ScoredProduct(String productId, float score) {
+            this.productId = productId;
+            this.score = score;
+        }
+
+        public String getProductId() {
+            return productId;
+        }
+
+        public float getScore() {
+            return score;
+        }
+    }
+
+    /**
+     * Bounded min-heap of a product's strongest neighbours. Weights offered for a
+     * neighbour never decrease, which keeps the heap exact.
+     */
+    private static final class TopNeighbours {
+        private final int[] codes;
+        private final float[] heapWeights;
+        private int size;
+
+        TopNeighbours(int capacity) {
+            this.codes = new int[capacity];
+            this.heapWeights = new float[capacity];
+        }
+
+        void offer(int code, float weight) {
+            for (int i = 0; i < size; i++) {
+                if (codes[i] == code) {
+                    heapWeights[i] = weight;
+                    siftDown(i);
+                    return;
+                }
+            }
+            if (size < codes.length) {
+                codes[size] = code;
+                heapWeights[size] = weight;
+                siftUp(size++);
+            } else if (size > 0 && weight > heapWeights[0]) {
+                codes[0] = code;
+                heapWeights[0] = weight;
+                siftDown(0);
+            }
+        }
+
+        void scale(float factor) {
+            for (int i = 0; i < size; i++) {
+                heapWeights[i] *= factor;
+            }
+        }
+
+        /**
+         * Positions in the heap from strongest to weakest
+         */
+        Integer[] rankedPositions() {
+            Integer[] positions = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                positions[i] = i;
+            }
+            Arrays.sort(positions, (a, b) -> Float.compare(heapWeights[b], heapWeights[a]));
+            return positions;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heapWeights[parent] <= heapWeights[i]) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int smallest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && heapWeights[left] < heapWeights[smallest]) {
+                    smallest = left;
+                }
+                if (right < size && heapWeights[right] < heapWeights[smallest]) {
+                    smallest = right;
+                }
+                if (smallest == i) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int code = codes[a];
+            codes[a] = codes[b];
+            codes[b] = code;
+            float weight = heapWeights[a];
+            heapWeights[a] = heapWeights[b];
+            heapWeights[b] = weight;
+        }
+    }
+
+    private static final class Basket {
+        private final LocalDateTime orderDate;
+        private final List<String> productIds = new ArrayList<>(4);
+
+        Basket(LocalDateTime orderDate) {
+            this.orderDate = orderDate;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.ecommerce.infrastructure.recommendation;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from non-negative int keys to float values
+ *
+ * Keys and values live in two parallel primitive arrays probed linearly, so an entry
+ * costs eight bytes plus load-factor slack instead of two boxed objects and a node.
+ * There is no removal; the co-purchase weights it holds only grow. Not thread-safe.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+final class IntFloatHashMap {
+
+    private static final int EMPTY = -1;
+    private static final int MIN_CAPACITY = 4;
+
+    private int[] keys;
+    private float[] values;
+    private int size;
+
+    IntFloatHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    IntFloatHashMap(int capacity) {
+        int slots = Integer.highestOneBit(Math.max(MIN_CAPACITY, capacity) * 2 - 1);
+        keys = new int[slots];
+        values = new float[slots];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Add to the value of a key, starting from zero if it is absent
+     *
+     * @return The new value
+     */
+    float add(int key, float delta) {
+        int slot = slotOf(key, keys);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            size++;
+            values[slot] = delta;
+            if (size * 4 > keys.length * 3) {
+                grow();
+            }
+            return delta;
+        }
+        return values[slot] += delta;
+    }
+
+    /**
+     * Multiply every value by the same factor
+     */
+    void scale(float factor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                values[i] *= factor;
+            }
+        }
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        float[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new float[oldValues.length * 2];
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slotOf(oldKeys[i], keys);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int slotOf(int key, int[] table) {
+        int mask = table.length - 1;
+        // Dictionary codes are dense, so spread them before masking
+        int slot = (key * 0x9E3779B9) >>> 7 & mask;
+        while (table[slot] != EMPTY && table[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
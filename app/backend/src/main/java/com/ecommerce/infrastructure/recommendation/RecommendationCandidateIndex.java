@@ -0,0 +1,219 @@
+package com.ecommerce.infrastructure.recommendation;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable in-memory grouping of the products that may be recommended
+ *
+ * Only products with stock are candidates, and a candidate is only offered to source
+ * products with the same status. Candidates are grouped once, per status, by category,
+ * by brand and by price, so scoring a source product needs no further queries.
+ * Category and brand groups are filled in product ID order and keep only as many IDs
+ * as a rule can use, plus one in case the source product itself is among them. Price
+ * groups are sorted by price, so a price band is a binary search away.
+ *
+ * Lookups only read, so one index can be shared by any number of scoring threads.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+public final class RecommendationCandidateIndex {
+
+    private final Map<String, List<String>> byCategory;
+    private final Map<String, List<String>> byBrand;
+    private final Map<String, PriceBand> byPrice;
+    private final int size;
+
+    private RecommendationCandidateIndex(Map<String, List<String>> byCategory, Map<String, List<String>> byBrand,
+                                         Map<String, PriceBand> byPrice, int size) {
+        this.byCategory = byCategory;
+        this.byBrand = byBrand;
+        this.byPrice = byPrice;
+        this.size = size;
+    }
+
+    /**
+     * Start an index that keeps up to the given number of candidates per category and brand
+     */
+    public static Builder builder(int categoryLimit, int brandLimit) {
+        return new Builder(categoryLimit, brandLimit);
+    }
+
+    // Lookups
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Candidates in the same category and status, in product ID order
+     */
+    public List<String> sameCategory(String status, String categoryId, String excludedId, int limit) {
+        return firstExcluding(byCategory.get(key(status, categoryId)), excludedId, limit);
+    }
+
+    /**
+     * Candidates of the same brand and status, in product ID order
+     */
+    public List<String> sameBrand(String status, String brand, String excludedId, int limit) {
+        return firstExcluding(byBrand.get(key(status, brand)), excludedId, limit);
+    }
+
+    /**
+     * Candidates with the same status priced within [minPrice, maxPrice], closest to
+     * the given price first
+     */
+    public List<String> nearestPrice(String status, BigDecimal price, BigDecimal minPrice, BigDecimal maxPrice,
+                                     String excludedId, int limit) {
+        PriceBand band = byPrice.get(status);
+        if (band == null || price == null || limit <= 0) {
+            return List.of();
+        }
+        List<String> result = new ArrayList<>(limit);
+        // Walk outwards from the price, always taking the closer of the two neighbours
+        int above = band.firstAtLeast(price);
+        int below = above - 1;
+        while (result.size() < limit) {
+            boolean hasBelow = below >= 0 && band.prices[below].compareTo(minPrice) >= 0;
+            boolean hasAbove = above < band.prices.length && band.prices[above].compareTo(maxPrice) <= 0;
+            int next;
+            if (hasBelow && hasAbove) {
+                BigDecimal belowGap = price.subtract(band.prices[below]);
+                BigDecimal aboveGap = band.prices[above].subtract(price);
+                next = aboveGap.compareTo(belowGap) <= 0 ? above++ : below--;
+            } else if (hasAbove) {
+                next = above++;
+            } else if (hasBelow) {
+                next = below--;
+            } else {
+                break;
+            }
+            if (!band.ids[next].equals(excludedId)) {
+                result.add(band.ids[next]);
+            }
+        }
+        return result;
+    }
+
+    private static List<String> firstExcluding(List<String> group, String excludedId, int limit) {
+        if (group == null || limit <= 0) {
+            return List.of();
+        }
+        List<String> result = new ArrayList<>(Math.min(limit, group.size()));
+        for (String id : group) {
+            if (result.size() == limit) {
+                break;
+            }
+            if (!id.equals(excludedId)) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    private static String key(String status, String value) {
+        return status + '\n' + value;
+    }
+
+    /**
+     * Accumulates candidate rows, which must be added in product ID order
+     */
+    public static final class Builder {
+        private final int categoryCapacity;
+        private final int brandCapacity;
+        private final Map<String, List<String>> byCategory = new HashMap<>();
+        private final Map<String, List<String>> byBrand = new HashMap<>();
+        private final Map<String, List<PricedId>> byPrice = new HashMap<>();
+        private int size;
+
+        private Builder(int categoryLimit, int brandLimit) {
+            this.categoryCapacity = categoryLimit + 1;
+            this.brandCapacity = brandLimit + 1;
+        }
+
+        public Builder add(String id, String categoryId, String brand, BigDecimal price, String status) {
+            if (categoryId != null) {
+                addCapped(byCategory, key(status, categoryId), id, categoryCapacity);
+            }
+            if (brand != null) {
+                addCapped(byBrand, key(status, brand), id, brandCapacity);
+            }
+            if (price != null) {
+                byPrice.computeIfAbsent(status, k -> new ArrayList<>()).add(new PricedId(price, id));
+            }
+            size++;
+            return this;
+        }
+
+        public RecommendationCandidateIndex build() {
+            Map<String, PriceBand> bands = new HashMap<>(byPrice.size() * 2);
+            byPrice.forEach((status, entries) -> bands.put(status, PriceBand.of(entries)));
+            return new RecommendationCandidateIndex(byCategory, byBrand, bands, size);
+        }
+
+        private static void addCapped(Map<String, List<String>> groups, String key, String id, int capacity) {
+            List<String> group = groups.computeIfAbsent(key, k -> new ArrayList<>(2));
+            if (group.size() < capacity) {
+                group.add(id);
+            }
+        }
+    }
+
+    /**
+     * Candidates of one status sorted by price, then ID
+     */
+    private static final class PriceBand {
+        private final BigDecimal[] prices;
+        private final String[] ids;
+
+        private PriceBand(BigDecimal[] prices, String[] ids) {
+            this.prices = prices;
+            this.ids = ids;
+        }
+
+        static PriceBand of(List<PricedId> entries) {
+            PricedId[] sorted = entries.toArray(new PricedId[0]);
+            Arrays.sort(sorted, Comparator.comparing((PricedId entry) -> entry.price).thenComparing(entry -> entry.id));
+            BigDecimal[] prices = new BigDecimal[sorted.length];
+            String[] ids = new String[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                prices[i] = sorted[i].price;
+                ids[i] = sorted[i].id;
+            }
+            return new PriceBand(prices, ids);
+        }
+
+        /**
+         * Position of the first price not below the given one
+         */
+        int firstAtLeast(BigDecimal price) {
+            int low = 0;
+            int high = prices.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (prices[mid].compareTo(price) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    private static final class PricedId {
+        private final BigDecimal price;
+        private final String id;
+
+        PricedId(BigDecimal price, String id) {
+            this.price = price;
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,641 @@
+package com.ecommerce.infrastructure.search;
+
+import com.ecommerce.domain.product.ProductStatus;
+import com.ecommerce.infrastructure.persistence.entity.ProductJpaEntity;
+import com.ecommerce.infrastructure.persistence.entity.ProductSpecificationJpaEntity;
+import com.ecommerce.infrastructure.persistence.entity.ProductTagJpaEntity;
+import com.ecommerce.infrastructure.persistence.repository.ProductJpaRepository;
+import com.ecommerce.infrastructure.persistence.routing.ReadWriteRoutingDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the product catalog.
+ *
+ * Name, brand, tags and specification values are tokenized into postings lists
+ * so that text search no longer needs {@code LIKE '%term%'} table scans. Query
+ * tokens are matched exactly, by prefix and with bounded typos, and hits are
+ * ranked with BM25. Brand, category, status, featured and price filters are kept
+ * as bitmaps and intersected with the text matches.
+ *
+ * The index is loaded once at startup and then maintained incrementally by
+ * {@link com.ecommerce.application.service.ProductService} after each committed write.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    private static final int LOAD_BATCH_SIZE = 500;
+    private static final int MAX_EXPANSIONS_PER_TOKEN = 64;
+
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float BRAND_WEIGHT = 2.0f;
+    private static final float TAG_WEIGHT = 1.5f;
+    private static final float SPEC_WEIGHT = 1.0f;
+
+    private static final float PREFIX_MATCH_WEIGHT = 0.8f;
+    private static final float FUZZY_MATCH_WEIGHT = 0.5f;
+
+    private static final double BM25_K1 = 1.2;
+    private static final double BM25_B = 0.75;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> docIdsByProductId = new HashMap<>();
+    private final List<IndexedDocument> documents = new ArrayList<>();
+    private final Deque<Integer> freeDocIds = new ArrayDeque<>();
+
+    private final NavigableMap<String, Postings> postings = new TreeMap<>();
+    private final Map<String, BitSet> brandBitmaps = new HashMap<>();
+    private final Map<String, BitSet> categoryBitmaps = new HashMap<>();
+    private final Map<ProductStatus, BitSet> statusBitmaps = new EnumMap<>(ProductStatus.class);
+    private final NavigableMap<Long, BitSet> priceBitmaps = new TreeMap<>();
+    private final BitSet featuredBitmap = new BitSet();
+    private final BitSet liveDocs = new BitSet();
+
+    private double totalDocumentLength;
+
+    private volatile boolean ready;
+    private boolean loading;
+    private final Set<String> removedWhileLoading = new HashSet<>();
+
+    private final ProductJpaRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Autowired
+    public ProductSearchIndex(ProductJpaRepository productRepository, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = ReadWriteRoutingDataSource.primaryReadTransaction(transactionManager);
+    }
+
+    // Lifecycle
+
+    /**
+     * Build the index from the database once the application has started.
+     * Writes arriving while the load is in progress take precedence over loaded rows.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        rebuild();
+    }
+
+    /**
+     * Load every product from the database into the index
+     */
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        withWriteLock(() -> {
+            loading = true;
+            removedWhileLoading.clear();
+        });
+
+        try {
+            String afterId = "";
+            int indexed = 0;
+            boolean hasNext = true;
+            while (hasNext) {
+                // Seek past the last ID read rather than skip an offset, so each page costs the same
+                String cursor = afterId;
+                List<IndexedDocument> batch = readOnlyTransaction.execute(status -> {
+                    List<ProductJpaEntity> page = productRepository.findAfterId(cursor, PageRequest.of(0, LOAD_BATCH_SIZE));
+                    List<IndexedDocument> docs = new ArrayList<>(page.size());
+                    page.forEach(product -> docs.add(documentOf(product)));
+                    return docs;
+                });
+                hasNext = batch != null && batch.size() == LOAD_BATCH_SIZE;
+                if (batch != null && !batch.isEmpty()) {
+                    withWriteLock(() -> batch.forEach(this::loadDocument));
+                    indexed += batch.size();
+                    afterId = batch.get(batch.size() - 1).getProductId();
+                }
+            }
+            ready = true;
+            logger.info("Product search index loaded {} products in {} ms", indexed, System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            logger.error("Failed to load product search index, search will fall back to the database", e);
+        } finally {
+            withWriteLock(() -> {
+                loading = false;
+                removedWhileLoading.clear();
+            });
+        }
+    }
+
+    /**
+     * Whether the initial load has completed and the index can serve queries
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Incremental maintenance
+
+    /**
+     * Capture the searchable fields of a product. Must be called while the product's
+     * lazy collections can still be initialized (i.e. inside the writing transaction).
+     */
+    public static IndexedDocument documentOf(ProductJpaEntity product) {
+        Map<String, Float> termFrequencies = new HashMap<>();
+        addTerms(termFrequencies, product.getName(), NAME_WEIGHT);
+        addTerms(termFrequencies, product.getBrand(), BRAND_WEIGHT);
+
+        if (product.getProductTags() != null) {
+            for (ProductTagJpaEntity tag : product.getProductTags()) {
+                if (!Boolean.FALSE.equals(tag.getIsVisible())) {
+                    addTerms(termFrequencies, tag.getTagName(), TAG_WEIGHT);
+                }
+            }
+        }
+        if (product.getProductSpecifications() != null) {
+            for (ProductSpecificationJpaEntity spec : product.getProductSpecifications()) {
+                if (!Boolean.FALSE.equals(spec.getIsVisible())) {
+                    addTerms(termFrequencies, spec.getSpecValue(), SPEC_WEIGHT);
+                }
+            }
+        }
+
+        return new IndexedDocument(
+                product.getId(),
+                product.getName() != null ? product.getName().toLowerCase(Locale.ROOT) : "",
+                product.getBrand() != null ? product.getBrand().toLowerCase(Locale.ROOT) : null,
+                product.getCategoryId(),
+                product.getStatus(),
+                product.isFeatured(),
+                toCents(product.getPrice()),
+                termFrequencies);
+    }
+
+    /**
+     * Insert or replace a product in the index
+     */
+    public void upsert(IndexedDocument document) {
+        withWriteLock(() -> {
+            removedWhileLoading.remove(document.productId);
+            removeInternal(document.productId);
+            addInternal(document);
+        });
+    }
+
+    /**
+     * Remove a product from the index
+     */
+    public void remove(String productId) {
+        withWriteLock(() -> {
+            if (loading) {
+                removedWhileLoading.add(productId);
+            }
+            removeInternal(productId);
+        });
+    }
+
+    /**
+     * Apply a bulk status change for all products of a category
+     *
+     * @param categoryId Category whose products changed
+     * @param currentStatus Only products currently in this status are changed, or null for all
+     * @param newStatus The new status
+     */
+    public void updateStatusByCategory(String categoryId, ProductStatus currentStatus, ProductStatus newStatus) {
+        withWriteLock(() -> {
+            BitSet categoryDocs = categoryBitmaps.get(categoryId);
+            if (categoryDocs == null) {
+                return;
+            }
+            BitSet affected = (BitSet) categoryDocs.clone();
+            if (currentStatus != null) {
+                affected.and(statusBitmaps.getOrDefault(currentStatus, new BitSet()));
+            }
+            for (int docId = affected.nextSetBit(0); docId >= 0; docId = affected.nextSetBit(docId + 1)) {
+                IndexedDocument document = documents.get(docId);
+                bitmap(statusBitmaps, document.status).clear(docId);
+                bitmap(statusBitmaps, newStatus).set(docId);
+                documents.set(docId, document.withStatus(newStatus));
+            }
+        });
+    }
+
+    // Querying
+
+    /**
+     * Search the index with optional filters. Text is required; filter arguments may be null.
+     *
+     * @param text Free text query
+     * @param brand Exact brand (case insensitive)
+     * @param categoryId Category ID
+     * @param status Product status
+     * @param minPrice Inclusive minimum price
+     * @param maxPrice Inclusive maximum price
+     * @param featured Featured flag
+     * @param offset Number of ranked hits to skip
+     * @param limit Maximum number of hits to return
+     * @return Ranked product IDs for the requested window and the total hit count
+     */
+    public SearchHits search(String text, String brand, String categoryId, ProductStatus status,
+                             BigDecimal minPrice, BigDecimal maxPrice, Boolean featured,
+                             long offset, int limit) {
+        List<String> queryTokens = SearchTokenizer.tokenize(text);
+        if (queryTokens.isEmpty()) {
+            return new SearchHits(Collections.emptyList(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            BitSet candidates = (BitSet) liveDocs.clone();
+            List<Map<String, Float>> expansions = new ArrayList<>(queryTokens.size());
+
+            for (String token : queryTokens) {
+                Map<String, Float> tokenExpansion = expand(token);
+                BitSet tokenDocs = new BitSet();
+                for (String term : tokenExpansion.keySet()) {
+                    tokenDocs.or(postings.get(term).docs);
+                }
+                candidates.and(tokenDocs);
+                expansions.add(tokenExpansion);
+                if (candidates.isEmpty()) {
+                    return new SearchHits(Collections.emptyList(), 0);
+                }
+            }
+
+            applyFilters(candidates, brand, categoryId, status, minPrice, maxPrice, featured);
+
+            int hitCount = candidates.cardinality();
+            if (hitCount == 0 || offset >= hitCount) {
+                return new SearchHits(Collections.emptyList(), hitCount);
+            }
+
+            ScoredDocument[] scored = new ScoredDocument[hitCount];
+            int i = 0;
+            int documentCount = liveDocs.cardinality();
+            double averageLength = totalDocumentLength / Math.max(1, documentCount);
+            for (int docId = candidates.nextSetBit(0); docId >= 0; docId = candidates.nextSetBit(docId + 1)) {
+                scored[i++] = new ScoredDocument(documents.get(docId),
+                        score(docId, expansions, documentCount, averageLength));
+            }
+            Arrays.sort(scored);
+
+            int from = (int) offset;
+            int to = (int) Math.min(hitCount, offset + limit);
+            List<String> productIds = new ArrayList<>(to - from);
+            for (int j = from; j < to; j++) {
+                productIds.add(scored[j].document.productId);
+            }
+            return new SearchHits(productIds, hitCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of products currently held in the index
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Internal helpers (callers hold the appropriate lock)
+
+    private void loadDocument(IndexedDocument document) {
+        // Live writes during the initial load are newer than the loaded snapshot
+        if (docIdsByProductId.containsKey(document.productId) || removedWhileLoading.contains(document.productId)) {
+            return;
+        }
+        addInternal(document);
+    }
+
+    private void addInternal(IndexedDocument document) {
+        int docId;
+        if (freeDocIds.isEmpty()) {
+            docId = documents.size();
+            documents.add(document);
+        } else {
+            docId = freeDocIds.pop();
+            documents.set(docId, document);
+        }
+        docIdsByProductId.put(document.productId, docId);
+        liveDocs.set(docId);
+
+        for (Map.Entry<String, Float> entry : document.termFrequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new Postings()).add(docId, entry.getValue());
+        }
+        totalDocumentLength += document.length;
+
+        if (document.brandKey != null) {
+            bitmap(brandBitmaps, document.brandKey).set(docId);
+        }
+        if (document.categoryId != null) {
+            bitmap(categoryBitmaps, document.categoryId).set(docId);
+        }
+        if (document.status != null) {
+            bitmap(statusBitmaps, document.status).set(docId);
+        }
+        if (document.featured) {
+            featuredBitmap.set(docId);
+        }
+        if (document.priceCents != null) {
+            bitmap(priceBitmaps, document.priceCents).set(docId);
+        }
+    }
+
+    private void removeInternal(String productId) {
+        Integer docId = docIdsByProductId.remove(productId);
+        if (docId == null) {
+            return;
+        }
+        IndexedDocument document = documents.get(docId);
+
+        for (String term : document.termFrequencies.keySet()) {
+            Postings termPostings = postings.get(term);
+            if (termPostings != null && termPostings.remove(docId)) {
+                postings.remove(term);
+            }
+        }
+        totalDocumentLength -= document.length;
+
+        clearBit(brandBitmaps, document.brandKey, docId);
+        clearBit(categoryBitmaps, document.categoryId, docId);
+        clearBit(statusBitmaps, document.status, docId);
+        clearBit(priceBitmaps, document.priceCents, docId);
+        featuredBitmap.clear(docId);
+        liveDocs.clear(docId);
+
+        documents.set(docId, null);
+        freeDocIds.push(docId);
+    }
+
+    /**
+     * Expand a query token into index terms with a match-quality weight:
+     * exact match, prefix match, then bounded edit distance
+     */
+    private Map<String, Float> expand(String token) {
+        Map<String, Float> expansion = new HashMap<>();
+        if (postings.containsKey(token)) {
+            expansion.put(token, 1.0f);
+        }
+
+        for (String term : postings.subMap(token, false, token + Character.MAX_VALUE, false).keySet()) {
+            if (expansion.size() >= MAX_EXPANSIONS_PER_TOKEN) {
+                break;
+            }
+            expansion.put(term, PREFIX_MATCH_WEIGHT);
+        }
+
+        int maxEdits = SearchTokenizer.maxEditsFor(token);
+        if (maxEdits > 0) {
+            // Typos in the first character are rare; restricting to it keeps the scan bounded
+            String first = token.substring(0, 1);
+            for (String term : postings.subMap(first, true, first + Character.MAX_VALUE, false).keySet()) {
+                if (expansion.size() >= MAX_EXPANSIONS_PER_TOKEN) {
+                    break;
+                }
+                if (!expansion.containsKey(term)
+                        && SearchTokenizer.boundedEditDistance(token, term, maxEdits) <= maxEdits) {
+                    expansion.put(term, FUZZY_MATCH_WEIGHT);
+                }
+            }
+        }
+        return expansion;
+    }
+
+    private void applyFilters(BitSet candidates, String brand, String categoryId, ProductStatus status,
+                              BigDecimal minPrice, BigDecimal maxPrice, Boolean featured) {
+        if (brand != null) {
+            candidates.and(brandBitmaps.getOrDefault(brand.toLowerCase(Locale.ROOT), new BitSet()));
+        }
+        if (categoryId != null) {
+            candidates.and(categoryBitmaps.getOrDefault(categoryId, new BitSet()));
+        }
+        if (status != null) {
+            candidates.and(statusBitmaps.getOrDefault(status, new BitSet()));
+        }
+        if (featured != null) {
+            if (featured) {
+                candidates.and(featuredBitmap);
+            } else {
+                candidates.andNot(featuredBitmap);
+            }
+        }
+        if (minPrice != null || maxPrice != null) {
+            long low = minPrice != null ? minPrice.movePointRight(2).setScale(0, RoundingMode.CEILING).longValue() : Long.MIN_VALUE;
+            long high = maxPrice != null ? maxPrice.movePointRight(2).setScale(0, RoundingMode.FLOOR).longValue() : Long.MAX_VALUE;
+            BitSet inRange = new BitSet();
+            if (low <= high) {
+                for (BitSet bucket : priceBitmaps.subMap(low, true, high, true).values()) {
+                    inRange.or(bucket);
+                }
+            }
+            candidates.and(inRange);
+        }
+    }
+
+    private double score(int docId, List<Map<String, Float>> expansions, int documentCount, double averageLength) {
+        IndexedDocument document = documents.get(docId);
+        double lengthNorm = BM25_K1 * (1 - BM25_B + BM25_B * document.length / Math.max(averageLength, 1e-6));
+
+        double total = 0;
+        for (Map<String, Float> tokenExpansion : expansions) {
+            double best = 0;
+            for (Map.Entry<String, Float> entry : tokenExpansion.entrySet()) {
+                Postings termPostings = postings.get(entry.getKey());
+                float tf = termPostings.frequency(docId);
+                if (tf <= 0) {
+                    continue;
+                }
+                int df = termPostings.docs.cardinality();
+                double idf = Math.log(1 + (documentCount - df + 0.5) / (df + 0.5));
+                double termScore = entry.getValue() * idf * (tf * (BM25_K1 + 1)) / (tf + lengthNorm);
+                best = Math.max(best, termScore);
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static <K> BitSet bitmap(Map<K, BitSet> bitmaps, K key) {
+        return bitmaps.computeIfAbsent(key, k -> new BitSet());
+    }
+
+    private static <K> void clearBit(Map<K, BitSet> bitmaps, K key, int docId) {
+        if (key == null) {
+            return;
+        }
+        BitSet bits = bitmaps.get(key);
+        if (bits != null) {
+            bits.clear(docId);
+            if (bits.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+    }
+
+    private static void addTerms(Map<String, Float> termFrequencies, String text, float weight) {
+        for (String token : SearchTokenizer.tokenize(text)) {
+            termFrequencies.merge(token, weight, Float::sum);
+        }
+    }
+
+    private static Long toCents(BigDecimal price) {
+        return price != null ? price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue() : null;
+    }
+
+    // Supporting types
+
+    /**
+     * Immutable snapshot of the searchable fields of one product
+     */
+    public static final class IndexedDocument {
+        private final String productId;
+        private final String sortName;
+        private final String brandKey;
+        private final String categoryId;
+        private final ProductStatus status;
+        private final boolean featured;
+        private final Long priceCents;
+        private final Map<String, Float> termFrequencies;
+        private final float length;
+
+        IndexedDocument(String productId, String sortName, String brandKey, String categoryId,
+                        ProductStatus status, boolean featured, Long priceCents,
+                        Map<String, Float> termFrequencies) {
+            this.productId = productId;
+            this.sortName = sortName;
+            this.brandKey = brandKey;
+            this.categoryId = categoryId;
+            this.status = status;
+            this.featured = featured;
+            this.priceCents = priceCents;
+            this.termFrequencies = termFrequencies;
+            float sum = 0;
+            for (float frequency : termFrequencies.values()) {
+                sum += frequency;
+            }
+            this.length = sum;
+        }
+
+        IndexedDocument withStatus(ProductStatus newStatus) {
+            return new IndexedDocument(productId, sortName, brandKey, categoryId, newStatus,
+                    featured, priceCents, termFrequencies);
+        }
+
+        public String getProductId() {
+            return productId;
+        }
+    }
+
+    /**
+     * Ranked window of search hits
+     */
+    public static final class SearchHits {
+        private final List<String> productIds;
+        private final long totalHits;
+
+        SearchHits(List<String> productIds, long totalHits) {
+            this.productIds = productIds;
+            this.totalHits = totalHits;
+        }
+
+        public List<String> getProductIds() {
+            return productIds;
+        }
+
+        public long getTotalHits() {
+            return totalHits;
+        }
+    }
+
+    /**
+     * Postings list for a single term: a bitmap of matching documents plus
+     * weighted term frequencies kept in doc-ID order for binary search
+     */
+    private static final class Postings {
+        private final BitSet docs = new BitSet();
+        private int[] docIds = new int[4];
+        private float[] frequencies = new float[4];
+        private int size;
+
+        void add(int docId, float frequency) {
+            int position = Arrays.binarySearch(docIds, 0, size, docId);
+            if (position >= 0) {
+                frequencies[position] = frequency;
+                return;
+            }
+            position = -position - 1;
+            if (size == docIds.length) {
+                docIds = Arrays.copyOf(docIds, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            System.arraycopy(docIds, position, docIds, position + 1, size - position);
+            System.arraycopy(frequencies, position, frequencies, position + 1, size - position);
+            docIds[position] = docId;
+            frequencies[position] = frequency;
+            size++;
+            docs.set(docId);
+        }
+
+        /**
+         * @return true if the postings list is now empty
+         */
+        boolean remove(int docId) {
+            int position = Arrays.binarySearch(docIds, 0, size, docId);
+            if (position >= 0) {
+                System.arraycopy(docIds, position + 1, docIds, position, size - position - 1);
+                System.arraycopy(frequencies, position + 1, frequencies, position, size - position - 1);
+                size--;
+                docs.clear(docId);
+            }
+            return size == 0;
+        }
+
+        float frequency(int docId) {
+            int position = Arrays.binarySearch(docIds, 0, size, docId);
+            return position >= 0 ? frequencies[position] : 0f;
+        }
+    }
+
+    private static final class ScoredDocument implements Comparable<ScoredDocument> {
+        private final IndexedDocument document;
+        private final double score;
+
+        ScoredDocument(IndexedDocument document, double score) {
+            this.document = document;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(ScoredDocument other) {
+            int byScore = Double.compare(other.score, score);
+            return byScore != 0 ? byScore : document.sortName.compareTo(other.document.sortName);
+        }
+    }
+}
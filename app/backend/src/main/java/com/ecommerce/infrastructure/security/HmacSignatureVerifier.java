@@ -0,0 +1,181 @@
+package com.ecommerce.infrastructure.security;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Verifies hex-encoded HMAC-SHA256 signatures, such as Razorpay's payment and
+ * webhook signatures, against one secret key.
+ *
+ * A verification borrows a {@link Mac} initialised with the key, together with
+ * scratch buffers for the message, the computed digest and the decoded signature, from
+ * a small pool and returns it afterwards, so a verification of an ASCII message
+ * allocates nothing beyond the JDK's own digest array. The pool is bounded rather than
+ * per thread: with one virtual thread per request a thread-local would build a new
+ * {@code Mac} for every request and keep it until the thread ends. When the pool is
+ * empty a fresh one is built, and returns beyond its capacity are dropped.
+ *
+ * Instead of hex-encoding the digest and comparing strings, the presented signature is decoded to bytes and
+ * compared with {@link MessageDigest#isEqual}, which takes the same time wherever the
+ * first mismatch is.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+public final class HmacSignatureVerifier {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int DIGEST_LENGTH = 32;
+
+    // Larger messages are encoded into a one-off array rather than kept in the pool
+    private static final int MAX_RETAINED_MESSAGE_BYTES = 64 * 1024;
+
+    // Enough for every core to verify at once
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+
+    private final SecretKeySpec key;
+    private final BlockingQueue<State> pool = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    /**
+     * @param secret The shared secret, as configured
+     * @throws IllegalArgumentException if the secret is empty or rejected by the MAC
+     */
+    public HmacSignatureVerifier(String secret) {
+        if (secret == null || secret.isEmpty()) {
+            throw new IllegalArgumentException("HMAC secret must not be empty");
+        }
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        // Fail at construction rather than on the first request
+        pool.offer(new State(newMac()));
+    }
+
+    /**
+     * Check a signature over a whole message
+     *
+     * @param message The signed message, e.g. a raw webhook body
+     * @param signature Lower- or upper-case hex HMAC presented by the caller
+     */
+    public boolean verify(String message, String signature) {
+        return verify(message, (char) 0, null, signature);
+    }
+
+    /**
+     * Check a signature over {@code first + separator + second} without building that string,
+     * e.g. Razorpay's {@code order_id|payment_id}
+     */
+    public boolean verify(String first, char separator, String second, String signature) {
+        if (first == null || signature == null || signature.length() != DIGEST_LENGTH * 2) {
+            return false;
+        }
+
+        State state = pool.poll();
+        if (state == null) {
+            state = new State(newMac());
+        }
+        try {
+            if (!decodeHex(signature, state.presented)) {
+                return false;
+            }
+
+            Mac mac = state.mac;
+            try {
+                update(mac, state, first);
+                if (second != null) {
+                    mac.update((byte) separator);
+                    update(mac, state, second);
+                }
+                mac.doFinal(state.computed, 0);
+            } catch (GeneralSecurityException e) {
+                mac.reset();
+                throw new IllegalStateException("HMAC computation failed", e);
+            }
+            return MessageDigest.isEqual(state.computed, state.presented);
+        } finally {
+            pool.offer(state);
+        }
+    }
+
+    /**
+     * Feed a string to the MAC as UTF-8, through the pooled buffer when it is ASCII
+     */
+    private static void update(Mac mac, State state, String text) {
+        int length = text.length();
+        if (length > MAX_RETAINED_MESSAGE_BYTES) {
+            mac.update(text.getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+
+        byte[] buffer = state.buffer(length);
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                mac.update(text.getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            buffer[i] = (byte) c;
+        }
+        mac.update(buffer, 0, length);
+    }
+
+    /**
+     * Decode hex into {@code out}
+     *
+     * @return false if the text contains a non-hex character
+     */
+    private static boolean decodeHex(String hex, byte[] out) {
+        int invalid = 0;
+        for (int i = 0; i < out.length; i++) {
+            int high = hexValue(hex.charAt(2 * i));
+            int low = hexValue(hex.charAt(2 * i + 1));
+            invalid |= high | low;
+            out[i] = (byte) ((high << 4) | low);
+        }
+        return invalid >= 0;
+    }
+
+    private static int hexValue(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Cannot initialise " + ALGORITHM, e);
+        }
+    }
+
+    private static final class State {
+        private final Mac mac;
+        private final byte[] computed = new byte[DIGEST_LENGTH];
+        private final byte[] presented = new byte[DIGEST_LENGTH];
+        private byte[] message = new byte[512];
+
+        State(Mac mac) {
+            this.mac = mac;
+        }
+
+        byte[] buffer(int length) {
+            if (message.length < length) {
+                message = new byte[Math.min(Math.max(length, message.length * 2), MAX_RETAINED_MESSAGE_BYTES)];
+            }
+            return message;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.ecommerce.infrastructure.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,6 +24,8 @@ import java.io.IOException;
  * 
  * This filter processes JWT tokens from the Authorization header and sets the security context.
  * It runs once per request and validates the JWT token to authenticate the user.
+ * Verified tokens are cached with their user details, so repeat requests with the same
+ * token need neither signature verification nor a user lookup.
  * 
  * @author E-Commerce Development Team
  * @version 1.0.0
@@ -38,6 +41,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
     
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) 
             throws ServletException, IOException {
@@ -45,18 +51,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
             
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String email = tokenProvider.getEmailFromToken(jwt);
+            if (StringUtils.hasText(jwt)) {
+                UserDetails userDetails = resolveUserDetails(jwt);
                 
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-                
-                if (tokenProvider.isTokenValid(jwt, userDetails.getUsername())) {
+                if (userDetails != null) {
                     UsernamePasswordAuthenticationToken authentication = 
                             new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     
                     SecurityContextHolder.getContext().setAuthentication(authentication);
-                    logger.debug("Successfully authenticated user: {}", email);
+                    logger.debug("Successfully authenticated user: {}", userDetails.getUsername());
                 }
             }
         } catch (Exception e) {
@@ -66,6 +70,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
     
+    /**
+     * Resolve the user for a token, from the verified-token cache when possible
+     * 
+     * @param jwt JWT token
+     * @return User details, or null if the token is invalid or belongs to another user
+     */
+    private UserDetails resolveUserDetails(String jwt) {
+        UserDetails cached = verifiedTokenCache.get(jwt);
+        if (cached != null) {
+            return cached;
+        }
+        
+        Claims claims = tokenProvider.parseVerifiedClaims(jwt);
+        if (claims == null || claims.getSubject() == null) {
+            return null;
+        }
+        
+        String email = claims.getSubject();
+        long generation = verifiedTokenCache.generationFor(email);
+        UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+        
+        if (!email.equals(userDetails.getUsername())) {
+            return null;
+        }
+        
+        verifiedTokenCache.put(jwt, userDetails, claims.getExpiration(), generation);
+        return userDetails;
+    }
+    
     /**
      * Extract JWT token from the Authorization header
      * 
@@ -2,6 +2,7 @@ package com.ecommerce.infrastructure.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -36,6 +37,20 @@ public class JwtTokenProvider {
     private static final String USER_ID_KEY = "userId";
     private static final String FULL_NAME_KEY = "fullName";
     
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    
+    /**
+     * Build the signing key and parser once; both are immutable and thread-safe
+     */
+    @PostConstruct
+    void initialize() {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+    
     /**
      * Generate JWT token for user
      * 
@@ -176,12 +191,18 @@ public class JwtTokenProvider {
      * @return true if token is valid, false otherwise
      */
     public Boolean validateToken(String token) {
+        return parseVerifiedClaims(token) != null;
+    }
+    
+    /**
+     * Verify the token signature and expiry and return its claims in a single parse
+     * 
+     * @param token JWT token
+     * @return Claims if the token is valid, null otherwise
+     */
+    public Claims parseVerifiedClaims(String token) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token);
-            return true;
+            return jwtParser.parseClaimsJws(token).getBody();
         } catch (SecurityException e) {
             logger.error("Invalid JWT signature: {}", e.getMessage());
         } catch (MalformedJwtException e) {
@@ -192,8 +213,10 @@ public class JwtTokenProvider {
             logger.error("JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
+        } catch (JwtException e) {
+            logger.error("JWT token could not be verified: {}", e.getMessage());
         }
-        return false;
+        return null;
     }
     
     /**
@@ -235,11 +258,7 @@ public class JwtTokenProvider {
      */
     private Claims getAllClaimsFromToken(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return jwtParser.parseClaimsJws(token).getBody();
         } catch (ExpiredJwtException e) {
             logger.warn("JWT token is expired");
             throw e;
@@ -255,8 +274,7 @@ public class JwtTokenProvider {
      * @return SecretKey for signing
      */
     private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
     }
     
     /**
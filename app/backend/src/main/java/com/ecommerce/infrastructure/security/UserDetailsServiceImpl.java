@@ -3,6 +3,7 @@ package com.ecommerce.infrastructure.security;
 import com.ecommerce.domain.user.UserRole;
 import com.ecommerce.infrastructure.persistence.entity.UserJpaEntity;
 import com.ecommerce.infrastructure.persistence.repository.UserJpaRepository;
+import com.ecommerce.infrastructure.persistence.routing.ReadWriteRoutingDataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,7 +14,8 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Collection;
 import java.util.Optional;
@@ -22,38 +24,47 @@ import java.util.stream.Collectors;
 /**
  * UserDetailsService implementation for Spring Security.
  * Loads user details from the database for authentication and authorization.
+ * Users are read from the primary: the verified-token cache refills from here right
+ * after a password change or account lock evicted it.
  * 
  * @author E-Commerce Development Team
  * @version 1.0.0
  */
 @Service
-@Transactional(readOnly = true)
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserDetailsServiceImpl.class);
     
     private final UserJpaRepository userRepository;
+    private final TransactionTemplate readTransaction;
     
     @Autowired
-    public UserDetailsServiceImpl(UserJpaRepository userRepository) {
+    public UserDetailsServiceImpl(UserJpaRepository userRepository, PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
+        this.readTransaction = ReadWriteRoutingDataSource.primaryReadTransaction(transactionManager);
     }
     
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         logger.debug("Loading user details for email: {}", email);
         
-        Optional<UserJpaEntity> userOptional = userRepository.findByEmailIgnoreCase(email);
-        
-        if (userOptional.isEmpty()) {
-            logger.warn("User not found with email: {}", email);
-            throw new UsernameNotFoundException("User not found with email: " + email);
-        }
-        
-        UserJpaEntity user = userOptional.get();
-        
-        logger.debug("User found: {} with status: {}", user.getEmail(), user.getStatus());
-        
+        return readTransaction.execute(status -> {
+            Optional<UserJpaEntity> userOptional = userRepository.findByEmailIgnoreCase(email);
+            
+            if (userOptional.isEmpty()) {
+                logger.warn("User not found with email: {}", email);
+                throw new UsernameNotFoundException("User not found with email: " + email);
+            }
+            
+            UserJpaEntity user = userOptional.get();
+            
+            logger.debug("User found: {} with status: {}", user.getEmail(), user.getStatus());
+            
+            return toUserDetails(user);
+        });
+    }
+    
+    private UserDetails toUserDetails(UserJpaEntity user) {
         return User.builder()
                 .username(user.getEmail())
                 .password(user.getPasswordHash())
@@ -0,0 +1,42 @@
+package com.ecommerce.infrastructure.security;
+
+import com.ecommerce.infrastructure.persistence.entity.UserJpaEntity;
+import com.ecommerce.infrastructure.persistence.transaction.AfterCommit;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that drops cached authentications whenever a user row changes.
+ * Covers account locking, deactivation, role and email changes regardless of which
+ * service performed the update. Tokens name the user by email, so a change of email
+ * drops the tokens issued for the previous one as well. The entries are dropped once the transaction commits:
+ * dropped earlier, a concurrent request could cache the row as it was before the change.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Component
+public class UserSecurityChangeListener {
+
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    public UserSecurityChangeListener(VerifiedTokenCache verifiedTokenCache) {
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(UserJpaEntity user) {
+        String email = user.getEmail();
+        String previousEmail = user.getPersistedEmail();
+        AfterCommit.run(() -> {
+            verifiedTokenCache.invalidateUser(email);
+            if (previousEmail != null && !previousEmail.equalsIgnoreCase(email)) {
+                verifiedTokenCache.invalidateUser(previousEmail);
+            }
+        });
+    }
+}
@@ -0,0 +1,160 @@
+package com.ecommerce.infrastructure.security;
+
+import com.ecommerce.infrastructure.cache.GenerationStripes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of JWTs whose signature has already been verified, mapped to the
+ * {@link UserDetails} loaded for them.
+ *
+ * A cache hit lets {@link JwtAuthenticationFilter} authenticate a request without
+ * re-verifying the HMAC or querying the users table. Entries expire with the token
+ * itself or after the configured TTL, whichever comes first. Changes to a user
+ * (lock, deactivation, role change) invalidate every cached token for that user
+ * through {@link GenerationStripes} keyed by the lower-cased email, so an entry loaded
+ * concurrently with the change can never be served afterwards.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerifiedTokenCache.class);
+
+    private final Map<String, CachedToken> entries = new ConcurrentHashMap<>();
+    private final GenerationStripes generations = new GenerationStripes();
+
+    @Value("${jwt.cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${jwt.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    /**
+     * Get the user details for a previously verified token
+     *
+     * @param token Raw JWT
+     * @return Cached user details, or null if the token is not cached, expired or invalidated
+     */
+    public UserDetails get(String token) {
+        CachedToken cached = entries.get(token);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expiresAtMillis <= System.currentTimeMillis()
+                || !generations.isCurrent(key(cached.email), cached.generation)) {
+            entries.remove(token, cached);
+            return null;
+        }
+        return cached.userDetails;
+    }
+
+    /**
+     * Current generation for a user. Read this before loading user details and pass it
+     * to {@link #put} so that a concurrent invalidation is not lost.
+     */
+    public long generationFor(String email) {
+        return generations.current(key(email));
+    }
+
+    /**
+     * Cache the user details for a verified token
+     *
+     * @param token Raw JWT whose signature has been verified
+     * @param userDetails User details loaded for the token subject
+     * @param tokenExpiration Token expiration claim (may be null)
+     * @param generation Generation read via {@link #generationFor} before loading the user
+     */
+    public void put(String token, UserDetails userDetails, Date tokenExpiration, long generation) {
+        String email = userDetails.getUsername();
+        if (!generations.isCurrent(key(email), generation)) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long expiresAt = now + ttlSeconds * 1000;
+        if (tokenExpiration != null) {
+            expiresAt = Math.min(expiresAt, tokenExpiration.getTime());
+        }
+        if (expiresAt <= now) {
+            return;
+        }
+
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        entries.put(token, new CachedToken(email, userDetails, expiresAt, generation));
+    }
+
+    /**
+     * Invalidate all cached tokens for a user
+     *
+     * @param email User email
+     */
+    public void invalidateUser(String email) {
+        if (email == null) {
+            return;
+        }
+        String normalized = key(email);
+        generations.advance(normalized);
+        entries.values().removeIf(cached -> key(cached.email).equals(normalized));
+        logger.debug("Invalidated cached tokens for user: {}", email);
+    }
+
+    /**
+     * Remove all cached tokens
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Number of cached tokens
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drop expired entries, then arbitrary entries until the cache is back under 90% of its bound
+     */
+    private void evict(long now) {
+        entries.values().removeIf(cached -> cached.expiresAtMillis <= now);
+
+        int target = (int) (maxSize * 0.9);
+        Iterator<String> iterator = entries.keySet().iterator();
+        while (entries.size() > target && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static String key(String email) {
+        return email == null ? null : email.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class CachedToken {
+        private final String email;
+        private final UserDetails userDetails;
+        private final long expiresAtMillis;
+        private final long generation;
+
+        CachedToken(String email, UserDetails userDetails, long expiresAtMillis, long generation) {
+            this.email = email;
+            this.userDetails = userDetails;
+            this.expiresAtMillis = expiresAtMillis;
+            this.generation = generation;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+-- Migration V10: Durable inbox for Razorpay webhooks
+-- The webhook endpoint only verifies the signature and appends the raw event here,
+-- keyed by the gateway's event ID so that retried deliveries are dropped. Workers
+-- claim pending events in batches and apply them to payments and orders.
+
+CREATE TABLE payment_webhook_events (
+    seq BIGINT NOT NULL AUTO_INCREMENT,
+    event_id VARCHAR(100) NOT NULL COMMENT 'X-Razorpay-Event-Id, or a hash of the payload',
+    event_type VARCHAR(100) NOT NULL,
+    razorpay_order_id VARCHAR(255) NULL,
+    payload MEDIUMTEXT NOT NULL,
+    status VARCHAR(20) NOT NULL COMMENT 'PENDING, PROCESSING, PROCESSED, IGNORED or FAILED',
+    attempts INT NOT NULL DEFAULT 0,
+    claim_token VARCHAR(36) NULL,
+    claimed_at DATETIME(6) NULL,
+    next_attempt_at DATETIME(6) NOT NULL,
+    received_at DATETIME(6) NOT NULL,
+    processed_at DATETIME(6) NULL,
+    last_error VARCHAR(500) NULL,
+    PRIMARY KEY (seq),
+    UNIQUE KEY uk_payment_webhook_event_id (event_id),
+    INDEX idx_payment_webhook_status_next (status, next_attempt_at, seq),
+    INDEX idx_payment_webhook_claim (claim_token)
+);
+
+-- Webhook events find their payment by Razorpay order ID
+CREATE INDEX idx_payments_razorpay_order_id ON payments(razorpay_order_id);
@@ -0,0 +1,16 @@
+-- Migration V11: Block-allocated sequence for order numbers
+-- Each application instance reserves a block of values by advancing next_value
+-- under a row lock and hands numbers out of the block in memory. Order numbers
+-- are ORD- followed by the 9-digit sequence value and a Luhn check digit.
+-- The sequence starts above every existing (timestamp based) order number so
+-- new numbers cannot collide with old ones.
+
+CREATE TABLE IF NOT EXISTS order_number_sequence (
+    name VARCHAR(50) NOT NULL PRIMARY KEY,
+    next_value BIGINT NOT NULL
+);
+
+INSERT INTO order_number_sequence (name, next_value)
+SELECT 'order', COALESCE(MAX(CAST(SUBSTRING(order_number, 5) AS UNSIGNED)) DIV 10, 0) + 1
+FROM orders
+WHERE order_number REGEXP '^ORD-[0-9]{10}$';
@@ -0,0 +1,165 @@
+-- Migration V12: Store generated UUID keys of the account, cart, order and payment tables as BINARY(16)
+-- New keys are time-ordered (UUID version 7), so inserts append to the clustered
+-- index, and a 16-byte key also shrinks every secondary index and foreign key that
+-- carries it. The application keeps the 36-character string form; the entities
+-- convert it (BinaryUuidConverter). Product and category IDs are readable slugs and
+-- stay VARCHAR, as do the tables keyed by or referencing them.
+--
+-- Requires MySQL 8 (UUID_TO_BIN, IS_UUID). Run with the mysql client while the
+-- application is stopped, before starting the version that maps these columns.
+-- Each key and foreign key column is changed in place (VARCHAR -> VARBINARY ->
+-- BINARY(16)), so the primary keys and every index containing the column are kept.
+-- Foreign keys between the tables are dropped for the conversion and recreated
+-- with their original names and rules. The procedure stops before changing
+-- anything if a value is not a UUID.
+
+DELIMITER $$
+
+DROP PROCEDURE IF EXISTS convert_uuid_keys_to_binary $$
+
+CREATE PROCEDURE convert_uuid_keys_to_binary()
+BEGIN
+    DECLARE done BOOLEAN DEFAULT FALSE;
+    DECLARE v_table VARCHAR(64);
+    DECLARE v_column VARCHAR(64);
+    DECLARE v_constraint VARCHAR(64);
+    DECLARE v_referenced_table VARCHAR(64);
+    DECLARE v_referenced_column VARCHAR(64);
+    DECLARE v_delete_rule VARCHAR(64);
+    DECLARE v_update_rule VARCHAR(64);
+    DECLARE v_not_null VARCHAR(10);
+
+    DECLARE key_columns CURSOR FOR
+        SELECT table_name, column_name FROM uuid_key_columns;
+    DECLARE foreign_keys CURSOR FOR
+        SELECT constraint_name, table_name, column_name, referenced_table, referenced_column, delete_rule, update_rule
+        FROM uuid_key_foreign_keys;
+    DECLARE CONTINUE HANDLER FOR NOT FOUND SET done = TRUE;
+
+    DROP TEMPORARY TABLE IF EXISTS uuid_key_tables;
+    CREATE TEMPORARY TABLE uuid_key_tables (table_name VARCHAR(64) NOT NULL PRIMARY KEY);
+    INSERT INTO uuid_key_tables VALUES
+        ('users'), ('addresses'), ('carts'), ('cart_items'),
+        ('orders'), ('order_items'), ('order_status_history'), ('payments');
+
+    -- Every foreign key that references one of the tables
+    DROP TEMPORARY TABLE IF EXISTS uuid_key_foreign_keys;
+    CREATE TEMPORARY TABLE uuid_key_foreign_keys AS
+        SELECT kcu.CONSTRAINT_NAME AS constraint_name,
+               kcu.TABLE_NAME AS table_name,
+               kcu.COLUMN_NAME AS column_name,
+               kcu.REFERENCED_TABLE_NAME AS referenced_table,
+               kcu.REFERENCED_COLUMN_NAME AS referenced_column,
+               rc.DELETE_RULE AS delete_rule,
+               rc.UPDATE_RULE AS update_rule
+        FROM information_schema.KEY_COLUMN_USAGE kcu
+        JOIN information_schema.REFERENTIAL_CONSTRAINTS rc
+          ON rc.CONSTRAINT_SCHEMA = kcu.CONSTRAINT_SCHEMA
+         AND rc.CONSTRAINT_NAME = kcu.CONSTRAINT_NAME
+         AND rc.TABLE_NAME = kcu.TABLE_NAME
+        WHERE kcu.TABLE_SCHEMA = DATABASE()
+          AND kcu.REFERENCED_TABLE_NAME IN (SELECT table_name FROM uuid_key_tables);
+
+    -- The keys themselves, every column referencing them, and the role collection
+    -- (listed explicitly in case its foreign key was never created)
+    DROP TEMPORARY TABLE IF EXISTS uuid_key_columns;
+    CREATE TEMPORARY TABLE uuid_key_columns AS
+        SELECT table_name, 'id' AS column_name FROM uuid_key_tables
+        UNION
+        SELECT table_name, column_name FROM uuid_key_foreign_keys
+        UNION
+        SELECT 'user_roles', 'user_id';
+
+    -- Check every value before changing anything
+    SET done = FALSE;
+    OPEN key_columns;
+    check_loop: LOOP
+        FETCH key_columns INTO v_table, v_column;
+        IF done THEN
+            LEAVE check_loop;
+        END IF;
+        SET @statement = CONCAT('SELECT COUNT(*) INTO @invalid_keys FROM `', v_table, '` WHERE `', v_column,
+                                '` IS NOT NULL AND NOT IS_UUID(`', v_column, '`)');
+        PREPARE check_statement FROM @statement;
+        EXECUTE check_statement;
+        DEALLOCATE PREPARE check_statement;
+        IF @invalid_keys > 0 THEN
+            SET @message = CONCAT(v_table, '.', v_column, ' has ', @invalid_keys, ' values that are not UUIDs');
+            SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT = @message;
+        END IF;
+    END LOOP;
+    CLOSE key_columns;
+
+    SET done = FALSE;
+    OPEN foreign_keys;
+    drop_loop: LOOP
+        FETCH foreign_keys INTO v_constraint, v_table, v_column, v_referenced_table, v_referenced_column,
+            v_delete_rule, v_update_rule;
+        IF done THEN
+            LEAVE drop_loop;
+        END IF;
+        SET @statement = CONCAT('ALTER TABLE `', v_table, '` DROP FOREIGN KEY `', v_constraint, '`');
+        PREPARE drop_statement FROM @statement;
+        EXECUTE drop_statement;
+        DEALLOCATE PREPARE drop_statement;
+    END LOOP;
+    CLOSE foreign_keys;
+
+    SET done = FALSE;
+    OPEN key_columns;
+    convert_loop: LOOP
+        FETCH key_columns INTO v_table, v_column;
+        IF done THEN
+            LEAVE convert_loop;
+        END IF;
+
+        SELECT IF(IS_NULLABLE = 'NO', ' NOT NULL', '') INTO v_not_null
+        FROM information_schema.COLUMNS
+        WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = v_table AND COLUMN_NAME = v_column;
+
+        SET @statement = CONCAT('ALTER TABLE `', v_table, '` MODIFY `', v_column, '` VARBINARY(36)', v_not_null);
+        PREPARE convert_statement FROM @statement;
+        EXECUTE convert_statement;
+        DEALLOCATE PREPARE convert_statement;
+
+        SET @statement = CONCAT('UPDATE `', v_table, '` SET `', v_column, '` = UUID_TO_BIN(`', v_column,
+                                '`) WHERE `', v_column, '` IS NOT NULL');
+        PREPARE convert_statement FROM @statement;
+        EXECUTE convert_statement;
+        DEALLOCATE PREPARE convert_statement;
+
+        SET @statement = CONCAT('ALTER TABLE `', v_table, '` MODIFY `', v_column, '` BINARY(16)', v_not_null);
+        PREPARE convert_statement FROM @statement;
+        EXECUTE convert_statement;
+        DEALLOCATE PREPARE convert_statement;
+    END LOOP;
+    CLOSE key_columns;
+
+    SET done = FALSE;
+    OPEN foreign_keys;
+    restore_loop: LOOP
+        FETCH foreign_keys INTO v_constraint, v_table, v_column, v_referenced_table, v_referenced_column,
+            v_delete_rule, v_update_rule;
+        IF done THEN
+            LEAVE restore_loop;
+        END IF;
+        SET @statement = CONCAT('ALTER TABLE `', v_table, '` ADD CONSTRAINT `', v_constraint,
+                                '` FOREIGN KEY (`', v_column, '`) REFERENCES `', v_referenced_table,
+                                '` (`', v_referenced_column, '`) ON DELETE ', v_delete_rule,
+                                ' ON UPDATE ', v_update_rule);
+        PREPARE restore_statement FROM @statement;
+        EXECUTE restore_statement;
+        DEALLOCATE PREPARE restore_statement;
+    END LOOP;
+    CLOSE foreign_keys;
+
+    DROP TEMPORARY TABLE uuid_key_columns;
+    DROP TEMPORARY TABLE uuid_key_foreign_keys;
+    DROP TEMPORARY TABLE uuid_key_tables;
+END $$
+
+CALL convert_uuid_keys_to_binary() $$
+
+DROP PROCEDURE convert_uuid_keys_to_binary $$
+
+DELIMITER ;
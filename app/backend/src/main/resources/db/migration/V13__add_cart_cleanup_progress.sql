@@ -0,0 +1,14 @@
+-- Migration V13: Watermarks of the chunked cart cleanup
+-- The cleanup walks carts in primary key order and commits one chunk at a time.
+-- Each phase records the start of its current run (its cutoffs are derived from
+-- it) and the last cart ID of its last committed chunk, so a run interrupted by a
+-- restart resumes where it stopped. Rows are created by the application.
+
+CREATE TABLE IF NOT EXISTS cart_cleanup_progress (
+    phase VARCHAR(32) NOT NULL PRIMARY KEY,
+    run_started_at DATETIME(6) NULL,
+    last_cart_id BINARY(16) NULL,
+    processed_rows BIGINT NOT NULL DEFAULT 0,
+    last_completed_at DATETIME(6) NULL,
+    updated_at DATETIME(6) NOT NULL
+);
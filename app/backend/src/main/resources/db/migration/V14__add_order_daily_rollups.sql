@@ -0,0 +1,28 @@
+-- Migration V14: Daily order rollups for the admin order statistics
+-- order_daily_rollups holds, per day of order_date and per status, the number of
+-- orders and their total. Order changes are appended to order_rollup_journal in the
+-- transaction that makes them and folded into the rollups in the background; the
+-- statistics read both, so they are exact without scanning orders.
+--
+-- Existing orders are counted by the rollup backfill, which the application starts
+-- by itself when order_daily_rollups is empty and orders exist.
+
+CREATE TABLE IF NOT EXISTS order_daily_rollups (
+    rollup_date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    order_count BIGINT NOT NULL COMMENT 'Orders placed on rollup_date that are in status',
+    total_amount DECIMAL(19, 2) NOT NULL COMMENT 'Sum of their total_amount',
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (rollup_date, status)
+);
+
+CREATE TABLE IF NOT EXISTS order_rollup_journal (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    rollup_date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    order_count_delta INT NOT NULL COMMENT 'Change to order_daily_rollups.order_count',
+    amount_delta DECIMAL(19, 2) NOT NULL COMMENT 'Change to order_daily_rollups.total_amount',
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_order_rollup_journal_date (rollup_date)
+);
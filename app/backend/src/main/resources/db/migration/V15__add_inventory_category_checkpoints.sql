@@ -0,0 +1,15 @@
+-- Migration V15: Checkpoints of the in-memory inventory aggregates
+-- The inventory dashboards are served from per-category totals kept in memory and
+-- updated by every stock and price change. They are written here periodically, so
+-- that a starting instance can serve the last known totals while it loads every
+-- product, instead of aggregating the products table.
+
+CREATE TABLE IF NOT EXISTS inventory_category_checkpoints (
+    category_id VARCHAR(36) NOT NULL,
+    product_count BIGINT NOT NULL COMMENT 'Active products in the category',
+    stock_quantity BIGINT NOT NULL COMMENT 'Sum of their stock_quantity',
+    reserved_quantity BIGINT NOT NULL COMMENT 'Sum of their reserved_quantity',
+    inventory_value DECIMAL(19, 2) NOT NULL COMMENT 'Sum of price * stock_quantity',
+    checkpointed_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (category_id)
+);
@@ -0,0 +1,33 @@
+-- Migration V16: Payment gateway attempts
+-- Every gateway order or refund is recorded here as PENDING, with an idempotency key,
+-- before the gateway is called. The key is stored with the gateway object, so an
+-- attempt whose answer came after its deadline, or never reached the application,
+-- can be found at the gateway and settled: its payment is recorded or its refund
+-- applied exactly once.
+--
+-- in_flight_key is set only while an attempt is PENDING, so the unique key allows one
+-- attempt in flight per order and per refunded payment.
+
+CREATE TABLE IF NOT EXISTS payment_gateway_attempts (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    idempotency_key VARCHAR(36) NOT NULL COMMENT 'Sent with the gateway call',
+    operation VARCHAR(20) NOT NULL COMMENT 'CREATE_ORDER or CREATE_REFUND',
+    status VARCHAR(20) NOT NULL COMMENT 'PENDING, SUCCEEDED or FAILED',
+    in_flight_key VARCHAR(100) NULL COMMENT 'ORDER:<order ID> or REFUND:<payment ID> while PENDING',
+    user_id VARCHAR(36) NULL,
+    order_id VARCHAR(36) NULL,
+    payment_id VARCHAR(255) NULL COMMENT 'payments.payment_id of the refunded payment',
+    gateway_payment_id VARCHAR(255) NULL,
+    amount DECIMAL(10, 2) NOT NULL,
+    currency VARCHAR(3) NULL,
+    receipt VARCHAR(255) NULL,
+    description VARCHAR(255) NULL COMMENT 'Payment description, or refund reason',
+    gateway_reference VARCHAR(255) NULL COMMENT 'Gateway order or refund ID once settled',
+    last_error VARCHAR(500) NULL,
+    created_at DATETIME(6) NOT NULL,
+    completed_at DATETIME(6) NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_payment_gateway_attempt_key (idempotency_key),
+    UNIQUE KEY uk_payment_gateway_attempt_in_flight (in_flight_key),
+    INDEX idx_payment_gateway_attempt_status (status, created_at)
+);
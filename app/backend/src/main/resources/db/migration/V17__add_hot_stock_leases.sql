@@ -0,0 +1,26 @@
+-- Migration V17: Per-instance quotas for hot-stock products
+-- Every application instance serves a hot product from units it has leased from the
+-- products row. products.hot_stock_leased holds the units leased out and not yet
+-- reserved, so the row's unleased available quantity is
+-- stock_quantity - reserved_quantity - hot_stock_leased. One hot_stock_leases row per
+-- lease tracks what its holder still has; the leases of an instance that stopped
+-- renewing them are returned to the product.
+
+ALTER TABLE products
+ADD COLUMN hot_stock_leased INT NOT NULL DEFAULT 0 COMMENT 'Units leased to instances for hot-stock reservations';
+
+CREATE TABLE hot_stock_leases (
+    lease_id VARCHAR(36) NOT NULL COMMENT 'One per product and instance run',
+    product_id VARCHAR(36) NOT NULL,
+    units INT NOT NULL COMMENT 'Leased units not yet reserved',
+    renewed_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (lease_id),
+    INDEX idx_hot_stock_lease_renewed (renewed_at)
+);
+
+-- Reservations and releases of hot products move units out of or into a lease
+ALTER TABLE stock_journal
+ADD COLUMN lease_id VARCHAR(36) NULL COMMENT 'Lease the change draws from or returns to',
+ADD COLUMN lease_delta INT NOT NULL DEFAULT 0 COMMENT 'Change to hot_stock_leases.units';
+
+CREATE INDEX idx_stock_journal_lease ON stock_journal(lease_id);
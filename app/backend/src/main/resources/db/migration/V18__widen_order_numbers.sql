@@ -0,0 +1,8 @@
+-- Migration V18: Twelve-digit order numbers
+-- V11 started the sequence above the old timestamp-based numbers, which left it close
+-- to its nine-digit limit. New numbers are ORD- followed by an 11-digit sequence value
+-- and a Luhn check digit. No ten-digit number can collide with them, so the new
+-- sequence row starts at 1. The old 'order' row is kept for instances still running
+-- the previous format during a rolling deploy.
+
+INSERT IGNORE INTO order_number_sequence (name, next_value) VALUES ('order_v2', 1);
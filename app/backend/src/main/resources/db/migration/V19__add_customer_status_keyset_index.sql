@@ -0,0 +1,5 @@
+-- Migration V19: Keyset index for a customer's orders filtered by status
+-- The customer order scroll can filter by status; without the status in the index the
+-- seek reads every order of the customer and discards the other statuses.
+
+CREATE INDEX idx_orders_customer_status_date_id ON orders(customer_id, status, order_date, id);
@@ -0,0 +1,17 @@
+-- Migration V6: Hot-stock mode for flash-sale products
+-- Hot-stock products reserve from in-memory counters and record each change in
+-- stock_journal; a write-behind flusher folds the journal into the products row.
+
+ALTER TABLE products
+ADD COLUMN hot_stock BOOLEAN NOT NULL DEFAULT FALSE COMMENT 'Whether stock is served from in-memory counters';
+
+CREATE TABLE stock_journal (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    product_id VARCHAR(36) NOT NULL COMMENT 'Product whose stock changed',
+    stock_delta INT NOT NULL COMMENT 'Change to products.stock_quantity',
+    reserved_delta INT NOT NULL COMMENT 'Change to products.reserved_quantity',
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_stock_journal_product ON stock_journal(product_id);
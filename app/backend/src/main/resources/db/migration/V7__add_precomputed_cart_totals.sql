@@ -0,0 +1,15 @@
+-- Migration V7: Precomputed cart totals
+-- Cart totals are maintained incrementally as items change. Existing carts keep a NULL
+-- totals_version, which makes the application recompute them on first access.
+
+ALTER TABLE carts
+ADD COLUMN items_subtotal DECIMAL(19,2) NULL COMMENT 'Sum of line subtotals',
+ADD COLUMN items_tax_amount DECIMAL(19,2) NULL COMMENT 'Sum of product-level line tax',
+ADD COLUMN item_count INT NULL COMMENT 'Total quantity across items',
+ADD COLUMN unique_item_count INT NULL COMMENT 'Number of distinct items',
+ADD COLUMN totals_version BIGINT NULL COMMENT 'Incremented on every totals change; NULL means not yet computed',
+ADD COLUMN totals_stale BOOLEAN NULL DEFAULT FALSE COMMENT 'Set when a product price or tax change invalidates the totals';
+
+ALTER TABLE cart_items
+ADD COLUMN line_subtotal DECIMAL(19,2) NULL COMMENT 'Line contribution to the cart subtotal',
+ADD COLUMN line_tax_amount DECIMAL(19,2) NULL COMMENT 'Line contribution to the cart tax';
@@ -0,0 +1,10 @@
+-- Migration V8: Composite indexes for keyset (cursor) pagination
+-- Cursor listings seek to (sort key, id) instead of skipping OFFSET rows, so each page
+-- is an index range scan whatever its depth. Orders are listed newest first per
+-- customer or per status; catalog listings by name, optionally per status.
+
+CREATE INDEX idx_orders_customer_date_id ON orders(customer_id, order_date, id);
+CREATE INDEX idx_orders_status_date_id ON orders(status, order_date, id);
+
+CREATE INDEX idx_product_name_id ON products(name, id);
+CREATE INDEX idx_product_status_name_id ON products(status, name, id);
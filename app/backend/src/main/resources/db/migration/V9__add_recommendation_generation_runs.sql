@@ -0,0 +1,17 @@
+-- Migration V9: Checkpoints for catalog-wide recommendation generation
+-- The generator replaces recommendations chunk by chunk in product ID order and
+-- advances last_product_id in the same transaction, so a run that stops part way
+-- resumes after the last committed chunk instead of starting over.
+
+CREATE TABLE IF NOT EXISTS recommendation_generation_runs (
+    id VARCHAR(36) NOT NULL PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    last_product_id VARCHAR(36) NULL,
+    processed_products BIGINT NOT NULL DEFAULT 0,
+    total_products BIGINT NOT NULL DEFAULT 0,
+    written_recommendations BIGINT NOT NULL DEFAULT 0,
+    started_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    finished_at DATETIME(6) NULL,
+    INDEX idx_recommendation_run_started (started_at)
+);
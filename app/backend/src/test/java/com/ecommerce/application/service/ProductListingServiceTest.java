@@ -0,0 +1,118 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.application.dto.ProductListingDto;
+import com.ecommerce.domain.product.ProductStatus;
+import com.ecommerce.infrastructure.persistence.entity.CategoryJpaEntity;
+import com.ecommerce.infrastructure.persistence.entity.ProductImageJpaEntity;
+import com.ecommerce.infrastructure.persistence.entity.ProductJpaEntity;
+import com.ecommerce.infrastructure.persistence.entity.ProductSpecificationJpaEntity;
+import com.ecommerce.infrastructure.persistence.entity.ProductTagJpaEntity;
+import com.ecommerce.infrastructure.persistence.repository.CategoryJpaRepository;
+import com.ecommerce.infrastructure.persistence.repository.ProductImageJpaRepository;
+import com.ecommerce.infrastructure.persistence.repository.ProductJpaRepository;
+import com.ecommerce.infrastructure.persistence.repository.ProductSpecificationJpaRepository;
+import com.ecommerce.infrastructure.persistence.repository.ProductTagJpaRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards {@link ProductListingService#getProducts} against N+1 regressions on an
+ * embedded H2 database: a full page with images, specifications and tags must cost
+ * the page query, the count query and one query per child collection, whatever the
+ * page size.
+ *
+ * @author E-Commerce Development Team
+ * @version 1.0.0
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:listing;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class ProductListingServiceTest {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int MAX_STATEMENTS_PER_PAGE = 5;
+
+    @Autowired
+    private ProductListingService listingService;
+
+    @Autowired
+    private CategoryJpaRepository categoryRepository;
+
+    @Autowired
+    private ProductJpaRepository productRepository;
+
+    @Autowired
+    private ProductImageJpaRepository imageRepository;
+
+    @Autowired
+    private ProductSpecificationJpaRepository specificationRepository;
+
+    @Autowired
+    private ProductTagJpaRepository tagRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void seedProducts() {
+        if (productRepository.count() > 0) {
+            return;
+        }
+        CategoryJpaEntity category = categoryRepository.save(
+                new CategoryJpaEntity("Listing", "Listing test category", "listing"));
+        // Two pages' worth of products so the first page is full and needs a count query
+        for (int i = 0; i < PAGE_SIZE * 2; i++) {
+            ProductJpaEntity product = new ProductJpaEntity();
+            product.setName("Listing Product " + i);
+            product.setSku("LIST-" + i);
+            product.setBrand("Listing");
+            product.setStatus(ProductStatus.ACTIVE);
+            product.setStockQuantity(100);
+            product.updatePriceComponents(new BigDecimal(99 + i * 7 + ".49"), new BigDecimal("18.00"));
+            product.setCategory(category);
+            product = productRepository.save(product);
+
+            for (int image = 0; image < 3; image++) {
+                imageRepository.save(new ProductImageJpaEntity(product,
+                        "https://cdn.example.com/listing/" + i + "/" + image + ".jpg", "Image " + image, image));
+            }
+            specificationRepository.save(new ProductSpecificationJpaEntity(product, "material", "Oak"));
+            specificationRepository.save(new ProductSpecificationJpaEntity(product, "finish", "Matte"));
+            tagRepository.save(new ProductTagJpaEntity(product, "listing"));
+            tagRepository.save(new ProductTagJpaEntity(product, "tag-" + i % 5));
+        }
+    }
+
+    @Test
+    void listingPageUsesAFixedNumberOfStatements() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Page<ProductListingDto> page = listingService.getProducts(ProductStatus.ACTIVE, false,
+                PageRequest.of(0, PAGE_SIZE, Sort.by("name")));
+
+        assertThat(page.getNumberOfElements()).isEqualTo(PAGE_SIZE);
+        assertThat(page.getTotalElements()).isEqualTo(PAGE_SIZE * 2);
+        assertThat(page.getContent()).allSatisfy(product -> assertThat(product.getImages()).hasSize(3));
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS_PER_PAGE);
+    }
+}